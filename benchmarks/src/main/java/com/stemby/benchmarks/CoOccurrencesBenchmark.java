@@ -0,0 +1,90 @@
+package com.stemby.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.stemby.commons.util.Matrix;
+import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesDiskStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesForwardIndexStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesPrefixBucketStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesRamStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.ParallelCoOccurrencesStrategy;
+
+/**
+ * Benchmark of the strategies that compute the CO Matrix. The disk strategy
+ * writes every matrix in a new directory, and the directories are deleted
+ * after each iteration.
+ * 
+ * @author stemby
+ */
+public class CoOccurrencesBenchmark extends CorpusBenchmark {
+
+    /**
+     * The strategy: ram, forwardIndex, prefixBucket, parallel or disk.
+     */
+    @Param({"ram", "forwardIndex", "prefixBucket", "parallel", "disk"})
+    public String strategy;
+
+    private CoOccurrencesStrategy coOccurrencesStrategy;
+    private Path diskPath;
+    private int run;
+
+    protected void prepare() throws Exception {
+        diskPath = Files.createTempDirectory("co");
+        if (strategy.equals("ram")) {
+            coOccurrencesStrategy = new CoOccurrencesRamStrategy();
+        }
+        else
+            if (strategy.equals("prefixBucket")) {
+                coOccurrencesStrategy = new CoOccurrencesPrefixBucketStrategy(lexicon, MIN_LONGEST_COMMON_PREFIX_LENGTH, PREFIX_LENGTH);
+            }
+            else
+                if (strategy.equals("parallel")) {
+                    coOccurrencesStrategy = new ParallelCoOccurrencesStrategy(Runtime.getRuntime().availableProcessors());
+                }
+                else
+                    if (strategy.equals("forwardIndex")) {
+                        coOccurrencesStrategy = new CoOccurrencesForwardIndexStrategy();
+                    }
+                    else
+                        if (!strategy.equals("disk")) {
+                            throw new IllegalArgumentException("Unknown strategy: " + strategy);
+                        }
+    }
+
+    protected void cleanUp() throws Exception {
+        delete(diskPath);
+    }
+
+    /**
+     * It deletes the matrices written on disk during the iteration.
+     * 
+     * @throws  Exception   If the matrices can't be deleted.
+     */
+    @TearDown(Level.Iteration)
+    public void deleteMatrices() throws Exception {
+        delete(diskPath);
+        Files.createDirectories(diskPath);
+    }
+
+    /**
+     * It computes the CO Matrix.
+     * 
+     * @return  The CO Matrix.
+     */
+    @Benchmark
+    public Matrix getTermsCoOccurrences() {
+        if (strategy.equals("disk")) {
+            String basePath = diskPath.resolve(Integer.toString(run++)).toString();
+            return new CoOccurrencesDiskStrategy(basePath, 1000).getTermsCoOccurrences(inverted);
+        }
+        return coOccurrencesStrategy.getTermsCoOccurrences(inverted);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.stemby.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import com.stemby.commons.algorithms.Graph;
+import com.stemby.commons.util.ConnectedComponents;
+import com.stemby.commons.util.Matrix;
+import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesForwardIndexStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesSparseRowStrategy;
+
+/**
+ * Benchmark of {@link com.stemby.commons.algorithms.Graph#getConnectedComponents(int, com.stemby.commons.util.EdgeCursor)
+ * Graph.getConnectedComponents}. The graph is the RCO Matrix of the
+ * collection, computed before the measurement. Unlike the adjacency matrix
+ * of the stemmer, it keeps all the edges, so it has larger components.
+ * 
+ * @author stemby
+ */
+public class ConnectedComponentsBenchmark extends CorpusBenchmark {
+
+    private Matrix graph;
+
+    protected void prepare() {
+        Matrix coOccurrences = new CoOccurrencesForwardIndexStrategy().getTermsCoOccurrences(inverted);
+        graph = new RCoOccurrencesSparseRowStrategy(MIN_LONGEST_COMMON_PREFIX_LENGTH, PREFIX_LENGTH, RCO_WEIGHT).getRCoOccurrences(coOccurrences, lexicon);
+    }
+
+    /**
+     * It finds the connected components of the graph.
+     * 
+     * @return  The connected components.
+     */
+    @Benchmark
+    public ConnectedComponents getConnectedComponents() {
+        return Graph.getConnectedComponents(graph.getRowCount(), Graph.getEdgeCursor(graph));
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,188 @@
+package com.stemby.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.charset.Charset;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.stemby.ir.io.InvertedReader;
+import com.stemby.ir.io.LexiconReader;
+import com.stemby.ir.io.SyntheticCorpusWriter;
+import com.stemby.ir.util.Inverted;
+import com.stemby.ir.util.Lexicon;
+
+/**
+ * This class provides the common state of the benchmarks: a synthetic
+ * collection generated for every combination of vocabulary size and exponent
+ * of the document frequencies. The collection is written by
+ * {@link com.stemby.ir.io.SyntheticCorpusWriter SyntheticCorpusWriter} to a
+ * temporary folder and read back, so that the benchmarks run on the same
+ * collections as the scalability benchmark and the stemmer itself. Subclasses
+ * prepare the input of the measured stage in {@link #prepare}, so that only
+ * the stage itself is timed.
+ * 
+ * @author stemby
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class CorpusBenchmark {
+
+    /**
+     * The first parameter of the SNS algorithm used by the benchmarks.
+     */
+    public static final int MIN_LONGEST_COMMON_PREFIX_LENGTH = 5;
+
+    /**
+     * The second parameter of the SNS algorithm used by the benchmarks.
+     */
+    public static final int PREFIX_LENGTH = 3;
+
+    /**
+     * The third parameter of the SNS algorithm used by the benchmarks.
+     */
+    public static final float RCO_WEIGHT = 0.5f;
+
+    /**
+     * The seed of the generated collections.
+     */
+    public static final long SEED = 42;
+
+    /**
+     * The number of documents of every generated collection.
+     */
+    public static final int DOCUMENTS_NUMBER = 10000;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * The number of terms of the collection.
+     */
+    @Param({"1000", "5000"})
+    public int vocabularySize;
+
+    /**
+     * The exponent of the Zipf distribution of the document frequencies: the
+     * lower the exponent, the denser the posting lists (on average, about
+     * 0.06% of the documents contain a term with exponent 2 and about 0.8%
+     * with exponent 1.5).
+     */
+    @Param({"2", "1.5"})
+    public double documentFrequencyExponent;
+
+    /**
+     * The lexicon of the collection.
+     */
+    protected Lexicon lexicon;
+
+    /**
+     * The inverted index of the collection.
+     */
+    protected Inverted inverted;
+
+    /**
+     * The text file of the inverted index of the collection, in the format
+     * read by {@link com.stemby.ir.io.InvertedReader InvertedReader}.
+     */
+    protected Path invertedPath;
+
+    private Path corpusPath;
+
+    /**
+     * It generates the collection and prepares the benchmark.
+     * 
+     * @throws  Exception   If the benchmark can't be prepared.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        corpusPath = Files.createTempDirectory("corpus");
+        Path lexiconPath = corpusPath.resolve("lexicon");
+        invertedPath = corpusPath.resolve("inverted");
+        SyntheticCorpusWriter writer = new SyntheticCorpusWriter(vocabularySize, DOCUMENTS_NUMBER, SEED);
+        writer.setDocumentFrequencyExponent(documentFrequencyExponent);
+        writer.write(lexiconPath, invertedPath);
+        lexicon = new LexiconReader(lexiconPath, UTF_8).read();
+        inverted = new InvertedReader(invertedPath, UTF_8).read();
+        if ((lexicon == null) || (inverted == null)) {
+            throw new IOException("The collection can't be read from " + corpusPath);
+        }
+        prepare();
+    }
+
+    /**
+     * It releases the resources of the benchmark and it deletes the
+     * collection.
+     * 
+     * @throws  Exception   If the resources can't be released.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try {
+            cleanUp();
+        }
+        finally {
+            delete(corpusPath);
+        }
+    }
+
+    /**
+     * It prepares the input of the measured stage. By default it does
+     * nothing.
+     * 
+     * @throws  Exception   If the benchmark can't be prepared.
+     */
+    protected void prepare() throws Exception {
+    }
+
+    /**
+     * It releases the resources created by {@link #prepare}. By default it
+     * does nothing.
+     * 
+     * @throws  Exception   If the resources can't be released.
+     */
+    protected void cleanUp() throws Exception {
+    }
+
+    /**
+     * It deletes a file or a directory with all its content, if it exists.
+     * 
+     * @param   path        The path of the file or of the directory.
+     * @throws  IOException If the file or the directory can't be deleted.
+     */
+    public static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+            public FileVisitResult postVisitDirectory(Path directory, IOException x) throws IOException {
+                Files.delete(directory);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.stemby.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.stemby.ir.util.InvertedCompressed;
+
+/**
+ * Benchmark of the intersection of two posting lists of an
+ * {@link com.stemby.ir.util.Inverted Inverted} object. Half of the pairs of
+ * terms are near in the lexicon, so they often share a stem and co-occur;
+ * the other half are random. The time is given for a single pair.
+ * 
+ * @author stemby
+ */
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InvertedBenchmark extends CorpusBenchmark {
+
+    private static final int PAIRS = 4096;
+
+    /**
+     * The implementation of the inverted index: flatArray or compressed.
+     */
+    @Param({"flatArray", "compressed"})
+    public String implementation;
+
+    private int[] termIdsA;
+    private int[] termIdsB;
+
+    protected void prepare() {
+        if (implementation.equals("compressed")) {
+            inverted = new InvertedCompressed(inverted);
+        }
+        Random random = new Random(SEED);
+        termIdsA = new int[PAIRS];
+        termIdsB = new int[PAIRS];
+        for (int pair = 0; pair < PAIRS; pair++) {
+            termIdsA[pair] = random.nextInt(vocabularySize);
+            termIdsB[pair] = (pair % 2 == 0) ? Math.min(vocabularySize - 1, termIdsA[pair] + 1) : random.nextInt(vocabularySize);
+        }
+    }
+
+    /**
+     * It finds the indexes of the documents shared by each pair of terms.
+     * 
+     * @param   blackhole   The sink of the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void getIndexesOfCommonDocuments(Blackhole blackhole) {
+        for (int pair = 0; pair < PAIRS; pair++) {
+            blackhole.consume(inverted.getIndexesOfCommonDocuments(termIdsA[pair], termIdsB[pair]));
+        }
+    }
+
+    /**
+     * It computes the co-occurrences of each pair of terms, without creating
+     * the list of the shared documents.
+     * 
+     * @param   blackhole   The sink of the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void getMinFrequenciesSum(Blackhole blackhole) {
+        for (int pair = 0; pair < PAIRS; pair++) {
+            blackhole.consume(inverted.getMinFrequenciesSum(termIdsA[pair], termIdsB[pair]));
+        }
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.stemby.benchmarks;
+
+import java.nio.charset.Charset;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import com.stemby.ir.io.InvertedReader;
+import com.stemby.ir.util.Inverted;
+
+/**
+ * Benchmark of {@link com.stemby.ir.io.InvertedReader InvertedReader}: it
+ * reads the text file of the inverted index of the collection.
+ * 
+ * @author stemby
+ */
+public class InvertedReaderBenchmark extends CorpusBenchmark {
+
+    private InvertedReader invertedReader;
+
+    protected void prepare() throws Exception {
+        invertedReader = new InvertedReader(invertedPath, Charset.forName("UTF-8"));
+    }
+
+    /**
+     * It reads the inverted index into flat arrays.
+     * 
+     * @return  The inverted index.
+     */
+    @Benchmark
+    public Inverted read() {
+        return invertedReader.read();
+    }
+
+    /**
+     * It reads the inverted index into compressed posting lists.
+     * 
+     * @return  The inverted index.
+     */
+    @Benchmark
+    public Inverted readCompressed() {
+        return invertedReader.readCompressed();
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.stemby.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.stemby.commons.util.Matrix;
+import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesForwardIndexStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesDiskStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesRamStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesSparseRowStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesStrategy;
+
+/**
+ * Benchmark of the strategies that compute the RCO Matrix, starting from the
+ * CO Matrix computed before the measurement. The disk strategy writes every
+ * matrix in a new directory, and the directories are deleted after each
+ * iteration.
+ * 
+ * @author stemby
+ */
+public class RCoOccurrencesBenchmark extends CorpusBenchmark {
+
+    /**
+     * The strategy: ram, sparseRow or disk.
+     */
+    @Param({"ram", "sparseRow", "disk"})
+    public String strategy;
+
+    private Matrix coOccurrences;
+    private RCoOccurrencesStrategy rCoOccurrencesStrategy;
+    private Path diskPath;
+    private int run;
+
+    protected void prepare() throws Exception {
+        coOccurrences = new CoOccurrencesForwardIndexStrategy().getTermsCoOccurrences(inverted);
+        diskPath = Files.createTempDirectory("rco");
+        if (strategy.equals("ram")) {
+            rCoOccurrencesStrategy = new RCoOccurrencesRamStrategy(MIN_LONGEST_COMMON_PREFIX_LENGTH, PREFIX_LENGTH, RCO_WEIGHT);
+        }
+        else
+            if (strategy.equals("sparseRow")) {
+                rCoOccurrencesStrategy = new RCoOccurrencesSparseRowStrategy(MIN_LONGEST_COMMON_PREFIX_LENGTH, PREFIX_LENGTH, RCO_WEIGHT);
+            }
+            else
+                if (!strategy.equals("disk")) {
+                    throw new IllegalArgumentException("Unknown strategy: " + strategy);
+                }
+    }
+
+    protected void cleanUp() throws Exception {
+        delete(diskPath);
+    }
+
+    /**
+     * It deletes the matrices written on disk during the iteration.
+     * 
+     * @throws  Exception   If the matrices can't be deleted.
+     */
+    @TearDown(Level.Iteration)
+    public void deleteMatrices() throws Exception {
+        delete(diskPath);
+        Files.createDirectories(diskPath);
+    }
+
+    /**
+     * It computes the RCO Matrix.
+     * 
+     * @return  The RCO Matrix.
+     */
+    @Benchmark
+    public Matrix getRCoOccurrences() {
+        if (strategy.equals("disk")) {
+            String basePath = diskPath.resolve(Integer.toString(run++)).toString();
+            RCoOccurrencesStrategy diskStrategy = new RCoOccurrencesDiskStrategy(MIN_LONGEST_COMMON_PREFIX_LENGTH, PREFIX_LENGTH, RCO_WEIGHT, basePath, 1000);
+            return diskStrategy.getRCoOccurrences(coOccurrences, lexicon);
+        }
+        return rCoOccurrencesStrategy.getRCoOccurrences(coOccurrences, lexicon);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.stemby.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.stemby.commons.algorithms.Strings;
+import com.stemby.ir.util.Lexicon;
+import com.stemby.ir.util.LexiconArena;
+import com.stemby.ir.util.SortedLexiconIndex;
+
+/**
+ * Benchmark of the computation of the longest common prefix of two terms:
+ * on strings by {@link com.stemby.commons.algorithms.Strings Strings}, on
+ * the characters of a {@link com.stemby.ir.util.LexiconArena LexiconArena}
+ * and by the sparse table of a
+ * {@link com.stemby.ir.util.SortedLexiconIndex SortedLexiconIndex}. Half of
+ * the pairs of terms are near in the lexicon, so they often share a stem;
+ * the other half are random. The time is given for a single pair.
+ * 
+ * @author stemby
+ */
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StringsBenchmark extends CorpusBenchmark {
+
+    private static final int PAIRS = 4096;
+
+    private int[] termIdsA;
+    private int[] termIdsB;
+    private String[] termsA;
+    private String[] termsB;
+    private Lexicon arena;
+    private Lexicon index;
+
+    protected void prepare() {
+        Random random = new Random(SEED);
+        termIdsA = new int[PAIRS];
+        termIdsB = new int[PAIRS];
+        termsA = new String[PAIRS];
+        termsB = new String[PAIRS];
+        for (int pair = 0; pair < PAIRS; pair++) {
+            termIdsA[pair] = random.nextInt(vocabularySize);
+            termIdsB[pair] = (pair % 2 == 0) ? Math.min(vocabularySize - 1, termIdsA[pair] + 1) : random.nextInt(vocabularySize);
+            termsA[pair] = lexicon.getLexeme(termIdsA[pair]);
+            termsB[pair] = lexicon.getLexeme(termIdsB[pair]);
+        }
+        arena = new LexiconArena();
+        for (int termId = 0; termId < vocabularySize; termId++) {
+            arena.addLexeme(termId, lexicon.getLexeme(termId));
+        }
+        index = new SortedLexiconIndex(arena);
+    }
+
+    /**
+     * It computes the longest common prefix of each pair of strings.
+     * 
+     * @param   blackhole   The sink of the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void strings(Blackhole blackhole) {
+        for (int pair = 0; pair < PAIRS; pair++) {
+            blackhole.consume(Strings.getLongestCommonPrefixLength(termsA[pair], termsB[pair]));
+        }
+    }
+
+    /**
+     * It computes the longest common prefix of each pair of terms in the
+     * arena.
+     * 
+     * @param   blackhole   The sink of the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void lexiconArena(Blackhole blackhole) {
+        for (int pair = 0; pair < PAIRS; pair++) {
+            blackhole.consume(arena.getLongestCommonPrefixLength(termIdsA[pair], termIdsB[pair]));
+        }
+    }
+
+    /**
+     * It computes the longest common prefix of each pair of terms with the
+     * sparse table.
+     * 
+     * @param   blackhole   The sink of the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void sortedLexiconIndex(Blackhole blackhole) {
+        for (int pair = 0; pair < PAIRS; pair++) {
+            blackhole.consume(index.getLongestCommonPrefixLength(termIdsA[pair], termIdsB[pair]));
+        }
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.stemby.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import com.stemby.commons.util.Matrix;
+import com.stemby.ir.algorithms.stemming.sns.SnsStemmer;
+import com.stemby.ir.algorithms.stemming.sns.strategy.AbstractRCoOccurrencesStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesForwardIndexStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesSparseRowStrategy;
+import com.stemby.ir.util.Lexicon;
+
+/**
+ * Benchmark of the step of {@link com.stemby.ir.algorithms.stemming.sns.SnsStemmer
+ * SnsStemmer} that keeps only the strong edges of the RCO Matrix. The RCO
+ * Matrix is computed before the measurement and returned by a fixed
+ * strategy, so only the selection of the edges is timed.
+ * 
+ * @author stemby
+ */
+public class StrongEdgesBenchmark extends CorpusBenchmark {
+
+    private StrongEdgesStemmer stemmer;
+
+    protected void prepare() {
+        Matrix coOccurrences = new CoOccurrencesForwardIndexStrategy().getTermsCoOccurrences(inverted);
+        final Matrix rCoOccurrences = new RCoOccurrencesSparseRowStrategy(MIN_LONGEST_COMMON_PREFIX_LENGTH, PREFIX_LENGTH, RCO_WEIGHT).getRCoOccurrences(coOccurrences, lexicon);
+        stemmer = new StrongEdgesStemmer();
+        stemmer.setLexicon(lexicon);
+        stemmer.setRCoOccurrencesStrategy(new AbstractRCoOccurrencesStrategy(MIN_LONGEST_COMMON_PREFIX_LENGTH, PREFIX_LENGTH, RCO_WEIGHT) {
+            public Matrix getRCoOccurrences(Matrix coOccurrences, Lexicon lexicon) {
+                return rCoOccurrences;
+            }
+        });
+    }
+
+    /**
+     * It keeps only the strong edges of the RCO Matrix.
+     * 
+     * @return  The adjacency matrix.
+     */
+    @Benchmark
+    public Matrix keepOnlyStrongEdges() {
+        return stemmer.keepOnlyStrongEdges();
+    }
+
+    /*
+        The adjacency matrix is computed by a protected method, which can be
+        called only by a subclass.
+    */
+
+    private static class StrongEdgesStemmer extends SnsStemmer {
+
+        public Matrix keepOnlyStrongEdges() {
+            return getAdjacencyMatrix(null);
+        }
+
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.stemby.benchmarks.scalability;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class that holds the result of a run of the pipeline: the size of the
+ * collection, the strategies, how the run ended and the measurements of the
+ * stages that were completed.
+ * <p>
+ * The status of a run is 'ok', 'oom' (the JVM ran out of memory), 'timeout'
+ * (the run was killed), 'failed' or 'skipped' (the run wasn't started, since
+ * the same strategies didn't complete on a smaller collection).
+ * 
+ * @author stemby
+ */
+public class RunResult {
+
+    private int termsNumber;
+    private int documentsNumber;
+    private long postingsNumber;
+    private String coOccurrencesStrategy;
+    private String rCoOccurrencesStrategy;
+    private String status;
+    private String failedStage;
+    private List<StageMeasurement> stages = new ArrayList<>();
+
+    /**
+     * Class constructor. The status of the new result is 'skipped'.
+     * 
+     * @param   termsNumber             The number of terms of the collection.
+     * @param   documentsNumber         The number of documents of the
+     *                                  collection.
+     * @param   postingsNumber          The number of postings of the
+     *                                  collection.
+     * @param   coOccurrencesStrategy   The strategy for computing the CO
+     *                                  Matrix.
+     * @param   rCoOccurrencesStrategy  The strategy for computing the RCO
+     *                                  Matrix.
+     */
+    public RunResult(int termsNumber, int documentsNumber, long postingsNumber, String coOccurrencesStrategy, String rCoOccurrencesStrategy) {
+        this.termsNumber = termsNumber;
+        this.documentsNumber = documentsNumber;
+        this.postingsNumber = postingsNumber;
+        this.coOccurrencesStrategy = coOccurrencesStrategy;
+        this.rCoOccurrencesStrategy = rCoOccurrencesStrategy;
+        this.status = "skipped";
+    }
+
+    /**
+     * It returns the number of terms of the collection.
+     * 
+     * @return  The number of terms.
+     */
+    public int getTermsNumber() {
+        return termsNumber;
+    }
+
+    /**
+     * It returns the number of documents of the collection.
+     * 
+     * @return  The number of documents.
+     */
+    public int getDocumentsNumber() {
+        return documentsNumber;
+    }
+
+    /**
+     * It returns the number of postings of the collection.
+     * 
+     * @return  The number of postings.
+     */
+    public long getPostingsNumber() {
+        return postingsNumber;
+    }
+
+    /**
+     * It returns the strategy for computing the CO Matrix.
+     * 
+     * @return  The name of the strategy.
+     */
+    public String getCoOccurrencesStrategy() {
+        return coOccurrencesStrategy;
+    }
+
+    /**
+     * It returns the strategy for computing the RCO Matrix.
+     * 
+     * @return  The name of the strategy.
+     */
+    public String getRCoOccurrencesStrategy() {
+        return rCoOccurrencesStrategy;
+    }
+
+    /**
+     * It returns the name of the pair of strategies, as 'co/rco'.
+     * 
+     * @return  The name of the strategies.
+     */
+    public String getStrategies() {
+        return coOccurrencesStrategy + "/" + rCoOccurrencesStrategy;
+    }
+
+    /**
+     * Set method for the status of the run.
+     * 
+     * @param   status      The status.
+     * @param   failedStage The stage that didn't complete, or null.
+     */
+    public void setStatus(String status, String failedStage) {
+        this.status = status;
+        this.failedStage = failedStage;
+    }
+
+    /**
+     * It returns the status of the run.
+     * 
+     * @return  The status.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * It returns the stage that didn't complete.
+     * 
+     * @return  The name of the stage, or null.
+     */
+    public String getFailedStage() {
+        return failedStage;
+    }
+
+    /**
+     * It checks whether the run completed.
+     * 
+     * @return  True if the status is 'ok', false otherwise.
+     */
+    public boolean isCompleted() {
+        return status.equals("ok");
+    }
+
+    /**
+     * It adds the measurement of a completed stage.
+     * 
+     * @param   measurement The measurement.
+     */
+    public void addStage(StageMeasurement measurement) {
+        stages.add(measurement);
+    }
+
+    /**
+     * It returns the measurements of the completed stages, in order.
+     * 
+     * @return  The measurements.
+     */
+    public List<StageMeasurement> getStages() {
+        return stages;
+    }
+
+    /**
+     * It returns the measurement of a stage.
+     * 
+     * @param   stage   The name of the stage.
+     * @return          The measurement, or null if the stage wasn't
+     *                  completed.
+     */
+    public StageMeasurement getStage(String stage) {
+        for (StageMeasurement measurement : stages) {
+            if (measurement.getStage().equals(stage)) {
+                return measurement;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * It returns the measurement of the completed stages together.
+     * 
+     * @return  The measurement, or null if no stage was completed.
+     */
+    public StageMeasurement getTotal() {
+        return stages.isEmpty() ? null : StageMeasurement.total("total", stages);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,176 @@
+package com.stemby.benchmarks.scalability;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.stemby.benchmarks.CorpusBenchmark;
+import com.stemby.ir.io.SyntheticCorpusWriter;
+
+/**
+ * Command line tool that measures how the whole pipeline scales with the size
+ * of the collection, for every pair of strategies. For each size of a ladder
+ * it generates a collection with {@link com.stemby.ir.io.SyntheticCorpusWriter
+ * SyntheticCorpusWriter}, then it runs the pipeline with each pair of
+ * strategies in a new JVM ({@link com.stemby.benchmarks.scalability.ScalabilityRun
+ * ScalabilityRun}), with the given heap size and time limit. A pair of
+ * strategies that runs out of memory, exceeds the time limit or fails isn't
+ * run again on the larger collections. The results are written in
+ * scalability.csv and scalability.md in the working directory, after each
+ * run.
+ * <p>
+ * The options are given as name=value arguments:
+ * <ul>
+ * <li>workDirectory: the directory of the collections, of the logs and of
+ * the report (by default, scalability);</li>
+ * <li>sizes: the numbers of terms of the collections, separated by commas
+ * (by default, 10000,100000,1000000);</li>
+ * <li>documents: the number of documents of every collection (by default, a
+ * tenth of the number of terms, and at least 1000);</li>
+ * <li>coOccurrencesStrategies and rCoOccurrencesStrategies: the strategies,
+ * separated by commas (by default, all of them);</li>
+ * <li>heapSize: the maximum heap size of each run (by default, 1g);</li>
+ * <li>timeout: the time limit of each run, in seconds (by default, 1800);</li>
+ * <li>seed: the seed of the collections (by default, 42).</li>
+ * </ul>
+ * <p>
+ * Usage: ScalabilityBenchmark [name=value ...]
+ * 
+ * @author stemby
+ */
+public class ScalabilityBenchmark {
+
+    private static final Properties options = new Properties();
+
+    public static void main(String[] args) {
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 1) {
+                System.err.println("Usage: ScalabilityBenchmark [name=value ...]");
+                System.exit(1);
+            }
+            options.setProperty(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        Path workDirectory = Paths.get(options.getProperty("workDirectory", "scalability"));
+        String heapSize = options.getProperty("heapSize", "1g");
+        long timeout = Long.parseLong(options.getProperty("timeout", "1800"));
+        long seed = Long.parseLong(options.getProperty("seed", Long.toString(CorpusBenchmark.SEED)));
+        List<String> coOccurrencesStrategies = getList("coOccurrencesStrategies", ScalabilityRun.CO_OCCURRENCES_STRATEGIES);
+        List<String> rCoOccurrencesStrategies = getList("rCoOccurrencesStrategies", ScalabilityRun.R_CO_OCCURRENCES_STRATEGIES);
+        String description = String.format("Heap size %s and time limit %d s for each run, %d processors, Java %s, seed %d.", heapSize, timeout, Runtime.getRuntime().availableProcessors(), System.getProperty("java.version"), seed);
+        ScalabilityReport report = new ScalabilityReport(description);
+        Set<String> failedStrategies = new HashSet<>();
+        try {
+            Files.createDirectories(workDirectory.resolve("logs"));
+            for (String size : getList("sizes", new String[] {"10000", "100000", "1000000"})) {
+                int termsNumber = Integer.parseInt(size);
+                int documentsNumber = Integer.parseInt(options.getProperty("documents", Integer.toString(Math.max(1000, termsNumber / 10))));
+                Path corpusPath = workDirectory.resolve("corpus-" + termsNumber + "-" + documentsNumber);
+                Files.createDirectories(corpusPath);
+                Path lexiconPath = corpusPath.resolve("lexicon");
+                Path invertedPath = corpusPath.resolve("inverted");
+                long postingsNumber = new SyntheticCorpusWriter(termsNumber, documentsNumber, seed).write(lexiconPath, invertedPath);
+                System.out.format("%d terms, %d documents, %d postings%n", termsNumber, documentsNumber, postingsNumber);
+                for (String coOccurrencesStrategy : coOccurrencesStrategies) {
+                    for (String rCoOccurrencesStrategy : rCoOccurrencesStrategies) {
+                        RunResult result = new RunResult(termsNumber, documentsNumber, postingsNumber, coOccurrencesStrategy, rCoOccurrencesStrategy);
+                        if (!failedStrategies.contains(result.getStrategies())) {
+                            String name = termsNumber + "-" + coOccurrencesStrategy + "-" + rCoOccurrencesStrategy;
+                            run(result, lexiconPath, invertedPath, workDirectory.resolve("disk-" + name), workDirectory.resolve("logs").resolve(name), heapSize, timeout);
+                            if (!result.isCompleted()) {
+                                failedStrategies.add(result.getStrategies());
+                            }
+                        }
+                        StageMeasurement total = result.getTotal();
+                        System.out.format("  %-25s %-22s %10s%n", result.getStrategies(), result.getStatus() + ((result.getFailedStage() == null) ? "" : " (" + result.getFailedStage() + ")"), (total == null) ? "" : String.format("%.2f s", total.getWallNanos() / 1e9));
+                        report.add(result);
+                        report.writeCsv(workDirectory.resolve("scalability.csv"));
+                        report.writeMarkdown(workDirectory.resolve("scalability.md"));
+                    }
+                }
+                CorpusBenchmark.delete(corpusPath);
+            }
+        }
+        catch (IOException x) {
+            System.err.format("IOException in ScalabilityBenchmark: %s%n", x);
+            System.exit(1);
+        }
+        catch (InterruptedException x) {
+            System.err.format("InterruptedException in ScalabilityBenchmark: %s%n", x);
+            System.exit(1);
+        }
+    }
+
+    /*
+        It runs the pipeline in a new JVM with the same class path. The
+        output of the run is written to a log file and then parsed: the
+        measurements of the completed stages are kept even if the run didn't
+        complete, and the stage that was running is the one that failed.
+    */
+
+    private static void run(RunResult result, Path lexiconPath, Path invertedPath, Path diskPath, Path logPath, String heapSize, long timeout) throws IOException, InterruptedException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder processBuilder = new ProcessBuilder(java, "-Xmx" + heapSize, "-cp", System.getProperty("java.class.path"), ScalabilityRun.class.getName(), lexiconPath.toString(), invertedPath.toString(), result.getCoOccurrencesStrategy(), result.getRCoOccurrencesStrategy(), diskPath.toString());
+        Path outputPath = Paths.get(logPath + ".out");
+        processBuilder.redirectOutput(outputPath.toFile());
+        processBuilder.redirectError(Paths.get(logPath + ".err").toFile());
+        Process process = processBuilder.start();
+        boolean timedOut = !process.waitFor(timeout, TimeUnit.SECONDS);
+        if (timedOut) {
+            process.destroyForcibly();
+            process.waitFor();
+        }
+        String startedStage = null;
+        for (String line : Files.readAllLines(outputPath, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t");
+            if (fields[0].equals("start")) {
+                startedStage = fields[1];
+            }
+            else
+                if (fields[0].equals("status")) {
+                    result.setStatus(fields[1], fields[1].equals("ok") ? null : fields[2]);
+                }
+                else {
+                    StageMeasurement measurement = StageMeasurement.parse(line);
+                    if (measurement != null) {
+                        result.addStage(measurement);
+                        startedStage = null;
+                    }
+                }
+        }
+        if (timedOut) {
+            result.setStatus("timeout", startedStage);
+        }
+        else
+            if (result.getStatus().equals("skipped")) {
+                String status = (process.exitValue() == ScalabilityRun.OUT_OF_MEMORY_STATUS) ? "oom" : "failed";
+                result.setStatus(status, startedStage);
+            }
+        CorpusBenchmark.delete(diskPath);
+    }
+
+    private static List<String> getList(String name, String[] defaultValues) {
+        String value = options.getProperty(name);
+        if (value == null) {
+            return Arrays.asList(defaultValues);
+        }
+        List<String> values = new ArrayList<>();
+        for (String item : value.split(",")) {
+            if (!item.trim().isEmpty()) {
+                values.add(item.trim());
+            }
+        }
+        return values;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,204 @@
+package com.stemby.benchmarks.scalability;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class that collects the results of the runs and writes the scaling report,
+ * in CSV and in Markdown.
+ * <p>
+ * The CSV file has a row for each completed stage of each run, plus a row
+ * named 'total' for the whole run, so that it can be loaded in a spreadsheet
+ * or in a notebook. The Markdown file has a table for each measurement, with
+ * a row for each size of the collection and a column for each pair of
+ * strategies, and a table with the wall time of each stage for each size.
+ * 
+ * @author stemby
+ */
+public class ScalabilityReport {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double BYTES_PER_MEGABYTE = 1 << 20;
+
+    private String description;
+    private List<RunResult> results = new ArrayList<>();
+
+    /**
+     * Class constructor.
+     * 
+     * @param   description A line that describes the environment of the runs,
+     *                      written at the beginning of the Markdown report.
+     */
+    public ScalabilityReport(String description) {
+        this.description = description;
+    }
+
+    /**
+     * It adds the result of a run.
+     * 
+     * @param   result  The result.
+     */
+    public void add(RunResult result) {
+        results.add(result);
+    }
+
+    /**
+     * It writes the report in CSV.
+     * 
+     * @param   path        The path of the file.
+     * @throws  IOException If the file can't be written.
+     */
+    public void writeCsv(Path path) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("terms,documents,postings,coOccurrencesStrategy,rCoOccurrencesStrategy,status,failedStage,stage,wallMillis,peakHeapBytes,gcMillis,gcCount,bytesRead,bytesWritten,diskBytes\n");
+            for (RunResult result : results) {
+                String run = result.getTermsNumber() + "," + result.getDocumentsNumber() + "," + result.getPostingsNumber() + "," + result.getCoOccurrencesStrategy() + "," + result.getRCoOccurrencesStrategy() + "," + result.getStatus() + "," + ((result.getFailedStage() == null) ? "" : result.getFailedStage());
+                for (StageMeasurement measurement : result.getStages()) {
+                    writer.write(run + "," + toCsv(measurement) + "\n");
+                }
+                StageMeasurement total = result.getTotal();
+                writer.write(run + "," + ((total == null) ? "total,,,,,,," : toCsv(total)) + "\n");
+            }
+        }
+    }
+
+    /**
+     * It writes the report in Markdown.
+     * 
+     * @param   path        The path of the file.
+     * @throws  IOException If the file can't be written.
+     */
+    public void writeMarkdown(Path path) throws IOException {
+        Map<String, List<RunResult>> resultsBySize = new LinkedHashMap<>();
+        Set<String> strategies = new LinkedHashSet<>();
+        Set<String> stages = new LinkedHashSet<>();
+        for (RunResult result : results) {
+            String size = result.getTermsNumber() + " | " + result.getDocumentsNumber() + " | " + result.getPostingsNumber();
+            if (!resultsBySize.containsKey(size)) {
+                resultsBySize.put(size, new ArrayList<RunResult>());
+            }
+            resultsBySize.get(size).add(result);
+            strategies.add(result.getStrategies());
+            for (StageMeasurement measurement : result.getStages()) {
+                stages.add(measurement.getStage());
+            }
+        }
+        StringBuilder report = new StringBuilder();
+        report.append("# Scalability report\n\n").append(description).append("\n\n");
+        report.append("Each cell refers to a pair of strategies (CO/RCO). A run that didn't complete shows its status and the stage where it stopped.\n");
+        appendSummary(report, "Total wall time (s)", "time", resultsBySize, strategies);
+        appendSummary(report, "Peak heap (MB)", "heap", resultsBySize, strategies);
+        appendSummary(report, "GC time (s)", "gc", resultsBySize, strategies);
+        appendSummary(report, "Disk read / written / used (MB)", "disk", resultsBySize, strategies);
+        report.append("\n## Wall time of the stages (s)\n");
+        for (Map.Entry<String, List<RunResult>> entry : resultsBySize.entrySet()) {
+            RunResult first = entry.getValue().get(0);
+            report.append("\n### ").append(first.getTermsNumber()).append(" terms, ").append(first.getDocumentsNumber()).append(" documents\n\n");
+            report.append("| Strategies |");
+            for (String stage : stages) {
+                report.append(' ').append(stage).append(" |");
+            }
+            report.append(" total | status |\n|---|");
+            for (int i = 0; i <= stages.size(); i++) {
+                report.append("---:|");
+            }
+            report.append("---|\n");
+            for (RunResult result : entry.getValue()) {
+                report.append("| ").append(result.getStrategies()).append(" |");
+                for (String stage : stages) {
+                    StageMeasurement measurement = result.getStage(stage);
+                    report.append(' ').append((measurement == null) ? "" : formatSeconds(measurement.getWallNanos())).append(" |");
+                }
+                StageMeasurement total = result.getTotal();
+                report.append(' ').append((total == null) ? "" : formatSeconds(total.getWallNanos())).append(" | ").append(formatStatus(result)).append(" |\n");
+            }
+        }
+        Files.write(path, report.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /*
+        A table with a row for each size and a column for each pair of
+        strategies. The last column is the fastest pair of strategies that
+        completed, i.e. the one to use for that size.
+    */
+
+    private static void appendSummary(StringBuilder report, String title, String value, Map<String, List<RunResult>> resultsBySize, Set<String> strategies) {
+        report.append("\n## ").append(title).append("\n\n| Terms | Documents | Postings |");
+        for (String strategy : strategies) {
+            report.append(' ').append(strategy).append(" |");
+        }
+        report.append(" Fastest |\n|---:|---:|---:|");
+        for (int i = 0; i < strategies.size(); i++) {
+            report.append("---:|");
+        }
+        report.append("---|\n");
+        for (Map.Entry<String, List<RunResult>> entry : resultsBySize.entrySet()) {
+            report.append("| ").append(entry.getKey()).append(" |");
+            RunResult fastest = null;
+            for (String strategy : strategies) {
+                RunResult result = null;
+                for (RunResult candidate : entry.getValue()) {
+                    if (candidate.getStrategies().equals(strategy)) {
+                        result = candidate;
+                    }
+                }
+                report.append(' ').append((result == null) ? "" : formatSummary(result, value)).append(" |");
+                if ((result != null) && result.isCompleted() && ((fastest == null) || (result.getTotal().getWallNanos() < fastest.getTotal().getWallNanos()))) {
+                    fastest = result;
+                }
+            }
+            report.append(' ').append((fastest == null) ? "" : fastest.getStrategies()).append(" |\n");
+        }
+    }
+
+    private static String formatSummary(RunResult result, String value) {
+        if (!result.isCompleted()) {
+            return formatStatus(result);
+        }
+        StageMeasurement total = result.getTotal();
+        if (value.equals("time")) {
+            return formatSeconds(total.getWallNanos());
+        }
+        if (value.equals("heap")) {
+            return formatMegabytes(total.getPeakHeapBytes());
+        }
+        if (value.equals("gc")) {
+            return String.format(Locale.ROOT, "%.2f", total.getGcMillis() / 1000.0);
+        }
+        return formatMegabytes(total.getBytesRead()) + " / " + formatMegabytes(total.getBytesWritten()) + " / " + formatMegabytes(total.getDiskBytes());
+    }
+
+    private static String formatStatus(RunResult result) {
+        if (result.getFailedStage() == null) {
+            return result.getStatus();
+        }
+        return result.getStatus() + " (" + result.getFailedStage() + ")";
+    }
+
+    private static String formatSeconds(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / NANOS_PER_SECOND);
+    }
+
+    private static String formatMegabytes(long bytes) {
+        return (bytes < 0) ? "n/a" : String.format(Locale.ROOT, "%.1f", bytes / BYTES_PER_MEGABYTE);
+    }
+
+    private static String toCsv(StageMeasurement measurement) {
+        return measurement.getStage() + "," + String.format(Locale.ROOT, "%.3f", measurement.getWallNanos() / 1e6) + "," + measurement.getPeakHeapBytes() + "," + measurement.getGcMillis() + "," + measurement.getGcCount() + "," + toCsv(measurement.getBytesRead()) + "," + toCsv(measurement.getBytesWritten()) + "," + measurement.getDiskBytes();
+    }
+
+    private static String toCsv(long bytes) {
+        return (bytes < 0) ? "" : Long.toString(bytes);
+    }
+
+}
\ No newline at end of file
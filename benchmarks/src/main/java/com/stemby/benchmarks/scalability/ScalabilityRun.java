@@ -0,0 +1,128 @@
+package com.stemby.benchmarks.scalability;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import com.stemby.benchmarks.CorpusBenchmark;
+import com.stemby.ir.algorithms.stemming.Stemmer;
+import com.stemby.ir.algorithms.stemming.sns.builder.SnsStemmerBuilderImpl;
+import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesDiskStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesForwardIndexStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesPrefixBucketStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesRamStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.ParallelCoOccurrencesStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesDiskStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesRamStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesSparseRowStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesStrategy;
+import com.stemby.ir.io.InvertedReader;
+import com.stemby.ir.io.LexiconReader;
+import com.stemby.ir.util.Inverted;
+import com.stemby.ir.util.Lexicon;
+
+/**
+ * Command line tool that runs the whole pipeline once, with a given pair of
+ * strategies, and prints the measurement of each stage on the standard
+ * output, followed by a status line: 'status ok' with the number of terms
+ * stemmed, 'status oom' with the stage that ran out of memory, or
+ * 'status failed' with the stage that failed. It is started in a new JVM
+ * for each run by {@link com.stemby.benchmarks.scalability.ScalabilityBenchmark
+ * ScalabilityBenchmark}, so that the runs don't share the heap.
+ * <p>
+ * Usage: ScalabilityRun lexiconPath invertedPath coOccurrencesStrategy
+ * rCoOccurrencesStrategy diskPath
+ * 
+ * @author stemby
+ */
+public class ScalabilityRun {
+
+    /**
+     * The strategies for computing the CO Matrix.
+     */
+    public static final String[] CO_OCCURRENCES_STRATEGIES = {"ram", "forwardIndex", "prefixBucket", "parallel", "disk"};
+
+    /**
+     * The strategies for computing the RCO Matrix.
+     */
+    public static final String[] R_CO_OCCURRENCES_STRATEGIES = {"ram", "sparseRow", "disk"};
+
+    /**
+     * The exit status of a run that ran out of memory.
+     */
+    public static final int OUT_OF_MEMORY_STATUS = 3;
+
+    private static final int DISK_BLOCK_SIZE = 10000;
+
+    public static void main(String[] args) {
+        if (args.length != 5) {
+            System.err.println("Usage: ScalabilityRun lexiconPath invertedPath coOccurrencesStrategy rCoOccurrencesStrategy diskPath");
+            System.exit(1);
+        }
+        Path diskPath = Paths.get(args[4]);
+        StageRecorder recorder = new StageRecorder(System.out, diskPath);
+        try {
+            recorder.start("read");
+            Lexicon lexicon = new LexiconReader(Paths.get(args[0]), StandardCharsets.UTF_8).read();
+            Inverted inverted = new InvertedReader(Paths.get(args[1]), StandardCharsets.UTF_8).read();
+            recorder.stop();
+            if ((lexicon == null) || (inverted == null)) {
+                System.out.println("status\tfailed\tread");
+                System.exit(1);
+            }
+            Stemmer snsStemmer = new SnsStemmerBuilderImpl()
+                .setLexicon(lexicon)
+                .setInverted(inverted)
+                .setCoOccurrencesStrategy(getCoOccurrencesStrategy(args[2], lexicon, diskPath))
+                .setRCoOccurrencesStrategy(getRCoOccurrencesStrategy(args[3], diskPath))
+                .addListener(recorder)
+                .build();
+            Map<String, String> stems = snsStemmer.getStems();
+            System.out.println("status\tok\t" + stems.size());
+        }
+        catch (OutOfMemoryError e) {
+            System.out.println("status\toom\t" + recorder.getStage());
+            System.exit(OUT_OF_MEMORY_STATUS);
+        }
+        catch (RuntimeException x) {
+            x.printStackTrace();
+            System.out.println("status\tfailed\t" + recorder.getStage());
+            System.exit(1);
+        }
+    }
+
+    private static CoOccurrencesStrategy getCoOccurrencesStrategy(String strategy, Lexicon lexicon, Path diskPath) {
+        if (strategy.equals("ram")) {
+            return new CoOccurrencesRamStrategy();
+        }
+        if (strategy.equals("forwardIndex")) {
+            return new CoOccurrencesForwardIndexStrategy();
+        }
+        if (strategy.equals("prefixBucket")) {
+            return new CoOccurrencesPrefixBucketStrategy(lexicon, CorpusBenchmark.MIN_LONGEST_COMMON_PREFIX_LENGTH, CorpusBenchmark.PREFIX_LENGTH);
+        }
+        if (strategy.equals("parallel")) {
+            return new ParallelCoOccurrencesStrategy(Runtime.getRuntime().availableProcessors());
+        }
+        if (strategy.equals("disk")) {
+            return new CoOccurrencesDiskStrategy(diskPath.resolve("co").toString(), DISK_BLOCK_SIZE);
+        }
+        throw new IllegalArgumentException("Unknown CO strategy: " + strategy);
+    }
+
+    private static RCoOccurrencesStrategy getRCoOccurrencesStrategy(String strategy, Path diskPath) {
+        if (strategy.equals("ram")) {
+            return new RCoOccurrencesRamStrategy(CorpusBenchmark.MIN_LONGEST_COMMON_PREFIX_LENGTH, CorpusBenchmark.PREFIX_LENGTH, CorpusBenchmark.RCO_WEIGHT);
+        }
+        if (strategy.equals("sparseRow")) {
+            return new RCoOccurrencesSparseRowStrategy(CorpusBenchmark.MIN_LONGEST_COMMON_PREFIX_LENGTH, CorpusBenchmark.PREFIX_LENGTH, CorpusBenchmark.RCO_WEIGHT);
+        }
+        if (strategy.equals("disk")) {
+            return new RCoOccurrencesDiskStrategy(CorpusBenchmark.MIN_LONGEST_COMMON_PREFIX_LENGTH, CorpusBenchmark.PREFIX_LENGTH, CorpusBenchmark.RCO_WEIGHT, diskPath.resolve("rco").toString(), DISK_BLOCK_SIZE);
+        }
+        throw new IllegalArgumentException("Unknown RCO strategy: " + strategy);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.stemby.benchmarks.scalability;
+
+/**
+ * Class that holds the resources used by a stage of the pipeline: the wall
+ * time, the peak heap usage, the time spent in garbage collection and the
+ * bytes read from and written to the disk. The measurements that aren't
+ * available are -1.
+ * <p>
+ * A measurement is exchanged between processes as a line of tab-separated
+ * values, written by {@link #toLine} and parsed by {@link #parse}.
+ * 
+ * @author stemby
+ */
+public class StageMeasurement {
+
+    private static final String PREFIX = "stage";
+
+    private String stage;
+    private long wallNanos;
+    private long peakHeapBytes;
+    private long gcMillis;
+    private long gcCount;
+    private long bytesRead;
+    private long bytesWritten;
+    private long diskBytes;
+
+    /**
+     * Class constructor.
+     * 
+     * @param   stage           The name of the stage.
+     * @param   wallNanos       The wall time, in nanoseconds.
+     * @param   peakHeapBytes   The peak usage of the heap.
+     * @param   gcMillis        The time spent in garbage collection, in
+     *                          milliseconds.
+     * @param   gcCount         The number of garbage collections.
+     * @param   bytesRead       The bytes read from the storage.
+     * @param   bytesWritten    The bytes written to the storage.
+     * @param   diskBytes       The size of the files on disk at the end of
+     *                          the stage.
+     */
+    public StageMeasurement(String stage, long wallNanos, long peakHeapBytes, long gcMillis, long gcCount, long bytesRead, long bytesWritten, long diskBytes) {
+        this.stage = stage;
+        this.wallNanos = wallNanos;
+        this.peakHeapBytes = peakHeapBytes;
+        this.gcMillis = gcMillis;
+        this.gcCount = gcCount;
+        this.bytesRead = bytesRead;
+        this.bytesWritten = bytesWritten;
+        this.diskBytes = diskBytes;
+    }
+
+    /**
+     * It returns the name of the stage.
+     * 
+     * @return  The name of the stage.
+     */
+    public String getStage() {
+        return stage;
+    }
+
+    /**
+     * It returns the wall time of the stage.
+     * 
+     * @return  The wall time, in nanoseconds.
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * It returns the peak usage of the heap during the stage.
+     * 
+     * @return  The peak usage of the heap, in bytes.
+     */
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    /**
+     * It returns the time spent in garbage collection during the stage.
+     * 
+     * @return  The time spent in garbage collection, in milliseconds.
+     */
+    public long getGcMillis() {
+        return gcMillis;
+    }
+
+    /**
+     * It returns the number of garbage collections during the stage.
+     * 
+     * @return  The number of garbage collections.
+     */
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    /**
+     * It returns the bytes read from the storage during the stage, or -1 if
+     * they aren't available.
+     * 
+     * @return  The bytes read.
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * It returns the bytes written to the storage during the stage, or -1 if
+     * they aren't available.
+     * 
+     * @return  The bytes written.
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * It returns the size of the files on disk at the end of the stage.
+     * 
+     * @return  The size of the files, in bytes.
+     */
+    public long getDiskBytes() {
+        return diskBytes;
+    }
+
+    /**
+     * It returns the measurement of a sequence of stages: the times and the
+     * bytes transferred are added, while the peak heap usage and the size of
+     * the files on disk are the largest ones.
+     * 
+     * @param   stage           The name of the sequence.
+     * @param   measurements    The measurements of the stages.
+     * @return                  The measurement of the sequence.
+     */
+    public static StageMeasurement total(String stage, Iterable<StageMeasurement> measurements) {
+        long wallNanos = 0;
+        long peakHeapBytes = 0;
+        long gcMillis = 0;
+        long gcCount = 0;
+        long bytesRead = 0;
+        long bytesWritten = 0;
+        long diskBytes = 0;
+        for (StageMeasurement measurement : measurements) {
+            wallNanos += measurement.wallNanos;
+            peakHeapBytes = Math.max(peakHeapBytes, measurement.peakHeapBytes);
+            gcMillis += measurement.gcMillis;
+            gcCount += measurement.gcCount;
+            bytesRead = ((bytesRead < 0) || (measurement.bytesRead < 0)) ? -1 : bytesRead + measurement.bytesRead;
+            bytesWritten = ((bytesWritten < 0) || (measurement.bytesWritten < 0)) ? -1 : bytesWritten + measurement.bytesWritten;
+            diskBytes = Math.max(diskBytes, measurement.diskBytes);
+        }
+        return new StageMeasurement(stage, wallNanos, peakHeapBytes, gcMillis, gcCount, bytesRead, bytesWritten, diskBytes);
+    }
+
+    /**
+     * It returns the measurement as a line of tab-separated values.
+     * 
+     * @return  The line.
+     */
+    public String toLine() {
+        return PREFIX + "\t" + stage + "\t" + wallNanos + "\t" + peakHeapBytes + "\t" + gcMillis + "\t" + gcCount + "\t" + bytesRead + "\t" + bytesWritten + "\t" + diskBytes;
+    }
+
+    /**
+     * It parses a line written by {@link #toLine}.
+     * 
+     * @param   line    The line.
+     * @return          The measurement, or null if the line doesn't contain
+     *                  a measurement.
+     */
+    public static StageMeasurement parse(String line) {
+        String[] fields = line.split("\t");
+        if ((fields.length != 9) || !fields[0].equals(PREFIX)) {
+            return null;
+        }
+        return new StageMeasurement(fields[1], Long.parseLong(fields[2]), Long.parseLong(fields[3]), Long.parseLong(fields[4]), Long.parseLong(fields[5]), Long.parseLong(fields[6]), Long.parseLong(fields[7]), Long.parseLong(fields[8]));
+    }
+
+}
\ No newline at end of file
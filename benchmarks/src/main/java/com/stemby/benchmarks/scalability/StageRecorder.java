@@ -0,0 +1,224 @@
+package com.stemby.benchmarks.scalability;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsStemmerListener;
+
+/**
+ * Class that measures the stages of the pipeline, one at a time, and prints
+ * each {@link com.stemby.benchmarks.scalability.StageMeasurement
+ * StageMeasurement} as soon as the stage ends, so that the completed stages
+ * are known even if the process runs out of memory or is killed.
+ * <p>
+ * Before a stage starts, a garbage collection is requested and the peak
+ * usage of the heap pools is reset, so the peak heap usage of a stage doesn't
+ * include the garbage of the previous ones. It is the sum of the peaks of
+ * the pools, which can be reached at different times, so it is an upper
+ * bound. The bytes read and written are the ones that the process caused to
+ * be fetched from or sent to the storage, as reported by /proc/self/io on
+ * Linux: the reads served by the page cache aren't counted. On the other
+ * systems they aren't available.
+ * <p>
+ * The stages of the stemmer (coOccurrences, adjacencyMatrix, clusters and
+ * stems) are measured by adding the recorder to it as a
+ * {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsStemmerListener
+ * SnsStemmerListener}; the other stages are measured by calling
+ * {@link #start} and {@link #stop}.
+ * 
+ * @author stemby
+ */
+public class StageRecorder implements SnsStemmerListener {
+
+    private static final Path IO_STATISTICS_PATH = Paths.get("/proc/self/io");
+
+    private PrintStream output;
+    private Path diskPath;
+    private List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+    private List<GarbageCollectorMXBean> garbageCollectors;
+    private String stage;
+    private long startNanos;
+    private long startGcMillis;
+    private long startGcCount;
+    private long[] startIoBytes;
+
+    /**
+     * Class constructor.
+     * 
+     * @param   output      The stream where the measurements are printed.
+     * @param   diskPath    The directory where the pipeline writes its files:
+     *                      its size is measured at the end of each stage.
+     */
+    public StageRecorder(PrintStream output, Path diskPath) {
+        this.output = output;
+        this.diskPath = diskPath;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool);
+            }
+        }
+        this.garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans();
+    }
+
+    /**
+     * It starts to measure a stage, and prints a line 'start' with its name.
+     * 
+     * @param   stage   The name of the stage.
+     */
+    public void start(String stage) {
+        this.stage = stage;
+        output.println("start\t" + stage);
+        output.flush();
+        System.gc();
+        for (MemoryPoolMXBean pool : heapPools) {
+            pool.resetPeakUsage();
+        }
+        startGcMillis = getGcMillis();
+        startGcCount = getGcCount();
+        startIoBytes = readIoBytes();
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * It stops measuring the current stage and prints its measurement.
+     * 
+     * @return  The measurement of the stage.
+     */
+    public StageMeasurement stop() {
+        long wallNanos = System.nanoTime() - startNanos;
+        long peakHeapBytes = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peakHeapBytes += pool.getPeakUsage().getUsed();
+        }
+        long[] ioBytes = readIoBytes();
+        long bytesRead = -1;
+        long bytesWritten = -1;
+        if ((startIoBytes != null) && (ioBytes != null)) {
+            bytesRead = ioBytes[0] - startIoBytes[0];
+            bytesWritten = ioBytes[1] - startIoBytes[1];
+        }
+        StageMeasurement measurement = new StageMeasurement(stage, wallNanos, peakHeapBytes, getGcMillis() - startGcMillis, getGcCount() - startGcCount, bytesRead, bytesWritten, getDiskBytes());
+        output.println(measurement.toLine());
+        output.flush();
+        return measurement;
+    }
+
+    /**
+     * It starts to measure a stage of the stemmer.
+     * 
+     * @param   stage   The name of the stage.
+     * @param   metrics The metrics of the run.
+     */
+    public void stageStarted(String stage, SnsMetrics metrics) {
+        start(stage);
+    }
+
+    /**
+     * It stops measuring a stage of the stemmer and prints its measurement.
+     * 
+     * @param   stage           The name of the stage.
+     * @param   durationNanos   The duration of the stage, in nanoseconds.
+     * @param   metrics         The metrics of the run, updated by the stage.
+     */
+    public void stageFinished(String stage, long durationNanos, SnsMetrics metrics) {
+        stop();
+    }
+
+    /**
+     * It does nothing: a failed stage isn't measured, and it is still
+     * returned by {@link #getStage}, so that it can be reported by the
+     * caller (the heap may be exhausted, so nothing is allocated here).
+     * 
+     * @param   stage           The name of the stage.
+     * @param   durationNanos   The time spent in the stage, in nanoseconds.
+     * @param   metrics         The metrics of the run, updated by the stage.
+     */
+    public void stageFailed(String stage, long durationNanos, SnsMetrics metrics) {
+    }
+
+    /**
+     * It returns the name of the last stage started.
+     * 
+     * @return  The name of the stage, or null if no stage has been started.
+     */
+    public String getStage() {
+        return stage;
+    }
+
+    private long getGcMillis() {
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean garbageCollector : garbageCollectors) {
+            gcMillis += Math.max(0, garbageCollector.getCollectionTime());
+        }
+        return gcMillis;
+    }
+
+    private long getGcCount() {
+        long gcCount = 0;
+        for (GarbageCollectorMXBean garbageCollector : garbageCollectors) {
+            gcCount += Math.max(0, garbageCollector.getCollectionCount());
+        }
+        return gcCount;
+    }
+
+    /*
+        It returns the read_bytes and write_bytes counters of the process,
+        or null if they aren't available.
+    */
+
+    private static long[] readIoBytes() {
+        if (!Files.isReadable(IO_STATISTICS_PATH)) {
+            return null;
+        }
+        try {
+            long[] ioBytes = {-1, -1};
+            for (String line : Files.readAllLines(IO_STATISTICS_PATH, StandardCharsets.US_ASCII)) {
+                if (line.startsWith("read_bytes:")) {
+                    ioBytes[0] = Long.parseLong(line.substring(line.indexOf(':') + 1).trim());
+                }
+                else
+                    if (line.startsWith("write_bytes:")) {
+                        ioBytes[1] = Long.parseLong(line.substring(line.indexOf(':') + 1).trim());
+                    }
+            }
+            return ((ioBytes[0] < 0) || (ioBytes[1] < 0)) ? null : ioBytes;
+        }
+        catch (IOException x) {
+            return null;
+        }
+    }
+
+    private long getDiskBytes() {
+        if (!Files.isDirectory(diskPath)) {
+            return 0;
+        }
+        final long[] size = {0};
+        try {
+            Files.walkFileTree(diskPath, new SimpleFileVisitor<Path>() {
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    size[0] += attributes.size();
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        catch (IOException x) {
+            System.err.format("IOException in StageRecorder: %s%n", x);
+        }
+        return size[0];
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,243 @@
+package com.stemby;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.management.JMException;
+
+import com.stemby.commons.util.SparseMatrixBlockCache;
+import com.stemby.ir.algorithms.stemming.sns.builder.SnsStemmerBuilder;
+import com.stemby.ir.algorithms.stemming.sns.builder.SnsStemmerBuilderImpl;
+import com.stemby.ir.algorithms.stemming.sns.metrics.JmxReporter;
+import com.stemby.ir.algorithms.stemming.sns.metrics.LogReporter;
+import com.stemby.ir.algorithms.stemming.sns.metrics.ProgressReporter;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics;
+import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesDiskStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesForwardIndexStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesPrefixBucketStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.ParallelCoOccurrencesStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesDiskStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesSparseRowStrategy;
+import com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesStrategy;
+import com.stemby.ir.algorithms.stemming.Stemmer;
+import com.stemby.ir.io.InvertedReader;
+import com.stemby.ir.io.LexiconReader;
+import com.stemby.ir.util.Lexicon;
+import com.stemby.ir.util.Inverted;
+import com.stemby.ir.util.InvertedMapped;
+import com.stemby.ir.util.SortedLexiconIndex;
+
+public class App {
+
+    private static final Properties config = new Properties();
+
+    static {
+        InputStream input = null;
+        try {
+            input = new FileInputStream("config.properties");
+            config.load(input);
+        }
+        catch (IOException x) {
+            System.err.format("IOException in App: %s%n", x);
+        }
+    }
+
+    /*
+        It creates a new file and prints to it a word and its stem on each line.
+    */
+
+    private static void printStemsOnFile(Map<String, String> stems) {
+        Path outputPath = Paths.get(config.getProperty("outputPath"));
+        Charset charset = Charset.forName("UTF-8");
+        List<String> lines = new ArrayList<>();
+        Set<String> words = stems.keySet();
+        Iterator<String> iteratorOverWords = words.iterator();
+        while (iteratorOverWords.hasNext()) {
+            String word = iteratorOverWords.next();
+            String line = word + "\t" + stems.get(word);
+            lines.add(line);
+        }
+        try {
+            Files.write(outputPath, lines, charset);
+        }
+        catch (IOException e) {
+            System.err.format("IOException in App: %s%n", e);
+        }
+    }
+
+    /*
+        It creates the strategy for computing the CO Matrix, depending on the
+        value of the coOccurrencesStrategy property.
+    */
+
+    private static CoOccurrencesStrategy getCoOccurrencesStrategy(Lexicon lexicon, int minLongestCommonPrefixLength, int prefixLength) {
+        String coOccurrencesStrategy = config.getProperty("coOccurrencesStrategy", "forwardIndex");
+        if (coOccurrencesStrategy.equals("prefixBucket")) {
+            return new CoOccurrencesPrefixBucketStrategy(lexicon, minLongestCommonPrefixLength, prefixLength);
+        }
+        if (coOccurrencesStrategy.equals("parallel")) {
+            String defaultThreadsNumber = Integer.toString(Runtime.getRuntime().availableProcessors());
+            int threadsNumber = Integer.parseInt(config.getProperty("coOccurrencesThreads", defaultThreadsNumber));
+            return new ParallelCoOccurrencesStrategy(threadsNumber);
+        }
+        if (coOccurrencesStrategy.equals("disk")) {
+            return new CoOccurrencesDiskStrategy(getDiskPath() + "/co", getDiskBlockSize());
+        }
+        return new CoOccurrencesForwardIndexStrategy();
+    }
+
+    /*
+        It creates the strategy for computing the RCO Matrix, depending on the
+        value of the rCoOccurrencesStrategy property.
+    */
+
+    private static RCoOccurrencesStrategy getRCoOccurrencesStrategy(int minLongestCommonPrefixLength, int prefixLength, float rcoWeight) {
+        String rCoOccurrencesStrategy = config.getProperty("rCoOccurrencesStrategy", "sparseRow");
+        if (rCoOccurrencesStrategy.equals("disk")) {
+            return new RCoOccurrencesDiskStrategy(minLongestCommonPrefixLength, prefixLength, rcoWeight, getDiskPath() + "/rco", getDiskBlockSize());
+        }
+        return new RCoOccurrencesSparseRowStrategy(minLongestCommonPrefixLength, prefixLength, rcoWeight);
+    }
+
+    /*
+        It reads the inverted index in the format specified by the
+        configuration: a text file, parsed into flat arrays (by more threads,
+        if required) or into compressed posting lists, or a binary file,
+        mapped in memory.
+    */
+
+    private static Inverted readInverted(Path invertedPath, InvertedReader invertedReader) {
+        if (config.getProperty("invertedFormat", "text").equals("binary")) {
+            try {
+                return InvertedMapped.map(invertedPath);
+            }
+            catch (IOException x) {
+                System.err.format("IOException in App: %s%n", x);
+                return null;
+            }
+        }
+        if (Boolean.parseBoolean(config.getProperty("compressInverted", "false"))) {
+            return invertedReader.readCompressed();
+        }
+        String defaultThreadsNumber = Integer.toString(Runtime.getRuntime().availableProcessors());
+        int threadsNumber = Integer.parseInt(config.getProperty("invertedThreads", defaultThreadsNumber));
+        return (threadsNumber > 1) ? invertedReader.readParallel(threadsNumber) : invertedReader.read();
+    }
+
+    /*
+        It reads the lexicon into the storage specified by the configuration:
+        a list of strings, or a single array of characters, optionally
+        front-coded. If required, the lexicon is then sorted, so that the
+        common prefixes of its terms are found in a constant time.
+    */
+
+    private static Lexicon readLexicon(LexiconReader lexiconReader) {
+        String lexiconStorage = config.getProperty("lexiconStorage", "array");
+        Lexicon lexicon;
+        if (lexiconStorage.equals("arena")) {
+            lexicon = lexiconReader.readCompact(false);
+        }
+        else
+            if (lexiconStorage.equals("frontCoded")) {
+                lexicon = lexiconReader.readCompact(true);
+            }
+            else {
+                lexicon = lexiconReader.read();
+            }
+        if ((lexicon != null) && Boolean.parseBoolean(config.getProperty("lexiconIndex", "false"))) {
+            return new SortedLexiconIndex(lexicon);
+        }
+        return lexicon;
+    }
+
+    /*
+        It registers the reporters listed (separated by commas) in the
+        metricsReporters property: "log" prints the duration and the counters
+        of each stage on the standard error, "progress" prints the progress of
+        the running stage every progressInterval seconds and "jmx" exposes
+        both as an MXBean.
+    */
+
+    private static void addMetricsReporters(SnsStemmerBuilder snsStemmerBuilder) {
+        for (String reporter : config.getProperty("metricsReporters", "").split(",")) {
+            reporter = reporter.trim();
+            if (reporter.equals("log")) {
+                snsStemmerBuilder.addListener(new LogReporter());
+            }
+            else
+                if (reporter.equals("progress")) {
+                    long intervalMillis = 1000 * Long.parseLong(config.getProperty("progressInterval", "10"));
+                    snsStemmerBuilder.addListener(new ProgressReporter(System.err, intervalMillis));
+                }
+                else
+                    if (reporter.equals("jmx")) {
+                        try {
+                            snsStemmerBuilder.addListener(new JmxReporter(new SnsMetrics()));
+                        }
+                        catch (JMException x) {
+                            System.err.format("JMException in App: %s%n", x);
+                        }
+                    }
+        }
+    }
+
+    private static String getDiskPath() {
+        return config.getProperty("diskPath");
+    }
+
+    private static int getDiskBlockSize() {
+        return Integer.parseInt(config.getProperty("diskBlockSize", "10000"));
+    }
+
+    /*
+        The capacity of the cache of the blocks on disk is the size, in MiB,
+        of the files mapped by the cached blocks (which are outside the heap).
+    */
+
+    private static long getDiskCacheSize() {
+        return Long.parseLong(config.getProperty("diskCacheSize", "1024")) << 20;
+    }
+
+    public static void main(String[] args) {
+        Path lexiconPath = Paths.get(config.getProperty("lexiconPath"));
+        Path invertedPath = Paths.get(config.getProperty("invertedPath"));
+        int minLongestCommonPrefixLength = Integer.parseInt(config.getProperty("minLongestCommonPrefixLength"));
+        int prefixLength = Integer.parseInt(config.getProperty("prefixLength"));
+        float rcoWeight = Float.parseFloat(config.getProperty("rcoWeight"));
+
+        Charset charset = Charset.forName("UTF-8");
+        LexiconReader lexiconReader = new LexiconReader(lexiconPath, charset);
+        InvertedReader invertedReader = new InvertedReader(invertedPath, charset);
+        Lexicon lexicon = readLexicon(lexiconReader);
+        Inverted inverted = readInverted(invertedPath, invertedReader);
+        SparseMatrixBlockCache.getShared().setCapacityInBytes(getDiskCacheSize());
+
+        SnsStemmerBuilder snsStemmerBuilder = new SnsStemmerBuilderImpl();
+        CoOccurrencesStrategy coOccurrencesStrategy = getCoOccurrencesStrategy(lexicon, minLongestCommonPrefixLength, prefixLength);
+        RCoOccurrencesStrategy rCoOccurrencesStrategy = getRCoOccurrencesStrategy(minLongestCommonPrefixLength, prefixLength, rcoWeight);
+        addMetricsReporters(snsStemmerBuilder);
+        Stemmer snsStemmer = snsStemmerBuilder
+            .setLexicon(lexicon)
+            .setInverted(inverted)
+            .setCoOccurrencesStrategy(coOccurrencesStrategy)
+            .setRCoOccurrencesStrategy(rCoOccurrencesStrategy)
+            .build();
+
+        Map<String, String> stems = snsStemmer.getStems();
+
+        printStemsOnFile(stems);
+    }
+
+}
\ No newline at end of file
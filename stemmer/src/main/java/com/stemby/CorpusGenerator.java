@@ -0,0 +1,45 @@
+package com.stemby;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import com.stemby.ir.io.SyntheticCorpusWriter;
+
+/**
+ * Command line tool that generates a synthetic collection with
+ * {@link com.stemby.ir.io.SyntheticCorpusWriter SyntheticCorpusWriter}, and
+ * writes its lexicon and its inverted index in the formats read by App. The
+ * same arguments produce always the same files. The optional arguments are
+ * the exponents of the distributions of the document frequencies and of the
+ * frequencies of the terms in the documents.
+ * <p>
+ * Usage: CorpusGenerator termsNumber documentsNumber seed lexiconPath
+ * invertedPath [documentFrequencyExponent [termFrequencyExponent]]
+ * 
+ * @author stemby
+ */
+public class CorpusGenerator {
+
+    public static void main(String[] args) {
+        if ((args.length < 5) || (args.length > 7)) {
+            System.err.println("Usage: CorpusGenerator termsNumber documentsNumber seed lexiconPath invertedPath [documentFrequencyExponent [termFrequencyExponent]]");
+            System.exit(1);
+        }
+        SyntheticCorpusWriter writer = new SyntheticCorpusWriter(Integer.parseInt(args[0]), Integer.parseInt(args[1]), Long.parseLong(args[2]));
+        if (args.length > 5) {
+            writer.setDocumentFrequencyExponent(Double.parseDouble(args[5]));
+        }
+        if (args.length > 6) {
+            writer.setTermFrequencyDistribution(1000, Double.parseDouble(args[6]));
+        }
+        try {
+            long postingsNumber = writer.write(Paths.get(args[3]), Paths.get(args[4]));
+            System.out.format("%s terms, %s postings%n", args[0], postingsNumber);
+        }
+        catch (IOException x) {
+            System.err.format("IOException in CorpusGenerator: %s%n", x);
+            System.exit(1);
+        }
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.stemby;
+
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+
+import com.stemby.ir.io.InvertedReader;
+
+/**
+ * Command line tool that converts an inverted index file from the text format
+ * read by {@link com.stemby.ir.io.InvertedReader InvertedReader} to the binary
+ * format of {@link com.stemby.ir.util.InvertedMapped InvertedMapped}. The
+ * conversion is needed only once: then App can map the binary file (with
+ * invertedFormat=binary) instead of parsing the text file at every run.
+ * <p>
+ * Usage: InvertedConverter textPath binaryPath
+ * 
+ * @author stemby
+ */
+public class InvertedConverter {
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: InvertedConverter textPath binaryPath");
+            System.exit(1);
+        }
+        InvertedReader invertedReader = new InvertedReader(Paths.get(args[0]), Charset.forName("UTF-8"));
+        if (!invertedReader.convert(Paths.get(args[1]))) {
+            System.exit(1);
+        }
+    }
+
+}
\ No newline at end of file
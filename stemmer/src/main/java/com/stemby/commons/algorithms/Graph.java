@@ -0,0 +1,129 @@
+package com.stemby.commons.algorithms;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.stemby.commons.util.ConnectedComponents;
+import com.stemby.commons.util.DisjointSets;
+import com.stemby.commons.util.EdgeCursor;
+import com.stemby.commons.util.Matrix;
+import com.stemby.commons.util.MatrixRowCursor;
+
+/**
+ * Class that includes algorithms on graphs. It contains only static methods,
+ * so it is not possible to use any constructor.
+ * 
+ * @author stemby
+ */
+public class Graph {
+
+    private Graph() {}
+
+    /**
+     * It returns a list of the connected components of a graph. The graph is
+     * represented using an adjacency matrix. Every connected component is
+     * represented using a set of nodes (indexes of the adjacency matrix).
+     * 
+     * @param   matrix  The adjacency matrix that represents the graph.
+     * @return          A list of the connected components of the given graph.
+     */
+    public static List<Set<Integer>> getConnectedComponents(Matrix matrix) {
+        List<Set<Integer>> connectedComponentList = new ArrayList<>();
+        int nodeCount = matrix.getRowCount();
+        boolean[] visited = new boolean[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            if (!visited[node]) {
+                Set<Integer> connectedComponent = new HashSet<>();
+                List<Integer> nodeToVisitList = new ArrayList<>();
+                nodeToVisitList.add(node);
+                while (!nodeToVisitList.isEmpty()) {
+                    Integer nextNodeToVisit = nodeToVisitList.remove(nodeToVisitList.size()-1);
+                    if (!visited[nextNodeToVisit]) {
+                        for (int neighbourNode = 0; neighbourNode < nodeCount; neighbourNode++) {
+                            if (matrix.getAsFloat(nextNodeToVisit, neighbourNode) > 0) {
+                                nodeToVisitList.add(neighbourNode);
+                            }
+                        }
+                        visited[nextNodeToVisit] = true;
+                        connectedComponent.add(nextNodeToVisit);
+                    }
+                }
+                connectedComponentList.add(connectedComponent);
+            }
+        }
+        return connectedComponentList;
+    }
+
+    /**
+     * It returns the connected components of a graph. The graph is
+     * represented by the number of its nodes and by a cursor over its edges.
+     * The components are found with a union-find, so the method takes an
+     * almost linear time in the number of nodes and edges.
+     * 
+     * @param   nodeCount   The number of nodes of the graph.
+     * @param   edgeCursor  A cursor over the edges of the graph.
+     * @return              The connected components of the given graph.
+     */
+    public static ConnectedComponents getConnectedComponents(int nodeCount, EdgeCursor edgeCursor) {
+        DisjointSets disjointSets = new DisjointSets(nodeCount);
+        while (edgeCursor.next()) {
+            disjointSets.union(edgeCursor.getSource(), edgeCursor.getTarget());
+        }
+        return new ConnectedComponents(disjointSets);
+    }
+
+    /**
+     * It returns a cursor over the edges of a graph represented using a
+     * symmetric adjacency matrix. Every non-zero element of the matrix above
+     * the diagonal is an edge, and the rows of the matrix are read through
+     * {@link com.stemby.commons.util.MatrixRowCursor MatrixRowCursor} objects.
+     * 
+     * @param   matrix  The symmetric adjacency matrix that represents the
+     *                  graph.
+     * @return          A cursor over the edges of the graph.
+     */
+    public static EdgeCursor getEdgeCursor(Matrix matrix) {
+        return new MatrixEdgeCursor(matrix);
+    }
+
+    private static class MatrixEdgeCursor implements EdgeCursor {
+
+        private Matrix matrix;
+        private int row = -1;
+        private MatrixRowCursor rowCursor;
+
+        public MatrixEdgeCursor(Matrix matrix) {
+            this.matrix = matrix;
+        }
+
+        public boolean next() {
+            while (true) {
+                if (rowCursor != null) {
+                    while (rowCursor.next()) {
+                        if (rowCursor.getColumn() > row) {
+                            return true;
+                        }
+                    }
+                }
+                if (row + 1 >= matrix.getRowCount()) {
+                    rowCursor = null;
+                    return false;
+                }
+                row++;
+                rowCursor = matrix.getRowCursor(row);
+            }
+        }
+
+        public int getSource() {
+            return row;
+        }
+
+        public int getTarget() {
+            return rowCursor.getColumn();
+        }
+
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.stemby.commons.algorithms;
+
+import com.stemby.commons.util.Matrix;
+import com.stemby.commons.util.MatrixRowCursor;
+
+/**
+ * Class that includes algorithms on matrices. It contains only static methods,
+ * so it is not possible to use any constructor.
+ * 
+ * @author stemby
+ */
+public class Matrices {
+
+    private Matrices() {}
+
+    /**
+     * It returns the index (i.e. the column) of the maximum element of the
+     * row.
+     * 
+     * @param   matrix      The matrix to which belongs the row. 
+     * @param   rowIndex    The raw in which the method has to search for
+     *                      the index of the maximum element.
+     * @return              The index of the maximum element of the given row.
+     */
+    public static int getIndexOfMaxElementOfRow(Matrix matrix, int rowIndex) {
+        int columnCount = matrix.getColumnCount();
+        int maxIndex = 0;
+        float max = matrix.getAsFloat(maxIndex, rowIndex);
+        for (int columnIndex = 1; columnIndex < columnCount; columnIndex++) {
+            float value = matrix.getAsFloat(columnIndex, rowIndex);
+            if (max < value) {
+                maxIndex = columnIndex;
+                max = value;
+            }
+        }
+        return maxIndex;
+    }
+
+    /**
+     * It returns the index (i.e. the column) of the maximum element of the
+     * row, considering only its non-zero elements. If more elements have the
+     * maximum value, the one with the lowest index is returned. Unlike
+     * {@link #getIndexOfMaxElementOfRow(Matrix, int) getIndexOfMaxElementOfRow},
+     * it reads the row through a
+     * {@link com.stemby.commons.util.MatrixRowCursor MatrixRowCursor}, so it
+     * doesn't visit every column of the matrix.
+     * 
+     * @param   matrix      The matrix to which belongs the row. 
+     * @param   rowIndex    The row in which the method has to search for
+     *                      the index of the maximum element.
+     * @return              The index of the maximum non-zero element of the
+     *                      given row, or -1 if every element of the row is 0.
+     */
+    public static int getIndexOfMaxNonZeroElementOfRow(Matrix matrix, int rowIndex) {
+        int maxIndex = -1;
+        float max = 0;
+        MatrixRowCursor cursor = matrix.getRowCursor(rowIndex);
+        while (cursor.next()) {
+            float value = cursor.getValue();
+            if ((maxIndex == -1) || (max < value)) {
+                maxIndex = cursor.getColumn();
+                max = value;
+            }
+        }
+        return maxIndex;
+    }
+
+}
\ No newline at end of file
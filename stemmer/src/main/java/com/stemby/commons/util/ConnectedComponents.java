@@ -0,0 +1,114 @@
+package com.stemby.commons.util;
+
+/**
+ * Class that represents the connected components of a graph whose nodes are
+ * the integers from 0 to nodesNumber - 1. Components are numbered from 0, in
+ * order of their smallest node. The nodes of every component are stored in a
+ * contiguous range of a single array, sorted in increasing order: the range
+ * of a component starts at {@link #getComponentStart(int) getComponentStart}
+ * (inclusive) and ends at {@link #getComponentEnd(int) getComponentEnd}
+ * (exclusive).
+ * 
+ * @author stemby
+ */
+public class ConnectedComponents {
+
+    private int[] componentOfNodes;
+    private int[] componentOffsets;
+    private int[] nodes;
+
+    /**
+     * Class constructor. It computes the connected components from the sets
+     * of nodes found with a union-find.
+     * 
+     * @param   disjointSets    The sets of connected nodes.
+     */
+    public ConnectedComponents(DisjointSets disjointSets) {
+        int nodesNumber = disjointSets.size();
+        int[] componentOfRoots = new int[nodesNumber];
+        componentOfNodes = new int[nodesNumber];
+        int componentsNumber = 0;
+        for (int node = 0; node < nodesNumber; node++) {
+            int root = disjointSets.find(node);
+            if (componentOfRoots[root] == 0) {
+                componentOfRoots[root] = ++componentsNumber;
+            }
+            componentOfNodes[node] = componentOfRoots[root] - 1;
+        }
+        componentOffsets = new int[componentsNumber + 1];
+        for (int node = 0; node < nodesNumber; node++) {
+            componentOffsets[componentOfNodes[node] + 1]++;
+        }
+        for (int component = 0; component < componentsNumber; component++) {
+            componentOffsets[component + 1] += componentOffsets[component];
+        }
+        int[] nextPositions = new int[componentsNumber];
+        System.arraycopy(componentOffsets, 0, nextPositions, 0, componentsNumber);
+        nodes = new int[nodesNumber];
+        for (int node = 0; node < nodesNumber; node++) {
+            nodes[nextPositions[componentOfNodes[node]]++] = node;
+        }
+    }
+
+    /**
+     * It returns how many connected components the graph has.
+     * 
+     * @return  The number of connected components.
+     */
+    public int getComponentsNumber() {
+        return componentOffsets.length - 1;
+    }
+
+    /**
+     * It returns the connected component to which a node belongs.
+     * 
+     * @param   node    The node.
+     * @return          The index of the connected component of the node.
+     */
+    public int getComponentOf(int node) {
+        return componentOfNodes[node];
+    }
+
+    /**
+     * It returns the first position of the nodes of a connected component.
+     * 
+     * @param   component   The index of the connected component.
+     * @return              The first position (inclusive) of the nodes of the
+     *                      component.
+     */
+    public int getComponentStart(int component) {
+        return componentOffsets[component];
+    }
+
+    /**
+     * It returns the last position of the nodes of a connected component.
+     * 
+     * @param   component   The index of the connected component.
+     * @return              The last position (exclusive) of the nodes of the
+     *                      component.
+     */
+    public int getComponentEnd(int component) {
+        return componentOffsets[component + 1];
+    }
+
+    /**
+     * It returns how many nodes a connected component has.
+     * 
+     * @param   component   The index of the connected component.
+     * @return              The number of nodes of the component.
+     */
+    public int getComponentSize(int component) {
+        return componentOffsets[component + 1] - componentOffsets[component];
+    }
+
+    /**
+     * It returns the node at the given position.
+     * 
+     * @param   position    The position of the node.
+     * @return              The node.
+     */
+    public int getNode(int position) {
+        return nodes[position];
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.stemby.commons.util;
+
+/**
+ * Implementation of the
+ * {@link com.stemby.commons.util.MatrixRowCursor MatrixRowCursor} interface
+ * that reads every element of the row and skips the zero ones. It can be used
+ * with any matrix, but it takes a time proportional to the number of columns
+ * of the matrix.
+ * 
+ * @author stemby
+ */
+class DenseRowCursor implements MatrixRowCursor {
+
+    private Matrix matrix;
+    private int row;
+    private int column = -1;
+    private float value;
+
+    /**
+     * Class constructor.
+     * 
+     * @param   matrix  The matrix to which belongs the row.
+     * @param   row     The index of the row.
+     */
+    public DenseRowCursor(Matrix matrix, int row) {
+        this.matrix = matrix;
+        this.row = row;
+    }
+
+    /**
+     * It moves the cursor to the next non-zero element of the row.
+     * 
+     * @return  True if the cursor has been moved to a non-zero element, false
+     *          if there are no more non-zero elements in the row.
+     */
+    public boolean next() {
+        int columnCount = matrix.getColumnCount();
+        while (++column < columnCount) {
+            value = matrix.getAsFloat(column, row);
+            if (value != 0) {
+                return true;
+            }
+        }
+        column = columnCount;
+        return false;
+    }
+
+    /**
+     * It returns the column of the element on which the cursor is placed.
+     * 
+     * @return  The column of the current element.
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * It returns the value of the element on which the cursor is placed.
+     * 
+     * @return  The value of the current element.
+     */
+    public float getValue() {
+        return value;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.stemby.commons.util;
+
+/**
+ * Class that represents a collection of disjoint sets of integers (also known
+ * as union-find). At the beginning every element is in its own set; sets can
+ * be merged and each set is identified by one of its elements, called the
+ * representative. It uses union by rank and path compression, so a sequence
+ * of operations takes an almost linear time.
+ * 
+ * @author stemby
+ */
+public class DisjointSets {
+
+    private int[] parents;
+    private byte[] ranks;
+
+    /**
+     * Class constructor.
+     * 
+     * @param   elementsNumber  The number of elements, i.e. the integers from
+     *                          0 to elementsNumber - 1.
+     */
+    public DisjointSets(int elementsNumber) {
+        parents = new int[elementsNumber];
+        ranks = new byte[elementsNumber];
+        for (int element = 0; element < elementsNumber; element++) {
+            parents[element] = element;
+        }
+    }
+
+    /**
+     * It returns how many elements are in the collection.
+     * 
+     * @return  The number of elements.
+     */
+    public int size() {
+        return parents.length;
+    }
+
+    /**
+     * It returns the representative of the set that contains the given
+     * element.
+     * 
+     * @param   element The element whose set has to be found.
+     * @return          The representative of the set of the element.
+     */
+    public int find(int element) {
+        int root = element;
+        while (parents[root] != root) {
+            root = parents[root];
+        }
+        while (parents[element] != root) {
+            int parent = parents[element];
+            parents[element] = root;
+            element = parent;
+        }
+        return root;
+    }
+
+    /**
+     * It merges the sets that contain the two given elements.
+     * 
+     * @param   elementA    An element of the first set.
+     * @param   elementB    An element of the second set.
+     * @return              True if the two sets have been merged, false if
+     *                      the elements were already in the same set.
+     */
+    public boolean union(int elementA, int elementB) {
+        int rootA = find(elementA);
+        int rootB = find(elementB);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (ranks[rootA] < ranks[rootB]) {
+            parents[rootA] = rootB;
+        }
+        else
+            if (ranks[rootA] > ranks[rootB]) {
+                parents[rootB] = rootA;
+            }
+            else {
+                parents[rootB] = rootA;
+                ranks[rootA]++;
+            }
+        return true;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.stemby.commons.util;
+
+/**
+ * Root interface for a cursor over the edges of a graph. The cursor is
+ * initially placed before the first edge, so the method
+ * {@link #next() next} has to be called before reading an edge.
+ * 
+ * @author stemby
+ */
+public interface EdgeCursor {
+
+    /**
+     * It moves the cursor to the next edge.
+     * 
+     * @return  True if the cursor has been moved to an edge, false if there
+     *          are no more edges.
+     */
+    boolean next();
+
+    /**
+     * It returns the first node of the edge on which the cursor is placed.
+     * 
+     * @return  The first node of the current edge.
+     */
+    int getSource();
+
+    /**
+     * It returns the second node of the edge on which the cursor is placed.
+     * 
+     * @return  The second node of the current edge.
+     */
+    int getTarget();
+
+}
\ No newline at end of file
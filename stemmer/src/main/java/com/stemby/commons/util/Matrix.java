@@ -81,4 +81,14 @@ public interface Matrix {
      */
     Iterable<long[]> nonZeroCoordinates();
 
+    /**
+     * It returns a cursor over the non-zero elements of a row of the matrix,
+     * i.e. the elements at the coordinates (x, row) with a value different
+     * from 0, sorted by x.
+     * 
+     * @param   row     The index of the row.
+     * @return          A cursor over the non-zero elements of the row.
+     */
+    MatrixRowCursor getRowCursor(int row);
+
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.stemby.commons.util;
+
+/**
+ * Root interface for a cursor over the non-zero elements of a row of a
+ * matrix. The elements are visited in increasing order of column. The cursor
+ * is initially placed before the first element, so the method
+ * {@link #next() next} has to be called before reading an element.
+ * <p>
+ * A typical usage is:
+ * <pre>
+ *     MatrixRowCursor cursor = matrix.getRowCursor(row);
+ *     while (cursor.next()) {
+ *         int column = cursor.getColumn();
+ *         float value = cursor.getValue();
+ *     }
+ * </pre>
+ * 
+ * @author stemby
+ */
+public interface MatrixRowCursor {
+
+    /**
+     * It moves the cursor to the next non-zero element of the row.
+     * 
+     * @return  True if the cursor has been moved to a non-zero element, false
+     *          if there are no more non-zero elements in the row.
+     */
+    boolean next();
+
+    /**
+     * It returns the column of the element on which the cursor is placed.
+     * 
+     * @return  The column of the current element.
+     */
+    int getColumn();
+
+    /**
+     * It returns the value of the element on which the cursor is placed.
+     * 
+     * @return  The value of the current element.
+     */
+    float getValue();
+
+}
\ No newline at end of file
@@ -121,4 +121,17 @@ public class SparseMatrix implements Matrix {
         return matrix.nonZeroCoordinates();
     }
 
+    /**
+     * It returns a cursor over the non-zero elements of a row of the matrix,
+     * i.e. the elements at the coordinates (x, row) with a value different
+     * from 0, sorted by x. The cursor reads every column of the row, so it
+     * takes a time proportional to the number of columns.
+     * 
+     * @param   row     The index of the row.
+     * @return          A cursor over the non-zero elements of the row.
+     */
+    public MatrixRowCursor getRowCursor(int row) {
+        return new DenseRowCursor(this, row);
+    }
+
 }
\ No newline at end of file
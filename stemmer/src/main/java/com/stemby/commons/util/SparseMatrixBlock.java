@@ -0,0 +1,307 @@
+package com.stemby.commons.util;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class that represents a block of a sparse matrix stored on disk in a binary
+ * format. A block contains the non-zero elements of a contiguous range of
+ * major indexes (e.g. a range of columns), sorted by major index and then by
+ * minor index, so every major index is a compressed sparse row of the block.
+ * <p>
+ * The file is made by three parts, written as big-endian 32-bit integers:
+ * <ul>
+ *     <li>a header with the fields MAGIC, VERSION, valueType, first, last,
+ *         matrixSize, nonZeroCount and a reserved field;</li>
+ *     <li>nonZeroCount entries, each one made by the minor index of an element
+ *         and by its value (an int or the bits of a float, depending on
+ *         valueType);</li>
+ *     <li>the block index, i.e. last - first + 2 integers: the position of
+ *         the first entry of each major index, followed by nonZeroCount.</li>
+ * </ul>
+ * The file is mapped in memory with {@link java.nio.channels.FileChannel#map
+ * FileChannel.map}, so loading a block doesn't copy or parse anything: the
+ * elements are read directly from the mapped file. Hence a block can't be
+ * larger than {@link #MAX_SIZE_IN_BYTES} bytes, the largest file that can be
+ * mapped in a single buffer.
+ * <p>
+ * Files are written by
+ * {@link com.stemby.commons.util.SparseMatrixBlockWriter SparseMatrixBlockWriter}.
+ * 
+ * @author stemby
+ */
+public class SparseMatrixBlock {
+
+    /**
+     * The first integer of every block file.
+     */
+    public static final int MAGIC = 0x534e5342;
+
+    /**
+     * The version of the format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The value of the field valueType when values are stored as ints.
+     */
+    public static final int INT_VALUES = 0;
+
+    /**
+     * The value of the field valueType when values are stored as floats.
+     */
+    public static final int FLOAT_VALUES = 1;
+
+    /**
+     * The maximum size of a block file.
+     */
+    public static final long MAX_SIZE_IN_BYTES = Integer.MAX_VALUE;
+
+    static final int HEADER_INTS = 8;
+
+    private Path path;
+    private MappedByteBuffer mappedBuffer;
+    private IntBuffer buffer;
+    private int valueType;
+    private int first;
+    private int last;
+    private int matrixSize;
+    private int nonZeroCount;
+    private int indexStart;
+    private long sizeInBytes;
+
+    private SparseMatrixBlock(Path path, MappedByteBuffer mappedBuffer) throws IOException {
+        this.path = path;
+        this.mappedBuffer = mappedBuffer;
+        this.sizeInBytes = mappedBuffer.capacity();
+        this.buffer = mappedBuffer.asIntBuffer();
+        if ((buffer.limit() < HEADER_INTS) || (buffer.get(0) != MAGIC) || (buffer.get(1) != VERSION)) {
+            throw new IOException("Not a sparse matrix block: " + path);
+        }
+        this.valueType = buffer.get(2);
+        this.first = buffer.get(3);
+        this.last = buffer.get(4);
+        this.matrixSize = buffer.get(5);
+        this.nonZeroCount = buffer.get(6);
+        if ((nonZeroCount < 0) || (last < first - 1) || (buffer.limit() != getSizeInInts(nonZeroCount, first, last))) {
+            throw new IOException("Truncated sparse matrix block: " + path);
+        }
+        this.indexStart = HEADER_INTS + 2 * nonZeroCount;
+    }
+
+    /**
+     * It maps in memory the block stored in the given file.
+     * 
+     * @param   path        The path of the file.
+     * @return              The block stored in the file.
+     * @throws  IOException If the file can't be read or it is not a valid
+     *                      block.
+     */
+    public static SparseMatrixBlock map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > MAX_SIZE_IN_BYTES) {
+                throw new IOException("Sparse matrix block larger than " + MAX_SIZE_IN_BYTES + " bytes: " + path);
+            }
+            return new SparseMatrixBlock(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * It returns the path of the file that contains the block.
+     * 
+     * @return  The path of the file.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * It returns the size of the file that contains the block.
+     * 
+     * @return  The number of bytes of the file.
+     */
+    public long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    /**
+     * It loads the whole block in physical memory, so that the following
+     * reads don't wait for the disk. It can be used to read a block in
+     * advance, before it is needed.
+     */
+    public void load() {
+        mappedBuffer.load();
+    }
+
+    /**
+     * It returns the type of the values of the block.
+     * 
+     * @return  Either {@link #INT_VALUES} or {@link #FLOAT_VALUES}.
+     */
+    public int getValueType() {
+        return valueType;
+    }
+
+    /**
+     * It returns the first major index of the block.
+     * 
+     * @return  The first major index (inclusive).
+     */
+    public int getFirst() {
+        return first;
+    }
+
+    /**
+     * It returns the last major index of the block.
+     * 
+     * @return  The last major index (inclusive).
+     */
+    public int getLast() {
+        return last;
+    }
+
+    /**
+     * It returns the size of the whole matrix to which the block belongs.
+     * 
+     * @return  The number of rows (and columns) of the matrix.
+     */
+    public int getMatrixSize() {
+        return matrixSize;
+    }
+
+    /**
+     * It returns how many non-zero elements are in the block.
+     * 
+     * @return  The number of non-zero elements.
+     */
+    public int getNonZeroCount() {
+        return nonZeroCount;
+    }
+
+    /**
+     * It checks whether a major index belongs to the block.
+     * 
+     * @param   major   The major index.
+     * @return          True if the major index is in the range of the block.
+     */
+    public boolean contains(long major) {
+        return (major >= first) && (major <= last);
+    }
+
+    /**
+     * It returns the position of the first entry of a major index.
+     * 
+     * @param   major   The major index, which must belong to the block.
+     * @return          The first position (inclusive) of the entries of the
+     *                  major index.
+     */
+    public int getStart(int major) {
+        return buffer.get(indexStart + major - first);
+    }
+
+    /**
+     * It returns the position that follows the last entry of a major index.
+     * 
+     * @param   major   The major index, which must belong to the block.
+     * @return          The last position (exclusive) of the entries of the
+     *                  major index.
+     */
+    public int getEnd(int major) {
+        return buffer.get(indexStart + major - first + 1);
+    }
+
+    /**
+     * It returns the minor index of the entry at the given position.
+     * 
+     * @param   position    The position of the entry.
+     * @return              The minor index of the entry.
+     */
+    public int getMinor(int position) {
+        return buffer.get(HEADER_INTS + 2 * position);
+    }
+
+    /**
+     * It returns the value of the entry at the given position as a float.
+     * 
+     * @param   position    The position of the entry.
+     * @return              The value of the entry.
+     */
+    public float getValue(int position) {
+        int bits = buffer.get(HEADER_INTS + 2 * position + 1);
+        if (valueType == FLOAT_VALUES) {
+            return Float.intBitsToFloat(bits);
+        }
+        return bits;
+    }
+
+    /**
+     * It returns the element at the given coordinates as an int.
+     * 
+     * @param   major   The major index, which must belong to the block.
+     * @param   minor   The minor index.
+     * @return          The element at the given coordinates.
+     */
+    public int getAsInt(long major, long minor) {
+        int position = getPosition((int)major, (int)minor);
+        if (position < 0) {
+            return 0;
+        }
+        int bits = buffer.get(HEADER_INTS + 2 * position + 1);
+        if (valueType == FLOAT_VALUES) {
+            return (int)Float.intBitsToFloat(bits);
+        }
+        return bits;
+    }
+
+    /**
+     * It returns the element at the given coordinates as a float.
+     * 
+     * @param   major   The major index, which must belong to the block.
+     * @param   minor   The minor index.
+     * @return          The element at the given coordinates.
+     */
+    public float getAsFloat(long major, long minor) {
+        int position = getPosition((int)major, (int)minor);
+        if (position < 0) {
+            return 0;
+        }
+        return getValue(position);
+    }
+
+    /**
+     * It returns the number of integers of a block file.
+     * 
+     * @param   nonZeroCount    The number of non-zero elements of the block.
+     * @param   first           The first major index of the block.
+     * @param   last            The last major index of the block.
+     * @return                  The number of integers of the file.
+     */
+    static long getSizeInInts(long nonZeroCount, int first, int last) {
+        return HEADER_INTS + 2 * nonZeroCount + ((long)last - first + 2);
+    }
+
+    private int getPosition(int major, int minor) {
+        int low = getStart(major);
+        int high = getEnd(major) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleMinor = getMinor(middle);
+            if (middleMinor < minor) {
+                low = middle + 1;
+            }
+            else
+                if (middleMinor > minor) {
+                    high = middle - 1;
+                }
+                else {
+                    return middle;
+                }
+        }
+        return -1;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,294 @@
+package com.stemby.commons.util;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Class that represents a cache of
+ * {@link com.stemby.commons.util.SparseMatrixBlock SparseMatrixBlock} objects.
+ * The cache keeps the most recently used blocks, until their total size
+ * exceeds a given number of bytes: then the least recently used blocks are
+ * evicted. A block which is bigger than the whole cache is kept anyway, until
+ * another block is requested.
+ * <p>
+ * The blocks are mapped in memory, so their bytes are outside the heap: the
+ * capacity of the cache bounds the size of the files mapped by the cached
+ * blocks, not the heap used by them (a few objects for each block) nor the
+ * resident memory, whose pages are loaded and dropped by the operating system.
+ * Java can't unmap a file explicitly: the file of an evicted block stays
+ * mapped until the block is no longer used and its buffer is collected by the
+ * garbage collector, so the mapped bytes can briefly exceed the capacity.
+ * <p>
+ * The matrices on disk share the cache returned by {@link #getShared}, unless
+ * they are given their own cache, so that a single thread prefetches the
+ * blocks of every matrix. A cache which isn't needed anymore can be closed
+ * with {@link #clear}, which stops its thread.
+ * <p>
+ * The blocks are identified by the paths of their files, so a cached block
+ * doesn't notice when its file is rewritten: the writer of the files must
+ * call {@link #invalidate} before it deletes or rewrites them (as
+ * {@link com.stemby.commons.util.SymmetricSparseMatrixOnDiskWriter SymmetricSparseMatrixOnDiskWriter}
+ * does with the shared cache), so that the old blocks are dropped and the
+ * prefetches still running don't put them back.
+ * <p>
+ * Blocks can also be prefetched: a background thread maps a block and loads
+ * it in physical memory, so that a sequential scan over the blocks doesn't
+ * wait for the disk when it moves to the next block.
+ * <p>
+ * The cache counts how many requests found the block in the cache (hits) and
+ * how many had to map its file (misses). Every method of the cache can be
+ * called by more than one thread.
+ * 
+ * @author stemby
+ */
+public class SparseMatrixBlockCache {
+
+    /**
+     * The default capacity of the cache, i.e. the size of the files mapped
+     * by the cached blocks (1 GiB).
+     */
+    public static final long DEFAULT_CAPACITY_IN_BYTES = 1L << 30;
+
+    private static SparseMatrixBlockCache shared;
+
+    private long capacityInBytes;
+    private long sizeInBytes;
+    private long hitCount;
+    private long missCount;
+    private long generation;
+    private LinkedHashMap<Path, SparseMatrixBlock> blocks = new LinkedHashMap<>(16, 0.75f, true);
+    private ExecutorService prefetcher;
+
+    /**
+     * Class constructor. The capacity of the cache is
+     * {@link #DEFAULT_CAPACITY_IN_BYTES}.
+     */
+    public SparseMatrixBlockCache() {
+        this(DEFAULT_CAPACITY_IN_BYTES);
+    }
+
+    /**
+     * Class constructor.
+     * 
+     * @param   capacityInBytes The maximum total size of the files mapped by
+     *                          the cached blocks.
+     */
+    public SparseMatrixBlockCache(long capacityInBytes) {
+        this.capacityInBytes = capacityInBytes;
+    }
+
+    /**
+     * It returns the cache shared by the matrices on disk which aren't given
+     * their own cache. It is created, with the default capacity, the first
+     * time it is requested.
+     * 
+     * @return  The shared cache.
+     */
+    public static synchronized SparseMatrixBlockCache getShared() {
+        if (shared == null) {
+            shared = new SparseMatrixBlockCache();
+        }
+        return shared;
+    }
+
+    /**
+     * It returns the block stored in the given file. If the block is not in
+     * the cache, the file is mapped in memory and the least recently used
+     * blocks are evicted, if needed.
+     * 
+     * @param   path        The path of the file.
+     * @return              The block stored in the file.
+     * @throws  IOException If the file can't be read or it is not a valid
+     *                      block.
+     */
+    public SparseMatrixBlock get(Path path) throws IOException {
+        long requestGeneration;
+        synchronized (this) {
+            SparseMatrixBlock block = blocks.get(path);
+            if (block != null) {
+                hitCount++;
+                return block;
+            }
+            missCount++;
+            requestGeneration = generation;
+        }
+        return put(SparseMatrixBlock.map(path), requestGeneration);
+    }
+
+    /**
+     * It maps in background the block stored in the given file, if it is not
+     * in the cache, and it loads the block in physical memory. Errors are
+     * ignored: they will be reported when the block is requested.
+     * 
+     * @param   path    The path of the file.
+     */
+    public void prefetch(final Path path) {
+        ExecutorService executor;
+        final long requestGeneration;
+        synchronized (this) {
+            if (blocks.containsKey(path)) {
+                return;
+            }
+            if (prefetcher == null) {
+                prefetcher = Executors.newSingleThreadExecutor(new DaemonThreadFactory());
+            }
+            executor = prefetcher;
+            requestGeneration = generation;
+        }
+        executor.execute(new Runnable() {
+            public void run() {
+                try {
+                    synchronized (SparseMatrixBlockCache.this) {
+                        if ((generation != requestGeneration) || blocks.containsKey(path)) {
+                            return;
+                        }
+                    }
+                    SparseMatrixBlock block = SparseMatrixBlock.map(path);
+                    block.load();
+                    put(block, requestGeneration);
+                }
+                catch (IOException e) {
+                    // The error is reported by get.
+                }
+            }
+        });
+    }
+
+    /**
+     * It removes every block from the cache and it stops the thread used to
+     * prefetch blocks. The counters are not reset.
+     */
+    public synchronized void clear() {
+        generation++;
+        blocks.clear();
+        sizeInBytes = 0;
+        if (prefetcher != null) {
+            prefetcher.shutdownNow();
+            prefetcher = null;
+        }
+    }
+
+    /**
+     * It removes from the cache the blocks stored in the files of the given
+     * folder whose names match the given glob pattern (see
+     * {@link java.nio.file.FileSystem#getPathMatcher FileSystem.getPathMatcher}).
+     * The blocks which are being mapped by a request or by a prefetch started
+     * before this call are not put in the cache, so a block read before its
+     * file was rewritten can't come back. The counters are not reset.
+     * 
+     * @param   folder  The folder of the files.
+     * @param   glob    The pattern of the names of the files.
+     */
+    public synchronized void invalidate(Path folder, String glob) {
+        Path normalizedFolder = folder.toAbsolutePath().normalize();
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        generation++;
+        Iterator<Map.Entry<Path, SparseMatrixBlock>> iterator = blocks.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Path, SparseMatrixBlock> entry = iterator.next();
+            Path path = entry.getKey().toAbsolutePath().normalize();
+            if (normalizedFolder.equals(path.getParent()) && matcher.matches(path.getFileName())) {
+                iterator.remove();
+                sizeInBytes -= entry.getValue().getSizeInBytes();
+            }
+        }
+    }
+
+    /**
+     * It returns the maximum total size of the files mapped by the cached
+     * blocks.
+     * 
+     * @return  The capacity of the cache, in bytes.
+     */
+    public synchronized long getCapacityInBytes() {
+        return capacityInBytes;
+    }
+
+    /**
+     * It changes the maximum total size of the files mapped by the cached
+     * blocks, evicting the least recently used blocks if needed.
+     * 
+     * @param   capacityInBytes The capacity of the cache, in bytes.
+     */
+    public synchronized void setCapacityInBytes(long capacityInBytes) {
+        this.capacityInBytes = capacityInBytes;
+        evict();
+    }
+
+    /**
+     * It returns the total size of the blocks in the cache.
+     * 
+     * @return  The size of the cached blocks, in bytes.
+     */
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    /**
+     * It returns how many blocks are in the cache.
+     * 
+     * @return  The number of cached blocks.
+     */
+    public synchronized int getBlocksNumber() {
+        return blocks.size();
+    }
+
+    /**
+     * It returns how many requested blocks were found in the cache.
+     * 
+     * @return  The number of hits.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * It returns how many requested blocks were not found in the cache.
+     * 
+     * @return  The number of misses.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    private synchronized SparseMatrixBlock put(SparseMatrixBlock block, long requestGeneration) {
+        if (generation != requestGeneration) {
+            // The cache has been invalidated while the block was mapped
+            return block;
+        }
+        SparseMatrixBlock cachedBlock = blocks.get(block.getPath());
+        if (cachedBlock != null) {
+            return cachedBlock;
+        }
+        blocks.put(block.getPath(), block);
+        sizeInBytes += block.getSizeInBytes();
+        evict();
+        return block;
+    }
+
+    private synchronized void evict() {
+        Iterator<Map.Entry<Path, SparseMatrixBlock>> iterator = blocks.entrySet().iterator();
+        while ((sizeInBytes > capacityInBytes) && (blocks.size() > 1)) {
+            SparseMatrixBlock eldestBlock = iterator.next().getValue();
+            iterator.remove();
+            sizeInBytes -= eldestBlock.getSizeInBytes();
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "sparse-matrix-block-prefetcher");
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,222 @@
+package com.stemby.commons.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class that writes a
+ * {@link com.stemby.commons.util.SparseMatrixBlock SparseMatrixBlock} to a
+ * file. The elements must be added sorted by major index and then by minor
+ * index; they are streamed to the file as they are added, so only the block
+ * index (one integer for each major index of the block) is kept in memory.
+ * A block can't be larger than
+ * {@link com.stemby.commons.util.SparseMatrixBlock#MAX_SIZE_IN_BYTES
+ * SparseMatrixBlock.MAX_SIZE_IN_BYTES}: the writer throws an
+ * IllegalStateException when an element doesn't fit in the block, so that
+ * the matrix can be split in smaller blocks.
+ * <p>
+ * The header of the block is completed only when the writer is closed. If
+ * an element can't be added (because it is not sorted, it doesn't fit in the
+ * block or the file can't be written) or the writer is aborted with
+ * {@link #abort}, closing the writer deletes the file instead, so a block
+ * written only in part can't be mistaken for a complete one.
+ * 
+ * @author stemby
+ */
+public class SparseMatrixBlockWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private Path path;
+    private DataOutputStream output;
+    private int valueType;
+    private int first;
+    private int last;
+    private int[] offsets;
+    private int currentMajor;
+    private int lastMinor = -1;
+    private int nonZeroCount;
+    private boolean failed;
+    private boolean closed;
+
+    /**
+     * Class constructor. It creates (or truncates) the file and writes the
+     * header of the block.
+     * 
+     * @param   path        The path of the file.
+     * @param   first       The first major index of the block (inclusive).
+     * @param   last        The last major index of the block (inclusive).
+     * @param   matrixSize  The size of the whole matrix to which the block
+     *                      belongs.
+     * @param   valueType   Either {@link SparseMatrixBlock#INT_VALUES} or
+     *                      {@link SparseMatrixBlock#FLOAT_VALUES}.
+     * @throws  IOException If the file can't be written.
+     */
+    public SparseMatrixBlockWriter(Path path, int first, int last, int matrixSize, int valueType) throws IOException {
+        if ((first < 0) || (last < first - 1)) {
+            throw new IllegalArgumentException("Invalid range of the block " + path + ": " + first + "-" + last);
+        }
+        if (4 * SparseMatrixBlock.getSizeInInts(0, first, last) > SparseMatrixBlock.MAX_SIZE_IN_BYTES) {
+            throw new IllegalArgumentException("The block " + path + " would be larger than " + SparseMatrixBlock.MAX_SIZE_IN_BYTES + " bytes: use smaller blocks");
+        }
+        this.path = path;
+        this.valueType = valueType;
+        this.first = first;
+        this.last = last;
+        this.offsets = new int[last - first + 2];
+        this.currentMajor = first;
+        this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+        output.writeInt(SparseMatrixBlock.MAGIC);
+        output.writeInt(SparseMatrixBlock.VERSION);
+        output.writeInt(valueType);
+        output.writeInt(first);
+        output.writeInt(last);
+        output.writeInt(matrixSize);
+        output.writeInt(0);
+        output.writeInt(0);
+    }
+
+    /**
+     * It adds an element to the block. Elements equal to 0 are skipped.
+     * 
+     * @param   major       The major index of the element.
+     * @param   minor       The minor index of the element.
+     * @param   value       The value of the element.
+     * @throws  IOException If the file can't be written.
+     */
+    public void addInt(int major, int minor, int value) throws IOException {
+        if (value != 0) {
+            add(major, minor, (valueType == SparseMatrixBlock.FLOAT_VALUES) ? Float.floatToIntBits(value) : value);
+        }
+    }
+
+    /**
+     * It adds an element to the block. Elements equal to 0 are skipped.
+     * 
+     * @param   major       The major index of the element.
+     * @param   minor       The minor index of the element.
+     * @param   value       The value of the element.
+     * @throws  IOException If the file can't be written.
+     */
+    public void addFloat(int major, int minor, float value) throws IOException {
+        if (value != 0) {
+            add(major, minor, (valueType == SparseMatrixBlock.FLOAT_VALUES) ? Float.floatToIntBits(value) : (int)value);
+        }
+    }
+
+    /**
+     * It adds an element to the block, given the bits of its value as they
+     * are stored in the file (i.e. an int or the bits of a float, depending
+     * on the type of the values of the block). Elements whose bits are all 0
+     * are skipped.
+     * 
+     * @param   major       The major index of the element.
+     * @param   minor       The minor index of the element.
+     * @param   bits        The bits of the value of the element.
+     * @throws  IOException If the file can't be written.
+     */
+    void addBits(int major, int minor, int bits) throws IOException {
+        if (bits != 0) {
+            add(major, minor, bits);
+        }
+    }
+
+    private void add(int major, int minor, int bits) throws IOException {
+        try {
+            addElement(major, minor, bits);
+        }
+        catch (IOException | RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    private void addElement(int major, int minor, int bits) throws IOException {
+        if ((major < currentMajor) || (major > last) || ((major == currentMajor) && (minor <= lastMinor))) {
+            throw new IllegalArgumentException("Elements of " + path + " are not sorted: (" + major + ", " + minor + ")");
+        }
+        if (4 * SparseMatrixBlock.getSizeInInts(nonZeroCount + 1L, first, last) > SparseMatrixBlock.MAX_SIZE_IN_BYTES) {
+            throw new IllegalStateException("The block " + path + " would be larger than " + SparseMatrixBlock.MAX_SIZE_IN_BYTES + " bytes: use smaller blocks");
+        }
+        while (currentMajor < major) {
+            currentMajor++;
+            offsets[currentMajor - first] = nonZeroCount;
+            lastMinor = -1;
+        }
+        output.writeInt(minor);
+        output.writeInt(bits);
+        lastMinor = minor;
+        nonZeroCount++;
+    }
+
+    /**
+     * It writes the block index and it closes the file. If an element could
+     * not be added or the writer has been aborted, the file is deleted
+     * instead.
+     * 
+     * @throws  IOException If the file can't be written.
+     */
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (failed) {
+            delete();
+            return;
+        }
+        try {
+            while (currentMajor <= last) {
+                currentMajor++;
+                offsets[currentMajor - first] = nonZeroCount;
+            }
+            for (int i = 0; i < offsets.length; i++) {
+                output.writeInt(offsets[i]);
+            }
+            output.close();
+            output = null;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(4);
+                header.putInt(0, nonZeroCount);
+                channel.write(header, 6 * 4);
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            failed = true;
+            delete();
+            throw e;
+        }
+    }
+
+    /**
+     * It closes the file without completing the block and it deletes it. It
+     * has no effect if the writer has already been closed.
+     * 
+     * @throws  IOException If the file can't be deleted.
+     */
+    public void abort() throws IOException {
+        failed = true;
+        close();
+    }
+
+    private void delete() throws IOException {
+        if (output != null) {
+            try {
+                output.close();
+            }
+            catch (IOException e) {
+                // The file is deleted anyway.
+            }
+            output = null;
+        }
+        Files.deleteIfExists(path);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,335 @@
+package com.stemby.commons.util;
+
+import java.lang.Iterable;
+import java.lang.UnsupportedOperationException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class that represents a symmetric sparse matrix in the compressed sparse
+ * row (CSR) format. Only the upper triangle of the matrix is stored: for each
+ * row x, the columns y &gt;= x of its non-zero elements are sorted and stored
+ * in a contiguous range of a single array of integers, and their values in
+ * the same range of a second array of integers, which holds either ints or
+ * the bits of floats (like the blocks of
+ * {@link com.stemby.commons.util.SparseMatrixBlock SparseMatrixBlock}). Hence
+ * every non-zero element takes 8 bytes, the elements of a row are read
+ * sequentially and the int values, such as the counts of the CO Matrix, are
+ * exact even above 2^24.
+ * <p>
+ * The first time a cursor over a row is requested, the matrix builds the
+ * transposed index of the upper triangle (i.e. the lower triangle), which
+ * takes 8 more bytes for each non-zero element. After that, the cursor visits
+ * the whole row reading two contiguous ranges of memory.
+ * <p>
+ * The matrix can't be modified: it is created by a
+ * {@link com.stemby.commons.util.SymmetricCsrMatrixBuilder SymmetricCsrMatrixBuilder}
+ * and the methods that would modify it throw an
+ * UnsupportedOperationException.
+ * 
+ * @author stemby
+ */
+public class SymmetricCsrMatrix implements Matrix {
+
+    /**
+     * The type of the matrices whose values are stored as ints.
+     */
+    public static final int INT_VALUES = 0;
+
+    /**
+     * The type of the matrices whose values are stored as floats.
+     */
+    public static final int FLOAT_VALUES = 1;
+
+    private int size;
+    private int[] rowOffsets;
+    private int[] columnIndexes;
+    private int[] values;
+    private int valueType;
+    private volatile int[] lowerRowOffsets;
+    private int[] lowerColumnIndexes;
+    private int[] lowerPositions;
+
+    /**
+     * Class constructor. The arrays are not copied.
+     * 
+     * @param   size            The number of rows (and columns) of the matrix.
+     * @param   rowOffsets      For each row x, the position of its first
+     *                          element in the other two arrays (the last
+     *                          element is the number of non-zero elements).
+     * @param   columnIndexes   The sorted columns of the elements of each row.
+     * @param   values          The values of the elements of each row, as
+     *                          ints or as the bits of floats.
+     * @param   valueType       Either {@link #INT_VALUES} or
+     *                          {@link #FLOAT_VALUES}.
+     */
+    protected SymmetricCsrMatrix(int size, int[] rowOffsets, int[] columnIndexes, int[] values, int valueType) {
+        this.size = size;
+        this.rowOffsets = rowOffsets;
+        this.columnIndexes = columnIndexes;
+        this.values = values;
+        this.valueType = valueType;
+    }
+
+    /**
+     * It returns the type of the values of the matrix.
+     * 
+     * @return  Either {@link #INT_VALUES} or {@link #FLOAT_VALUES}.
+     */
+    public int getValueType() {
+        return valueType;
+    }
+
+    /**
+     * It returns how many rows the matrix has.
+     * 
+     * @return The number of rows in the matrix.
+     */
+    public int getRowCount() {
+        return size;
+    }
+
+    /**
+     * It returns how many columns the matrix has.
+     * 
+     * @return The number of columns in the matrix.
+     */
+    public int getColumnCount() {
+        return size;
+    }
+
+    /**
+     * It returns true if the matrix contains no elements, false otherwise.
+     * 
+     * @return Whether the matrix contains no elements or not.
+     */
+    public boolean isEmpty() {
+        return rowOffsets[size] == 0;
+    }
+
+    /**
+     * It returns how many non-zero elements are stored in the upper triangle
+     * of the matrix.
+     * 
+     * @return The number of stored non-zero elements.
+     */
+    public int getNonZeroCount() {
+        return rowOffsets[size];
+    }
+
+    /**
+     * It returns the element of the matrix at the specified coordinates as an
+     * int.
+     * 
+     * @param   x       The column in which the new value has to be inserted.
+     * @param   y       The row in which the new value has to be inserted.
+     * @return          The element of the matrix at the specified coordinates.
+     */
+    public int getAsInt(int x, int y) {
+        int position = getPosition(x, y);
+        if (position < 0) {
+            return 0;
+        }
+        if (valueType == FLOAT_VALUES) {
+            return (int)Float.intBitsToFloat(values[position]);
+        }
+        return values[position];
+    }
+
+    /**
+     * It returns the element of the matrix at the specified coordinates as a
+     * float.
+     * 
+     * @param   x       The column in which the new value has to be inserted.
+     * @param   y       The row in which the new value has to be inserted.
+     * @return          The element of the matrix at the specified coordinates.
+     */
+    public float getAsFloat(int x, int y) {
+        int position = getPosition(x, y);
+        if (position < 0) {
+            return 0;
+        }
+        return getValueAt(position);
+    }
+
+    /**
+     * The matrix can't be modified: this method always throws an
+     * UnsupportedOperationException.
+     * 
+     * @param   x       The column in which the new value has to be inserted.
+     * @param   y       The row in which the new value has to be inserted.
+     * @param   value   The value to be inserted at the specified coordinates.
+     */
+    public void setAsInt(int x, int y, int value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * The matrix can't be modified: this method always throws an
+     * UnsupportedOperationException.
+     * 
+     * @param   x       The column in which the new value has to be inserted.
+     * @param   y       The row in which the new value has to be inserted.
+     * @param   value   The value to be inserted at the specified coordinates.
+     */
+    public void setAsFloat(int x, int y, float value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * The matrix can't be modified: this method always throws an
+     * UnsupportedOperationException.
+     */
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * It returns an iterable over non-zero coordinates of the upper triangle
+     * of the matrix, sorted by row and then by column. The returned object
+     * can be the target of the "foreach" statement.
+     * 
+     * @return An iterable over non-zero coordinates of the matrix.
+     */
+    public Iterable<long[]> nonZeroCoordinates() {
+        return new NonZeroCoordinates();
+    }
+
+    /**
+     * It returns a cursor over the non-zero elements of a row of the matrix,
+     * i.e. the elements at the coordinates (x, row) with a value different
+     * from 0, sorted by x. It takes a time proportional to the number of
+     * non-zero elements of the row.
+     * 
+     * @param   row     The index of the row.
+     * @return          A cursor over the non-zero elements of the row.
+     */
+    public MatrixRowCursor getRowCursor(int row) {
+        if (lowerRowOffsets == null) {
+            buildLowerTriangle();
+        }
+        return new RowCursor(row);
+    }
+
+    private int getPosition(int x, int y) {
+        int row = Math.min(x, y);
+        int column = Math.max(x, y);
+        return Arrays.binarySearch(columnIndexes, rowOffsets[row], rowOffsets[row + 1], column);
+    }
+
+    private float getValueAt(int position) {
+        if (valueType == FLOAT_VALUES) {
+            return Float.intBitsToFloat(values[position]);
+        }
+        return values[position];
+    }
+
+    private synchronized void buildLowerTriangle() {
+        if (lowerRowOffsets != null) {
+            return;
+        }
+        int[] offsets = new int[size + 1];
+        for (int row = 0; row < size; row++) {
+            for (int position = rowOffsets[row]; position < rowOffsets[row + 1]; position++) {
+                if (columnIndexes[position] != row) {
+                    offsets[columnIndexes[position] + 1]++;
+                }
+            }
+        }
+        for (int row = 0; row < size; row++) {
+            offsets[row + 1] += offsets[row];
+        }
+        int[] nextPositions = Arrays.copyOf(offsets, size);
+        lowerColumnIndexes = new int[offsets[size]];
+        lowerPositions = new int[offsets[size]];
+        for (int row = 0; row < size; row++) {
+            for (int position = rowOffsets[row]; position < rowOffsets[row + 1]; position++) {
+                int column = columnIndexes[position];
+                if (column != row) {
+                    int lowerPosition = nextPositions[column]++;
+                    lowerColumnIndexes[lowerPosition] = row;
+                    lowerPositions[lowerPosition] = position;
+                }
+            }
+        }
+        lowerRowOffsets = offsets;
+    }
+
+    private class RowCursor implements MatrixRowCursor {
+
+        private int lowerPosition;
+        private int lowerEnd;
+        private int upperPosition;
+        private int upperEnd;
+        private int column = -1;
+        private float value;
+
+        public RowCursor(int row) {
+            lowerPosition = lowerRowOffsets[row];
+            lowerEnd = lowerRowOffsets[row + 1];
+            upperPosition = rowOffsets[row];
+            upperEnd = rowOffsets[row + 1];
+        }
+
+        public boolean next() {
+            if (lowerPosition < lowerEnd) {
+                column = lowerColumnIndexes[lowerPosition];
+                value = getValueAt(lowerPositions[lowerPosition]);
+                lowerPosition++;
+                return true;
+            }
+            if (upperPosition < upperEnd) {
+                column = columnIndexes[upperPosition];
+                value = getValueAt(upperPosition);
+                upperPosition++;
+                return true;
+            }
+            return false;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        public float getValue() {
+            return value;
+        }
+
+    }
+
+    private class NonZeroCoordinates implements Iterable<long[]> {
+        public Iterator<long[]> iterator() {
+            return new IteratorOverNonZeroCoordinates();
+        }
+    }
+
+    private class IteratorOverNonZeroCoordinates implements Iterator<long[]> {
+
+        private int row = 0;
+        private int position = 0;
+
+        public boolean hasNext() {
+            return position < rowOffsets[size];
+        }
+
+        public long[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            while (rowOffsets[row + 1] <= position) {
+                row++;
+            }
+            long[] coordinates = new long[2];
+            coordinates[0] = row;
+            coordinates[1] = columnIndexes[position];
+            position++;
+            return coordinates;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,193 @@
+package com.stemby.commons.util;
+
+import java.util.Arrays;
+
+/**
+ * Class that allows to build a
+ * {@link com.stemby.commons.util.SymmetricCsrMatrix SymmetricCsrMatrix}
+ * object. The elements are accumulated in primitive arrays, in any order, and
+ * they are sorted and compressed only once, when the matrix is built.
+ * <p>
+ * The values are stored either as ints, which are exact (for instance, the
+ * counts of the CO Matrix), or as floats, depending on the type given to the
+ * constructor. The values added as floats to an int matrix are truncated, as
+ * when they are read with {@link SymmetricCsrMatrix#getAsInt}.
+ * 
+ * @author stemby
+ */
+public class SymmetricCsrMatrixBuilder {
+
+    private static final int MAX_ELEMENTS_NUMBER = Integer.MAX_VALUE - 8;
+
+    private int size;
+    private int valueType;
+    private int elementsNumber;
+    private int[] rows = new int[16];
+    private int[] columns = new int[16];
+    private int[] values = new int[16];
+
+    /**
+     * Class constructor. The values of the matrix are stored as floats.
+     * 
+     * @param   size    The number of rows (and columns) of the matrix.
+     */
+    public SymmetricCsrMatrixBuilder(int size) {
+        this(size, SymmetricCsrMatrix.FLOAT_VALUES);
+    }
+
+    /**
+     * Class constructor.
+     * 
+     * @param   size        The number of rows (and columns) of the matrix.
+     * @param   valueType   Either {@link SymmetricCsrMatrix#INT_VALUES} or
+     *                      {@link SymmetricCsrMatrix#FLOAT_VALUES}.
+     */
+    public SymmetricCsrMatrixBuilder(int size, int valueType) {
+        if ((valueType != SymmetricCsrMatrix.INT_VALUES) && (valueType != SymmetricCsrMatrix.FLOAT_VALUES)) {
+            throw new IllegalArgumentException("Unknown value type: " + valueType);
+        }
+        this.size = size;
+        this.valueType = valueType;
+    }
+
+    /**
+     * It adds the given value to the element of the matrix at the specified
+     * coordinates (and, since the matrix is symmetric, to the element at the
+     * transposed coordinates).
+     * 
+     * @param   x       The column of the element.
+     * @param   y       The row of the element.
+     * @param   value   The value to be added at the specified coordinates.
+     * @throws  IllegalStateException   If the matrix has already been built,
+     *                                  or if it would have too many elements.
+     */
+    public void add(int x, int y, float value) {
+        if (value != 0) {
+            add(x, y, (valueType == SymmetricCsrMatrix.FLOAT_VALUES) ? Float.floatToIntBits(value) : (int)value);
+        }
+    }
+
+    /**
+     * It adds the given int value to the element of the matrix at the
+     * specified coordinates (and, since the matrix is symmetric, to the
+     * element at the transposed coordinates).
+     * 
+     * @param   x       The column of the element.
+     * @param   y       The row of the element.
+     * @param   value   The value to be added at the specified coordinates.
+     * @throws  IllegalStateException   If the matrix has already been built,
+     *                                  or if it would have too many elements.
+     */
+    public void addInt(int x, int y, int value) {
+        if (value != 0) {
+            add(x, y, (valueType == SymmetricCsrMatrix.FLOAT_VALUES) ? Float.floatToIntBits(value) : value);
+        }
+    }
+
+    /*
+        It appends an element, whose value is already encoded as the type of
+        the matrix, growing the arrays if they are full.
+    */
+
+    private void add(int x, int y, int bits) {
+        checkNotBuilt();
+        if (elementsNumber == values.length) {
+            if (elementsNumber == MAX_ELEMENTS_NUMBER) {
+                throw new IllegalStateException("The matrix can't have more than " + MAX_ELEMENTS_NUMBER + " elements");
+            }
+            int capacity = (int)Math.min(2L * elementsNumber, MAX_ELEMENTS_NUMBER);
+            rows = Arrays.copyOf(rows, capacity);
+            columns = Arrays.copyOf(columns, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        rows[elementsNumber] = Math.min(x, y);
+        columns[elementsNumber] = Math.max(x, y);
+        values[elementsNumber] = bits;
+        elementsNumber++;
+    }
+
+    /**
+     * Method that builds the matrix with the elements added so far. Values
+     * added more than once at the same coordinates are summed. The builder
+     * can't be used anymore after this method has been called.
+     * 
+     * @return  A {@link com.stemby.commons.util.SymmetricCsrMatrix SymmetricCsrMatrix}
+     *          object with the elements added to the builder.
+     * @throws  IllegalStateException   If the matrix has already been built,
+     *                                  or if the sum of the int values added
+     *                                  at the same coordinates overflows.
+     */
+    public SymmetricCsrMatrix build() {
+        checkNotBuilt();
+        int[] rowOffsets = new int[size + 1];
+        for (int i = 0; i < elementsNumber; i++) {
+            rowOffsets[rows[i] + 1]++;
+        }
+        int maxRowLength = 0;
+        for (int row = 0; row < size; row++) {
+            maxRowLength = Math.max(maxRowLength, rowOffsets[row + 1]);
+            rowOffsets[row + 1] += rowOffsets[row];
+        }
+        int[] nextPositions = Arrays.copyOf(rowOffsets, size);
+        int[] columnIndexes = new int[elementsNumber];
+        int[] rowValues = new int[elementsNumber];
+        for (int i = 0; i < elementsNumber; i++) {
+            int position = nextPositions[rows[i]]++;
+            columnIndexes[position] = columns[i];
+            rowValues[position] = values[i];
+        }
+        rows = null;
+        columns = null;
+        values = null;
+        int nonZeroCount = 0;
+        long[] row = new long[maxRowLength];
+        int[] rowBuffer = new int[maxRowLength];
+        for (int y = 0; y < size; y++) {
+            int rowStart = rowOffsets[y];
+            int rowLength = rowOffsets[y + 1] - rowStart;
+            rowOffsets[y] = nonZeroCount;
+            for (int i = 0; i < rowLength; i++) {
+                row[i] = ((long)columnIndexes[rowStart + i] << 32) | i;
+                rowBuffer[i] = rowValues[rowStart + i];
+            }
+            Arrays.sort(row, 0, rowLength);
+            for (int i = 0; i < rowLength; i++) {
+                int column = (int)(row[i] >>> 32);
+                int value = rowBuffer[(int)row[i]];
+                if ((nonZeroCount > rowOffsets[y]) && (columnIndexes[nonZeroCount - 1] == column)) {
+                    rowValues[nonZeroCount - 1] = sum(rowValues[nonZeroCount - 1], value, column, y);
+                }
+                else {
+                    columnIndexes[nonZeroCount] = column;
+                    rowValues[nonZeroCount] = value;
+                    nonZeroCount++;
+                }
+            }
+        }
+        rowOffsets[size] = nonZeroCount;
+        elementsNumber = 0;
+        return new SymmetricCsrMatrix(size, rowOffsets, Arrays.copyOf(columnIndexes, nonZeroCount), Arrays.copyOf(rowValues, nonZeroCount), valueType);
+    }
+
+    /*
+        It sums two values encoded as the type of the matrix.
+    */
+
+    private int sum(int bitsA, int bitsB, int x, int y) {
+        if (valueType == SymmetricCsrMatrix.FLOAT_VALUES) {
+            return Float.floatToIntBits(Float.intBitsToFloat(bitsA) + Float.intBitsToFloat(bitsB));
+        }
+        long sum = (long)bitsA + bitsB;
+        if (sum != (int)sum) {
+            throw new IllegalStateException("The value at (" + x + ", " + y + ") overflows an int: " + sum);
+        }
+        return (int)sum;
+    }
+
+    private void checkNotBuilt() {
+        if (values == null) {
+            throw new IllegalStateException("The matrix has already been built");
+        }
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,494 @@
+package com.stemby.commons.util;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.lang.Iterable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.lang.UnsupportedOperationException;
+
+/**
+ * This class can use a big sparse matrix stored on disk. It is useful
+ * when there is not enough RAM to store everything.
+ * <p>
+ * It assumes that data of the matrix are stored in some files. These files
+ * can be found ad a specified path. In this path there must be two subfolders:
+ * <ul>
+ *     <li>indexed_by_x</li>
+ *     <li>indexed_by_y</li>
+ * </ul>
+ * They contains, respectively, files representing blocks of columns and blocks
+ * of rows. Every file in the folder indexed_by_x has this format:
+ * PREFIX-START-END. It must be interpreted as follows:
+ * <ul>
+ *     <li>PREFIX is a general prefix that represents the content of files
+ *         in the folder.</li>
+ *     <li>START is the index of the first column in the file.</li>
+ *     <li>END is the index of the last column in the file.</li>
+ * </ul>
+ * The folder indexed_by_y is similar. The size of the matrix and the number
+ * of columns (or rows) in each block are read from the header of the first
+ * block of columns, so the folders must contain the blocks of one matrix for
+ * each prefix.
+ * <p>
+ * Every file is a {@link com.stemby.commons.util.SparseMatrixBlock SparseMatrixBlock}:
+ * the major indexes of the blocks in the folder indexed_by_x are columns and
+ * the minor indexes are rows, while the blocks in the folder indexed_by_y are
+ * indexed by rows. The files are mapped in memory, so loading a block of
+ * columns (or rows) doesn't parse anything and it doesn't copy the elements
+ * of the block on the heap. The files can be written by a
+ * {@link com.stemby.commons.util.SymmetricSparseMatrixOnDiskWriter SymmetricSparseMatrixOnDiskWriter}.
+ * The mapped blocks are kept in a
+ * {@link com.stemby.commons.util.SparseMatrixBlockCache SparseMatrixBlockCache},
+ * so going back to a recently used block doesn't map its file again, and
+ * the scans over the non-zero coordinates prefetch the next block of columns
+ * while the current one is read. Since the matrix is symmetric, an element is
+ * always read at the coordinates (x, y) with x &lt;= y, either from the block
+ * of columns that contains x or from the block of rows that contains y. So
+ * a block of columns must contain the elements (x, y) with x &lt; y, and a
+ * block of rows must contain (at least) the same elements.
+ * <p>
+ * THIS CLASS IS NOT STABLE AND IT IS USED FOR EXPERIMENTAL PURPOSE. USE AT
+ * YOUR OWN RISK.
+ * 
+ * @author  stemby
+ */
+public class SymmetricSparseMatrixOnDisk implements Matrix {
+
+    private long matrix_size;
+    private String base_path;
+    private String file_prefix;
+    private int file_size;
+    private long min_x_in_memory = Long.MAX_VALUE;
+    private long max_x_in_memory = Long.MIN_VALUE;
+    private long min_y_in_memory = Long.MAX_VALUE;
+    private long max_y_in_memory = Long.MIN_VALUE;
+    private SparseMatrixBlock col_block;
+    private SparseMatrixBlock row_block;
+    private SparseMatrixBlockCache cache;
+    private long min_row_of_cursor = -1;
+    private SparseMatrixBlock rows_of_cursor;
+    private SparseMatrixBlock columns_of_cursor;
+
+    /**
+     * Class constructor. The blocks are kept in the cache shared by the
+     * matrices on disk (see {@link SparseMatrixBlockCache#getShared}).
+     * 
+     * @param   base_path       The base path where the files can be found
+     *                          (inside two subsolders).
+     * @param   file_prefix     The prefix of each file.
+     */
+    public SymmetricSparseMatrixOnDisk(String base_path, String file_prefix) {
+        this(base_path, file_prefix, SparseMatrixBlockCache.getShared());
+    }
+
+    /**
+     * Class constructor.
+     * 
+     * @param   base_path       The base path where the files can be found
+     *                          (inside two subsolders).
+     * @param   file_prefix     The prefix of each file.
+     * @param   cache           The cache in which the blocks are kept.
+     */
+    public SymmetricSparseMatrixOnDisk(String base_path, String file_prefix, SparseMatrixBlockCache cache) {
+        this.cache = cache;
+        this.base_path = base_path;
+        this.file_prefix = file_prefix;
+        final String prefix = file_prefix;
+        File directory = new File(base_path + "/indexed_by_x");
+        File[] first_files = directory.listFiles(new FileFilter() {
+            public boolean accept(File file) {
+                return file.getName().startsWith(prefix+"-0-");
+            }
+        });
+        if ((first_files == null) || (first_files.length != 1)) {
+            throw new IllegalStateException("Expected one block " + prefix + "-0-* in " + directory);
+        }
+        SparseMatrixBlock first_block = getBlock(first_files[0].toPath());
+        this.matrix_size = first_block.getMatrixSize();
+        if (first_block.getLast() < matrix_size - 1) {
+            this.file_size = first_block.getLast() - first_block.getFirst() + 1;
+        }
+        else {
+            this.file_size = (int)Math.max(1, matrix_size);
+        }
+    }
+
+    /**
+     * It returns how many rows the matrix has.
+     * 
+     * @return The number of rows in the matrix.
+     */
+    public int getRowCount() {
+        return (int)(matrix_size);
+    }
+
+    /**
+     * It returns how many columns the matrix has.
+     * 
+     * @return The number of columns in the matrix.
+     */
+    public int getColumnCount() {
+        return (int)(matrix_size);
+    }
+
+   /**
+     * It returns true if the matrix contains no elements, false otherwise.
+     * 
+     * @return Whether the matrix contains no elements or not.
+     */
+    public boolean isEmpty() {
+        Iterable<long[]> non_zero_coordinates = nonZeroCoordinates();
+        Iterator<long[]> it = non_zero_coordinates.iterator();
+        return !(it.hasNext());
+    }
+
+    /**
+     * It returns the element of the matrix at the specified coordinates as a
+     * float.
+     * 
+     * @param   x       The column in which the new value has to be inserted.
+     * @param   y       The row in which the new value has to be inserted.
+     * @return          The element of the matrix at the specified coordinates.
+     */
+    public int getAsInt(int x, int y) {
+        if (x > y) {
+            return getAsInt(y, x);
+        }
+        if (!isInMemory(x, y)) {
+            updateMemory(x, y);
+        }
+        return getValueInMemoryAsInt(x, y);
+    }
+
+    /**
+     * It returns the element of the matrix at the specified coordinates as a
+     * float.
+     * 
+     * @param   x       The column in which the new value has to be inserted.
+     * @param   y       The row in which the new value has to be inserted.
+     * @return          The element of the matrix at the specified coordinates.
+     */
+    public float getAsFloat(int x, int y) {
+        if (x > y) {
+            return getAsFloat(y, x);
+        }
+        if (!isInMemory(x, y)) {
+            updateMemory(x, y);
+        }
+        return getValueInMemoryAsFloat(x, y);
+    }
+
+    /**
+     * The matrix can't be modified (its files are written by a
+     * {@link com.stemby.commons.util.SymmetricSparseMatrixOnDiskWriter SymmetricSparseMatrixOnDiskWriter}):
+     * this method always throws an UnsupportedOperationException.
+     * 
+     * @param   x       The column in which the new value has to be inserted.
+     * @param   y       The row in which the new value has to be inserted.
+     * @param   value   The value to be inserted at the specified coordinates.
+     */
+    public void setAsInt(int x, int y, int value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * The matrix can't be modified (its files are written by a
+     * {@link com.stemby.commons.util.SymmetricSparseMatrixOnDiskWriter SymmetricSparseMatrixOnDiskWriter}):
+     * this method always throws an UnsupportedOperationException.
+     * 
+     * @param   x       The column in which the new value has to be inserted.
+     * @param   y       The row in which the new value has to be inserted.
+     * @param   value   The value to be inserted at the specified coordinates.
+     */
+    public void setAsFloat(int x, int y, float value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * The matrix can't be modified: this method always throws an
+     * UnsupportedOperationException.
+     */
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * It returns an iterable over non-zero coordinates. The returned object
+     * can be the target of the "foreach" statement.
+     * 
+     * @return An iterable over non-zero coordinates of the matrix.
+     */
+    public Iterable<long[]> nonZeroCoordinates() {
+        return new NonZeroCoordinates();
+    }
+
+    /**
+     * It returns a cursor over the non-zero elements of a row of the matrix,
+     * i.e. the elements at the coordinates (x, row) with a value different
+     * from 0, sorted by x. The elements (x, row) with x &lt; row are read
+     * from the block of rows that contains the row, and the elements with
+     * x &gt; row from the block of columns that contains it, so the cursor
+     * takes a time proportional to the number of non-zero elements of the
+     * row. The blocks are taken from the cache, without changing the blocks
+     * used by the other methods, and they are reused by the following cursors
+     * over the rows of the same block.
+     * 
+     * @param   row     The index of the row.
+     * @return          A cursor over the non-zero elements of the row.
+     */
+    public MatrixRowCursor getRowCursor(int row) {
+        long min = (row/file_size) * (long)file_size;
+        if (min != min_row_of_cursor) {
+            rows_of_cursor = getBlock(getBlockPath("indexed_by_y", min));
+            columns_of_cursor = getBlock(getBlockPath("indexed_by_x", min));
+            min_row_of_cursor = min;
+        }
+        return new RowCursor(row, rows_of_cursor, columns_of_cursor);
+    }
+
+    /**
+     * It returns the cache in which the blocks of the matrix are kept.
+     * 
+     * @return  The cache of the blocks.
+     */
+    public SparseMatrixBlockCache getCache() {
+        return cache;
+    }
+
+    /**
+     * This method can be used to load in memory the block of columns which
+     * contains a specified column.
+     * 
+     * @param   column_number   The index of the column to load in memory.
+     */
+    public void loadColumnInMemory(long column_number) {
+        if (!isInMemory(column_number, 0)) {
+            updateMemoryX(column_number);
+        }
+    }
+
+    /**
+     * This method can be used to load in memory the block of rows which
+     * contains a specified row.
+     * 
+     * @param   row_number  The index of the row to load in memory.
+     */
+    public void loadRowInMemory(long row_number) {
+        if (!isInMemory(0, row_number)) {
+            updateMemoryY(row_number);
+        }
+    }
+
+    /**
+     * It returns an Iterable object which represents non-zero coordinates of
+     * a specified block of columns. It is possible to call the iterator method
+     * on it.
+     * 
+     * @param   block_number    The index of the block of columns.
+     * @return                  It returns an Iterable object which represents
+     *                          non-zero coordinates of specified block of
+     *                          columns.
+     */
+    public Iterable<long[]> nonZeroCoordinatesOfColumnsBlock(int block_number) {
+        updateMemoryX(block_number * file_size);
+        prefetchX((block_number + 1) * file_size);
+        long[] sortedCoordinates = new long[col_block.getNonZeroCount()];
+        int i = 0;
+        for (int x = col_block.getFirst(); x <= col_block.getLast(); x++) {
+            for (int position = col_block.getStart(x); position < col_block.getEnd(x); position++) {
+                sortedCoordinates[i++] = ((long)col_block.getMinor(position) << 32) | x;
+            }
+        }
+        Arrays.sort(sortedCoordinates);
+        List<long[]> sortedList = new ArrayList<>(sortedCoordinates.length);
+        for (i = 0; i < sortedCoordinates.length; i++) {
+            long[] coordinates = new long[2];
+            coordinates[0] = (int)sortedCoordinates[i];
+            coordinates[1] = sortedCoordinates[i] >>> 32;
+            sortedList.add(coordinates);
+        }
+        return sortedList;
+    }
+
+    private boolean isInMemory(long x, long y) {
+        if (((x < min_x_in_memory) || (x > max_x_in_memory)) && ((y < min_y_in_memory) || (y > max_y_in_memory))) {
+            return false;
+        }
+        else {
+            return true;
+        }
+    }
+
+    private float getValueInMemoryAsFloat(long x, long y) {
+        if ((x < min_x_in_memory) || (x > max_x_in_memory)) {
+            return row_block.getAsFloat(y, x);
+        }
+        else {
+            return col_block.getAsFloat(x, y);
+        }
+    }
+
+    private int getValueInMemoryAsInt(long x, long y) {
+        if ((x < min_x_in_memory) || (x > max_x_in_memory)) {
+            return row_block.getAsInt(y, x);
+        }
+        else {
+            return col_block.getAsInt(x, y);
+        }
+    }
+
+    private void updateMemory(long x, long y) {
+        updateMemoryX(x);
+        updateMemoryY(y);
+    }
+
+    private void updateMemoryX(long x) {
+        min_x_in_memory = (x/file_size) * file_size;
+        max_x_in_memory = Math.min(min_x_in_memory+file_size - 1, matrix_size-1);
+        Path path_col_block = getBlockPath("indexed_by_x", min_x_in_memory);
+        col_block = null;
+        col_block = getBlock(path_col_block);
+    }
+
+    private void updateMemoryY(long y) {
+        min_y_in_memory = (y/file_size) * file_size;
+        max_y_in_memory = Math.min(min_y_in_memory+file_size - 1, matrix_size-1);
+        Path path_row_block = getBlockPath("indexed_by_y", min_y_in_memory);
+        row_block = null;
+        row_block = getBlock(path_row_block);
+    }
+
+    private void prefetchX(long x) {
+        if (x < matrix_size) {
+            cache.prefetch(getBlockPath("indexed_by_x", (x/file_size) * file_size));
+        }
+    }
+
+    private Path getBlockPath(String folder, long min) {
+        long max = Math.min(min+file_size - 1, matrix_size-1);
+        return Paths.get(base_path + "/" + folder + "/"+file_prefix+"-" + min + "-" + max);
+    }
+
+    private SparseMatrixBlock getBlock(Path path) {
+        try {
+            return cache.get(path);
+        }
+        catch (IOException e) {
+            throw new IllegalStateException("Unable to read the block " + path, e);
+        }
+    }
+
+    private static class RowCursor implements MatrixRowCursor {
+
+        private int row;
+        private SparseMatrixBlock rows;
+        private SparseMatrixBlock columns;
+        private int lowerPosition;
+        private int lowerEnd;
+        private int upperPosition;
+        private int upperEnd;
+        private int column = -1;
+        private float value;
+
+        public RowCursor(int row, SparseMatrixBlock rows, SparseMatrixBlock columns) {
+            this.row = row;
+            this.rows = rows;
+            this.columns = columns;
+            lowerPosition = rows.getStart(row);
+            lowerEnd = rows.getEnd(row);
+            upperPosition = columns.getStart(row);
+            upperEnd = columns.getEnd(row);
+        }
+
+        public boolean next() {
+            if ((lowerPosition < lowerEnd) && (rows.getMinor(lowerPosition) < row)) {
+                column = rows.getMinor(lowerPosition);
+                value = rows.getValue(lowerPosition);
+                lowerPosition++;
+                return true;
+            }
+            lowerPosition = lowerEnd;
+            while (upperPosition < upperEnd) {
+                column = columns.getMinor(upperPosition);
+                value = columns.getValue(upperPosition);
+                upperPosition++;
+                if (column > row) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        public float getValue() {
+            return value;
+        }
+
+    }
+
+    private class NonZeroCoordinates implements Iterable<long[]> {
+        public Iterator<long[]> iterator() {
+            return new IteratorOverNonZeroCoordinates();
+        }
+    }
+
+    private class IteratorOverNonZeroCoordinates implements Iterator<long[]> {
+
+        private long min_x_of_iterator;
+        private SparseMatrixBlock block;
+        private int x;
+        private int position;
+
+        public IteratorOverNonZeroCoordinates() {
+            min_x_of_iterator = 0;
+            updateMemoryX(min_x_of_iterator);
+            prefetchX(min_x_of_iterator + file_size);
+            block = col_block;
+            x = block.getFirst();
+        }
+
+        public boolean hasNext() {
+            if (position < block.getNonZeroCount()) {
+                return true;
+            }
+            min_x_of_iterator = min_x_of_iterator + file_size;
+            if (min_x_of_iterator >= matrix_size) {
+                return false;
+            }
+            updateMemoryX(min_x_of_iterator);
+            prefetchX(min_x_of_iterator + file_size);
+            block = col_block;
+            x = block.getFirst();
+            position = 0;
+            return hasNext();
+        }
+
+        public long[] next() {
+            if (hasNext()) {
+                while (block.getEnd(x) <= position) {
+                    x++;
+                }
+                long[] non_zero_coordinates = new long[2];
+                non_zero_coordinates[0] = x;
+                non_zero_coordinates[1] = block.getMinor(position);
+                position++;
+                return non_zero_coordinates;
+            }
+            throw new NoSuchElementException();
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,462 @@
+package com.stemby.commons.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Class that writes the files of a
+ * {@link com.stemby.commons.util.SymmetricSparseMatrixOnDisk SymmetricSparseMatrixOnDisk}.
+ * The elements (x, y) of the upper triangle of the matrix (i.e. x &lt; y) must
+ * be added sorted by x and then by y, so that the blocks of columns (in the
+ * folder indexed_by_x) are streamed to disk as the elements are added.
+ * <p>
+ * The blocks of rows (in the folder indexed_by_y) need the same elements
+ * sorted by y: they are built with an external merge sort. The elements are
+ * collected in a buffer of bounded size; when the buffer is full, its elements
+ * are sorted by y and written to a temporary file (a run). When the writer is
+ * closed, the runs are merged and the blocks of rows are written. At most
+ * {@link #MERGE_FAN_IN} runs are read at the same time: if there are more,
+ * they are first merged in groups into longer runs, in as many passes as
+ * needed. Hence the memory used by the writer doesn't depend on the number of
+ * elements of the matrix.
+ * <p>
+ * A file is written for every block, even if it contains no elements (and a
+ * single empty block is written for an empty matrix). The blocks left in the
+ * folders by a previous matrix with the same prefix are deleted when the
+ * writer is created, so they can't be mixed with the new ones. They are also
+ * dropped from the cache shared by the matrices on disk (see
+ * {@link SparseMatrixBlockCache#getShared}), when the writer is created and
+ * again when it is closed, so that the matrices opened afterwards read the
+ * new blocks.
+ * <p>
+ * If an element can't be added or the writer is aborted with {@link #abort}
+ * (e.g. because the code that computes the elements has failed), closing the
+ * writer deletes the blocks and the runs written so far, instead of
+ * completing the matrix.
+ * 
+ * @author stemby
+ */
+public class SymmetricSparseMatrixOnDiskWriter implements Closeable {
+
+    /**
+     * The default number of elements sorted in memory before they are
+     * written to a run.
+     */
+    public static final int DEFAULT_RUN_SIZE = 1 << 20;
+
+    /**
+     * The maximum number of runs merged at the same time.
+     */
+    public static final int MERGE_FAN_IN = 64;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private String basePath;
+    private String filePrefix;
+    private int matrixSize;
+    private int fileSize;
+    private int valueType;
+    private SparseMatrixBlockWriter columnsBlockWriter;
+    private int nextColumnsBlock;
+    private long lastKey = -1;
+    private long[] runKeys;
+    private int[] runValues;
+    private int runLength;
+    private List<Path> runs = new ArrayList<>();
+    private List<Long> runLengths = new ArrayList<>();
+    private int mergeFanIn = MERGE_FAN_IN;
+    private boolean failed;
+    private boolean closed;
+
+    /**
+     * Class constructor. It creates the folders indexed_by_x and indexed_by_y
+     * inside the base path, if they don't exist, and it deletes the files
+     * with the same prefix written there by a previous matrix.
+     * 
+     * @param   basePath    The base path where the files are written.
+     * @param   filePrefix  The prefix of each file.
+     * @param   matrixSize  The number of rows (and columns) of the matrix.
+     * @param   fileSize    The number of columns (or rows) in each block.
+     * @param   valueType   Either {@link SparseMatrixBlock#INT_VALUES} or
+     *                      {@link SparseMatrixBlock#FLOAT_VALUES}.
+     * @throws  IOException If the folders can't be created or the old files
+     *                      can't be deleted.
+     */
+    public SymmetricSparseMatrixOnDiskWriter(String basePath, String filePrefix, int matrixSize, int fileSize, int valueType) throws IOException {
+        this(basePath, filePrefix, matrixSize, fileSize, valueType, DEFAULT_RUN_SIZE);
+    }
+
+    /**
+     * Class constructor. It creates the folders indexed_by_x and indexed_by_y
+     * inside the base path, if they don't exist, and it deletes the files
+     * with the same prefix written there by a previous matrix.
+     * 
+     * @param   basePath    The base path where the files are written.
+     * @param   filePrefix  The prefix of each file.
+     * @param   matrixSize  The number of rows (and columns) of the matrix.
+     * @param   fileSize    The number of columns (or rows) in each block.
+     * @param   valueType   Either {@link SparseMatrixBlock#INT_VALUES} or
+     *                      {@link SparseMatrixBlock#FLOAT_VALUES}.
+     * @param   runSize     The number of elements sorted in memory before
+     *                      they are written to a run.
+     * @throws  IOException If the folders can't be created or the old files
+     *                      can't be deleted.
+     */
+    public SymmetricSparseMatrixOnDiskWriter(String basePath, String filePrefix, int matrixSize, int fileSize, int valueType, int runSize) throws IOException {
+        if ((matrixSize < 0) || (fileSize <= 0) || (runSize <= 0)) {
+            throw new IllegalArgumentException("Invalid matrix size " + matrixSize + ", block size " + fileSize + " or run size " + runSize);
+        }
+        this.basePath = basePath;
+        this.filePrefix = filePrefix;
+        this.matrixSize = matrixSize;
+        this.fileSize = fileSize;
+        this.valueType = valueType;
+        this.runKeys = new long[runSize];
+        this.runValues = new int[runSize];
+        Files.createDirectories(Paths.get(basePath, "indexed_by_x"));
+        Files.createDirectories(Paths.get(basePath, "indexed_by_y"));
+        invalidateSharedCache();
+        deleteFiles(Paths.get(basePath, "indexed_by_x"), filePrefix + "-*");
+        deleteFiles(Paths.get(basePath, "indexed_by_y"), filePrefix + "-*");
+        deleteFiles(Paths.get(basePath), filePrefix + "-run-*");
+    }
+
+    /**
+     * It adds an element to the matrix. Elements equal to 0 are skipped.
+     * 
+     * @param   x           The column of the element.
+     * @param   y           The row of the element, which must be greater
+     *                      than x.
+     * @param   value       The value of the element.
+     * @throws  IOException If the files can't be written.
+     */
+    public void addInt(int x, int y, int value) throws IOException {
+        if (value != 0) {
+            add(x, y, (valueType == SparseMatrixBlock.FLOAT_VALUES) ? Float.floatToIntBits(value) : value);
+        }
+    }
+
+    /**
+     * It adds an element to the matrix. Elements equal to 0 are skipped.
+     * 
+     * @param   x           The column of the element.
+     * @param   y           The row of the element, which must be greater
+     *                      than x.
+     * @param   value       The value of the element.
+     * @throws  IOException If the files can't be written.
+     */
+    public void addFloat(int x, int y, float value) throws IOException {
+        if (value != 0) {
+            add(x, y, (valueType == SparseMatrixBlock.FLOAT_VALUES) ? Float.floatToIntBits(value) : (int)value);
+        }
+    }
+
+    private void add(int x, int y, int bits) throws IOException {
+        try {
+            addElement(x, y, bits);
+        }
+        catch (IOException | RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    private void addElement(int x, int y, int bits) throws IOException {
+        long key = ((long)x << 32) | y;
+        if ((x < 0) || (x >= y) || (y >= matrixSize) || (key <= lastKey)) {
+            throw new IllegalArgumentException("Elements are not sorted or not in the upper triangle: (" + x + ", " + y + ")");
+        }
+        lastKey = key;
+        while ((columnsBlockWriter == null) || (x >= nextColumnsBlock * (long)fileSize)) {
+            openNextColumnsBlock();
+        }
+        columnsBlockWriter.addBits(x, y, bits);
+        if (runLength == runKeys.length) {
+            writeRun();
+        }
+        runKeys[runLength] = key;
+        runValues[runLength] = bits;
+        runLength++;
+    }
+
+    /**
+     * It writes the remaining blocks of columns, it merges the runs into the
+     * blocks of rows and it deletes the runs. The blocks of the matrix are
+     * dropped again from the shared cache. If an element could not be added
+     * or the writer has been aborted, the blocks are deleted instead.
+     * 
+     * @throws  IOException If the files can't be written.
+     */
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (!failed) {
+                while ((nextColumnsBlock == 0) || (nextColumnsBlock * (long)fileSize < matrixSize)) {
+                    openNextColumnsBlock();
+                }
+                if (columnsBlockWriter != null) {
+                    columnsBlockWriter.close();
+                    columnsBlockWriter = null;
+                }
+                writeRun();
+                mergeRuns();
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+        finally {
+            runKeys = null;
+            runValues = null;
+            if (columnsBlockWriter != null) {
+                columnsBlockWriter.abort();
+                columnsBlockWriter = null;
+            }
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+            if (failed) {
+                deleteFiles(Paths.get(basePath, "indexed_by_x"), filePrefix + "-*");
+                deleteFiles(Paths.get(basePath, "indexed_by_y"), filePrefix + "-*");
+            }
+            invalidateSharedCache();
+        }
+    }
+
+    /**
+     * It closes the writer without completing the matrix: the blocks and the
+     * runs written so far are deleted. It has no effect if the writer has
+     * already been closed.
+     * 
+     * @throws  IOException If the files can't be deleted.
+     */
+    public void abort() throws IOException {
+        failed = true;
+        close();
+    }
+
+    private void invalidateSharedCache() {
+        SparseMatrixBlockCache cache = SparseMatrixBlockCache.getShared();
+        cache.invalidate(Paths.get(basePath, "indexed_by_x"), filePrefix + "-*");
+        cache.invalidate(Paths.get(basePath, "indexed_by_y"), filePrefix + "-*");
+    }
+
+    private static void deleteFiles(Path folder, String glob) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder, glob)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private void openNextColumnsBlock() throws IOException {
+        if (columnsBlockWriter != null) {
+            columnsBlockWriter.close();
+        }
+        columnsBlockWriter = openBlock("indexed_by_x", nextColumnsBlock);
+        nextColumnsBlock++;
+    }
+
+    private SparseMatrixBlockWriter openBlock(String folder, int blockNumber) throws IOException {
+        int first = blockNumber * fileSize;
+        int last = (int)Math.min(first + (long)fileSize - 1, matrixSize - 1);
+        Path path = Paths.get(basePath, folder, filePrefix + "-" + first + "-" + last);
+        return new SparseMatrixBlockWriter(path, first, last, matrixSize, valueType);
+    }
+
+    /*
+        The elements of the buffer are sorted by x, so the value of an element
+        (x, y) can be found with a binary search after the transposed keys
+        have been sorted.
+    */
+
+    private void writeRun() throws IOException {
+        if (runLength == 0) {
+            return;
+        }
+        long[] transposedKeys = new long[runLength];
+        for (int i = 0; i < runLength; i++) {
+            transposedKeys[i] = (runKeys[i] << 32) | (runKeys[i] >>> 32);
+        }
+        Arrays.sort(transposedKeys);
+        Path run = Files.createTempFile(Paths.get(basePath), filePrefix + "-run-", "");
+        runs.add(run);
+        runLengths.add((long)runLength);
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), BUFFER_SIZE))) {
+            for (int i = 0; i < runLength; i++) {
+                long key = (transposedKeys[i] << 32) | (transposedKeys[i] >>> 32);
+                output.writeLong(transposedKeys[i]);
+                output.writeInt(runValues[Arrays.binarySearch(runKeys, 0, runLength, key)]);
+            }
+        }
+        runLength = 0;
+    }
+
+    /*
+        It sets the maximum number of runs merged at the same time, so that
+        the tests can merge a few runs in several passes.
+    */
+
+    void setMergeFanIn(int mergeFanIn) {
+        if (mergeFanIn < 2) {
+            throw new IllegalArgumentException("Invalid merge fan-in " + mergeFanIn);
+        }
+        this.mergeFanIn = mergeFanIn;
+    }
+
+    /*
+        The first runs are merged into a new run added at the end of the list,
+        so that every pass merges runs of about the same length. The new run
+        is added to the list before it is written, so that it is deleted when
+        the writer is closed even if the merge fails.
+    */
+
+    private void mergeRuns() throws IOException {
+        while (runs.size() > mergeFanIn) {
+            List<Path> mergedRuns = new ArrayList<>(runs.subList(0, mergeFanIn));
+            List<Long> mergedLengths = new ArrayList<>(runLengths.subList(0, mergeFanIn));
+            long length = 0;
+            for (long mergedLength : mergedLengths) {
+                length += mergedLength;
+            }
+            Path run = Files.createTempFile(Paths.get(basePath), filePrefix + "-run-", "");
+            runs.add(run);
+            runLengths.add(length);
+            PriorityQueue<RunReader> queue = openRuns(mergedRuns, mergedLengths);
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), BUFFER_SIZE))) {
+                while (!queue.isEmpty()) {
+                    RunReader reader = queue.poll();
+                    output.writeLong(reader.key);
+                    output.writeInt(reader.value);
+                    if (reader.next()) {
+                        queue.add(reader);
+                    }
+                    else {
+                        reader.close();
+                    }
+                }
+            }
+            finally {
+                for (RunReader reader : queue) {
+                    reader.close();
+                }
+            }
+            for (Path mergedRun : mergedRuns) {
+                Files.delete(mergedRun);
+            }
+            runs.subList(0, mergeFanIn).clear();
+            runLengths.subList(0, mergeFanIn).clear();
+        }
+        PriorityQueue<RunReader> queue = openRuns(runs, runLengths);
+        SparseMatrixBlockWriter rowsBlockWriter = null;
+        try {
+            int nextRowsBlock = 0;
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                int y = (int)(reader.key >>> 32);
+                while ((rowsBlockWriter == null) || (y >= nextRowsBlock * (long)fileSize)) {
+                    if (rowsBlockWriter != null) {
+                        rowsBlockWriter.close();
+                    }
+                    rowsBlockWriter = openBlock("indexed_by_y", nextRowsBlock++);
+                }
+                rowsBlockWriter.addBits(y, (int)reader.key, reader.value);
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+                else {
+                    reader.close();
+                }
+            }
+            while ((nextRowsBlock == 0) || (nextRowsBlock * (long)fileSize < matrixSize)) {
+                if (rowsBlockWriter != null) {
+                    rowsBlockWriter.close();
+                }
+                rowsBlockWriter = openBlock("indexed_by_y", nextRowsBlock++);
+            }
+            if (rowsBlockWriter != null) {
+                rowsBlockWriter.close();
+            }
+        }
+        finally {
+            for (RunReader reader : queue) {
+                reader.close();
+            }
+            if (rowsBlockWriter != null) {
+                // It has no effect if the last block has been completed
+                rowsBlockWriter.abort();
+            }
+        }
+    }
+
+    private static PriorityQueue<RunReader> openRuns(List<Path> runs, List<Long> lengths) throws IOException {
+        PriorityQueue<RunReader> queue = new PriorityQueue<>(Math.max(1, runs.size()));
+        try {
+            for (int i = 0; i < runs.size(); i++) {
+                RunReader reader = new RunReader(runs.get(i), lengths.get(i));
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+                else {
+                    reader.close();
+                }
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            for (RunReader reader : queue) {
+                reader.close();
+            }
+            throw e;
+        }
+        return queue;
+    }
+
+    private static class RunReader implements Comparable<RunReader> {
+
+        private DataInputStream input;
+        private long remaining;
+        private long key;
+        private int value;
+
+        public RunReader(Path run, long length) throws IOException {
+            input = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), BUFFER_SIZE));
+            remaining = length;
+        }
+
+        public boolean next() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            key = input.readLong();
+            value = input.readInt();
+            remaining--;
+            return true;
+        }
+
+        public void close() throws IOException {
+            input.close();
+        }
+
+        public int compareTo(RunReader other) {
+            return (key < other.key) ? -1 : ((key == other.key) ? 0 : 1);
+        }
+
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.stemby.commons.util;
+
+import java.util.Random;
+
+/**
+ * Class that draws random integers from a Zipf distribution: the integer k,
+ * from 1 to numberOfElements, is drawn with a probability proportional to
+ * 1 / k^exponent. It uses the rejection-inversion method by Hormann and
+ * Derflinger, so it doesn't need any table: every sample takes a constant
+ * expected time and the memory doesn't depend on the number of elements.
+ * The samples only depend on the given random generator, so a seeded
+ * generator produces always the same sequence.
+ * 
+ * @author stemby
+ */
+public class ZipfSampler {
+
+    private int numberOfElements;
+    private double exponent;
+    private Random random;
+    private double hIntegralX1;
+    private double hIntegralNumberOfElements;
+    private double s;
+
+    /**
+     * Class constructor.
+     * 
+     * @param   numberOfElements    The largest integer that can be drawn.
+     * @param   exponent            The exponent of the distribution, which
+     *                              must be positive.
+     * @param   random              The random generator.
+     */
+    public ZipfSampler(int numberOfElements, double exponent, Random random) {
+        if (numberOfElements < 1) {
+            throw new IllegalArgumentException("The number of elements must be positive: " + numberOfElements);
+        }
+        if (!(exponent > 0)) {
+            throw new IllegalArgumentException("The exponent must be positive: " + exponent);
+        }
+        this.numberOfElements = numberOfElements;
+        this.exponent = exponent;
+        this.random = random;
+        this.hIntegralX1 = hIntegral(1.5) - 1;
+        this.hIntegralNumberOfElements = hIntegral(numberOfElements + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    /**
+     * It returns the largest integer that can be drawn.
+     * 
+     * @return  The number of elements of the distribution.
+     */
+    public int getNumberOfElements() {
+        return numberOfElements;
+    }
+
+    /**
+     * It returns the exponent of the distribution.
+     * 
+     * @return  The exponent.
+     */
+    public double getExponent() {
+        return exponent;
+    }
+
+    /**
+     * It draws a random integer.
+     * 
+     * @return  An integer from 1 to numberOfElements.
+     */
+    public int sample() {
+        while (true) {
+            double u = hIntegralNumberOfElements + random.nextDouble() * (hIntegralX1 - hIntegralNumberOfElements);
+            double x = hIntegralInverse(u);
+            int k = (int)(x + 0.5);
+            if (k < 1) {
+                k = 1;
+            }
+            else
+                if (k > numberOfElements) {
+                    k = numberOfElements;
+                }
+            if ((k - x <= s) || (u >= hIntegral(k + 0.5) - h(k))) {
+                return k;
+            }
+        }
+    }
+
+    /*
+        h(x) = 1 / x^exponent is the density that bounds the distribution,
+        hIntegral is its integral and hIntegralInverse the inverse of the
+        integral. The helper functions keep the formulas accurate when the
+        exponent is close to 1.
+    */
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return expm1OverX((1 - exponent) * logX) * logX;
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = x * (1 - exponent);
+        if (t < -1) {
+            t = -1;
+        }
+        return Math.exp(log1pOverX(t) * x);
+    }
+
+    private static double expm1OverX(double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.expm1(x) / x;
+        }
+        return 1 + x * 0.5 * (1 + x / 3 * (1 + x * 0.25));
+    }
+
+    private static double log1pOverX(double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.log1p(x) / x;
+        }
+        return 1 - x * (0.5 - x * (1.0 / 3 - x * 0.25));
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,261 @@
+package com.stemby.ir.algorithms.stemming.sns;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.stemby.commons.util.ConnectedComponents;
+import com.stemby.commons.util.Matrix;
+import com.stemby.ir.algorithms.stemming.Stemmer;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsStemmerListener;
+import com.stemby.ir.util.Inverted;
+import com.stemby.ir.util.Lexicon;
+
+/**
+ * This class provides a skeletal implementation of the Stemmer interface to
+ * minimize the effort required to implement it. Its main task is to define a
+ * program skeleton of the SNS algorithm using the template method pattern.
+ * <p>
+ * Each step of the algorithm is a stage, whose start and end are notified to
+ * the registered {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsStemmerListener
+ * SnsStemmerListener} objects. The durations of the stages and the counters
+ * updated by the steps are collected in a
+ * {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics SnsMetrics}
+ * object, which is reset at the beginning of each run.
+ * 
+ * @author stemby
+ */
+public abstract class AbstractSnsStemmer implements Stemmer {
+
+    /**
+     * The name of the stage that computes the CO Matrix.
+     */
+    public static final String CO_OCCURRENCES_STAGE = "coOccurrences";
+
+    /**
+     * The name of the stage that computes the adjacency matrix.
+     */
+    public static final String ADJACENCY_MATRIX_STAGE = "adjacencyMatrix";
+
+    /**
+     * The name of the stage that finds the clusters.
+     */
+    public static final String CLUSTERS_STAGE = "clusters";
+
+    /**
+     * The name of the stage that finds the stem of each cluster.
+     */
+    public static final String STEMS_STAGE = "stems";
+
+    private Lexicon lexicon;
+    private Inverted inverted;
+    private SnsMetrics metrics = new SnsMetrics();
+    private List<SnsStemmerListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Set method for assigning a {@link com.stemby.ir.util.Lexicon Lexicon}
+     * object to the Stemmer.
+     * 
+     * @param   lexicon {@link com.stemby.ir.util.Lexicon Lexicon} object to be
+     *                  assigned to the Stemmer.
+     */
+    public void setLexicon(Lexicon lexicon) {
+        this.lexicon = lexicon;
+    }
+
+    /**
+     * Get method for providing access to the
+     * {@link com.stemby.ir.util.Lexicon Lexicon} object holded by the
+     * Stemmer.
+     * 
+     * @return  The {@link com.stemby.ir.util.Lexicon Lexicon} object holded by
+     *          the Stemmer.
+     */
+    public Lexicon getLexicon() {
+        return lexicon;
+    }
+
+    /**
+     * Set method for assigning a {@link com.stemby.ir.util.Inverted Inverted}
+     * object to the Stemmer.
+     * 
+     * @param   inverted    {@link com.stemby.ir.util.Inverted Inverted} object
+     *                      to be assigned to the Stemmer.
+     */
+    public void setInverted(Inverted inverted) {
+        this.inverted = inverted;
+    }
+
+    /**
+     * Get method for providing access to the
+     * {@link com.stemby.ir.util.Inverted Inverted} object holded by the
+     * Stemmer.
+     * 
+     * @return  The {@link com.stemby.ir.util.Inverted Inverted} object holded by
+     *          the Stemmer.
+     */
+    public Inverted getInverted() {
+        return inverted;
+    }
+
+    /**
+     * Get method for providing access to the
+     * {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics SnsMetrics}
+     * object holded by the Stemmer, which contains the metrics of the last
+     * run (or of the current one, while it is running).
+     * 
+     * @return  The metrics of the Stemmer.
+     */
+    public SnsMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * It registers a listener, which is notified when each stage of the
+     * algorithm starts and ends.
+     * 
+     * @param   listener    The listener to be registered.
+     */
+    public void addListener(SnsStemmerListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * It removes a listener registered by {@link #addListener}.
+     * 
+     * @param   listener    The listener to be removed.
+     */
+    public void removeListener(SnsStemmerListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * It defines a program skeleton of the SNS algorithm using the template
+     * method pattern. Each step of the algorithm can be overridden by
+     * subclasses to allow a different implementation while ensuring that the
+     * overarching algorithm is still followed. The method is marked as
+     * final since subclasses can't override it.
+     * <p>
+     * If a step throws an exception, the listeners are notified that its stage
+     * has failed before the exception is propagated.
+     * 
+     * @return  A map that associates each word of the
+     *          {@link com.stemby.ir.util.Lexicon Lexicon} object to the
+     *          relating stem.
+     */
+    public final Map<String, String> getStems() {
+        metrics.reset();
+        long startTime = System.nanoTime();
+        try {
+            startTime = startStage(CO_OCCURRENCES_STAGE);
+            Matrix coOccurrences = getTermsCoOccurrences();
+            finishStage(CO_OCCURRENCES_STAGE, startTime);
+            startTime = startStage(ADJACENCY_MATRIX_STAGE);
+            Matrix adjacencyMatrix = getAdjacencyMatrix(coOccurrences);
+            finishStage(ADJACENCY_MATRIX_STAGE, startTime);
+            startTime = startStage(CLUSTERS_STAGE);
+            ConnectedComponents clusters = getClusters(adjacencyMatrix);
+            metrics.addClusters(clusters);
+            finishStage(CLUSTERS_STAGE, startTime);
+            startTime = startStage(STEMS_STAGE);
+            Map<String, String> stems = getStems(clusters);
+            finishStage(STEMS_STAGE, startTime);
+            return stems;
+        }
+        finally {
+            String stage = metrics.getCurrentStage();
+            if (stage != null) {
+                failStage(stage, startTime);
+            }
+        }
+    }
+
+    /**
+     * Abstract method that computes the CO Matrix (concrete subclasses have to
+     * implement it). It is marked as protected since only subclasses can use
+     * it.
+     * 
+     * @return  The CO Matrix.
+     */
+    abstract protected Matrix getTermsCoOccurrences();
+
+    /**
+     * Abstract method that computes the RCO Matrix, i.e. the adjacency matrix
+     * (concrete subclasses have to implement it). It is marked as protected
+     * since only subclasses can use it.
+     * 
+     * @param   coOccurrences   The CO Matrix.
+     * @return                  The RCO Matrix.
+     */
+    abstract protected Matrix getAdjacencyMatrix(Matrix coOccurrences);
+
+    /**
+     * Abstract method that finds the connected components in the RCO Matrix,
+     * i.e. the adjacency matrix (concrete subclasses have to implement it).
+     * It is marked as protected since only subclasses can use it.
+     * 
+     * @param   ajacencyMatrix  The RCO Matrix.
+     * @return                  The connected components of the graph.
+     */
+    abstract protected ConnectedComponents getClusters(Matrix ajacencyMatrix);
+
+    private long startStage(String stage) {
+        long startTime = System.nanoTime();
+        metrics.setCurrentStage(stage);
+        for (SnsStemmerListener listener : listeners) {
+            listener.stageStarted(stage, metrics);
+        }
+        return startTime;
+    }
+
+    private void finishStage(String stage, long startTime) {
+        long durationNanos = System.nanoTime() - startTime;
+        metrics.setStageDuration(stage, durationNanos);
+        metrics.setCurrentStage(null);
+        for (SnsStemmerListener listener : listeners) {
+            listener.stageFinished(stage, durationNanos, metrics);
+        }
+    }
+
+    /*
+        The duration of a failed stage isn't recorded among the ones of the
+        completed stages, but the listeners are notified, so that they don't
+        keep reporting a stage which isn't running anymore.
+    */
+
+    private void failStage(String stage, long startTime) {
+        long durationNanos = System.nanoTime() - startTime;
+        metrics.setCurrentStage(null);
+        for (SnsStemmerListener listener : listeners) {
+            listener.stageFailed(stage, durationNanos, metrics);
+        }
+    }
+
+    /*
+        The common prefix of a cluster is the shortest of the common prefixes
+        of its first term with the other ones. They are computed in the
+        lexicon, which takes a constant time if it is a SortedLexiconIndex.
+    */
+
+    private Map<String, String> getStems(ConnectedComponents clusters) {
+        Map<String, String> stems = new HashMap<>();
+        int clustersNumber = clusters.getComponentsNumber();
+        for (int cluster = 0; cluster < clustersNumber; cluster++) {
+            int clusterStart = clusters.getComponentStart(cluster);
+            int clusterEnd = clusters.getComponentEnd(cluster);
+            int firstTermId = clusters.getNode(clusterStart);
+            int longestCommonPrefixLength = lexicon.getLexemeLength(firstTermId);
+            for (int position = clusterStart + 1; (position < clusterEnd) && (longestCommonPrefixLength > 0); position++) {
+                longestCommonPrefixLength = Math.min(longestCommonPrefixLength, lexicon.getLongestCommonPrefixLength(firstTermId, clusters.getNode(position)));
+            }
+            String clusterStem = lexicon.getLexeme(firstTermId).substring(0, longestCommonPrefixLength);
+            for (int position = clusterStart; position < clusterEnd; position++) {
+                stems.put(lexicon.getLexeme(clusters.getNode(position)), clusterStem);
+            }
+        }
+        return stems;
+    }
+    
+}
\ No newline at end of file
@@ -1,15 +1,15 @@
 package com.stemby.ir.algorithms.stemming.sns;
 
-import java.util.List;
-import java.util.Set;
-
 import com.stemby.commons.algorithms.Graph;
 import com.stemby.commons.algorithms.Matrices;
 import com.stemby.commons.algorithms.Strings;
+import com.stemby.commons.util.ConnectedComponents;
 import com.stemby.commons.util.Matrix;
-import com.stemby.commons.util.SymmetricSparseMatrix;
+import com.stemby.commons.util.MatrixRowCursor;
+import com.stemby.commons.util.SymmetricCsrMatrixBuilder;
 import com.stemby.ir.util.Inverted;
 import com.stemby.ir.util.Lexicon;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics;
 import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesStrategy;
 import com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesStrategy;
 import com.stemby.ir.algorithms.stemming.sns.AbstractSnsStemmer;
@@ -37,6 +37,7 @@ public class SnsStemmer extends AbstractSnsStemmer {
      */
     public void setCoOccurrencesStrategy(CoOccurrencesStrategy coOccurrencesStrategy) {
         this.coOccurrencesStrategy = coOccurrencesStrategy;
+        coOccurrencesStrategy.setMetrics(getMetrics());
     }
 
     /**
@@ -61,6 +62,7 @@ public class SnsStemmer extends AbstractSnsStemmer {
      */
     public void setRCoOccurrencesStrategy(RCoOccurrencesStrategy rCoOccurrencesStrategy) {
         this.rCoOccurrencesStrategy = rCoOccurrencesStrategy;
+        rCoOccurrencesStrategy.setMetrics(getMetrics());
     }
 
     /**
@@ -96,8 +98,7 @@ public class SnsStemmer extends AbstractSnsStemmer {
      */
     protected Matrix getAdjacencyMatrix(Matrix coOccurrences) {
         Matrix rcoMatrix = rCoOccurrencesStrategy.getRCoOccurrences(coOccurrences, getLexicon());
-        keepOnlyStrongEdges(rcoMatrix);
-        return rcoMatrix;
+        return keepOnlyStrongEdges(rcoMatrix);
     }
 
     /**
@@ -106,31 +107,36 @@ public class SnsStemmer extends AbstractSnsStemmer {
      * use it.
      * 
      * @param   adjacencyMatrix The RCO Matrix.
-     * @return                  A list of connected components (set of
-     *                          graph's nodes).
+     * @return                  The connected components of the graph.
      */
-    protected List<Set<Integer>> getClusters(Matrix adjacencyMatrix) {
-        return Graph.getConnectedComponents(adjacencyMatrix);
+    protected ConnectedComponents getClusters(Matrix adjacencyMatrix) {
+        return Graph.getConnectedComponents(adjacencyMatrix.getRowCount(), Graph.getEdgeCursor(adjacencyMatrix));
     }
 
-    private void keepOnlyStrongEdges(Matrix rcoMatrix) {
+    private Matrix keepOnlyStrongEdges(Matrix rcoMatrix) {
         int[] indexOfMaxElements = getIndexOfMaxElements(rcoMatrix);
         int size = rcoMatrix.getRowCount();
-        for (int termIdA = 0; termIdA < size - 1; termIdA++) {
-            for (int termIdB = termIdA + 1; termIdB < size; termIdB++) {
-                if ((indexOfMaxElements[termIdA] != termIdB) && (indexOfMaxElements[termIdB] != termIdA)) {
-                    rcoMatrix.setAsFloat(termIdA, termIdB, 0);
-                    rcoMatrix.setAsFloat(termIdB, termIdA, 0);
+        SymmetricCsrMatrixBuilder strongEdges = new SymmetricCsrMatrixBuilder(size);
+        long strongEdgesNumber = 0;
+        for (int termIdA = 0; termIdA < size; termIdA++) {
+            MatrixRowCursor cursor = rcoMatrix.getRowCursor(termIdA);
+            while (cursor.next()) {
+                int termIdB = cursor.getColumn();
+                if ((termIdB > termIdA) && ((indexOfMaxElements[termIdA] == termIdB) || (indexOfMaxElements[termIdB] == termIdA))) {
+                    strongEdges.add(termIdA, termIdB, cursor.getValue());
+                    strongEdgesNumber++;
                 }
             }
         }
+        getMetrics().add(SnsMetrics.STRONG_EDGES, strongEdgesNumber);
+        return strongEdges.build();
     }
 
     private int[] getIndexOfMaxElements(Matrix rcoMatrix) {
         int rowCount = rcoMatrix.getRowCount();
         int[] indexOfMaxElements = new int[rowCount];
         for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
-            indexOfMaxElements[rowIndex] = Matrices.getIndexOfMaxElementOfRow(rcoMatrix, rowIndex);
+            indexOfMaxElements[rowIndex] = Matrices.getIndexOfMaxNonZeroElementOfRow(rcoMatrix, rowIndex);
         }
         return indexOfMaxElements;
     }
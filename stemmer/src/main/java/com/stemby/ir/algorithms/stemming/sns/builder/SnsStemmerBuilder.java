@@ -1,6 +1,7 @@
 package com.stemby.ir.algorithms.stemming.sns.builder;
 
 import com.stemby.ir.algorithms.stemming.sns.SnsStemmer;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsStemmerListener;
 import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesStrategy;
 import com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesStrategy;
 import com.stemby.ir.util.Inverted;
@@ -56,6 +57,18 @@ public interface SnsStemmerBuilder {
      */
     SnsStemmerBuilder setRCoOccurrencesStrategy(RCoOccurrencesStrategy rCoOccurrencesStrategy);
 
+    /**
+     * It registers a
+     * {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsStemmerListener SnsStemmerListener}
+     * object, which is notified when each stage of the algorithm starts and
+     * ends.
+     * 
+     * @param   listener    {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsStemmerListener SnsStemmerListener}
+     *                      object to be registered.
+     * @return              This object.
+     */
+    SnsStemmerBuilder addListener(SnsStemmerListener listener);
+
     /**
      * Method that build a
      * {@link com.stemby.ir.algorithms.stemming.sns.SnsStemmer SnsStemmer}
@@ -3,6 +3,7 @@ package com.stemby.ir.algorithms.stemming.sns.builder;
 import com.stemby.ir.util.Inverted;
 import com.stemby.ir.util.Lexicon;
 import com.stemby.ir.algorithms.stemming.sns.SnsStemmer;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsStemmerListener;
 import com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesStrategy;
 import com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesStrategy;
 
@@ -79,6 +80,21 @@ public class SnsStemmerBuilderImpl implements SnsStemmerBuilder {
         return this;
     }
 
+    /**
+     * It registers a
+     * {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsStemmerListener SnsStemmerListener}
+     * object, which is notified when each stage of the algorithm starts and
+     * ends.
+     * 
+     * @param   listener    {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsStemmerListener SnsStemmerListener}
+     *                      object to be registered.
+     * @return              This object.
+     */
+    public SnsStemmerBuilder addListener(SnsStemmerListener listener) {
+        snsStemmer.addListener(listener);
+        return this;
+    }
+
     /**
      * Method that build a
      * {@link com.stemby.ir.algorithms.stemming.sns.SnsStemmer SnsStemmer}
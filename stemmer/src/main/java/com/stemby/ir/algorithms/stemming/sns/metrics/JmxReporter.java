@@ -0,0 +1,153 @@
+package com.stemby.ir.algorithms.stemming.sns.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Class that exposes the metrics of a stemmer as an MXBean, so that they
+ * can be read by a JMX client (for instance, jconsole) while the algorithm
+ * is running. It is registered in the platform MBean server under the given
+ * name (by default, com.stemby:type=SnsStemmer) when it is created, and it
+ * must be unregistered with {@link #unregister} when it isn't needed anymore.
+ * <p>
+ * As a {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsStemmerListener
+ * SnsStemmerListener}, it keeps the metrics of the last run: the attributes
+ * always read the metrics of the stemmer whose stage started last,
+ * including the progress of the running stage, so that an operator can
+ * decide whether to wait for a long run or to stop it.
+ * 
+ * @author stemby
+ */
+public class JmxReporter implements SnsStemmerListener, SnsMetricsMXBean {
+
+    /**
+     * The default name of the MXBean.
+     */
+    public static final String DEFAULT_NAME = "com.stemby:type=SnsStemmer";
+
+    private ObjectName name;
+    private volatile SnsMetrics metrics;
+
+    /**
+     * Class constructor. It registers the MXBean with the default name.
+     * 
+     * @param   metrics The metrics exposed until a stage starts.
+     * @throws  JMException If the MXBean can't be registered.
+     */
+    public JmxReporter(SnsMetrics metrics) throws JMException {
+        this(metrics, DEFAULT_NAME);
+    }
+
+    /**
+     * Class constructor. It registers the MXBean with the given name.
+     * 
+     * @param   metrics The metrics exposed until a stage starts.
+     * @param   name    The name of the MXBean.
+     * @throws  JMException If the MXBean can't be registered.
+     */
+    public JmxReporter(SnsMetrics metrics, String name) throws JMException {
+        this.metrics = metrics;
+        this.name = new ObjectName(name);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, this.name);
+    }
+
+    /**
+     * It unregisters the MXBean.
+     * 
+     * @throws  JMException If the MXBean can't be unregistered.
+     */
+    public void unregister() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+    }
+
+    public void stageStarted(String stage, SnsMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void stageFinished(String stage, long durationNanos, SnsMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void stageFailed(String stage, long durationNanos, SnsMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public String getCurrentStage() {
+        return metrics.getCurrentStage();
+    }
+
+    public Map<String, Long> getStageDurationsMillis() {
+        Map<String, Long> stageDurationsMillis = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : metrics.getStageDurations().entrySet()) {
+            stageDurationsMillis.put(entry.getKey(), entry.getValue() / 1000000);
+        }
+        return stageDurationsMillis;
+    }
+
+    public long getPairsExamined() {
+        return metrics.get(SnsMetrics.PAIRS_EXAMINED);
+    }
+
+    public long getPostingMerges() {
+        return metrics.get(SnsMetrics.POSTING_MERGES);
+    }
+
+    public long getCoOccurrences() {
+        return metrics.get(SnsMetrics.CO_OCCURRENCES);
+    }
+
+    public long getCandidateEdges() {
+        return metrics.get(SnsMetrics.CANDIDATE_EDGES);
+    }
+
+    public long getNeighbourIntersections() {
+        return metrics.get(SnsMetrics.NEIGHBOUR_INTERSECTIONS);
+    }
+
+    public long getStrongEdges() {
+        return metrics.get(SnsMetrics.STRONG_EDGES);
+    }
+
+    public long getClusters() {
+        return metrics.get(SnsMetrics.CLUSTERS);
+    }
+
+    public long[] getClusterSizeHistogram() {
+        return metrics.getClusterSizeHistogram();
+    }
+
+    public long getProgress() {
+        return metrics.getProgress();
+    }
+
+    public long getProgressTotal() {
+        return metrics.getProgressTotal();
+    }
+
+    public double getProgressPercentage() {
+        return metrics.getProgressPercentage();
+    }
+
+    public double getThroughput() {
+        return metrics.getThroughput();
+    }
+
+    public String getThroughputCounter() {
+        int counter = metrics.getProgressCounter();
+        return (counter < 0) ? null : SnsMetrics.getCounterName(counter);
+    }
+
+    public long getEtaSeconds() {
+        long etaNanos = metrics.getEtaNanos();
+        return (etaNanos < 0) ? -1 : etaNanos / 1000000000;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.stemby.ir.algorithms.stemming.sns.metrics;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * Class that implements the
+ * {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsStemmerListener
+ * SnsStemmerListener} interface by printing a line when a stage starts and
+ * when it ends (or fails). The line printed at the end of a stage contains
+ * its duration and the counters which aren't zero; the one printed at the end
+ * of the last stage contains also the histogram of the sizes of the clusters.
+ * 
+ * @author stemby
+ */
+public class LogReporter implements SnsStemmerListener {
+
+    private PrintStream output;
+
+    /**
+     * Class constructor. The lines are printed on the standard error.
+     */
+    public LogReporter() {
+        this(System.err);
+    }
+
+    /**
+     * Class constructor.
+     * 
+     * @param   output  The stream where the lines are printed.
+     */
+    public LogReporter(PrintStream output) {
+        this.output = output;
+    }
+
+    public void stageStarted(String stage, SnsMetrics metrics) {
+        output.format("SNS: %s started%n", stage);
+    }
+
+    public void stageFinished(String stage, long durationNanos, SnsMetrics metrics) {
+        StringBuilder line = new StringBuilder();
+        line.append(String.format(Locale.ROOT, "SNS: %s finished in %.3f s", stage, durationNanos / 1e9));
+        for (int counter = 0; counter < SnsMetrics.getCountersNumber(); counter++) {
+            long value = metrics.get(counter);
+            if (value != 0) {
+                line.append(", ").append(SnsMetrics.getCounterName(counter)).append('=').append(value);
+            }
+        }
+        long[] histogram = metrics.getClusterSizeHistogram();
+        if (histogram.length > 0) {
+            line.append(", clusterSizes={");
+            for (int bucket = 0; bucket < histogram.length; bucket++) {
+                line.append((bucket == 0) ? "" : ", ").append("<=").append(SnsMetrics.getHistogramBucketLimit(bucket)).append(':').append(histogram[bucket]);
+            }
+            line.append('}');
+        }
+        output.println(line);
+    }
+
+    public void stageFailed(String stage, long durationNanos, SnsMetrics metrics) {
+        output.println(String.format(Locale.ROOT, "SNS: %s failed after %.3f s", stage, durationNanos / 1e9));
+    }
+
+}
\ No newline at end of file
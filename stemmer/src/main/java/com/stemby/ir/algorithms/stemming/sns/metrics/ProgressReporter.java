@@ -0,0 +1,116 @@
+package com.stemby.ir.algorithms.stemming.sns.metrics;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * Class that implements the
+ * {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsStemmerListener
+ * SnsStemmerListener} interface by printing the progress of the running stage
+ * at a fixed interval: the percentage of the items (usually termIds)
+ * processed, the throughput, labelled with the name of the counter it is
+ * measured on (for instance, pairsExamined/s while computing the CO Matrix and
+ * neighbourIntersections/s while computing the RCO Matrix), and the estimated
+ * remaining time. If the strategy doesn't know how many items it is going to
+ * process, only the items processed and the throughput are printed. The
+ * progress is sampled by a daemon thread from the
+ * {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics SnsMetrics}
+ * object of the stemmer, so the algorithm never waits for the reporter. The
+ * stages whose progress isn't tracked by a strategy aren't reported.
+ * 
+ * @author stemby
+ */
+public class ProgressReporter implements SnsStemmerListener {
+
+    /**
+     * The default interval between two reports, in milliseconds.
+     */
+    public static final long DEFAULT_INTERVAL_MILLIS = 10000;
+
+    private PrintStream output;
+    private long intervalMillis;
+    private Timer timer = new Timer("SnsProgressReporter", true);
+    private TimerTask task;
+
+    /**
+     * Class constructor. The progress is printed on the standard error every
+     * {@link #DEFAULT_INTERVAL_MILLIS} milliseconds.
+     */
+    public ProgressReporter() {
+        this(System.err, DEFAULT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Class constructor.
+     * 
+     * @param   output          The stream where the progress is printed.
+     * @param   intervalMillis  The interval between two reports, in
+     *                          milliseconds.
+     */
+    public ProgressReporter(PrintStream output, long intervalMillis) {
+        this.output = output;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public synchronized void stageStarted(final String stage, final SnsMetrics metrics) {
+        cancelTask();
+        task = new TimerTask() {
+            @Override
+            public void run() {
+                report(stage, metrics);
+            }
+        };
+        timer.schedule(task, intervalMillis, intervalMillis);
+    }
+
+    public synchronized void stageFinished(String stage, long durationNanos, SnsMetrics metrics) {
+        cancelTask();
+    }
+
+    public synchronized void stageFailed(String stage, long durationNanos, SnsMetrics metrics) {
+        cancelTask();
+    }
+
+    /*
+        It prints a line with the progress of the stage, if it is tracked.
+    */
+
+    private void report(String stage, SnsMetrics metrics) {
+        int counter = metrics.getProgressCounter();
+        if (counter < 0) {
+            return;
+        }
+        long total = metrics.getProgressTotal();
+        String rate = String.format(Locale.ROOT, "%.0f %s/s", metrics.getThroughput(), SnsMetrics.getCounterName(counter));
+        if (total == SnsMetrics.UNKNOWN_TOTAL) {
+            output.println(String.format(Locale.ROOT, "SNS: %s %d done, %s", stage, metrics.getProgress(), rate));
+            return;
+        }
+        long etaNanos = metrics.getEtaNanos();
+        String eta = (etaNanos < 0) ? "unknown" : formatDuration(etaNanos / 1000000000);
+        output.println(String.format(Locale.ROOT, "SNS: %s %.1f%% (%d/%d), %s, ETA %s", stage, metrics.getProgressPercentage(), metrics.getProgress(), total, rate, eta));
+    }
+
+    private void cancelTask() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private static String formatDuration(long seconds) {
+        if (seconds >= 3600) {
+            return String.format(Locale.ROOT, "%dh %02dm %02ds", seconds / 3600, (seconds / 60) % 60, seconds % 60);
+        }
+        else
+            if (seconds >= 60) {
+                return String.format(Locale.ROOT, "%dm %02ds", seconds / 60, seconds % 60);
+            }
+            else {
+                return String.format(Locale.ROOT, "%ds", seconds);
+            }
+    }
+
+}
\ No newline at end of file
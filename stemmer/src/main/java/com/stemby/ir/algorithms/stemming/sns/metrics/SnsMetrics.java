@@ -0,0 +1,366 @@
+package com.stemby.ir.algorithms.stemming.sns.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.stemby.commons.util.ConnectedComponents;
+
+/**
+ * Class that collects the metrics of a run of the SNS algorithm: the
+ * duration of each stage, the stage which is running and a set of counters
+ * updated by the strategies and by the stemmer, identified by the constants
+ * of this class.
+ * <p>
+ * The counters are atomic, so they can be updated by more threads and read
+ * while the algorithm is running (for instance, by a JMX client). They are
+ * updated on the hot paths of the algorithm, so the strategies count in
+ * local variables and add their counts once for each row of a matrix rather
+ * than once for each iteration.
+ * <p>
+ * The sizes of the clusters are counted in a histogram whose buckets are the
+ * powers of two: bucket k counts the clusters whose size is between
+ * 2^(k-1) + 1 and 2^k (bucket 0 counts the single terms).
+ * <p>
+ * The strategies also track the progress of the stage which is running: they
+ * declare how many items (usually termIds) they are going to process, if it
+ * is known without extra work, and add the items done once for each row (or
+ * for each batch of items), so that a reporter can sample them and estimate
+ * the throughput and the remaining time of the stage.
+ * 
+ * @author stemby
+ */
+public class SnsMetrics {
+
+    /**
+     * The pairs of terms examined while computing the CO Matrix: every pair
+     * of terms for the strategies that compare posting lists, or every
+     * occurrence of another term in the documents of a term for the ones
+     * based on a forward index.
+     */
+    public static final int PAIRS_EXAMINED = 0;
+
+    /**
+     * The merges of posting lists done while computing the CO Matrix: one
+     * for each pair of terms compared, or one for each term whose posting
+     * list is merged with the forward index.
+     */
+    public static final int POSTING_MERGES = 1;
+
+    /**
+     * The non-zero co-occurrences of distinct terms in the CO Matrix (each
+     * pair is counted once).
+     */
+    public static final int CO_OCCURRENCES = 2;
+
+    /**
+     * The pairs of co-occurring terms which satisfy the conditions on
+     * prefixes and suffixes, i.e. the edges of the RCO Matrix.
+     */
+    public static final int CANDIDATE_EDGES = 3;
+
+    /**
+     * The entries of the CO Matrix visited to intersect the neighbours of the
+     * terms of the candidate edges.
+     */
+    public static final int NEIGHBOUR_INTERSECTIONS = 4;
+
+    /**
+     * The edges kept in the adjacency matrix (i.e. the strong edges).
+     */
+    public static final int STRONG_EDGES = 5;
+
+    /**
+     * The clusters found, including the single terms.
+     */
+    public static final int CLUSTERS = 6;
+
+    /**
+     * The total given to {@link #startProgress} by the strategies which don't
+     * know in advance how many items they are going to process: their
+     * throughput is tracked, but not their percentage or remaining time.
+     */
+    public static final long UNKNOWN_TOTAL = -1;
+
+    private static final String[] COUNTER_NAMES = {"pairsExamined", "postingMerges", "coOccurrences", "candidateEdges", "neighbourIntersections", "strongEdges", "clusters"};
+    private static final int HISTOGRAM_BUCKETS = 32;
+
+    private AtomicLongArray counters = new AtomicLongArray(COUNTER_NAMES.length);
+    private AtomicLongArray clusterSizeHistogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+    private Map<String, Long> stageDurations = new LinkedHashMap<>();
+    private volatile String currentStage;
+    private AtomicLong progress = new AtomicLong();
+    private volatile long progressTotal;
+    private volatile boolean progressTracked;
+    private volatile int progressCounter;
+    private volatile long progressCounterStart;
+    private volatile long progressStartTime;
+
+    /**
+     * It returns the number of counters.
+     * 
+     * @return  The number of counters.
+     */
+    public static int getCountersNumber() {
+        return COUNTER_NAMES.length;
+    }
+
+    /**
+     * It returns the name of a counter.
+     * 
+     * @param   counter The counter.
+     * @return          The name of the counter.
+     */
+    public static String getCounterName(int counter) {
+        return COUNTER_NAMES[counter];
+    }
+
+    /**
+     * It adds a value to a counter.
+     * 
+     * @param   counter The counter.
+     * @param   value   The value to be added.
+     */
+    public void add(int counter, long value) {
+        if (value != 0) {
+            counters.addAndGet(counter, value);
+        }
+    }
+
+    /**
+     * It returns the value of a counter.
+     * 
+     * @param   counter The counter.
+     * @return          The value of the counter.
+     */
+    public long get(int counter) {
+        return counters.get(counter);
+    }
+
+    /**
+     * It counts the clusters and adds their sizes to the histogram.
+     * 
+     * @param   clusters    The connected components of the adjacency matrix.
+     */
+    public void addClusters(ConnectedComponents clusters) {
+        int clustersNumber = clusters.getComponentsNumber();
+        long[] histogram = new long[HISTOGRAM_BUCKETS];
+        for (int cluster = 0; cluster < clustersNumber; cluster++) {
+            int size = clusters.getComponentEnd(cluster) - clusters.getComponentStart(cluster);
+            histogram[getHistogramBucket(size)]++;
+        }
+        for (int bucket = 0; bucket < HISTOGRAM_BUCKETS; bucket++) {
+            if (histogram[bucket] > 0) {
+                clusterSizeHistogram.addAndGet(bucket, histogram[bucket]);
+            }
+        }
+        add(CLUSTERS, clustersNumber);
+    }
+
+    /**
+     * It returns the histogram of the sizes of the clusters, without the
+     * empty buckets at the end.
+     * 
+     * @return  The number of clusters in each bucket.
+     */
+    public long[] getClusterSizeHistogram() {
+        int length = HISTOGRAM_BUCKETS;
+        while ((length > 0) && (clusterSizeHistogram.get(length - 1) == 0)) {
+            length--;
+        }
+        long[] histogram = new long[length];
+        for (int bucket = 0; bucket < length; bucket++) {
+            histogram[bucket] = clusterSizeHistogram.get(bucket);
+        }
+        return histogram;
+    }
+
+    /**
+     * It returns the largest size of the clusters counted by a bucket of the
+     * histogram.
+     * 
+     * @param   bucket  The bucket.
+     * @return          The largest size, i.e. 2^bucket.
+     */
+    public static long getHistogramBucketLimit(int bucket) {
+        return 1L << bucket;
+    }
+
+    /**
+     * Set method for the stage which is running.
+     * 
+     * @param   stage   The name of the stage, or null if no stage is running.
+     */
+    public void setCurrentStage(String stage) {
+        progressTracked = false;
+        progressTotal = 0;
+        this.currentStage = stage;
+    }
+
+    /**
+     * It returns the stage which is running.
+     * 
+     * @return  The name of the stage, or null if no stage is running.
+     */
+    public String getCurrentStage() {
+        return currentStage;
+    }
+
+    /**
+     * It starts tracking the progress of the stage which is running.
+     * 
+     * @param   total   The number of items to be processed by the stage,
+     *                  or {@link #UNKNOWN_TOTAL}.
+     * @param   counter The counter that measures the work done by the stage,
+     *                  whose rate is the throughput of the stage.
+     */
+    public void startProgress(long total, int counter) {
+        progress.set(0);
+        progressCounter = counter;
+        progressCounterStart = counters.get(counter);
+        progressStartTime = System.nanoTime();
+        progressTotal = total;
+        progressTracked = true;
+    }
+
+    /**
+     * It adds some items to the ones processed by the stage which is running.
+     * 
+     * @param   done    The number of items processed.
+     */
+    public void addProgress(long done) {
+        progress.addAndGet(done);
+    }
+
+    /**
+     * It returns the number of items processed by the stage which is running.
+     * 
+     * @return  The number of items processed.
+     */
+    public long getProgress() {
+        return progress.get();
+    }
+
+    /**
+     * It returns the number of items to be processed by the stage which is
+     * running.
+     * 
+     * @return  The number of items, {@link #UNKNOWN_TOTAL} if it isn't
+     *          known, or 0 if the progress of the stage isn't tracked.
+     */
+    public long getProgressTotal() {
+        return progressTotal;
+    }
+
+    /**
+     * It returns whether the progress of the stage which is running is
+     * tracked, even if its total isn't known.
+     * 
+     * @return  True if the progress is tracked.
+     */
+    public boolean isProgressTracked() {
+        return progressTracked;
+    }
+
+    /**
+     * It returns the counter whose rate is the throughput of the stage which
+     * is running.
+     * 
+     * @return  The counter, or -1 if the progress of the stage isn't tracked.
+     */
+    public int getProgressCounter() {
+        return progressTracked ? progressCounter : -1;
+    }
+
+    /**
+     * It returns the percentage of the items processed by the stage which is
+     * running.
+     * 
+     * @return  The percentage, or 0 if the progress of the stage isn't
+     *          tracked or its total isn't known.
+     */
+    public double getProgressPercentage() {
+        long total = progressTotal;
+        return (total > 0) ? Math.min(100.0, 100.0 * progress.get() / total) : 0;
+    }
+
+    /**
+     * It returns the throughput of the stage which is running, i.e. the rate
+     * of the counter given to {@link #startProgress} (the pairs examined
+     * while computing the CO Matrix, the neighbour intersections while
+     * computing the RCO Matrix).
+     * 
+     * @return  The increments of the counter per second, or 0 if the progress
+     *          of the stage isn't tracked.
+     */
+    public double getThroughput() {
+        if (!progressTracked) {
+            return 0;
+        }
+        long elapsedNanos = System.nanoTime() - progressStartTime;
+        long work = counters.get(progressCounter) - progressCounterStart;
+        return (elapsedNanos > 0) ? work * 1e9 / elapsedNanos : 0;
+    }
+
+    /**
+     * It estimates the remaining time of the stage which is running, assuming
+     * that the items left are processed at the average rate of the ones
+     * already processed.
+     * 
+     * @return  The estimated time, in nanoseconds, or -1 if it can't be
+     *          estimated (yet, or at all if the total isn't known).
+     */
+    public long getEtaNanos() {
+        long total = progressTotal;
+        long done = progress.get();
+        if ((total <= 0) || (done <= 0)) {
+            return -1;
+        }
+        long elapsedNanos = System.nanoTime() - progressStartTime;
+        return (long)((double)elapsedNanos * Math.max(0, total - done) / done);
+    }
+
+    /**
+     * It records the duration of a completed stage.
+     * 
+     * @param   stage           The name of the stage.
+     * @param   durationNanos   The duration, in nanoseconds.
+     */
+    public synchronized void setStageDuration(String stage, long durationNanos) {
+        stageDurations.put(stage, durationNanos);
+    }
+
+    /**
+     * It returns the durations of the completed stages, in the order in which
+     * they have been completed.
+     * 
+     * @return  A map that associates each stage to its duration, in
+     *          nanoseconds.
+     */
+    public synchronized Map<String, Long> getStageDurations() {
+        return new LinkedHashMap<>(stageDurations);
+    }
+
+    /**
+     * It sets all the counters to zero and removes the durations of the
+     * stages, before a new run.
+     */
+    public synchronized void reset() {
+        for (int counter = 0; counter < COUNTER_NAMES.length; counter++) {
+            counters.set(counter, 0);
+        }
+        for (int bucket = 0; bucket < HISTOGRAM_BUCKETS; bucket++) {
+            clusterSizeHistogram.set(bucket, 0);
+        }
+        stageDurations.clear();
+        currentStage = null;
+        progressTracked = false;
+        progressTotal = 0;
+    }
+
+    private static int getHistogramBucket(int size) {
+        return (size <= 1) ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1);
+    }
+
+}
\ No newline at end of file
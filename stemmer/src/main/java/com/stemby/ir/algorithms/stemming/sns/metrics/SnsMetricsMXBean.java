@@ -0,0 +1,138 @@
+package com.stemby.ir.algorithms.stemming.sns.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of the metrics of the SNS algorithm, registered by
+ * {@link com.stemby.ir.algorithms.stemming.sns.metrics.JmxReporter
+ * JmxReporter}. Its attributes are read from the
+ * {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics SnsMetrics}
+ * object of the stemmer, so they are updated while the algorithm is running.
+ * 
+ * @author stemby
+ */
+public interface SnsMetricsMXBean {
+
+    /**
+     * It returns the stage which is running.
+     * 
+     * @return  The name of the stage, or null if no stage is running.
+     */
+    String getCurrentStage();
+
+    /**
+     * It returns the durations of the completed stages.
+     * 
+     * @return  A map that associates each stage to its duration, in
+     *          milliseconds.
+     */
+    Map<String, Long> getStageDurationsMillis();
+
+    /**
+     * It returns the pairs of terms examined while computing the CO Matrix.
+     * 
+     * @return  The value of the counter.
+     */
+    long getPairsExamined();
+
+    /**
+     * It returns the posting lists merged while computing the CO Matrix.
+     * 
+     * @return  The value of the counter.
+     */
+    long getPostingMerges();
+
+    /**
+     * It returns the non-zero co-occurrences in the CO Matrix.
+     * 
+     * @return  The value of the counter.
+     */
+    long getCoOccurrences();
+
+    /**
+     * It returns the edges of the RCO Matrix.
+     * 
+     * @return  The value of the counter.
+     */
+    long getCandidateEdges();
+
+    /**
+     * It returns the entries of the CO Matrix visited to intersect the
+     * neighbours of the terms.
+     * 
+     * @return  The value of the counter.
+     */
+    long getNeighbourIntersections();
+
+    /**
+     * It returns the edges of the adjacency matrix.
+     * 
+     * @return  The value of the counter.
+     */
+    long getStrongEdges();
+
+    /**
+     * It returns the number of clusters.
+     * 
+     * @return  The value of the counter.
+     */
+    long getClusters();
+
+    /**
+     * It returns the histogram of the sizes of the clusters: the element k
+     * counts the clusters whose size is between 2^(k-1) + 1 and 2^k.
+     * 
+     * @return  The histogram.
+     */
+    long[] getClusterSizeHistogram();
+
+    /**
+     * It returns the number of items (usually termIds) processed by the
+     * running stage.
+     * 
+     * @return  The number of items processed.
+     */
+    long getProgress();
+
+    /**
+     * It returns the number of items to be processed by the running stage.
+     * 
+     * @return  The number of items, -1 if it isn't known, or 0 if the
+     *          progress of the stage isn't tracked.
+     */
+    long getProgressTotal();
+
+    /**
+     * It returns the percentage of the items processed by the running stage.
+     * 
+     * @return  The percentage.
+     */
+    double getProgressPercentage();
+
+    /**
+     * It returns the throughput of the running stage, i.e. the increments per
+     * second of the counter named by {@link #getThroughputCounter}.
+     * 
+     * @return  The throughput.
+     */
+    double getThroughput();
+
+    /**
+     * It returns the name of the counter whose rate is the throughput of the
+     * running stage (for instance, pairsExamined while computing the CO
+     * Matrix and neighbourIntersections while computing the RCO Matrix).
+     * 
+     * @return  The name of the counter, or null if the progress of the stage
+     *          isn't tracked.
+     */
+    String getThroughputCounter();
+
+    /**
+     * It estimates the remaining time of the running stage.
+     * 
+     * @return  The estimated time, in seconds, or -1 if it can't be estimated
+     *          yet.
+     */
+    long getEtaSeconds();
+
+}
\ No newline at end of file
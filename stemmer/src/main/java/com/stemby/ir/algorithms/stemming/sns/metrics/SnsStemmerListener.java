@@ -0,0 +1,44 @@
+package com.stemby.ir.algorithms.stemming.sns.metrics;
+
+/**
+ * Root interface of the objects that are notified when a stage of the SNS
+ * algorithm starts and ends, either because it is completed or because it
+ * has thrown an exception. The stages are the ones defined by
+ * {@link com.stemby.ir.algorithms.stemming.sns.AbstractSnsStemmer#getStems()
+ * AbstractSnsStemmer.getStems}: the CO Matrix, the adjacency matrix, the
+ * clusters and the stems. The listeners are called by the thread that runs
+ * the algorithm, so they must return quickly.
+ * 
+ * @author stemby
+ */
+public interface SnsStemmerListener {
+
+    /**
+     * Method called when a stage starts.
+     * 
+     * @param   stage   The name of the stage.
+     * @param   metrics The metrics of the run.
+     */
+    void stageStarted(String stage, SnsMetrics metrics);
+
+    /**
+     * Method called when a stage ends.
+     * 
+     * @param   stage           The name of the stage.
+     * @param   durationNanos   The duration of the stage, in nanoseconds.
+     * @param   metrics         The metrics of the run, updated by the stage.
+     */
+    void stageFinished(String stage, long durationNanos, SnsMetrics metrics);
+
+    /**
+     * Method called when a stage ends because it has thrown an exception,
+     * which is propagated to the caller of the stemmer after the listeners
+     * have been notified.
+     * 
+     * @param   stage           The name of the stage.
+     * @param   durationNanos   The time spent in the stage, in nanoseconds.
+     * @param   metrics         The metrics of the run, updated by the stage.
+     */
+    void stageFailed(String stage, long durationNanos, SnsMetrics metrics);
+
+}
\ No newline at end of file
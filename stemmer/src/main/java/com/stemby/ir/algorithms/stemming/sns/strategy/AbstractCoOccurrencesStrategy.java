@@ -0,0 +1,52 @@
+package com.stemby.ir.algorithms.stemming.sns.strategy;
+
+import com.stemby.commons.util.Matrix;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics;
+import com.stemby.ir.util.Inverted;
+
+/**
+ * This class provides a skeletal implementation of the CoOccurrencesStrategy
+ * interface to minimize the effort required to implement it. It holds the
+ * {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics SnsMetrics}
+ * object where the strategy adds its counters.
+ * 
+ * @author stemby
+ */
+public abstract class AbstractCoOccurrencesStrategy implements CoOccurrencesStrategy {
+
+    private SnsMetrics metrics = new SnsMetrics();
+
+    /**
+     * Abstract method that compute co-occurrences of terms in the inverted
+     * index (concrete subclasses have to implement it).
+     * 
+     * @param   inverted    Inverted index which contains terms whose
+     *                      co-occurrences need to be computed.
+     * @return              The CO Matrix.
+     */
+    public abstract Matrix getTermsCoOccurrences(Inverted inverted);
+
+    /**
+     * Set method for assigning the
+     * {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics SnsMetrics}
+     * object where the strategy adds its counters.
+     * 
+     * @param   metrics The metrics of the run.
+     */
+    public void setMetrics(SnsMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get method for providing access to the
+     * {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics SnsMetrics}
+     * object holded by this object. The method can be used only by
+     * subclasses.
+     * 
+     * @return  The metrics of the run.
+     */
+    protected SnsMetrics getMetrics() {
+        return metrics;
+    }
+
+}
\ No newline at end of file
@@ -6,11 +6,16 @@ import java.util.Map;
 
 import com.stemby.commons.algorithms.Strings;
 import com.stemby.commons.util.Matrix;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics;
 import com.stemby.ir.util.Lexicon;
+import com.stemby.ir.util.SuffixDictionary;
 
 /**
  * This class provides a skeletal implementation of the RCoOccurrencesStrategy
- * interface to minimize the effort required to implement it.
+ * interface to minimize the effort required to implement it. It holds the
+ * parameters of the SNS algorithm and the
+ * {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics SnsMetrics}
+ * object where the strategy adds its counters.
  * 
  * @author stemby
  */
@@ -19,6 +24,7 @@ public abstract class AbstractRCoOccurrencesStrategy implements RCoOccurrencesSt
     private int minLongestCommonPrefixLength;
     private int prefixLength;
     private float rcoWeight;
+    private SnsMetrics metrics = new SnsMetrics();
 
     /**
      * Class constructor.
@@ -67,6 +73,29 @@ public abstract class AbstractRCoOccurrencesStrategy implements RCoOccurrencesSt
         return rcoWeight;
     }
 
+    /**
+     * Set method for assigning the
+     * {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics SnsMetrics}
+     * object where the strategy adds its counters.
+     * 
+     * @param   metrics The metrics of the run.
+     */
+    public void setMetrics(SnsMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get method for providing access to the
+     * {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics SnsMetrics}
+     * object holded by this object. The method can be used only by
+     * subclasses.
+     * 
+     * @return  The metrics of the run.
+     */
+    protected SnsMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Abstract method that computes the RCO Matrix starting from the CO Matrix
      * and the {@link com.stemby.ir.util.Lexicon Lexicon} object (concrete
@@ -83,7 +112,9 @@ public abstract class AbstractRCoOccurrencesStrategy implements RCoOccurrencesSt
      * This method creates a map with all the suffixes of co-occurring terms.
      * Specifically, it associates to each suffix a number that represents
      * how many times one of two co-occurring terms has that specific suffix.
-     * This method can be used only by subclasses.
+     * The map is built from the
+     * {@link #getSuffixDictionary(Matrix, Lexicon) suffix dictionary}. This
+     * method can be used only by subclasses.
      * 
      * @param   coOccurrences   The CO Matrix.
      * @param   lexicon         The Lexicon object associated to the CO Matrix.
@@ -91,7 +122,28 @@ public abstract class AbstractRCoOccurrencesStrategy implements RCoOccurrencesSt
      *                          terms. 
      */
     protected Map<String, Integer> getSuffixesOfCooccurringTerms(Matrix coOccurrences, Lexicon lexicon) {
+        SuffixDictionary suffixDictionary = getSuffixDictionary(coOccurrences, lexicon);
         Map<String, Integer> suffixesOfCoOccurringTerms = new HashMap<>();
+        for (int suffixId = 0; suffixId < suffixDictionary.size(); suffixId++) {
+            suffixesOfCoOccurringTerms.put(suffixDictionary.getSuffix(suffixId), suffixDictionary.getCountById(suffixId));
+        }
+        return suffixesOfCoOccurringTerms;
+    }
+
+    /**
+     * This method counts the suffixes of co-occurring terms, like
+     * {@link #getSuffixesOfCooccurringTerms(Matrix, Lexicon)}, but the
+     * suffixes are stored in a {@link com.stemby.ir.util.SuffixDictionary
+     * SuffixDictionary}, so no string is created. This method can be used
+     * only by subclasses.
+     * 
+     * @param   coOccurrences   The CO Matrix.
+     * @param   lexicon         The Lexicon object associated to the CO Matrix.
+     * @return                  A dictionary with all the suffixes of
+     *                          co-occurring terms.
+     */
+    protected SuffixDictionary getSuffixDictionary(Matrix coOccurrences, Lexicon lexicon) {
+        SuffixDictionary suffixDictionary = new SuffixDictionary(lexicon);
         Iterable<long[]> nonZeroCoordinates = coOccurrences.nonZeroCoordinates();
         Iterator<long[]> it = nonZeroCoordinates.iterator();
         while (it.hasNext()) {
@@ -99,18 +151,14 @@ public abstract class AbstractRCoOccurrencesStrategy implements RCoOccurrencesSt
             int termIdA = (int)coordinates[0];
             int termIdB = (int)coordinates[1];
             if (termIdB > termIdA) {
-                String termA = lexicon.getLexeme(termIdA);
-                String termB = lexicon.getLexeme(termIdB);
-                int longestCommonPrefixLength = Strings.getLongestCommonPrefixLength(termA, termB);
+                int longestCommonPrefixLength = lexicon.getLongestCommonPrefixLength(termIdA, termIdB);
                 if (longestCommonPrefixLength >= minLongestCommonPrefixLength) {
-                    String suffixA = termA.substring(longestCommonPrefixLength);
-                    String suffixB = termB.substring(longestCommonPrefixLength);
-                    addSuffix(suffixesOfCoOccurringTerms, suffixA);
-                    addSuffix(suffixesOfCoOccurringTerms, suffixB);
+                    suffixDictionary.add(termIdA, longestCommonPrefixLength);
+                    suffixDictionary.add(termIdB, longestCommonPrefixLength);
                 }
             }
         }
-        return suffixesOfCoOccurringTerms;
+        return suffixDictionary;
     }
 
     /**
@@ -154,6 +202,22 @@ public abstract class AbstractRCoOccurrencesStrategy implements RCoOccurrencesSt
         return prefixA.equals(prefixB);
     }
 
+    /**
+     * It checks whether two terms of a lexicon have a common prefix or not,
+     * like {@link #prefixesAreEqual(String, String)}, but it compares the
+     * characters directly in the lexicon. The method can be used only by
+     * subclasses.
+     * 
+     * @param   lexicon The lexicon which contains the terms.
+     * @param   termIdA The id of the first term.
+     * @param   termIdB The id of the second term.
+     * @return          The method returns true if the two terms have a common
+     *                  prefix with a minimum length.
+     */
+    protected boolean prefixesAreEqual(Lexicon lexicon, int termIdA, int termIdB) {
+        return lexicon.prefixesAreEqual(termIdA, termIdB, prefixLength);
+    }
+
     /**
      * It works with the suffixes of two terms. These suffixes are obtained
      * removing the longest common prefix. The method checks whether these
@@ -182,4 +246,28 @@ public abstract class AbstractRCoOccurrencesStrategy implements RCoOccurrencesSt
         return true;
     }
 
+    /**
+     * It works like
+     * {@link #suffixesAreBothUnique(String, String, Map)}, but the suffixes
+     * are looked up in a suffix dictionary and the longest common prefix of
+     * the two terms is computed directly in its lexicon, so no string is
+     * created. This method can be used only by subclasses.
+     * 
+     * @param   suffixDictionary    A dictionary that counts how many times
+     *                              it's possible to find each suffix.
+     * @param   termIdA             The id of the first term.
+     * @param   termIdB             The id of the second term.
+     * @return                      It returns true if both the suffixes are
+     *                              unique, i.e. they are not in the
+     *                              dictionary or they have been found only
+     *                              once.
+     */
+    protected boolean suffixesAreBothUnique(SuffixDictionary suffixDictionary, int termIdA, int termIdB) {
+        int longestCommonPrefixLength = suffixDictionary.getLexicon().getLongestCommonPrefixLength(termIdA, termIdB);
+        if (suffixDictionary.getCount(termIdA, longestCommonPrefixLength) <= 1) {
+            return true;
+        }
+        return suffixDictionary.getCount(termIdB, longestCommonPrefixLength) <= 1;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.stemby.ir.algorithms.stemming.sns.strategy;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.stemby.commons.util.Matrix;
+import com.stemby.commons.util.SparseMatrixBlock;
+import com.stemby.commons.util.SymmetricSparseMatrixOnDisk;
+import com.stemby.commons.util.SymmetricSparseMatrixOnDiskWriter;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics;
+import com.stemby.ir.util.ForwardIndex;
+import com.stemby.ir.util.Inverted;
+import com.stemby.ir.util.PostingCursor;
+
+/**
+ * Class that implements the
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesStrategy}
+ * interface. It represents a strategy for computing co-occurrences of
+ * some given terms (i.e. the CO Matrix). It is designed to store the CO Matrix
+ * on disk.
+ * <p>
+ * The co-occurrences are computed like
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesForwardIndexStrategy CoOccurrencesForwardIndexStrategy}
+ * does, so every pair of terms is computed only once, in a single pass over
+ * the terms. The row of each term is sorted and streamed to a
+ * {@link com.stemby.commons.util.SymmetricSparseMatrixOnDiskWriter SymmetricSparseMatrixOnDiskWriter},
+ * which writes the blocks indexed by x as they are filled and builds the
+ * blocks indexed by y with an external merge sort. Hence the memory needed
+ * doesn't depend on the number of co-occurrences, but only on the size of the
+ * index and of the buffer used to sort the runs.
+ * <p>
+ * THIS CLASS IS NOT STABLE AND IT IS USED FOR EXPERIMENTAL PURPOSE. USE AT
+ * YOUR OWN RISK.
+ * 
+ * @author stemby
+ */
+public class CoOccurrencesDiskStrategy extends AbstractCoOccurrencesStrategy {
+
+    private String base_CO_path;
+    private int file_size;
+    private int run_size;
+
+    /**
+     * Class constructor.
+     * 
+     * @param   base_CO_path    The base path where the files of the CO Matrix
+     *                          are written.
+     * @param   file_size       The number of terms in each block of the CO
+     *                          Matrix.
+     */
+    public CoOccurrencesDiskStrategy(String base_CO_path, int file_size) {
+        this(base_CO_path, file_size, SymmetricSparseMatrixOnDiskWriter.DEFAULT_RUN_SIZE);
+    }
+
+    /**
+     * Class constructor.
+     * 
+     * @param   base_CO_path    The base path where the files of the CO Matrix
+     *                          are written.
+     * @param   file_size       The number of terms in each block of the CO
+     *                          Matrix.
+     * @param   run_size        The number of co-occurrences sorted in memory
+     *                          before they are written to a run.
+     */
+    public CoOccurrencesDiskStrategy(String base_CO_path, int file_size, int run_size) {
+        this.base_CO_path = base_CO_path;
+        this.file_size = file_size;
+        this.run_size = run_size;
+    }
+
+    /**
+     * Method that compute co-occurrences of terms in the inverted index.
+     * The CO Matrix is written on disk.
+     * 
+     * @param   inverted    Inverted index which contains terms whose
+     *                      co-occurrences need to be computed.
+     * @return              The CO Matrix.
+     */
+    public Matrix getTermsCoOccurrences(Inverted inverted) {
+        int n = inverted.getTermsNumber();
+        ForwardIndex forwardIndex = new ForwardIndex(inverted);
+        int[] coOccurrences = new int[n];
+        int[] coOccurringTermIds = new int[n];
+        SnsMetrics metrics = getMetrics();
+        metrics.startProgress(n - 1, SnsMetrics.PAIRS_EXAMINED);
+        try (SymmetricSparseMatrixOnDiskWriter writer = new SymmetricSparseMatrixOnDiskWriter(base_CO_path, "CO", n, file_size, SparseMatrixBlock.INT_VALUES, run_size)) {
+            try {
+                for (int termIdA = 0; termIdA < n - 1; termIdA++) {
+                    int coOccurringTermsNumber = 0;
+                    long pairsExamined = 0;
+                    PostingCursor postings = inverted.getPostingCursor(termIdA);
+                    while (postings.next()) {
+                        int docId = postings.getDocumentId();
+                        int frequencyA = postings.getFrequency();
+                        int documentEnd = forwardIndex.getDocumentEnd(docId);
+                        int documentStart = forwardIndex.getTermPosition(docId, termIdA) + 1;
+                        pairsExamined += documentEnd - documentStart;
+                        for (int position = documentStart; position < documentEnd; position++) {
+                            int frequency = Math.min(frequencyA, forwardIndex.getTermFrequency(position));
+                            if (frequency > 0) {
+                                int termIdB = forwardIndex.getTermId(position);
+                                if (coOccurrences[termIdB] == 0) {
+                                    coOccurringTermIds[coOccurringTermsNumber++] = termIdB;
+                                }
+                                coOccurrences[termIdB] += frequency;
+                            }
+                        }
+                    }
+                    Arrays.sort(coOccurringTermIds, 0, coOccurringTermsNumber);
+                    for (int i = 0; i < coOccurringTermsNumber; i++) {
+                        int termIdB = coOccurringTermIds[i];
+                        writer.addInt(termIdA, termIdB, coOccurrences[termIdB]);
+                        coOccurrences[termIdB] = 0;
+                    }
+                    metrics.add(SnsMetrics.PAIRS_EXAMINED, pairsExamined);
+                    metrics.add(SnsMetrics.POSTING_MERGES, 1);
+                    metrics.add(SnsMetrics.CO_OCCURRENCES, coOccurringTermsNumber);
+                    metrics.addProgress(1);
+                }
+            }
+            catch (RuntimeException | Error e) {
+                // The blocks written so far are deleted
+                writer.abort();
+                throw e;
+            }
+        }
+        catch (IOException e) {
+            throw new IllegalStateException("Unable to write the CO Matrix in " + base_CO_path, e);
+        }
+        SymmetricSparseMatrixOnDisk CO = new SymmetricSparseMatrixOnDisk(base_CO_path, "CO");
+        return CO;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.stemby.ir.algorithms.stemming.sns.strategy;
+
+import com.stemby.commons.util.Matrix;
+import com.stemby.commons.util.SymmetricCsrMatrix;
+import com.stemby.commons.util.SymmetricCsrMatrixBuilder;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics;
+import com.stemby.ir.util.ForwardIndex;
+import com.stemby.ir.util.Inverted;
+import com.stemby.ir.util.PostingCursor;
+
+/**
+ * Class that implements the
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesStrategy}
+ * interface. It represents a strategy for computing co-occurrences of
+ * some given terms (i.e. the CO Matrix). It is designed to keep everything in
+ * RAM.
+ * <p>
+ * Instead of comparing the posting lists of every pair of terms, it builds a
+ * {@link com.stemby.ir.util.ForwardIndex ForwardIndex} and it visits, for each
+ * term, only the terms that share at least one document with it. The cost of
+ * the computation depends on the number of actual co-occurrences rather than
+ * on the square of the number of terms. The resulting CO Matrix is the same
+ * computed by
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesRamStrategy CoOccurrencesRamStrategy}.
+ * 
+ * @author stemby
+ */
+public class CoOccurrencesForwardIndexStrategy extends AbstractCoOccurrencesStrategy {
+
+    /**
+     * Method that compute co-occurrences of terms in the inverted index.
+     * It keeps everything in RAM, without memorizing anything on disk.
+     * 
+     * @param   inverted    Inverted index which contains terms whose
+     *                      co-occurrences need to be computed.
+     * @return              The CO Matrix.
+     */
+    public Matrix getTermsCoOccurrences(Inverted inverted) {
+        int size = inverted.getTermsNumber();
+        ForwardIndex forwardIndex = new ForwardIndex(inverted);
+        SymmetricCsrMatrixBuilder coOccurrencesMatrixBuilder = new SymmetricCsrMatrixBuilder(size, SymmetricCsrMatrix.INT_VALUES);
+        int[] coOccurrences = new int[size];
+        int[] coOccurringTermIds = new int[size];
+        SnsMetrics metrics = getMetrics();
+        metrics.startProgress(size - 1, SnsMetrics.PAIRS_EXAMINED);
+        for (int termIdA = 0; termIdA < size - 1; termIdA++) {
+            int coOccurringTermsNumber = 0;
+            long pairsExamined = 0;
+            PostingCursor postings = inverted.getPostingCursor(termIdA);
+            while (postings.next()) {
+                int docId = postings.getDocumentId();
+                int frequencyA = postings.getFrequency();
+                int documentEnd = forwardIndex.getDocumentEnd(docId);
+                int documentStart = forwardIndex.getTermPosition(docId, termIdA) + 1;
+                pairsExamined += documentEnd - documentStart;
+                for (int position = documentStart; position < documentEnd; position++) {
+                    int frequency = Math.min(frequencyA, forwardIndex.getTermFrequency(position));
+                    if (frequency > 0) {
+                        int termIdB = forwardIndex.getTermId(position);
+                        if (coOccurrences[termIdB] == 0) {
+                            coOccurringTermIds[coOccurringTermsNumber++] = termIdB;
+                        }
+                        coOccurrences[termIdB] += frequency;
+                    }
+                }
+            }
+            for (int i = 0; i < coOccurringTermsNumber; i++) {
+                int termIdB = coOccurringTermIds[i];
+                coOccurrencesMatrixBuilder.addInt(termIdA, termIdB, coOccurrences[termIdB]);
+                coOccurrences[termIdB] = 0;
+            }
+            metrics.add(SnsMetrics.PAIRS_EXAMINED, pairsExamined);
+            metrics.add(SnsMetrics.POSTING_MERGES, 1);
+            metrics.add(SnsMetrics.CO_OCCURRENCES, coOccurringTermsNumber);
+            metrics.addProgress(1);
+        }
+        return coOccurrencesMatrixBuilder.build();
+    }
+
+}
\ No newline at end of file
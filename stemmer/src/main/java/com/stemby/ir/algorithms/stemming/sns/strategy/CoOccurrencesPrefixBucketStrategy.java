@@ -0,0 +1,203 @@
+package com.stemby.ir.algorithms.stemming.sns.strategy;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.stemby.commons.util.Matrix;
+import com.stemby.commons.util.SymmetricCsrMatrix;
+import com.stemby.commons.util.SymmetricCsrMatrixBuilder;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics;
+import com.stemby.ir.util.ForwardIndex;
+import com.stemby.ir.util.Inverted;
+import com.stemby.ir.util.PostingCursor;
+import com.stemby.ir.util.Lexicon;
+
+/**
+ * Class that implements the
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesStrategy}
+ * interface. It represents a strategy for computing only the co-occurrences
+ * that are needed to compute the RCO Matrix. It is designed to keep
+ * everything in RAM.
+ * <p>
+ * Two terms can be connected in the RCO Matrix only if they share their first
+ * prefixLength characters, and the statistics on suffixes only take into
+ * account terms which share at least minLongestCommonPrefixLength characters.
+ * Hence the terms of the lexicon are grouped in buckets by their first
+ * min(prefixLength, minLongestCommonPrefixLength) characters, and a term is
+ * said to be active if it co-occurs with some other term of its own bucket.
+ * The strategy computes the whole row of the CO Matrix only for active terms,
+ * since those rows contain both the candidate edges and all the neighbours
+ * needed by the re-calculation of the co-occurrences. Co-occurrences between
+ * two terms which are not active are never computed.
+ * <p>
+ * The returned matrix is not the complete CO Matrix, but the RCO Matrix
+ * computed from it is the same that would be computed from the complete one,
+ * as long as the same minLongestCommonPrefixLength and prefixLength are used.
+ * 
+ * @author stemby
+ */
+public class CoOccurrencesPrefixBucketStrategy extends AbstractCoOccurrencesStrategy {
+
+    private Lexicon lexicon;
+    private int minLongestCommonPrefixLength;
+    private int prefixLength;
+
+    /**
+     * Class constructor.
+     * 
+     * @param   lexicon                         Lexicon which contains all the
+     *                                          terms of the inverted index.
+     * @param   minLongestCommonPrefixLength    First parameter of the SNS
+     *                                          algorithm.
+     * @param   prefixLength                    Second parameter of the SNS
+     *                                          algorithm.
+     */
+    public CoOccurrencesPrefixBucketStrategy(Lexicon lexicon, int minLongestCommonPrefixLength, int prefixLength) {
+        this.lexicon = lexicon;
+        this.minLongestCommonPrefixLength = minLongestCommonPrefixLength;
+        this.prefixLength = prefixLength;
+    }
+
+    /**
+     * Method that compute the co-occurrences of the terms in the inverted
+     * index that are needed to compute the RCO Matrix. It keeps everything in
+     * RAM, without memorizing anything on disk.
+     * 
+     * @param   inverted    Inverted index which contains terms whose
+     *                      co-occurrences need to be computed.
+     * @return              The CO Matrix, restricted to the rows of the
+     *                      active terms.
+     */
+    public Matrix getTermsCoOccurrences(Inverted inverted) {
+        int size = inverted.getTermsNumber();
+        boolean[] activeTerms = getActiveTerms(inverted);
+        ForwardIndex forwardIndex = new ForwardIndex(inverted);
+        SymmetricCsrMatrixBuilder coOccurrencesMatrixBuilder = new SymmetricCsrMatrixBuilder(size, SymmetricCsrMatrix.INT_VALUES);
+        int[] coOccurrences = new int[size];
+        int[] coOccurringTermIds = new int[size];
+        SnsMetrics metrics = getMetrics();
+        metrics.startProgress(getActiveTermsNumber(activeTerms), SnsMetrics.PAIRS_EXAMINED);
+        for (int termIdA = 0; termIdA < size; termIdA++) {
+            if (!activeTerms[termIdA]) {
+                continue;
+            }
+            int coOccurringTermsNumber = 0;
+            long pairsExamined = 0;
+            PostingCursor postings = inverted.getPostingCursor(termIdA);
+            while (postings.next()) {
+                int docId = postings.getDocumentId();
+                int frequencyA = postings.getFrequency();
+                int documentEnd = forwardIndex.getDocumentEnd(docId);
+                int documentStart = forwardIndex.getDocumentStart(docId);
+                pairsExamined += documentEnd - documentStart;
+                for (int position = documentStart; position < documentEnd; position++) {
+                    int termIdB = forwardIndex.getTermId(position);
+                    // The row of an active term B < A already contains (B, A)
+                    if ((termIdB == termIdA) || (activeTerms[termIdB] && (termIdB < termIdA))) {
+                        continue;
+                    }
+                    int frequency = Math.min(frequencyA, forwardIndex.getTermFrequency(position));
+                    if (frequency > 0) {
+                        if (coOccurrences[termIdB] == 0) {
+                            coOccurringTermIds[coOccurringTermsNumber++] = termIdB;
+                        }
+                        coOccurrences[termIdB] += frequency;
+                    }
+                }
+            }
+            for (int i = 0; i < coOccurringTermsNumber; i++) {
+                int termIdB = coOccurringTermIds[i];
+                coOccurrencesMatrixBuilder.addInt(termIdA, termIdB, coOccurrences[termIdB]);
+                coOccurrences[termIdB] = 0;
+            }
+            metrics.add(SnsMetrics.PAIRS_EXAMINED, pairsExamined);
+            metrics.add(SnsMetrics.POSTING_MERGES, 1);
+            metrics.add(SnsMetrics.CO_OCCURRENCES, coOccurringTermsNumber);
+            metrics.addProgress(1);
+        }
+        return coOccurrencesMatrixBuilder.build();
+    }
+
+    private boolean[] getActiveTerms(Inverted inverted) {
+        int size = inverted.getTermsNumber();
+        boolean[] activeTerms = new boolean[size];
+        int[] bucketOffsets = new int[size + 1];
+        int[] bucketTermIds = getBuckets(size, bucketOffsets);
+        long[] postings = new long[0];
+        for (int bucket = 0; bucket < size; bucket++) {
+            int bucketStart = bucketOffsets[bucket];
+            int bucketEnd = bucketOffsets[bucket + 1];
+            if (bucketEnd - bucketStart < 2) {
+                continue;
+            }
+            int postingsNumber = 0;
+            for (int i = bucketStart; i < bucketEnd; i++) {
+                postingsNumber += inverted.getTermDocumentsNumber(bucketTermIds[i]);
+            }
+            if (postings.length < postingsNumber) {
+                postings = new long[postingsNumber];
+            }
+            postingsNumber = 0;
+            for (int i = bucketStart; i < bucketEnd; i++) {
+                int termId = bucketTermIds[i];
+                PostingCursor cursor = inverted.getPostingCursor(termId);
+                while (cursor.next()) {
+                    if (cursor.getFrequency() > 0) {
+                        postings[postingsNumber++] = ((long)cursor.getDocumentId() << 32) | termId;
+                    }
+                }
+            }
+            Arrays.sort(postings, 0, postingsNumber);
+            int runStart = 0;
+            for (int i = 1; i <= postingsNumber; i++) {
+                if ((i == postingsNumber) || ((postings[i] >>> 32) != (postings[runStart] >>> 32))) {
+                    if (i - runStart > 1) {
+                        for (int j = runStart; j < i; j++) {
+                            activeTerms[(int)postings[j]] = true;
+                        }
+                    }
+                    runStart = i;
+                }
+            }
+        }
+        return activeTerms;
+    }
+
+    private int getActiveTermsNumber(boolean[] activeTerms) {
+        int activeTermsNumber = 0;
+        for (int termId = 0; termId < activeTerms.length; termId++) {
+            if (activeTerms[termId]) {
+                activeTermsNumber++;
+            }
+        }
+        return activeTermsNumber;
+    }
+
+    private int[] getBuckets(int size, int[] bucketOffsets) {
+        int bucketPrefixLength = Math.min(prefixLength, minLongestCommonPrefixLength);
+        Map<String, Integer> buckets = new HashMap<>();
+        int[] bucketOfTerms = new int[size];
+        for (int termId = 0; termId < size; termId++) {
+            String term = lexicon.getLexeme(termId);
+            String prefix = term.substring(0, Math.min(term.length(), bucketPrefixLength));
+            Integer bucket = buckets.get(prefix);
+            if (bucket == null) {
+                bucket = buckets.size();
+                buckets.put(prefix, bucket);
+            }
+            bucketOfTerms[termId] = bucket;
+            bucketOffsets[bucket + 1]++;
+        }
+        for (int bucket = 0; bucket < size; bucket++) {
+            bucketOffsets[bucket + 1] += bucketOffsets[bucket];
+        }
+        int[] nextPositions = Arrays.copyOf(bucketOffsets, size);
+        int[] bucketTermIds = new int[size];
+        for (int termId = 0; termId < size; termId++) {
+            bucketTermIds[nextPositions[bucketOfTerms[termId]]++] = termId;
+        }
+        return bucketTermIds;
+    }
+
+}
\ No newline at end of file
@@ -1,9 +1,8 @@
 package com.stemby.ir.algorithms.stemming.sns.strategy;
 
-import java.util.List;
-
 import com.stemby.commons.util.Matrix;
 import com.stemby.commons.util.SymmetricSparseMatrix;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics;
 import com.stemby.ir.util.Inverted;
 
 /**
@@ -15,7 +14,7 @@ import com.stemby.ir.util.Inverted;
  * 
  * @author stemby
  */
-public class CoOccurrencesRamStrategy implements CoOccurrencesStrategy {
+public class CoOccurrencesRamStrategy extends AbstractCoOccurrencesStrategy {
 
     /**
      * Method that compute co-occurrences of terms in the inverted index.
@@ -28,19 +27,21 @@ public class CoOccurrencesRamStrategy implements CoOccurrencesStrategy {
     public Matrix getTermsCoOccurrences(Inverted inverted) {
         int size = inverted.getTermsNumber();
         Matrix coOccurrencesMatrix = new SymmetricSparseMatrix(size);
+        SnsMetrics metrics = getMetrics();
+        metrics.startProgress(size - 1, SnsMetrics.PAIRS_EXAMINED);
         for (int termIdA = 0; termIdA < size - 1; termIdA++) {
+            int coOccurringTermsNumber = 0;
             for (int termIdB = termIdA + 1; termIdB < size; termIdB++) {
-                List<int[]> indexesOfCommonDocuments = inverted.getIndexesOfCommonDocuments(termIdA, termIdB);
-                for (int i = 0; i < indexesOfCommonDocuments.size(); i++) {
-                    int docIndexA = indexesOfCommonDocuments.get(i)[0];
-                    int docIndexB = indexesOfCommonDocuments.get(i)[1];
-                    int frequencyA = inverted.getTermFrequencyInDocument(termIdA, docIndexA);
-                    int frequencyB = inverted.getTermFrequencyInDocument(termIdB, docIndexB);
-                    int oldValue = coOccurrencesMatrix.getAsInt(termIdA, termIdB);
-                    int newValue = oldValue + Math.min(frequencyA, frequencyB);
-                    coOccurrencesMatrix.setAsInt(termIdA, termIdB, newValue);
+                int coOccurrences = inverted.getMinFrequenciesSum(termIdA, termIdB);
+                if (coOccurrences > 0) {
+                    coOccurrencesMatrix.setAsInt(termIdA, termIdB, coOccurrences);
+                    coOccurringTermsNumber++;
                 }
             }
+            metrics.add(SnsMetrics.PAIRS_EXAMINED, size - termIdA - 1);
+            metrics.add(SnsMetrics.POSTING_MERGES, size - termIdA - 1);
+            metrics.add(SnsMetrics.CO_OCCURRENCES, coOccurringTermsNumber);
+            metrics.addProgress(1);
         }
         return coOccurrencesMatrix;
     }
@@ -0,0 +1,234 @@
+package com.stemby.ir.algorithms.stemming.sns.strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.stemby.commons.util.Matrix;
+import com.stemby.commons.util.SymmetricCsrMatrix;
+import com.stemby.commons.util.SymmetricCsrMatrixBuilder;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics;
+import com.stemby.ir.util.ForwardIndex;
+import com.stemby.ir.util.Inverted;
+import com.stemby.ir.util.PostingCursor;
+
+/**
+ * Class that implements the
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesStrategy}
+ * interface. It represents a strategy for computing co-occurrences of
+ * some given terms (i.e. the CO Matrix) using more threads. It is designed to
+ * keep everything in RAM.
+ * <p>
+ * It works like
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesForwardIndexStrategy CoOccurrencesForwardIndexStrategy},
+ * but the range of terms is split in parts with a similar amount of work,
+ * which are processed by a {@link java.util.concurrent.ForkJoinPool ForkJoinPool}.
+ * Each thread accumulates the co-occurrences in its own primitive arrays and
+ * every part stores its non-zero co-occurrences in a private buffer. The
+ * buffers are merged into a single CO Matrix at the end, so the matrix is
+ * never written by more than one thread.
+ * 
+ * @author stemby
+ */
+public class ParallelCoOccurrencesStrategy extends AbstractCoOccurrencesStrategy {
+
+    private static final int PARTS_PER_THREAD = 64;
+
+    private int threadsNumber;
+
+    /**
+     * Class constructor.
+     * 
+     * @param   threadsNumber   The number of threads used to compute the
+     *                          co-occurrences.
+     * @throws  IllegalArgumentException    If the number of threads isn't
+     *                                      positive.
+     */
+    public ParallelCoOccurrencesStrategy(int threadsNumber) {
+        if (threadsNumber <= 0) {
+            throw new IllegalArgumentException("The number of threads must be positive: " + threadsNumber);
+        }
+        this.threadsNumber = threadsNumber;
+    }
+
+    /**
+     * Method that compute co-occurrences of terms in the inverted index.
+     * It keeps everything in RAM, without memorizing anything on disk.
+     * 
+     * @param   inverted    Inverted index which contains terms whose
+     *                      co-occurrences need to be computed.
+     * @return              The CO Matrix.
+     */
+    public Matrix getTermsCoOccurrences(Inverted inverted) {
+        int size = inverted.getTermsNumber();
+        ForwardIndex forwardIndex = new ForwardIndex(inverted);
+        long[] cumulativeCosts = getCumulativeCosts(inverted, forwardIndex);
+        long maxCostOfPart = Math.max(1, cumulativeCosts[size] / (threadsNumber * PARTS_PER_THREAD));
+        getMetrics().startProgress(size, SnsMetrics.PAIRS_EXAMINED);
+        CoOccurrencesTask task = new CoOccurrencesTask(inverted, forwardIndex, cumulativeCosts, maxCostOfPart, new Accumulators(size), getMetrics(), 0, size);
+        ForkJoinPool pool = new ForkJoinPool(threadsNumber);
+        List<CoOccurrencesBuffer> buffers;
+        try {
+            buffers = pool.invoke(task);
+        }
+        finally {
+            pool.shutdown();
+        }
+        SymmetricCsrMatrixBuilder coOccurrencesMatrixBuilder = new SymmetricCsrMatrixBuilder(size, SymmetricCsrMatrix.INT_VALUES);
+        for (int i = 0; i < buffers.size(); i++) {
+            CoOccurrencesBuffer buffer = buffers.get(i);
+            for (int j = 0; j < buffer.size; j++) {
+                coOccurrencesMatrixBuilder.addInt(buffer.termIdsA[j], buffer.termIdsB[j], buffer.values[j]);
+            }
+            buffers.set(i, null);
+        }
+        return coOccurrencesMatrixBuilder.build();
+    }
+
+    /*
+        The cost of a term is the number of pairs it examines, i.e. the terms
+        which follow it in the documents in which it can be found (the same
+        quantity counted as pairsExamined by the tasks).
+    */
+
+    private long[] getCumulativeCosts(Inverted inverted, ForwardIndex forwardIndex) {
+        int size = inverted.getTermsNumber();
+        long[] cumulativeCosts = new long[size + 1];
+        for (int termId = 0; termId < size; termId++) {
+            long cost = 1;
+            PostingCursor postings = inverted.getPostingCursor(termId);
+            while (postings.next()) {
+                int docId = postings.getDocumentId();
+                cost += forwardIndex.getDocumentEnd(docId) - (forwardIndex.getTermPosition(docId, termId) + 1);
+            }
+            cumulativeCosts[termId + 1] = cumulativeCosts[termId] + cost;
+        }
+        return cumulativeCosts;
+    }
+
+    private static class Accumulators extends ThreadLocal<int[][]> {
+
+        private int size;
+
+        public Accumulators(int size) {
+            this.size = size;
+        }
+
+        protected int[][] initialValue() {
+            return new int[][] {new int[size], new int[size]};
+        }
+
+    }
+
+    private static class CoOccurrencesBuffer {
+
+        private int size;
+        private int[] termIdsA = new int[16];
+        private int[] termIdsB = new int[16];
+        private int[] values = new int[16];
+
+        public void add(int termIdA, int termIdB, int value) {
+            if (size == values.length) {
+                int capacity = size * 2;
+                termIdsA = Arrays.copyOf(termIdsA, capacity);
+                termIdsB = Arrays.copyOf(termIdsB, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            termIdsA[size] = termIdA;
+            termIdsB[size] = termIdB;
+            values[size] = value;
+            size++;
+        }
+
+    }
+
+    private static class CoOccurrencesTask extends RecursiveTask<List<CoOccurrencesBuffer>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private Inverted inverted;
+        private ForwardIndex forwardIndex;
+        private long[] cumulativeCosts;
+        private long maxCostOfPart;
+        private Accumulators accumulators;
+        private SnsMetrics metrics;
+        private int firstTermId;
+        private int lastTermId;
+
+        public CoOccurrencesTask(Inverted inverted, ForwardIndex forwardIndex, long[] cumulativeCosts, long maxCostOfPart, Accumulators accumulators, SnsMetrics metrics, int firstTermId, int lastTermId) {
+            this.inverted = inverted;
+            this.forwardIndex = forwardIndex;
+            this.cumulativeCosts = cumulativeCosts;
+            this.maxCostOfPart = maxCostOfPart;
+            this.accumulators = accumulators;
+            this.metrics = metrics;
+            this.firstTermId = firstTermId;
+            this.lastTermId = lastTermId;
+        }
+
+        protected List<CoOccurrencesBuffer> compute() {
+            long cost = cumulativeCosts[lastTermId] - cumulativeCosts[firstTermId];
+            if ((cost <= maxCostOfPart) || (lastTermId - firstTermId < 2)) {
+                List<CoOccurrencesBuffer> buffers = new ArrayList<>();
+                buffers.add(computeCoOccurrences());
+                return buffers;
+            }
+            long middleCost = cumulativeCosts[firstTermId] + cost / 2;
+            int middleTermId = Arrays.binarySearch(cumulativeCosts, firstTermId + 1, lastTermId, middleCost);
+            if (middleTermId < 0) {
+                middleTermId = -middleTermId - 1;
+            }
+            middleTermId = Math.max(firstTermId + 1, Math.min(lastTermId - 1, middleTermId));
+            CoOccurrencesTask left = new CoOccurrencesTask(inverted, forwardIndex, cumulativeCosts, maxCostOfPart, accumulators, metrics, firstTermId, middleTermId);
+            CoOccurrencesTask right = new CoOccurrencesTask(inverted, forwardIndex, cumulativeCosts, maxCostOfPart, accumulators, metrics, middleTermId, lastTermId);
+            left.fork();
+            List<CoOccurrencesBuffer> rightBuffers = right.compute();
+            List<CoOccurrencesBuffer> buffers = left.join();
+            buffers.addAll(rightBuffers);
+            return buffers;
+        }
+
+        private CoOccurrencesBuffer computeCoOccurrences() {
+            int[][] accumulator = accumulators.get();
+            int[] coOccurrences = accumulator[0];
+            int[] coOccurringTermIds = accumulator[1];
+            CoOccurrencesBuffer buffer = new CoOccurrencesBuffer();
+            for (int termIdA = firstTermId; termIdA < lastTermId; termIdA++) {
+                int coOccurringTermsNumber = 0;
+                long pairsExamined = 0;
+                PostingCursor postings = inverted.getPostingCursor(termIdA);
+                while (postings.next()) {
+                    int docId = postings.getDocumentId();
+                    int frequencyA = postings.getFrequency();
+                    int documentEnd = forwardIndex.getDocumentEnd(docId);
+                    int documentStart = forwardIndex.getTermPosition(docId, termIdA) + 1;
+                    pairsExamined += documentEnd - documentStart;
+                    for (int position = documentStart; position < documentEnd; position++) {
+                        int frequency = Math.min(frequencyA, forwardIndex.getTermFrequency(position));
+                        if (frequency > 0) {
+                            int termIdB = forwardIndex.getTermId(position);
+                            if (coOccurrences[termIdB] == 0) {
+                                coOccurringTermIds[coOccurringTermsNumber++] = termIdB;
+                            }
+                            coOccurrences[termIdB] += frequency;
+                        }
+                    }
+                }
+                for (int i = 0; i < coOccurringTermsNumber; i++) {
+                    int termIdB = coOccurringTermIds[i];
+                    buffer.add(termIdA, termIdB, coOccurrences[termIdB]);
+                    coOccurrences[termIdB] = 0;
+                }
+                metrics.add(SnsMetrics.PAIRS_EXAMINED, pairsExamined);
+                metrics.add(SnsMetrics.POSTING_MERGES, 1);
+                metrics.add(SnsMetrics.CO_OCCURRENCES, coOccurringTermsNumber);
+                metrics.addProgress(1);
+            }
+            return buffer;
+        }
+
+    }
+
+}
\ No newline at end of file
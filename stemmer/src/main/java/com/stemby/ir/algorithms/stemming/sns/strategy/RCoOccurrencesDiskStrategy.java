@@ -0,0 +1,128 @@
+package com.stemby.ir.algorithms.stemming.sns.strategy;
+
+import java.io.IOException;
+
+import com.stemby.commons.util.Matrix;
+import com.stemby.commons.util.MatrixRowCursor;
+import com.stemby.commons.util.SparseMatrixBlock;
+import com.stemby.commons.util.SymmetricSparseMatrixOnDisk;
+import com.stemby.commons.util.SymmetricSparseMatrixOnDiskWriter;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics;
+import com.stemby.ir.util.Lexicon;
+import com.stemby.ir.util.SuffixDictionary;
+
+/**
+ * A possible implementation of the RCoOccurrencesStrategy interface, which
+ * stores the RCO Matrix on disk.
+ * <p>
+ * It computes the same RCO Matrix as
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesSparseRowStrategy RCoOccurrencesSparseRowStrategy},
+ * reading the CO Matrix through cursors over its rows (so it works well with
+ * a {@link com.stemby.commons.util.SymmetricSparseMatrixOnDisk SymmetricSparseMatrixOnDisk}).
+ * The elements of the RCO Matrix are computed sorted by row and column, and
+ * they are streamed to a
+ * {@link com.stemby.commons.util.SymmetricSparseMatrixOnDiskWriter SymmetricSparseMatrixOnDiskWriter}:
+ * the returned RCO Matrix is a SymmetricSparseMatrixOnDisk whose files have
+ * the prefix RCO.
+ * <p>
+ * THIS CLASS IS NOT STABLE AND IT IS USED FOR EXPERIMENTAL PURPOSE. USE AT
+ * YOUR OWN RISK.
+ * 
+ * @author stemby
+ */
+public class RCoOccurrencesDiskStrategy extends RCoOccurrencesSparseRowStrategy {
+
+    private String base_RCO_path;
+    private int file_size;
+    private int run_size;
+
+    /**
+     * Class constructor.
+     * 
+     * @param   minLongestCommonPrefixLength    First parameter of the SNS
+     *                                          algorithm.
+     * @param   prefixLength                    Second parameter of the SNS
+     *                                          algorithm.
+     * @param   rcoWeight                       Third parameter of the SNS
+     *                                          algorithm.
+     * @param   base_RCO_path                   The base path where the files
+     *                                          of the RCO Matrix are written.
+     * @param   file_size                       The number of terms in each
+     *                                          block of the RCO Matrix.
+     */
+    public RCoOccurrencesDiskStrategy(int minLongestCommonPrefixLength, int prefixLength, float rcoWeight, String base_RCO_path, int file_size) {
+        this(minLongestCommonPrefixLength, prefixLength, rcoWeight, base_RCO_path, file_size, SymmetricSparseMatrixOnDiskWriter.DEFAULT_RUN_SIZE);
+    }
+
+    /**
+     * Class constructor.
+     * 
+     * @param   minLongestCommonPrefixLength    First parameter of the SNS
+     *                                          algorithm.
+     * @param   prefixLength                    Second parameter of the SNS
+     *                                          algorithm.
+     * @param   rcoWeight                       Third parameter of the SNS
+     *                                          algorithm.
+     * @param   base_RCO_path                   The base path where the files
+     *                                          of the RCO Matrix are written.
+     * @param   file_size                       The number of terms in each
+     *                                          block of the RCO Matrix.
+     * @param   run_size                        The number of elements of the
+     *                                          RCO Matrix sorted in memory
+     *                                          before they are written to a
+     *                                          run.
+     */
+    public RCoOccurrencesDiskStrategy(int minLongestCommonPrefixLength, int prefixLength, float rcoWeight, String base_RCO_path, int file_size, int run_size) {
+        super(minLongestCommonPrefixLength, prefixLength, rcoWeight);
+        this.base_RCO_path = base_RCO_path;
+        this.file_size = file_size;
+        this.run_size = run_size;
+    }
+
+    /**
+     * Method that computes the RCO Matrix starting from the CO Matrix
+     * and the {@link com.stemby.ir.util.Lexicon Lexicon} object. The RCO
+     * Matrix is written on disk.
+     * 
+     * @param   coOccurrences   The CO Matrix.
+     * @param   lexicon         Lexicon which contains all the terms whose
+     *                          co-occurrences are in the CO Matrix.
+     * @return                  The RCO Matrix.
+     */
+    public Matrix getRCoOccurrences(Matrix coOccurrences, Lexicon lexicon) {
+        SuffixDictionary suffixDictionary = getSuffixDictionary(coOccurrences, lexicon);
+        int size = coOccurrences.getRowCount();
+        getMetrics().startProgress(size, SnsMetrics.NEIGHBOUR_INTERSECTIONS);
+        try (SymmetricSparseMatrixOnDiskWriter writer = new SymmetricSparseMatrixOnDiskWriter(base_RCO_path, "RCO", size, file_size, SparseMatrixBlock.FLOAT_VALUES, run_size)) {
+            try {
+                for (int termIdA = 0; termIdA < size; termIdA++) {
+                    int candidateEdges = 0;
+                    MatrixRowCursor cursor = coOccurrences.getRowCursor(termIdA);
+                    while (cursor.next()) {
+                        int termIdB = cursor.getColumn();
+                        if (termIdB > termIdA) {
+                            if (prefixesAreEqual(lexicon, termIdA, termIdB) && !suffixesAreBothUnique(suffixDictionary, termIdA, termIdB)) {
+                                float value = (float)((int)cursor.getValue());
+                                value = addCommonNeighboursCoOccurrences(coOccurrences, termIdA, termIdB, value);
+                                writer.addFloat(termIdA, termIdB, value);
+                                candidateEdges++;
+                            }
+                        }
+                    }
+                    getMetrics().add(SnsMetrics.CANDIDATE_EDGES, candidateEdges);
+                    getMetrics().addProgress(1);
+                }
+            }
+            catch (RuntimeException | Error e) {
+                // The blocks written so far are deleted
+                writer.abort();
+                throw e;
+            }
+        }
+        catch (IOException e) {
+            throw new IllegalStateException("Unable to write the RCO Matrix in " + base_RCO_path, e);
+        }
+        return new SymmetricSparseMatrixOnDisk(base_RCO_path, "RCO");
+    }
+
+}
\ No newline at end of file
@@ -2,11 +2,12 @@ package com.stemby.ir.algorithms.stemming.sns.strategy;
 
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Map;
 
 import com.stemby.commons.util.Matrix;
-import com.stemby.commons.util.SymmetricSparseMatrix;
+import com.stemby.commons.util.SymmetricCsrMatrixBuilder;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics;
 import com.stemby.ir.util.Lexicon;
+import com.stemby.ir.util.SuffixDictionary;
 
 /**
  * A possible implementation of the RCoOccurrencesStrategy interface.
@@ -14,11 +15,23 @@ import com.stemby.ir.util.Lexicon;
  * {@link com.stemby.ir.algorithms.stemming.sns.strategy.AbstractRCoOccurrencesStrategy}
  * class, and it defines every abstract method. Specifically, this class is
  * designed to keep everything in RAM, without saving data on disk.
+ * <p>
+ * The non-zero entries of the CO Matrix aren't visited by rows, so the
+ * progress of this strategy is measured in entries rather than in termIds,
+ * added in batches of {@link #PROGRESS_BATCH} entries. Counting the entries
+ * would take an extra pass over the matrix, so their total isn't known. The
+ * other counters are summed in local variables and added with the progress.
  * 
  * @author stemby
  */
 public class RCoOccurrencesRamStrategy extends AbstractRCoOccurrencesStrategy {
 
+    /**
+     * The number of entries of the CO Matrix visited between two updates of
+     * the progress.
+     */
+    public static final int PROGRESS_BATCH = 4096;
+
     /**
      * Class constructor.
      * 
@@ -43,34 +56,52 @@ public class RCoOccurrencesRamStrategy extends AbstractRCoOccurrencesStrategy {
      * @return                  The RCO Matrix.
      */
     public Matrix getRCoOccurrences(Matrix coOccurrences, Lexicon lexicon) {
-        Map<String, Integer> suffixesOfCoOccurringTerms = getSuffixesOfCooccurringTerms(coOccurrences, lexicon);
+        SuffixDictionary suffixDictionary = getSuffixDictionary(coOccurrences, lexicon);
         int size = coOccurrences.getRowCount();
-        Matrix rcoMatrix = new SymmetricSparseMatrix(size);
-        Iterable<long[]> nonZeroCoordinates = coOccurrences.nonZeroCoordinates();
-        Iterator<long[]> it = nonZeroCoordinates.iterator();
+        SymmetricCsrMatrixBuilder rcoMatrixBuilder = new SymmetricCsrMatrixBuilder(size);
+        getMetrics().startProgress(SnsMetrics.UNKNOWN_TOTAL, SnsMetrics.NEIGHBOUR_INTERSECTIONS);
+        SnsMetrics metrics = getMetrics();
+        int entries = 0;
+        long candidateEdges = 0;
+        Iterator<long[]> it = coOccurrences.nonZeroCoordinates().iterator();
         while (it.hasNext()) {
             long[] coordinates = it.next();
+            if (++entries == PROGRESS_BATCH) {
+                addMetrics(metrics, entries, candidateEdges, size);
+                entries = 0;
+                candidateEdges = 0;
+            }
             int termIdA = (int)coordinates[0];
             int termIdB = (int)coordinates[1];
             if (termIdB > termIdA) {
-                String termA = lexicon.getLexeme(termIdA);
-                String termB = lexicon.getLexeme(termIdB);
-                if (prefixesAreEqual(termA, termB) && !suffixesAreBothUnique(termA, termB, suffixesOfCoOccurringTerms)) {
-                    int value = coOccurrences.getAsInt(termIdA, termIdB);
-                    rcoMatrix.setAsFloat(termIdA, termIdB, value);
+                if (prefixesAreEqual(lexicon, termIdA, termIdB) && !suffixesAreBothUnique(suffixDictionary, termIdA, termIdB)) {
+                    float value = coOccurrences.getAsInt(termIdA, termIdB);
                     for (int w = 0; w < size; w++) {
                         float value1 = coOccurrences.getAsFloat(termIdA, w);
                         float value2 = coOccurrences.getAsFloat(w, termIdB);
                         if ((value1 > 0) && (value2 > 0)) {
-                            float oldValue = rcoMatrix.getAsFloat(termIdA, termIdB);
-                            float newValue = oldValue + (Math.min(value1, value2) * getRcoWeight());
-                            rcoMatrix.setAsFloat(termIdA, termIdB, newValue);
+                            value = value + (Math.min(value1, value2) * getRcoWeight());
                         }
                     }
+                    rcoMatrixBuilder.add(termIdA, termIdB, value);
+                    candidateEdges++;
                 }
             }
         }
-        return rcoMatrix;
+        addMetrics(metrics, entries, candidateEdges, size);
+        return rcoMatrixBuilder.build();
+    }
+
+    /*
+        The counters are updated with the progress, once for each batch of
+        entries: every candidate edge intersects the whole rows of its two
+        terms, i.e. size neighbours.
+    */
+
+    private static void addMetrics(SnsMetrics metrics, int entries, long candidateEdges, int size) {
+        metrics.add(SnsMetrics.CANDIDATE_EDGES, candidateEdges);
+        metrics.add(SnsMetrics.NEIGHBOUR_INTERSECTIONS, candidateEdges * size);
+        metrics.addProgress(entries);
     }
 
 }
\ No newline at end of file
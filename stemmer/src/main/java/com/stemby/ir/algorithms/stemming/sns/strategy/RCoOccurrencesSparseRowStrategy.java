@@ -0,0 +1,122 @@
+package com.stemby.ir.algorithms.stemming.sns.strategy;
+
+import com.stemby.commons.util.Matrix;
+import com.stemby.commons.util.MatrixRowCursor;
+import com.stemby.commons.util.SymmetricCsrMatrixBuilder;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics;
+import com.stemby.ir.util.Lexicon;
+import com.stemby.ir.util.SuffixDictionary;
+
+/**
+ * A possible implementation of the RCoOccurrencesStrategy interface.
+ * This class is based on the
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.AbstractRCoOccurrencesStrategy}
+ * class, and it defines every abstract method. Specifically, this class is
+ * designed to keep everything in RAM, without saving data on disk.
+ * <p>
+ * It computes the same RCO Matrix as
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesRamStrategy RCoOccurrencesRamStrategy},
+ * but it reads the CO Matrix through cursors over its rows. The neighbours
+ * shared by two terms are found by intersecting their sorted rows, so the
+ * time needed for an edge depends on the number of neighbours of its terms
+ * rather than on the size of the lexicon.
+ * 
+ * @author stemby
+ */
+public class RCoOccurrencesSparseRowStrategy extends AbstractRCoOccurrencesStrategy {
+
+    /**
+     * Class constructor.
+     * 
+     * @param   minLongestCommonPrefixLength    First parameter of the SNS
+     *                                          algorithm.
+     * @param   prefixLength                    Second parameter of the SNS
+     *                                          algorithm.
+     * @param   rcoWeight                       Third parameter of the SNS
+     *                                          algorithm.
+     */
+    public RCoOccurrencesSparseRowStrategy(int minLongestCommonPrefixLength, int prefixLength, float rcoWeight) {
+        super(minLongestCommonPrefixLength, prefixLength, rcoWeight);
+    }
+
+    /**
+     * Method that computes the RCO Matrix starting from the CO Matrix
+     * and the {@link com.stemby.ir.util.Lexicon Lexicon} object.
+     * 
+     * @param   coOccurrences   The CO Matrix.
+     * @param   lexicon         Lexicon which contains all the terms whose
+     *                          co-occurrences are in the CO Matrix.
+     * @return                  The RCO Matrix.
+     */
+    public Matrix getRCoOccurrences(Matrix coOccurrences, Lexicon lexicon) {
+        SuffixDictionary suffixDictionary = getSuffixDictionary(coOccurrences, lexicon);
+        int size = coOccurrences.getRowCount();
+        getMetrics().startProgress(size, SnsMetrics.NEIGHBOUR_INTERSECTIONS);
+        SymmetricCsrMatrixBuilder rcoMatrixBuilder = new SymmetricCsrMatrixBuilder(size);
+        for (int termIdA = 0; termIdA < size; termIdA++) {
+            int candidateEdges = 0;
+            MatrixRowCursor cursor = coOccurrences.getRowCursor(termIdA);
+            while (cursor.next()) {
+                int termIdB = cursor.getColumn();
+                if (termIdB > termIdA) {
+                    if (prefixesAreEqual(lexicon, termIdA, termIdB) && !suffixesAreBothUnique(suffixDictionary, termIdA, termIdB)) {
+                        float value = (float)((int)cursor.getValue());
+                        value = addCommonNeighboursCoOccurrences(coOccurrences, termIdA, termIdB, value);
+                        rcoMatrixBuilder.add(termIdA, termIdB, value);
+                        candidateEdges++;
+                    }
+                }
+            }
+            getMetrics().add(SnsMetrics.CANDIDATE_EDGES, candidateEdges);
+            getMetrics().addProgress(1);
+        }
+        return rcoMatrixBuilder.build();
+    }
+
+    /**
+     * It adds to a value the co-occurrences of the neighbours shared by two
+     * terms, weighted by the rcoWeight parameter. The neighbours are found by
+     * intersecting the rows of the two terms in the CO Matrix, and the
+     * entries visited are added to the neighbourIntersections counter of the
+     * metrics. This method can be used only by subclasses.
+     * 
+     * @param   coOccurrences   The CO Matrix.
+     * @param   termIdA         The id of the first term.
+     * @param   termIdB         The id of the second term.
+     * @param   value           The value to which the co-occurrences are
+     *                          added.
+     * @return                  The value plus the weighted co-occurrences of
+     *                          the common neighbours.
+     */
+    protected float addCommonNeighboursCoOccurrences(Matrix coOccurrences, int termIdA, int termIdB, float value) {
+        MatrixRowCursor cursorA = coOccurrences.getRowCursor(termIdA);
+        MatrixRowCursor cursorB = coOccurrences.getRowCursor(termIdB);
+        boolean hasNextA = cursorA.next();
+        boolean hasNextB = cursorB.next();
+        long steps = 0;
+        while (hasNextA && hasNextB) {
+            steps++;
+            int columnA = cursorA.getColumn();
+            int columnB = cursorB.getColumn();
+            if (columnA == columnB) {
+                float value1 = cursorA.getValue();
+                float value2 = cursorB.getValue();
+                if ((value1 > 0) && (value2 > 0)) {
+                    value = value + (Math.min(value1, value2) * getRcoWeight());
+                }
+                hasNextA = cursorA.next();
+                hasNextB = cursorB.next();
+            }
+            else
+                if (columnA > columnB) {
+                    hasNextB = cursorB.next();
+                }
+                else {
+                    hasNextA = cursorA.next();
+                }
+        }
+        getMetrics().add(SnsMetrics.NEIGHBOUR_INTERSECTIONS, steps);
+        return value;
+    }
+
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.stemby.ir.algorithms.stemming.sns.strategy;
 
 import com.stemby.commons.util.Matrix;
+import com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics;
 import com.stemby.ir.util.Lexicon;
 
 /**
@@ -46,4 +47,13 @@ public interface RCoOccurrencesStrategy {
      */
     float getRcoWeight();
 
+    /**
+     * Set method for assigning the
+     * {@link com.stemby.ir.algorithms.stemming.sns.metrics.SnsMetrics SnsMetrics}
+     * object where the strategy adds its counters.
+     * 
+     * @param   metrics The metrics of the run.
+     */
+    void setMetrics(SnsMetrics metrics);
+
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.stemby.ir.io;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.stemby.ir.util.Inverted;
+import com.stemby.ir.util.InvertedMapped;
+import com.stemby.ir.util.PostingCursor;
+
+/**
+ * Class that writes an inverted index to a binary file that can be mapped in
+ * memory by {@link com.stemby.ir.util.InvertedMapped InvertedMapped}. The
+ * length of each posting list must be known in advance, since the term offset
+ * table precedes the postings; then the postings are streamed to the file as
+ * they are added, in order of term and then of document. So only the term
+ * offset table is kept in memory.
+ * 
+ * @author stemby
+ */
+public class InvertedBinaryWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private Path path;
+    private DataOutputStream output;
+    private int[] termOffsets;
+    private int termId;
+    private int postingsNumber;
+    private int lastDocId;
+
+    /**
+     * Class constructor. It creates (or truncates) the file and writes the
+     * header and the term offset table.
+     * 
+     * @param   path        The path of the file.
+     * @param   termOffsets For each term, the position of the first posting
+     *                      of its posting list (the last element is the
+     *                      number of postings).
+     * @throws  IOException If the file can't be written.
+     */
+    public InvertedBinaryWriter(Path path, int[] termOffsets) throws IOException {
+        this.path = path;
+        this.termOffsets = termOffsets;
+        this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+        try {
+            output.writeInt(InvertedMapped.MAGIC);
+            output.writeInt(InvertedMapped.VERSION);
+            output.writeInt(termOffsets.length - 1);
+            output.writeInt(termOffsets[termOffsets.length - 1]);
+            for (int i = 0; i < termOffsets.length; i++) {
+                output.writeInt(termOffsets[i]);
+            }
+        }
+        catch (IOException e) {
+            abort();
+            throw e;
+        }
+    }
+
+    /**
+     * It writes the whole inverted index to the given file.
+     * 
+     * @param   inverted    The inverted index.
+     * @param   path        The path of the file.
+     * @throws  IOException If the file can't be written.
+     */
+    public static void write(Inverted inverted, Path path) throws IOException {
+        int termsNumber = inverted.getTermsNumber();
+        int[] termOffsets = new int[termsNumber + 1];
+        for (int termId = 0; termId < termsNumber; termId++) {
+            termOffsets[termId + 1] = termOffsets[termId] + inverted.getTermDocumentsNumber(termId);
+        }
+        try (InvertedBinaryWriter writer = new InvertedBinaryWriter(path, termOffsets)) {
+            for (int termId = 0; termId < termsNumber; termId++) {
+                PostingCursor cursor = inverted.getPostingCursor(termId);
+                while (cursor.next()) {
+                    writer.addPosting(cursor.getDocumentId(), cursor.getFrequency());
+                }
+            }
+        }
+    }
+
+    /**
+     * It adds the next posting. The postings must be added in order of term
+     * and then of document, and each posting list must have the length given
+     * by the term offset table.
+     * 
+     * @param   docId       The identifier of the document.
+     * @param   frequency   The number or times the term is used in the
+     *                      document.
+     * @throws  IOException If the file can't be written.
+     */
+    public void addPosting(int docId, int frequency) throws IOException {
+        if (postingsNumber == termOffsets[termOffsets.length - 1]) {
+            throw new IllegalArgumentException("Too many postings for " + path);
+        }
+        while (postingsNumber == termOffsets[termId + 1]) {
+            termId++;
+        }
+        if ((docId < 0) || ((postingsNumber > termOffsets[termId]) && (docId <= lastDocId))) {
+            throw new IllegalArgumentException("Documents of term " + termId + " are not sorted: " + docId);
+        }
+        output.writeInt(docId);
+        output.writeInt(frequency);
+        lastDocId = docId;
+        postingsNumber++;
+    }
+
+    /**
+     * It closes the file.
+     * 
+     * @throws  IOException If the file can't be written or if fewer postings
+     *                      than expected have been added.
+     */
+    public void close() throws IOException {
+        if (output == null) {
+            return;
+        }
+        output.close();
+        output = null;
+        if (postingsNumber != termOffsets[termOffsets.length - 1]) {
+            throw new IOException("Expected " + termOffsets[termOffsets.length - 1] + " postings in " + path + ", found " + postingsNumber);
+        }
+    }
+
+    /**
+     * It closes the file without completing it and it deletes it, also if it
+     * has already been closed.
+     * 
+     * @throws  IOException If the file can't be deleted.
+     */
+    public void abort() throws IOException {
+        if (output != null) {
+            try {
+                output.close();
+            }
+            catch (IOException e) {
+                // The file is deleted anyway.
+            }
+            output = null;
+        }
+        Files.deleteIfExists(path);
+    }
+
+}
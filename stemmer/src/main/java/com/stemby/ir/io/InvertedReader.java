@@ -0,0 +1,432 @@
+package com.stemby.ir.io;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.stemby.ir.util.Inverted;
+import com.stemby.ir.util.InvertedCompressed;
+import com.stemby.ir.util.InvertedFlatArray;
+
+/**
+ * Class that is responsible for building an
+ * {@link com.stemby.ir.util.Inverted Inverted} object, reading relating data
+ * from a file on a specified path. The file has a line for each posting list.
+ * The format of a line is 'termId postingList'.
+ * <ul>
+ *   <li> termId is the identifier of the posting list
+ *   <li> The format of postingList is
+ *        '(docId,frequency) ... (docId,frequency)'
+ *   <ul>
+ *     <li> docId is the identifier of the document
+ *     <li> frequency is the number of times the term represented by termId
+ *          appears in the document
+ *   </ul>
+ * </ul>
+ * The file is read twice: the first time only the postings of each line are
+ * counted, so that the second time they can be stored directly in the flat
+ * arrays of an {@link com.stemby.ir.util.InvertedFlatArray InvertedFlatArray}
+ * object, without any intermediate object for each posting.
+ * <p>
+ * The file is scanned byte by byte by a {@link TextScanner}, which parses the
+ * numbers in place: no string is created while reading it. The charset must
+ * be compatible with ASCII.
+ * <p>
+ * The documents of each posting list must be sorted and not negative. A file
+ * that doesn't respect the format or the order is reported on the standard
+ * error, with the position of the error, and it is not read (the methods
+ * return null, or false for {@link #convert}).
+ * <p>
+ * The file can also be read by more threads: it is split at line boundaries
+ * into chunks, and both the passes are run on the chunks in parallel by a
+ * {@link java.util.concurrent.ForkJoinPool ForkJoinPool}. The identifiers of
+ * the terms are assigned by summing the numbers of lines of the previous
+ * chunks, so the result is identical to the one of the sequential reading.
+ * <p>
+ * Alternatively, the file can be read once into an
+ * {@link com.stemby.ir.util.InvertedCompressed InvertedCompressed} object,
+ * whose compressed posting lists take much less memory.
+ * <p>
+ * The file can also be converted, once, to the binary format of
+ * {@link com.stemby.ir.util.InvertedMapped InvertedMapped}, which is mapped
+ * in memory without parsing it. The conversion streams the postings to the
+ * binary file, so it doesn't keep the inverted index in memory.
+ * 
+ * @author stemby
+ */
+public class InvertedReader {
+
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+
+    private Path path;
+    private Charset charset;
+    private long minChunkSize = MIN_CHUNK_SIZE;
+    
+    /**
+     * Class constructor.
+     * 
+     * @param   path    The path where the file containing data of the inverted
+     *                  index can be found.
+     * @param   charset Charset to use while reading the file.
+     */
+    public InvertedReader(Path path, Charset charset) {
+        this.path = path;
+        this.charset = charset;
+    }
+
+    /**
+     * It reads the file containing data of the inverted index, it build
+     * a new {@link com.stemby.ir.util.Inverted Inverted} object and it
+     * returns it.
+     * 
+     * @return An {@link com.stemby.ir.util.Inverted Inverted} object
+     * containing data of the inverted index file.
+     */
+    public Inverted read() {
+        int[] termOffsets = countPostings();
+        if (termOffsets == null) {
+            return null;
+        }
+        int[] documentIds = new int[termOffsets[termOffsets.length - 1]];
+        int[] frequencies = new int[documentIds.length];
+
+        boolean read = parse(termOffsets.length - 1, new FlatArrayHandler(termOffsets, documentIds, frequencies));
+
+        return read ? new InvertedFlatArray(termOffsets, documentIds, frequencies) : null;
+    }
+
+    /**
+     * It reads the file containing data of the inverted index with more
+     * threads, it builds a new {@link com.stemby.ir.util.Inverted Inverted}
+     * object and it returns it. The result is identical to the one of
+     * {@link #read()}.
+     * 
+     * @param   threadsNumber   The number of threads used to parse the file.
+     * @return                  An {@link com.stemby.ir.util.Inverted Inverted}
+     *                          object containing data of the inverted index
+     *                          file.
+     */
+    public Inverted readParallel(int threadsNumber) {
+        ForkJoinPool pool = new ForkJoinPool(threadsNumber);
+        try {
+            long[] chunkBoundaries = getChunkBoundaries(threadsNumber * CHUNKS_PER_THREAD);
+            int chunksNumber = chunkBoundaries.length - 1;
+
+            List<Callable<int[]>> countTasks = new ArrayList<>();
+            for (int i = 0; i < chunksNumber; i++) {
+                final long start = chunkBoundaries[i];
+                final long end = chunkBoundaries[i + 1];
+                countTasks.add(new Callable<int[]>() {
+                    public int[] call() throws IOException {
+                        try (TextScanner scanner = new TextScanner(path, charset, start, end)) {
+                            return countPostings(scanner);
+                        }
+                    }
+                });
+            }
+            List<int[]> chunkOffsets = getAll(pool.invokeAll(countTasks));
+
+            final int[] firstTermIds = new int[chunksNumber + 1];
+            for (int i = 0; i < chunksNumber; i++) {
+                firstTermIds[i + 1] = firstTermIds[i] + chunkOffsets.get(i).length - 1;
+            }
+            final int[] termOffsets = new int[firstTermIds[chunksNumber] + 1];
+            for (int i = 0; i < chunksNumber; i++) {
+                int[] offsets = chunkOffsets.get(i);
+                int base = termOffsets[firstTermIds[i]];
+                for (int j = 1; j < offsets.length; j++) {
+                    termOffsets[firstTermIds[i] + j] = base + offsets[j];
+                }
+            }
+            chunkOffsets = null;
+            final int[] documentIds = new int[termOffsets[termOffsets.length - 1]];
+            final int[] frequencies = new int[documentIds.length];
+
+            List<Callable<int[]>> parseTasks = new ArrayList<>();
+            for (int i = 0; i < chunksNumber; i++) {
+                final long start = chunkBoundaries[i];
+                final long end = chunkBoundaries[i + 1];
+                final int firstTermId = firstTermIds[i];
+                final int termsNumber = firstTermIds[i + 1] - firstTermId;
+                parseTasks.add(new Callable<int[]>() {
+                    public int[] call() throws IOException {
+                        try (TextScanner scanner = new TextScanner(path, charset, start, end)) {
+                            parse(scanner, firstTermId, termsNumber, new FlatArrayHandler(termOffsets, documentIds, frequencies));
+                        }
+                        return null;
+                    }
+                });
+            }
+            getAll(pool.invokeAll(parseTasks));
+
+            return new InvertedFlatArray(termOffsets, documentIds, frequencies);
+        }
+        catch (IOException x) {
+            System.err.format("IOException in InvertedReader: %s%n", x);
+            return null;
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * It reads the file containing data of the inverted index, it builds
+     * a new {@link com.stemby.ir.util.InvertedCompressed InvertedCompressed}
+     * object and it returns it. The file is read only once.
+     * 
+     * @return An {@link com.stemby.ir.util.Inverted Inverted} object
+     * containing data of the inverted index file, with compressed posting
+     * lists.
+     */
+    public Inverted readCompressed() {
+        final InvertedCompressed inverted = new InvertedCompressed();
+
+        boolean read = parse(Integer.MAX_VALUE, new PostingHandler() {
+            public void addTerm(int termId) {
+                inverted.addTerm(termId);
+            }
+            public void addPosting(int termId, int docId, int frequency) {
+                inverted.setTermFrequencyInDocument(termId, frequency, docId);
+            }
+        });
+
+        return read ? inverted : null;
+    }
+
+    /**
+     * It converts the file containing data of the inverted index to a binary
+     * file that can be mapped by
+     * {@link com.stemby.ir.util.InvertedMapped InvertedMapped}. The file is
+     * read twice: the first time to count the postings of each term, the
+     * second time to write them. If the file can't be converted, the error
+     * is reported once and the binary file is deleted.
+     * 
+     * @param   binaryPath  The path of the binary file.
+     * @return              True if the file has been converted, false
+     *                      otherwise.
+     */
+    public boolean convert(Path binaryPath) {
+        int[] termOffsets = countPostings();
+        if (termOffsets == null) {
+            return false;
+        }
+
+        try (TextScanner scanner = new TextScanner(path, charset)) {
+            final InvertedBinaryWriter writer = new InvertedBinaryWriter(binaryPath, termOffsets);
+            try {
+                parse(scanner, 0, termOffsets.length - 1, new PostingHandler() {
+                    public void addTerm(int termId) {
+                    }
+                    public void addPosting(int termId, int docId, int frequency) throws IOException {
+                        writer.addPosting(docId, frequency);
+                    }
+                });
+                writer.close();
+            }
+            catch (IOException | RuntimeException x) {
+                writer.abort();
+                throw x;
+            }
+            return true;
+        }
+        catch (IOException | IllegalArgumentException x) {
+            System.err.format("IOException in InvertedReader: %s%n", x);
+            return false;
+        }
+    }
+
+    /*
+        It reads the file once, counting the postings of each line, and it
+        returns the offsets of the posting lists in the flat arrays.
+    */
+
+    private int[] countPostings() {
+        try (TextScanner scanner = new TextScanner(path, charset)) {
+            return countPostings(scanner);
+        }
+        catch (IOException x) {
+            System.err.format("IOException in InvertedReader: %s%n", x);
+            return null;
+        }
+    }
+
+    private static int[] countPostings(TextScanner scanner) throws IOException {
+        int[] termOffsets = new int[1024];
+        int termsNumber = 0;
+        while (scanner.peek() != -1) {
+            int postingsNumber = 0;
+            int b;
+            while (((b = scanner.next()) != '\n') && (b != -1)) {
+                if (b == '(') {
+                    postingsNumber++;
+                }
+            }
+            if (termsNumber + 1 == termOffsets.length) {
+                termOffsets = Arrays.copyOf(termOffsets, termOffsets.length * 2);
+            }
+            termOffsets[termsNumber + 1] = termOffsets[termsNumber] + postingsNumber;
+            termsNumber++;
+        }
+        return Arrays.copyOf(termOffsets, termsNumber + 1);
+    }
+
+    private boolean parse(int termsNumber, PostingHandler handler) {
+        try (TextScanner scanner = new TextScanner(path, charset)) {
+            parse(scanner, 0, termsNumber, handler);
+        }
+        catch (IOException x) {
+            System.err.format("IOException in InvertedReader: %s%n", x);
+            return false;
+        }
+        return true;
+    }
+
+    /*
+        It reads at most termsNumber lines, passing each term and each posting
+        to the handler. The first item of a line (the identifier of the term)
+        is skipped: terms are numbered by line, starting from firstTermId.
+        The documents of a line must be non-negative and strictly increasing,
+        as every intersection of posting lists assumes, and the frequencies
+        non-negative: the order is checked here, so that every way of reading
+        the file rejects the same files with the same error.
+    */
+
+    private static void parse(TextScanner scanner, int firstTermId, int termsNumber, PostingHandler handler) throws IOException {
+        int termId = firstTermId;
+        while ((scanner.peek() != -1) && (termId < firstTermId + termsNumber)) {
+            handler.addTerm(termId);
+            int lastDocId = -1;
+            int b;
+            while (((b = scanner.peek()) != ' ') && (b != '\n') && (b != -1)) {
+                scanner.next();
+            }
+            while (true) {
+                scanner.skipSpaces();
+                b = scanner.peek();
+                if ((b == '\n') || (b == -1)) {
+                    scanner.next();
+                    break;
+                }
+                scanner.expect('(');
+                int docId = scanner.readInt();
+                if ((docId < 0) || (docId <= lastDocId)) {
+                    throw scanner.error("Document " + docId + " is negative or not greater than the previous one");
+                }
+                scanner.expect(',');
+                int frequency = scanner.readInt();
+                if (frequency < 0) {
+                    throw scanner.error("Negative frequency " + frequency);
+                }
+                scanner.expect(')');
+                handler.addPosting(termId, docId, frequency);
+                lastDocId = docId;
+            }
+            termId++;
+        }
+    }
+
+    /*
+        It sets the minimum size of the chunks read in parallel (1 MiB by
+        default), so that the tests can split small files in many chunks.
+    */
+
+    void setMinChunkSize(long minChunkSize) {
+        this.minChunkSize = minChunkSize;
+    }
+
+    /*
+        It splits the file in at most chunksNumber chunks of similar size,
+        moving each boundary after the end of a line. It returns the
+        boundaries, including the beginning and the end of the file.
+    */
+
+    private long[] getChunkBoundaries(int chunksNumber) throws IOException {
+        long size = Files.size(path);
+        chunksNumber = (int)Math.max(1, Math.min(chunksNumber, size / minChunkSize));
+        long[] chunkBoundaries = new long[chunksNumber + 1];
+        for (int i = 1; i < chunksNumber; i++) {
+            long boundary = size * i / chunksNumber;
+            if (boundary <= chunkBoundaries[i - 1]) {
+                chunkBoundaries[i] = chunkBoundaries[i - 1];
+                continue;
+            }
+            try (TextScanner scanner = new TextScanner(path, charset, boundary - 1, size)) {
+                int b;
+                while (((b = scanner.next()) != '\n') && (b != -1)) {
+                    // The boundary is moved to the beginning of the next line.
+                }
+                chunkBoundaries[i] = scanner.getPosition();
+            }
+        }
+        chunkBoundaries[chunksNumber] = size;
+        return chunkBoundaries;
+    }
+
+    private static <T> List<T> getAll(List<Future<T>> futures) throws IOException {
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            }
+            catch (InterruptedException x) {
+                Thread.currentThread().interrupt();
+                throw new IOException(x);
+            }
+            catch (ExecutionException x) {
+                // The pool wraps the checked exceptions of the tasks in
+                // runtime exceptions
+                for (Throwable cause = x.getCause(); cause != null; cause = cause.getCause()) {
+                    if (cause instanceof IOException) {
+                        throw (IOException)cause;
+                    }
+                }
+                if (x.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException)x.getCause();
+                }
+                throw new IOException(x.getCause());
+            }
+        }
+        return results;
+    }
+
+    private interface PostingHandler {
+        void addTerm(int termId) throws IOException;
+        void addPosting(int termId, int docId, int frequency) throws IOException;
+    }
+
+    private static class FlatArrayHandler implements PostingHandler {
+
+        private int[] termOffsets;
+        private int[] documentIds;
+        private int[] frequencies;
+        private int position;
+
+        public FlatArrayHandler(int[] termOffsets, int[] documentIds, int[] frequencies) {
+            this.termOffsets = termOffsets;
+            this.documentIds = documentIds;
+            this.frequencies = frequencies;
+        }
+
+        public void addTerm(int termId) {
+            position = termOffsets[termId];
+        }
+
+        public void addPosting(int termId, int docId, int frequency) {
+            documentIds[position] = docId;
+            frequencies[position] = frequency;
+            position++;
+        }
+
+    }
+
+}
\ No newline at end of file
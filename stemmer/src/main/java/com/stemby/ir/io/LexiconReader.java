@@ -1,12 +1,11 @@
 package com.stemby.ir.io;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.charset.Charset;
 
 import com.stemby.ir.util.Lexicon;
+import com.stemby.ir.util.LexiconArena;
 import com.stemby.ir.util.LexiconArray;
 
 /**
@@ -18,6 +17,9 @@ import com.stemby.ir.util.LexiconArray;
  *   <li> term is a word, composed by numbers or characters
  *   <li> uselessStuff can be anything, it is ignored by the reader
  * </ul>
+ * The file is scanned byte by byte by a {@link TextScanner}, which decodes
+ * each term directly from the bytes of the file: the only object created for
+ * a line is the term itself. The charset must be compatible with ASCII.
  * 
  * @author stemby
  */
@@ -46,13 +48,28 @@ public class LexiconReader {
      * data of the lexicon file.
      */
     public Lexicon read() {
-        Lexicon lexicon = new LexiconArray();
-        
-        try (BufferedReader reader = Files.newBufferedReader(path, charset)) {
+        return read(new LexiconArray());
+    }
+
+    /**
+     * It reads the file containing data of the lexicon, it build a new
+     * {@link com.stemby.ir.util.LexiconArena LexiconArena} object, which keeps
+     * all the lexemes in a single array of characters, and it returns it.
+     * 
+     * @param   frontCoding True if the lexemes must be front-coded.
+     * @return              A {@link com.stemby.ir.util.Lexicon Lexicon}
+     *                      object containing data of the lexicon file.
+     */
+    public Lexicon readCompact(boolean frontCoding) {
+        return read(new LexiconArena(frontCoding));
+    }
+
+    private Lexicon read(Lexicon lexicon) {
+        try (TextScanner scanner = new TextScanner(path, charset)) {
             int termId = 0;
-            String line;
-            while ((line = reader.readLine()) != null) {
-                lexicon.addLexeme(termId, line.split(",")[0]);
+            while (scanner.peek() != -1) {
+                lexicon.addLexeme(termId, scanner.readString(','));
+                scanner.skipLine();
                 termId++;
             }
         }
@@ -0,0 +1,320 @@
+package com.stemby.ir.io;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import com.stemby.commons.util.ZipfSampler;
+
+/**
+ * Class that generates a synthetic collection and writes it in the formats
+ * read by {@link com.stemby.ir.io.LexiconReader LexiconReader} (a line
+ * 'term,collectionFrequency' for each term) and by
+ * {@link com.stemby.ir.io.InvertedReader InvertedReader}.
+ * <p>
+ * The terms are grouped in morphological families: the terms of a family
+ * share a stem, made by random syllables, and each one adds a different
+ * common suffix. The sizes of the families and the popularity of the suffixes
+ * follow Zipf distributions. Each family has a small set of documents (its
+ * topic): a fraction of the postings of its terms is drawn from these
+ * documents, so that the terms of a family co-occur, and the rest from the
+ * whole collection.
+ * <p>
+ * The document frequencies of the terms are drawn from a Zipf distribution
+ * with the given exponent: with the default exponent 2 the frequency of a
+ * term is about inversely proportional to its rank, as in Zipf's law. The
+ * frequencies of the terms in the documents are drawn from another Zipf
+ * distribution.
+ * <p>
+ * The collection only depends on the parameters and on the seed. It is
+ * generated and written one posting list at a time, so the memory needed
+ * doesn't depend on the number of terms, but only on the number of documents.
+ * 
+ * @author stemby
+ */
+public class SyntheticCorpusWriter {
+
+    private static final String CONSONANTS = "bcdfghlmnprstvz";
+    private static final String VOWELS = "aeiou";
+    private static final String[] SUFFIXES = {"", "s", "ed", "ing", "er", "es", "ly", "ers", "ion", "ions", "al", "ment", "ness", "able", "ity", "ive"};
+    private static final long STEM_MULTIPLIER = 1000003;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private int termsNumber;
+    private int documentsNumber;
+    private long seed;
+    private double documentFrequencyExponent = 2;
+    private int maxTermFrequency = 1000;
+    private double termFrequencyExponent = 2.5;
+    private int maxFamilySize = 8;
+    private int topicDocumentsNumber = 100;
+    private double topicAffinity = 0.5;
+
+    /**
+     * Class constructor.
+     * 
+     * @param   termsNumber     The number of terms of the collection.
+     * @param   documentsNumber The number of documents of the collection.
+     * @param   seed            The seed of the random generator.
+     */
+    public SyntheticCorpusWriter(int termsNumber, int documentsNumber, long seed) {
+        if ((termsNumber < 1) || (documentsNumber < 1)) {
+            throw new IllegalArgumentException("The numbers of terms and documents must be positive");
+        }
+        this.termsNumber = termsNumber;
+        this.documentsNumber = documentsNumber;
+        this.seed = seed;
+    }
+
+    /**
+     * Set method for the exponent of the distribution of the document
+     * frequencies (by default, 2).
+     * 
+     * @param   documentFrequencyExponent   The exponent, which must be
+     *                                      positive.
+     */
+    public void setDocumentFrequencyExponent(double documentFrequencyExponent) {
+        this.documentFrequencyExponent = documentFrequencyExponent;
+    }
+
+    /**
+     * Set method for the distribution of the frequencies of the terms in the
+     * documents (by default, from 1 to 1000 with exponent 2.5).
+     * 
+     * @param   maxTermFrequency        The largest frequency.
+     * @param   termFrequencyExponent   The exponent, which must be positive.
+     */
+    public void setTermFrequencyDistribution(int maxTermFrequency, double termFrequencyExponent) {
+        this.maxTermFrequency = maxTermFrequency;
+        this.termFrequencyExponent = termFrequencyExponent;
+    }
+
+    /**
+     * Set method for the largest number of terms of a family (by default, 8).
+     * It can't be larger than the number of common suffixes, i.e. 16.
+     * 
+     * @param   maxFamilySize   The largest size of a family.
+     */
+    public void setMaxFamilySize(int maxFamilySize) {
+        if ((maxFamilySize < 1) || (maxFamilySize > SUFFIXES.length)) {
+            throw new IllegalArgumentException("The size of a family must be between 1 and " + SUFFIXES.length);
+        }
+        this.maxFamilySize = maxFamilySize;
+    }
+
+    /**
+     * Set method for the topic of the families (by default, 100 documents and
+     * half of the postings).
+     * 
+     * @param   topicDocumentsNumber    The number of documents of the topic
+     *                                  of a family.
+     * @param   topicAffinity           The fraction of the postings drawn
+     *                                  from the topic, from 0 (included) to
+     *                                  1 (excluded).
+     */
+    public void setTopic(int topicDocumentsNumber, double topicAffinity) {
+        if ((topicDocumentsNumber < 1) || !(topicAffinity >= 0) || (topicAffinity >= 1)) {
+            throw new IllegalArgumentException("Invalid topic: " + topicDocumentsNumber + " documents, affinity " + topicAffinity);
+        }
+        this.topicDocumentsNumber = topicDocumentsNumber;
+        this.topicAffinity = topicAffinity;
+    }
+
+    /**
+     * It generates the collection and writes the lexicon and the inverted
+     * index in UTF-8.
+     * 
+     * @param   lexiconPath     The path of the lexicon file.
+     * @param   invertedPath    The path of the inverted index file.
+     * @return                  The number of postings written.
+     * @throws  IOException     If the files can't be written.
+     */
+    public long write(Path lexiconPath, Path invertedPath) throws IOException {
+        try (Writer lexiconWriter = Files.newBufferedWriter(lexiconPath, StandardCharsets.UTF_8);
+            Writer invertedWriter = Files.newBufferedWriter(invertedPath, StandardCharsets.UTF_8)) {
+            return new Generator(lexiconWriter, invertedWriter).generate();
+        }
+    }
+
+    /*
+        The state of a single generation: the random generator, the samplers
+        and the buffers reused for each posting list.
+    */
+
+    private class Generator {
+
+        private Writer lexiconWriter;
+        private Writer invertedWriter;
+        private Random random;
+        private ZipfSampler familySizeSampler;
+        private ZipfSampler suffixSampler;
+        private ZipfSampler documentFrequencySampler;
+        private ZipfSampler termFrequencySampler;
+        private int stemSyllables;
+        private long stemsNumber;
+        private long stemOffset;
+        private int topicSize;
+        private int[] documents = new int[16];
+        private int[] frequencies = new int[16];
+        private boolean[] usedSuffixes = new boolean[SUFFIXES.length];
+        private char[] line = new char[256];
+        private int lineLength;
+        private long postingsNumber;
+
+        public Generator(Writer lexiconWriter, Writer invertedWriter) {
+            this.lexiconWriter = lexiconWriter;
+            this.invertedWriter = invertedWriter;
+            this.random = new Random(seed);
+            this.familySizeSampler = new ZipfSampler(maxFamilySize, 1, random);
+            this.suffixSampler = new ZipfSampler(SUFFIXES.length, 1, random);
+            this.documentFrequencySampler = new ZipfSampler(documentsNumber, documentFrequencyExponent, random);
+            this.termFrequencySampler = new ZipfSampler(maxTermFrequency, termFrequencyExponent, random);
+            int syllablesNumber = CONSONANTS.length() * VOWELS.length();
+            this.stemSyllables = 2;
+            this.stemsNumber = (long)syllablesNumber * syllablesNumber;
+            while (stemsNumber < termsNumber) {
+                stemSyllables++;
+                stemsNumber *= syllablesNumber;
+            }
+            this.stemOffset = (long)(random.nextDouble() * stemsNumber);
+            this.topicSize = Math.min(topicDocumentsNumber, documentsNumber);
+        }
+
+        public long generate() throws IOException {
+            int termId = 0;
+            for (long family = 0; termId < termsNumber; family++) {
+                String stem = getStem(family);
+                int familySize = Math.min(familySizeSampler.sample(), termsNumber - termId);
+                int topicStart = random.nextInt(documentsNumber - topicSize + 1);
+                Arrays.fill(usedSuffixes, false);
+                for (int member = 0; member < familySize; member++) {
+                    int suffix;
+                    do {
+                        suffix = suffixSampler.sample() - 1;
+                    } while (usedSuffixes[suffix]);
+                    usedSuffixes[suffix] = true;
+                    int documentFrequency = sampleDocuments(documentFrequencySampler.sample(), topicStart);
+                    long collectionFrequency = 0;
+                    for (int i = 0; i < documentFrequency; i++) {
+                        frequencies[i] = termFrequencySampler.sample();
+                        collectionFrequency += frequencies[i];
+                    }
+                    writeLexiconLine(stem + SUFFIXES[suffix], collectionFrequency);
+                    writeInvertedLine(termId, documentFrequency);
+                    termId++;
+                }
+            }
+            return postingsNumber;
+        }
+
+        /*
+            The stems are the numbers from 0 to stemsNumber - 1 written in
+            base syllablesNumber, all with the same number of syllables, so
+            no stem is a prefix of another one and the terms are all
+            different. The numbers of the families are scattered by an
+            invertible affine function, so that near families don't have
+            similar stems.
+        */
+
+        private String getStem(long family) {
+            long number = (family * (STEM_MULTIPLIER % stemsNumber) + stemOffset) % stemsNumber;
+            char[] chars = new char[2 * stemSyllables];
+            for (int syllable = stemSyllables - 1; syllable >= 0; syllable--) {
+                int digit = (int)(number % (CONSONANTS.length() * VOWELS.length()));
+                number /= CONSONANTS.length() * VOWELS.length();
+                chars[2 * syllable] = CONSONANTS.charAt(digit / VOWELS.length());
+                chars[2 * syllable + 1] = VOWELS.charAt(digit % VOWELS.length());
+            }
+            return new String(chars);
+        }
+
+        /*
+            It draws the given number of distinct documents, sorted. If they
+            are at least half of the collection, every document is selected
+            with the right probability (selection sampling); otherwise the
+            documents are drawn, sorted and deduplicated until there are
+            enough of them.
+        */
+
+        private int sampleDocuments(int documentFrequency, int topicStart) {
+            if (documents.length < documentFrequency) {
+                int length = Math.max(documentFrequency, 2 * documents.length);
+                documents = new int[length];
+                frequencies = new int[length];
+            }
+            if (2 * documentFrequency >= documentsNumber) {
+                int selected = 0;
+                for (int document = 0; selected < documentFrequency; document++) {
+                    if (random.nextInt(documentsNumber - document) < documentFrequency - selected) {
+                        documents[selected++] = document;
+                    }
+                }
+                return documentFrequency;
+            }
+            int count = 0;
+            while (count < documentFrequency) {
+                while (count < documentFrequency) {
+                    documents[count++] = (random.nextDouble() < topicAffinity) ? topicStart + random.nextInt(topicSize) : random.nextInt(documentsNumber);
+                }
+                Arrays.sort(documents, 0, count);
+                int distinct = 1;
+                for (int i = 1; i < count; i++) {
+                    if (documents[i] != documents[distinct - 1]) {
+                        documents[distinct++] = documents[i];
+                    }
+                }
+                count = distinct;
+            }
+            return documentFrequency;
+        }
+
+        private void writeLexiconLine(String term, long collectionFrequency) throws IOException {
+            lexiconWriter.write(term);
+            lexiconWriter.write(',');
+            lineLength = 0;
+            append(collectionFrequency);
+            append('\n');
+            lexiconWriter.write(line, 0, lineLength);
+        }
+
+        private void writeInvertedLine(int termId, int documentFrequency) throws IOException {
+            lineLength = 0;
+            append(termId);
+            for (int i = 0; i < documentFrequency; i++) {
+                if (lineLength + 32 > BUFFER_SIZE) {
+                    invertedWriter.write(line, 0, lineLength);
+                    lineLength = 0;
+                }
+                append(' ');
+                append('(');
+                append(documents[i]);
+                append(',');
+                append(frequencies[i]);
+                append(')');
+            }
+            append('\n');
+            invertedWriter.write(line, 0, lineLength);
+            postingsNumber += documentFrequency;
+        }
+
+        private void append(char c) {
+            if (lineLength == line.length) {
+                line = Arrays.copyOf(line, 2 * line.length);
+            }
+            line[lineLength++] = c;
+        }
+
+        private void append(long value) {
+            if (value >= 10) {
+                append(value / 10);
+            }
+            append((char)('0' + value % 10));
+        }
+
+    }
+
+}
\ No newline at end of file
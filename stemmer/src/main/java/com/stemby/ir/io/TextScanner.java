@@ -0,0 +1,309 @@
+package com.stemby.ir.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Class that scans a text file byte by byte, reading it from a
+ * {@link java.nio.channels.FileChannel FileChannel} into a buffer which is
+ * reused for the whole file. Integers are parsed directly from the bytes of
+ * the buffer and strings are decoded into a reused array of characters, so
+ * scanning the file doesn't create any temporary object: the only objects
+ * created are the strings returned by {@link #readString}.
+ * <p>
+ * The charset of the file must be compatible with ASCII (e.g. UTF-8 or
+ * ISO-8859-1), since digits and delimiters are compared with single bytes.
+ * UTF-8 strings are decoded by the scanner itself, other charsets by the
+ * String constructor.
+ * <p>
+ * A scanner can also be limited to a range of bytes of the file, so that more
+ * scanners can read different parts of the same file at the same time.
+ * 
+ * @author stemby
+ */
+class TextScanner implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int[] MIN_CODE_POINTS = {0, 0x80, 0x800, 0x10000};
+
+    private Path path;
+    private Charset charset;
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private byte[] bytes;
+    private int position;
+    private int limit;
+    private long bufferStart;
+    private long end;
+    private byte[] stringBytes = new byte[64];
+    private char[] stringChars = new char[64];
+
+    /**
+     * Class constructor. It opens the file.
+     * 
+     * @param   path        The path of the file.
+     * @param   charset     The charset of the file.
+     * @throws  IOException If the file can't be opened.
+     */
+    public TextScanner(Path path, Charset charset) throws IOException {
+        this(path, charset, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Class constructor. It opens the file and limits the scanner to a range
+     * of bytes.
+     * 
+     * @param   path        The path of the file.
+     * @param   charset     The charset of the file.
+     * @param   start       The position of the first byte to scan.
+     * @param   end         The position after the last byte to scan.
+     * @throws  IOException If the file can't be opened.
+     */
+    public TextScanner(Path path, Charset charset, long start, long end) throws IOException {
+        this.path = path;
+        this.charset = charset;
+        this.bufferStart = start;
+        this.end = end;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.bytes = buffer.array();
+    }
+
+    /**
+     * It returns the next byte of the file, without consuming it.
+     * 
+     * @return              The next byte (from 0 to 255), or -1 at the end of
+     *                      the file.
+     * @throws  IOException If the file can't be read.
+     */
+    public int peek() throws IOException {
+        if ((position == limit) && !fill()) {
+            return -1;
+        }
+        return bytes[position] & 0xff;
+    }
+
+    /**
+     * It returns and consumes the next byte of the file.
+     * 
+     * @return              The next byte (from 0 to 255), or -1 at the end of
+     *                      the file.
+     * @throws  IOException If the file can't be read.
+     */
+    public int next() throws IOException {
+        if ((position == limit) && !fill()) {
+            return -1;
+        }
+        return bytes[position++] & 0xff;
+    }
+
+    /**
+     * It returns the position in the file of the next byte.
+     * 
+     * @return  The position of the next byte.
+     */
+    public long getPosition() {
+        return bufferStart + position;
+    }
+
+    /**
+     * It consumes the spaces, tabs and carriage returns that follow.
+     * 
+     * @throws  IOException If the file can't be read.
+     */
+    public void skipSpaces() throws IOException {
+        int b;
+        while (((b = peek()) == ' ') || (b == '\t') || (b == '\r')) {
+            position++;
+        }
+    }
+
+    /**
+     * It consumes the rest of the current line, including the line feed.
+     * 
+     * @throws  IOException If the file can't be read.
+     */
+    public void skipLine() throws IOException {
+        int b;
+        while (((b = next()) != '\n') && (b != -1)) {
+            // The rest of the line is ignored.
+        }
+    }
+
+    /**
+     * It consumes the next byte, which must be the given one.
+     * 
+     * @param   expected    The expected byte.
+     * @throws  IOException If the file can't be read or if the next byte is
+     *                      not the expected one.
+     */
+    public void expect(char expected) throws IOException {
+        if (next() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    /**
+     * It parses the (optionally negative) decimal integer that follows.
+     * 
+     * @return              The integer.
+     * @throws  IOException If the file can't be read or if it doesn't
+     *                      contain a valid integer at the current position.
+     */
+    public int readInt() throws IOException {
+        boolean negative = (peek() == '-');
+        if (negative) {
+            position++;
+        }
+        int b = peek();
+        if ((b < '0') || (b > '9')) {
+            throw error("Expected a number");
+        }
+        long value = 0;
+        do {
+            value = value * 10 + (b - '0');
+            if (value > (long)Integer.MAX_VALUE + 1) {
+                throw error("Number out of range");
+            }
+            position++;
+            b = peek();
+        } while ((b >= '0') && (b <= '9'));
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw error("Number out of range");
+        }
+        return (int)value;
+    }
+
+    /**
+     * It reads the string that follows, up to the given delimiter or to the
+     * end of the line (both excluded and not consumed).
+     * 
+     * @param   delimiter   The byte that ends the string.
+     * @return              The string.
+     * @throws  IOException If the file can't be read or if the string is not
+     *                      valid in the charset of the file.
+     */
+    public String readString(char delimiter) throws IOException {
+        int length = 0;
+        int b;
+        while (((b = peek()) != delimiter) && (b != '\n') && (b != '\r') && (b != -1)) {
+            if (length == stringBytes.length) {
+                stringBytes = Arrays.copyOf(stringBytes, length * 2);
+            }
+            stringBytes[length++] = (byte)b;
+            position++;
+        }
+        if (!charset.equals(StandardCharsets.UTF_8)) {
+            return new String(stringBytes, 0, length, charset);
+        }
+        return decodeUtf8(length);
+    }
+
+    /*
+        Decoding the bytes in place is faster than the String constructor,
+        which copies them to a temporary buffer.
+    */
+
+    private String decodeUtf8(int length) throws IOException {
+        if (stringChars.length < length) {
+            stringChars = new char[Math.max(length, stringChars.length * 2)];
+        }
+        int charsNumber = 0;
+        int i = 0;
+        while (i < length) {
+            int b = stringBytes[i++];
+            if (b >= 0) {
+                stringChars[charsNumber++] = (char)b;
+                continue;
+            }
+            int continuationBytes;
+            int codePoint;
+            if ((b & 0xe0) == 0xc0) {
+                continuationBytes = 1;
+                codePoint = b & 0x1f;
+            }
+            else
+                if ((b & 0xf0) == 0xe0) {
+                    continuationBytes = 2;
+                    codePoint = b & 0x0f;
+                }
+                else
+                    if ((b & 0xf8) == 0xf0) {
+                        continuationBytes = 3;
+                        codePoint = b & 0x07;
+                    }
+                    else {
+                        throw new MalformedInputException(1);
+                    }
+            if (i + continuationBytes > length) {
+                throw new MalformedInputException(length - i + 1);
+            }
+            for (int j = 0; j < continuationBytes; j++) {
+                int c = stringBytes[i++];
+                if ((c & 0xc0) != 0x80) {
+                    throw new MalformedInputException(j + 1);
+                }
+                codePoint = (codePoint << 6) | (c & 0x3f);
+            }
+            if ((codePoint < MIN_CODE_POINTS[continuationBytes]) || (codePoint > Character.MAX_CODE_POINT) || ((codePoint >= Character.MIN_SURROGATE) && (codePoint <= Character.MAX_SURROGATE))) {
+                throw new MalformedInputException(continuationBytes + 1);
+            }
+            if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                stringChars[charsNumber++] = (char)codePoint;
+            }
+            else {
+                stringChars[charsNumber++] = Character.highSurrogate(codePoint);
+                stringChars[charsNumber++] = Character.lowSurrogate(codePoint);
+            }
+        }
+        return new String(stringChars, 0, charsNumber);
+    }
+
+    /**
+     * It closes the file.
+     * 
+     * @throws  IOException If the file can't be closed.
+     */
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean fill() throws IOException {
+        bufferStart += limit;
+        position = 0;
+        limit = 0;
+        if (bufferStart >= end) {
+            return false;
+        }
+        buffer.clear();
+        buffer.limit((int)Math.min(BUFFER_SIZE, end - bufferStart));
+        int read;
+        do {
+            read = channel.read(buffer, bufferStart);
+        } while (read == 0);
+        limit = buffer.position();
+        return limit > 0;
+    }
+
+    /**
+     * It returns an exception with the given message followed by the
+     * current position in the file, so that the callers can report errors
+     * in the content of the file as the scanner does.
+     * 
+     * @param   message The description of the error.
+     * @return          The exception.
+     */
+    public IOException error(String message) {
+        return new IOException(message + " at byte " + getPosition() + " of " + path);
+    }
+
+}
\ No newline at end of file
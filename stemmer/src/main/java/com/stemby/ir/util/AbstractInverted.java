@@ -0,0 +1,255 @@
+package com.stemby.ir.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class provides a skeletal implementation of the
+ * {@link com.stemby.ir.util.Inverted Inverted} interface to minimize the
+ * effort required to implement it. The intersections of posting lists are
+ * based only on the methods getDocumentId, getTermFrequencyInDocument and
+ * getTermDocumentsNumber.
+ * <p>
+ * Two posting lists are intersected by merging them, but when a posting list
+ * is much longer than the other one, the documents of the longer list are
+ * skipped with an exponential (galloping) search followed by a binary search.
+ * So the time needed depends mainly on the length of the shorter list, which
+ * is the common case in corpora where the frequencies of terms follow Zipf's
+ * law.
+ * <p>
+ * The posting cursors returned by this class read the postings by position,
+ * and they skip documents with the same galloping search.
+ * 
+ * @author stemby
+ */
+public abstract class AbstractInverted implements Inverted {
+
+    /**
+     * The galloping search is used when a posting list is longer than this
+     * number of times the length of the other one.
+     */
+    protected static final int GALLOPING_RATIO = 8;
+
+    /**
+     * It returns a cursor over the posting list of a term, which reads the
+     * postings by position.
+     * 
+     * @param   termId  The identifier of the term (i.e. the identifier of
+     *                  the posting list).
+     * @return          A cursor over the posting list of the term.
+     */
+    public PostingCursor getPostingCursor(int termId) {
+        return new IndexedPostingCursor(termId);
+    }
+
+    /**
+     * It returns a list of the common documents of two posting lists. Each
+     * element of the list is an array of two integers: they both represent
+     * the position in which it is possible to find a document in the
+     * relating posting list.
+     * 
+     * @param   termIdA The identifier of the first posting list.
+     * @param   termIdB The identifier of the second posting list.
+     * @return          A list of positions in which it is possible to find
+     *                  common documents in both the posting lists.
+     */
+    public List<int[]> getIndexesOfCommonDocuments(int termIdA, int termIdB) {
+        final List<int[]> indexesOfCommonDocuments = new ArrayList<>();
+        intersect(termIdA, termIdB, new CommonDocumentsVisitor() {
+            public void visit(int docIndexA, int docIndexB) {
+                int[] indexesOfCommonDocument = new int[2];
+                indexesOfCommonDocument[0] = docIndexA;
+                indexesOfCommonDocument[1] = docIndexB;
+                indexesOfCommonDocuments.add(indexesOfCommonDocument);
+            }
+        });
+        return indexesOfCommonDocuments;
+    }
+
+    /**
+     * It passes the common documents of two posting lists to a visitor, in
+     * order of document. It doesn't allocate any object.
+     * 
+     * @param   termIdA The identifier of the first posting list.
+     * @param   termIdB The identifier of the second posting list.
+     * @param   visitor The object that receives the positions of each common
+     *                  document in both the posting lists.
+     */
+    public void visitCommonDocuments(int termIdA, int termIdB, CommonDocumentsVisitor visitor) {
+        intersect(termIdA, termIdB, visitor);
+    }
+
+    /**
+     * It returns the sum, over the common documents of two posting lists, of
+     * the minimum of the two frequencies, i.e. the co-occurrences of the two
+     * terms. It doesn't allocate any object.
+     * 
+     * @param   termIdA The identifier of the first posting list.
+     * @param   termIdB The identifier of the second posting list.
+     * @return          The sum of the minimum frequencies in the common
+     *                  documents.
+     */
+    public int getMinFrequenciesSum(int termIdA, int termIdB) {
+        return intersect(termIdA, termIdB, null);
+    }
+
+    /*
+        The shorter posting list drives the intersection. If the visitor is
+        null, the minimum frequencies are summed and the sum is returned.
+    */
+
+    private int intersect(int termIdA, int termIdB, CommonDocumentsVisitor visitor) {
+        boolean swapped = getTermDocumentsNumber(termIdA) > getTermDocumentsNumber(termIdB);
+        int shortTermId = swapped ? termIdB : termIdA;
+        int longTermId = swapped ? termIdA : termIdB;
+        int shortLength = getTermDocumentsNumber(shortTermId);
+        int longLength = getTermDocumentsNumber(longTermId);
+        boolean galloping = (long)shortLength * GALLOPING_RATIO < longLength;
+        int sum = 0;
+        int shortIndex = 0;
+        int longIndex = 0;
+        while ((shortIndex < shortLength) && (longIndex < longLength)) {
+            int shortDocId = getDocumentId(shortTermId, shortIndex);
+            int longDocId = getDocumentId(longTermId, longIndex);
+            if (shortDocId == longDocId) {
+                if (visitor == null) {
+                    sum += Math.min(getTermFrequencyInDocument(shortTermId, shortIndex), getTermFrequencyInDocument(longTermId, longIndex));
+                }
+                else
+                    if (swapped) {
+                        visitor.visit(longIndex, shortIndex);
+                    }
+                    else {
+                        visitor.visit(shortIndex, longIndex);
+                    }
+                shortIndex++;
+                longIndex++;
+            }
+            else
+                if (shortDocId < longDocId) {
+                    shortIndex++;
+                }
+                else
+                    if (galloping) {
+                        longIndex = gallop(longTermId, longIndex + 1, longLength, shortDocId);
+                    }
+                    else {
+                        longIndex++;
+                    }
+        }
+        return sum;
+    }
+
+    /*
+        It returns the first position in [from, end) of the posting list whose
+        document is not less than docId (or end, if there isn't any).
+    */
+
+    private int gallop(int termId, int from, int end, int docId) {
+        int low = from;
+        int high = from;
+        int step = 1;
+        while ((high < end) && (getDocumentId(termId, high) < docId)) {
+            low = high + 1;
+            high = from + step;
+            step <<= 1;
+        }
+        high = Math.min(high, end);
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (getDocumentId(termId, middle) < docId) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * It passes to a visitor (or it sums, if the visitor is null) the common
+     * documents of two posting lists, read by two cursors. The cursors skip
+     * documents with their advance method. It can be used by subclasses whose
+     * cursors are faster than reading the postings by position.
+     * 
+     * @param   cursorA The cursor over the first posting list, positioned
+     *                  before its first posting.
+     * @param   cursorB The cursor over the second posting list, positioned
+     *                  before its first posting.
+     * @param   visitor The object that receives the positions of each common
+     *                  document in both the posting lists, or null.
+     * @return          The sum of the minimum frequencies in the common
+     *                  documents, if the visitor is null; 0 otherwise.
+     */
+    protected static int intersect(PostingCursor cursorA, PostingCursor cursorB, CommonDocumentsVisitor visitor) {
+        int sum = 0;
+        boolean hasNextA = cursorA.next();
+        boolean hasNextB = cursorB.next();
+        while (hasNextA && hasNextB) {
+            int docIdA = cursorA.getDocumentId();
+            int docIdB = cursorB.getDocumentId();
+            if (docIdA == docIdB) {
+                if (visitor == null) {
+                    sum += Math.min(cursorA.getFrequency(), cursorB.getFrequency());
+                }
+                else {
+                    visitor.visit(cursorA.getDocumentIndex(), cursorB.getDocumentIndex());
+                }
+                hasNextA = cursorA.next();
+                hasNextB = cursorB.next();
+            }
+            else
+                if (docIdA > docIdB) {
+                    hasNextB = cursorB.advance(docIdA);
+                }
+                else {
+                    hasNextA = cursorA.advance(docIdB);
+                }
+        }
+        return sum;
+    }
+
+    private class IndexedPostingCursor implements PostingCursor {
+
+        private int termId;
+        private int length;
+        private int docIndex = -1;
+
+        public IndexedPostingCursor(int termId) {
+            this.termId = termId;
+            this.length = getTermDocumentsNumber(termId);
+        }
+
+        public boolean next() {
+            if (docIndex < length) {
+                docIndex++;
+            }
+            return docIndex < length;
+        }
+
+        public boolean advance(int docId) {
+            if (docIndex < 0) {
+                docIndex = 0;
+            }
+            if ((docIndex < length) && (AbstractInverted.this.getDocumentId(termId, docIndex) < docId)) {
+                docIndex = gallop(termId, docIndex + 1, length, docId);
+            }
+            return docIndex < length;
+        }
+
+        public int getDocumentIndex() {
+            return docIndex;
+        }
+
+        public int getDocumentId() {
+            return AbstractInverted.this.getDocumentId(termId, docIndex);
+        }
+
+        public int getFrequency() {
+            return getTermFrequencyInDocument(termId, docIndex);
+        }
+
+    }
+
+}
\ No newline at end of file
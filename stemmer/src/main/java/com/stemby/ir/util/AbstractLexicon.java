@@ -0,0 +1,154 @@
+package com.stemby.ir.util;
+
+/**
+ * This class provides a skeletal implementation of the
+ * {@link com.stemby.ir.util.Lexicon Lexicon} interface to minimize the effort
+ * required to implement it. The operations on prefixes and suffixes are based
+ * only on the methods getLexemeLength and getChar, so they don't create any
+ * string.
+ * 
+ * @author stemby
+ */
+public abstract class AbstractLexicon implements Lexicon {
+
+    /**
+     * It returns the length of the longest common prefix of two lexemes.
+     * 
+     * @param   termIdA Identifier of the first lexeme.
+     * @param   termIdB Identifier of the second lexeme.
+     * @return          The length of the longest common prefix of the two
+     *                  lexemes.
+     */
+    public int getLongestCommonPrefixLength(int termIdA, int termIdB) {
+        int minLength = Math.min(getLexemeLength(termIdA), getLexemeLength(termIdB));
+        for (int i = 0; i < minLength; i++) {
+            if (getChar(termIdA, i) != getChar(termIdB, i)) {
+                return i;
+            }
+        }
+        return minLength;
+    }
+
+    /**
+     * It checks whether the prefixes of a given length of two lexemes are
+     * equal. The prefix of a lexeme shorter than the given length is the
+     * whole lexeme.
+     * 
+     * @param   termIdA         Identifier of the first lexeme.
+     * @param   termIdB         Identifier of the second lexeme.
+     * @param   prefixLength    The length of the prefixes.
+     * @return                  True if the two prefixes are equal, false
+     *                          otherwise.
+     */
+    public boolean prefixesAreEqual(int termIdA, int termIdB, int prefixLength) {
+        int lengthA = Math.min(getLexemeLength(termIdA), prefixLength);
+        int lengthB = Math.min(getLexemeLength(termIdB), prefixLength);
+        if (lengthA != lengthB) {
+            return false;
+        }
+        for (int i = 0; i < lengthA; i++) {
+            if (getChar(termIdA, i) != getChar(termIdB, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * It checks whether two suffixes of two lexemes are equal.
+     * 
+     * @param   termIdA Identifier of the first lexeme.
+     * @param   startA  The position where the suffix of the first lexeme
+     *                  begins.
+     * @param   termIdB Identifier of the second lexeme.
+     * @param   startB  The position where the suffix of the second lexeme
+     *                  begins.
+     * @return          True if the two suffixes are equal, false otherwise.
+     */
+    public boolean suffixesAreEqual(int termIdA, int startA, int termIdB, int startB) {
+        int length = getLexemeLength(termIdA) - startA;
+        if (length != getLexemeLength(termIdB) - startB) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (getChar(termIdA, startA + i) != getChar(termIdB, startB + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * It returns the hash code of a suffix of a lexeme. It is equal to the
+     * hash code of the suffix as a String.
+     * 
+     * @param   termId  Identifier of the lexeme.
+     * @param   start   The position where the suffix begins.
+     * @return          The hash code of the suffix.
+     */
+    public int getSuffixHashCode(int termId, int start) {
+        int hashCode = 0;
+        int length = getLexemeLength(termId);
+        for (int i = start; i < length; i++) {
+            hashCode = 31 * hashCode + getChar(termId, i);
+        }
+        return hashCode;
+    }
+
+    /**
+     * It returns a view of a suffix of a lexeme. The characters are not
+     * copied: they are read from the lexicon.
+     * 
+     * @param   termId  Identifier of the lexeme.
+     * @param   start   The position where the suffix begins.
+     * @return          The suffix of the lexeme.
+     */
+    public CharSequence getSuffix(int termId, int start) {
+        int length = getLexemeLength(termId);
+        if ((start < 0) || (start > length)) {
+            throw new IndexOutOfBoundsException("Suffix " + start + " of a lexeme of length " + length);
+        }
+        return new LexemeView(termId, start, length);
+    }
+
+    private class LexemeView implements CharSequence {
+
+        private int termId;
+        private int start;
+        private int end;
+
+        public LexemeView(int termId, int start, int end) {
+            this.termId = termId;
+            this.start = start;
+            this.end = end;
+        }
+
+        public int length() {
+            return end - start;
+        }
+
+        public char charAt(int index) {
+            if ((index < 0) || (index >= end - start)) {
+                throw new IndexOutOfBoundsException("Index " + index + " of a sequence of length " + (end - start));
+            }
+            return getChar(termId, start + index);
+        }
+
+        public CharSequence subSequence(int from, int to) {
+            if ((from < 0) || (from > to) || (to > end - start)) {
+                throw new IndexOutOfBoundsException("Subsequence [" + from + ", " + to + ") of a sequence of length " + (end - start));
+            }
+            return new LexemeView(termId, start + from, start + to);
+        }
+
+        public String toString() {
+            char[] chars = new char[end - start];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = getChar(termId, start + i);
+            }
+            return new String(chars);
+        }
+
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.stemby.ir.util;
+
+/**
+ * Interface of the objects that receive the common documents of two posting
+ * lists, one at a time, from
+ * {@link com.stemby.ir.util.Inverted#visitCommonDocuments Inverted.visitCommonDocuments}.
+ * 
+ * @author stemby
+ */
+public interface CommonDocumentsVisitor {
+
+    /**
+     * It is called for each document that can be found in both the posting
+     * lists, in order of document.
+     * 
+     * @param   docIndexA   The position of the document in the first posting
+     *                      list.
+     * @param   docIndexB   The position of the document in the second posting
+     *                      list.
+     */
+    void visit(int docIndexA, int docIndexB);
+
+}
\ No newline at end of file
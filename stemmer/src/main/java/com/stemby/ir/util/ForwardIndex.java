@@ -0,0 +1,151 @@
+package com.stemby.ir.util;
+
+import java.util.Arrays;
+
+/**
+ * Class that represents a forward index, i.e. the index that associates each
+ * document to the terms it contains. It is built starting from an
+ * {@link com.stemby.ir.util.Inverted Inverted} object and it can't be
+ * modified afterwards.
+ * <p>
+ * Terms of a document are stored in a contiguous range of positions, sorted
+ * by their identifiers. The range of a document is given by
+ * {@link #getDocumentStart(int) getDocumentStart} (inclusive) and
+ * {@link #getDocumentEnd(int) getDocumentEnd} (exclusive).
+ * <p>
+ * The documents are addressed directly by their identifiers, so the index
+ * takes 4 bytes for each identifier up to the greatest one: they should be
+ * dense, and they can't be negative.
+ * 
+ * @author stemby
+ */
+public class ForwardIndex {
+
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private int[] documentOffsets;
+    private int[] termIds;
+    private int[] frequencies;
+
+    /**
+     * Class constructor. It builds the forward index of the given inverted
+     * index.
+     * 
+     * @param   inverted    The inverted index to be turned into a forward
+     *                      index.
+     * @throws  IllegalArgumentException    If a document identifier is
+     *                                      negative, or if the identifiers
+     *                                      or the postings are too many to be
+     *                                      stored in an array.
+     */
+    public ForwardIndex(Inverted inverted) {
+        int termsNumber = inverted.getTermsNumber();
+        int maxDocId = -1;
+        long postingsNumber = 0;
+        for (int termId = 0; termId < termsNumber; termId++) {
+            PostingCursor cursor = inverted.getPostingCursor(termId);
+            while (cursor.next()) {
+                int docId = cursor.getDocumentId();
+                if (docId < 0) {
+                    throw new IllegalArgumentException("Negative document identifier in the posting list of term " + termId + ": " + docId);
+                }
+                maxDocId = Math.max(maxDocId, docId);
+            }
+            postingsNumber += inverted.getTermDocumentsNumber(termId);
+        }
+        if (maxDocId >= MAX_ARRAY_SIZE - 1) {
+            throw new IllegalArgumentException("Document identifier too large for a forward index: " + maxDocId + " (the identifiers should be dense)");
+        }
+        if (postingsNumber > MAX_ARRAY_SIZE) {
+            throw new IllegalArgumentException("Too many postings for a forward index: " + postingsNumber);
+        }
+        documentOffsets = new int[maxDocId + 2];
+        termIds = new int[(int)postingsNumber];
+        frequencies = new int[(int)postingsNumber];
+        for (int termId = 0; termId < termsNumber; termId++) {
+            PostingCursor cursor = inverted.getPostingCursor(termId);
+            while (cursor.next()) {
+                documentOffsets[cursor.getDocumentId() + 1]++;
+            }
+        }
+        for (int docId = 0; docId <= maxDocId; docId++) {
+            documentOffsets[docId + 1] += documentOffsets[docId];
+        }
+        int[] nextPositions = Arrays.copyOf(documentOffsets, maxDocId + 1);
+        for (int termId = 0; termId < termsNumber; termId++) {
+            PostingCursor cursor = inverted.getPostingCursor(termId);
+            while (cursor.next()) {
+                int position = nextPositions[cursor.getDocumentId()]++;
+                termIds[position] = termId;
+                frequencies[position] = cursor.getFrequency();
+            }
+        }
+    }
+
+    /**
+     * It returns how many documents can be addressed by the forward index,
+     * i.e. the greatest document identifier plus one.
+     * 
+     * @return  The number of documents in the forward index.
+     */
+    public int getDocumentsNumber() {
+        return documentOffsets.length - 1;
+    }
+
+    /**
+     * It returns the first position of the terms of a document.
+     * 
+     * @param   docId   The identifier of the document.
+     * @return          The first position (inclusive) of the terms of the
+     *                  document.
+     */
+    public int getDocumentStart(int docId) {
+        return documentOffsets[docId];
+    }
+
+    /**
+     * It returns the last position of the terms of a document.
+     * 
+     * @param   docId   The identifier of the document.
+     * @return          The last position (exclusive) of the terms of the
+     *                  document.
+     */
+    public int getDocumentEnd(int docId) {
+        return documentOffsets[docId + 1];
+    }
+
+    /**
+     * It returns the position of a term inside the range of a document.
+     * 
+     * @param   docId   The identifier of the document.
+     * @param   termId  The identifier of the term.
+     * @return          The position of the term, or a negative number if the
+     *                  document doesn't contain the term.
+     */
+    public int getTermPosition(int docId, int termId) {
+        return Arrays.binarySearch(termIds, documentOffsets[docId], documentOffsets[docId + 1], termId);
+    }
+
+    /**
+     * It returns the identifier of the term at the given position.
+     * 
+     * @param   position    The position of the term.
+     * @return              The identifier of the term.
+     */
+    public int getTermId(int position) {
+        return termIds[position];
+    }
+
+    /**
+     * It returns the frequency in the relating document of the term at the
+     * given position.
+     * 
+     * @param   position    The position of the term.
+     * @return              The number of times the term is used in the
+     *                      document.
+     */
+    public int getTermFrequency(int position) {
+        return frequencies[position];
+    }
+
+}
\ No newline at end of file
@@ -38,6 +38,27 @@ public interface Inverted {
      */
     int getTermFrequencyInDocument(int termId, int docIndex);
     
+    /**
+     * It returns the identifier of a document in the posting list of a term.
+     * 
+     * @param   termId      The identifier of the term (i.e. the idenfitier of
+     *                      the posting list).
+     * @param   docIndex    The position of the document in the posting list.
+     * @return              The identifier of the document.
+     */
+    int getDocumentId(int termId, int docIndex);
+    
+    /**
+     * It returns a cursor over the posting list of a term. Reading a posting
+     * list with a cursor is never slower than reading it by position, and it
+     * can be much faster when the postings are compressed.
+     * 
+     * @param   termId  The identifier of the term (i.e. the identifier of
+     *                  the posting list).
+     * @return          A cursor over the posting list of the term.
+     */
+    PostingCursor getPostingCursor(int termId);
+
     /**
      * It returns the length of the posting list of a term.
      * 
@@ -68,4 +89,29 @@ public interface Inverted {
      */
     List<int[]> getIndexesOfCommonDocuments(int termIdA, int termIdB);
 
+    /**
+     * It passes the common documents of two posting lists to a visitor, in
+     * order of document. Unlike
+     * {@link #getIndexesOfCommonDocuments getIndexesOfCommonDocuments}, it
+     * doesn't allocate any object.
+     * 
+     * @param   termIdA The identifier of the first posting list.
+     * @param   termIdB The identifier of the second posting list.
+     * @param   visitor The object that receives the positions of each common
+     *                  document in both the posting lists.
+     */
+    void visitCommonDocuments(int termIdA, int termIdB, CommonDocumentsVisitor visitor);
+
+    /**
+     * It returns the sum, over the common documents of two posting lists, of
+     * the minimum of the two frequencies, i.e. the co-occurrences of the two
+     * terms. It doesn't allocate any object.
+     * 
+     * @param   termIdA The identifier of the first posting list.
+     * @param   termIdB The identifier of the second posting list.
+     * @return          The sum of the minimum frequencies in the common
+     *                  documents.
+     */
+    int getMinFrequenciesSum(int termIdA, int termIdB);
+
 }
\ No newline at end of file
@@ -11,7 +11,7 @@ import com.stemby.ir.util.Inverted;
  * 
  * @author stemby
  */
-public class InvertedArray implements Inverted {
+public class InvertedArray extends AbstractInverted {
 
     private List<Term> terms = new ArrayList<>();
 
@@ -51,6 +51,18 @@ public class InvertedArray implements Inverted {
         return terms.get(termId).getFrequencyInDocument(docIndex);
     }
     
+    /**
+     * It returns the identifier of a document in the posting list of a term.
+     * 
+     * @param   termId      The identifier of the term (i.e. the idenfitier of
+     *                      the posting list).
+     * @param   docIndex    The position of the document in the posting list.
+     * @return              The identifier of the document.
+     */
+    public int getDocumentId(int termId, int docIndex) {
+        return terms.get(termId).getDocumentId(docIndex);
+    }
+    
     /**
      * It returns the length of the posting list of a term.
      * 
@@ -72,45 +84,6 @@ public class InvertedArray implements Inverted {
         return terms.size();
     }
 
-    /**
-     * It returns a list of the common documents of two posting lists. Each
-     * element of the list is an array of two integers: they both represent
-     * the position in which it is possible to find a document in the
-     * relating posting list.
-     * 
-     * @param   termIdA The identifier of the first posting list.
-     * @param   termIdB The identifier of the second posting list.
-     * @return          A list of positions in which it is possible to find
-     *                  common documents in both the posting lists.
-     */
-    public List<int[]> getIndexesOfCommonDocuments(int termIdA, int termIdB) {
-        List<int[]> indexesOfCommonDocuments = new ArrayList<>();
-        int docIndexA = 0;
-        int docIndexB = 0;
-        int documentsNumberA = getTermDocumentsNumber(termIdA);
-        int documentsNumberB = getTermDocumentsNumber(termIdB);
-        while (docIndexA < documentsNumberA && docIndexB < documentsNumberB) {
-            int docIdA = terms.get(termIdA).getDocumentId(docIndexA);
-            int docIdB = terms.get(termIdB).getDocumentId(docIndexB);
-            if (docIdA == docIdB) {
-                int[] indexesOfCommonDocument = new int[2];
-                indexesOfCommonDocument[0] = docIndexA;
-                indexesOfCommonDocument[1] = docIndexB;
-                indexesOfCommonDocuments.add(indexesOfCommonDocument);
-                docIndexA++;
-                docIndexB++;
-            }
-            else
-                if (docIdA > docIdB) {
-                    docIndexB++;
-                }
-                else {
-                    docIndexA++;
-                }
-        }
-        return indexesOfCommonDocuments;
-    }
-
     private static class Term {
 
         private List<int[]> occurrences = new ArrayList<>();
@@ -0,0 +1,442 @@
+package com.stemby.ir.util;
+
+import java.util.Arrays;
+
+/**
+ * Implementation of the {@link com.stemby.ir.util.Inverted Inverted}
+ * interface that keeps the posting lists compressed in memory. Each posting is
+ * stored as the difference between its document and the document of the
+ * previous posting (the gap), followed by the frequency; both the numbers are
+ * encoded with a variable-byte code, i.e. 7 bits per byte, where the highest
+ * bit of a byte is set if the number continues in the next byte. Since gaps
+ * and frequencies are usually small, a posting often takes 2 bytes instead of
+ * the 8 bytes of {@link com.stemby.ir.util.InvertedFlatArray InvertedFlatArray}.
+ * <p>
+ * Every {@link #SKIP_INTERVAL} postings, a skip pointer records the document
+ * of the previous posting and the position of the posting in the compressed
+ * bytes. The posting cursors use the skip pointers to jump ahead without
+ * decoding the skipped postings, so intersections with long posting lists are
+ * fast. Reading a posting by position decodes at most {@link #SKIP_INTERVAL}
+ * postings: the posting cursors should be preferred.
+ * <p>
+ * The compressed bytes are stored in segments of {@link #SEGMENT_SIZE} bytes,
+ * addressed by long offsets, so the size of the index is not bounded by the
+ * size of a Java array: the postings of a term can span more than one
+ * segment, and a posting can start in a segment and end in the next one.
+ * <p>
+ * The terms must be added in order of identifier and the postings of each term
+ * right after the term itself, in order of document.
+ * 
+ * @author stemby
+ */
+public class InvertedCompressed extends AbstractInverted {
+
+    /**
+     * The number of postings between two skip pointers.
+     */
+    public static final int SKIP_INTERVAL = 64;
+
+    /**
+     * The number of bytes in each segment of the compressed postings.
+     */
+    public static final int SEGMENT_SIZE = 1 << 24;
+
+    private int segmentShift;
+    private int segmentMask;
+    private int termsNumber;
+    private int postingsNumber;
+    private long bytesNumber;
+    private int skipsNumber;
+    private int lastDocId;
+    private int[] termPostingOffsets;
+    private long[] termByteOffsets;
+    private int[] termSkipOffsets;
+    private byte[][] segments;
+    private byte[] lastSegment;
+    private int lastSegmentPosition;
+    private int[] skipDocIds;
+    private long[] skipByteOffsets;
+
+    /**
+     * Class constructor. It creates an empty inverted index.
+     */
+    public InvertedCompressed() {
+        this(SEGMENT_SIZE);
+    }
+
+    /*
+        The size of the segments can be changed only by the tests, so that
+        the postings span many segments even in a small index.
+    */
+
+    InvertedCompressed(int segmentSize) {
+        if ((segmentSize <= 0) || (Integer.bitCount(segmentSize) != 1)) {
+            throw new IllegalArgumentException("The size of the segments must be a power of 2: " + segmentSize);
+        }
+        this.segmentShift = Integer.numberOfTrailingZeros(segmentSize);
+        this.segmentMask = segmentSize - 1;
+        this.termPostingOffsets = new int[17];
+        this.termByteOffsets = new long[17];
+        this.termSkipOffsets = new int[17];
+        this.segments = new byte[16][];
+        this.lastSegment = new byte[Math.min(64, segmentSize)];
+        this.segments[0] = lastSegment;
+        this.skipDocIds = new int[16];
+        this.skipByteOffsets = new long[16];
+    }
+
+    /**
+     * Class constructor. It compresses the posting lists of another inverted
+     * index.
+     * 
+     * @param   inverted    The inverted index to compress.
+     */
+    public InvertedCompressed(Inverted inverted) {
+        this();
+        for (int termId = 0; termId < inverted.getTermsNumber(); termId++) {
+            addTerm(termId);
+            PostingCursor cursor = inverted.getPostingCursor(termId);
+            while (cursor.next()) {
+                setTermFrequencyInDocument(termId, cursor.getFrequency(), cursor.getDocumentId());
+            }
+        }
+    }
+
+    /**
+     * It adds a new posting list to the inverted index for the term with the
+     * given identifier. Terms must be added in order of identifier.
+     * 
+     * @param   termId  Identifier of the term (i.e. of the new posting list).
+     */
+    public void addTerm(int termId) {
+        if (termId != termsNumber) {
+            throw new IllegalArgumentException("Terms must be added in order: expected " + termsNumber + ", found " + termId);
+        }
+        if (termsNumber + 1 == termPostingOffsets.length) {
+            termPostingOffsets = Arrays.copyOf(termPostingOffsets, termPostingOffsets.length * 2);
+            termByteOffsets = Arrays.copyOf(termByteOffsets, termByteOffsets.length * 2);
+            termSkipOffsets = Arrays.copyOf(termSkipOffsets, termSkipOffsets.length * 2);
+        }
+        termsNumber++;
+        termPostingOffsets[termsNumber] = postingsNumber;
+        termByteOffsets[termsNumber] = bytesNumber;
+        termSkipOffsets[termsNumber] = skipsNumber;
+        lastDocId = 0;
+    }
+
+    /**
+     * It sets the frequency of a term in a document. Only the posting list
+     * of the last added term can be modified, and documents must be added in
+     * order of identifier.
+     * 
+     * @param   termId      The identifier of the term (i.e. the idenfitier of
+     *                      the posting list).
+     * @param   frequency   The number or times the given term is used in the
+     *                      given document.
+     * @param   docId       The identifier of the document.
+     */
+    public void setTermFrequencyInDocument(int termId, int frequency, int docId) {
+        if (termId != termsNumber - 1) {
+            throw new IllegalArgumentException("Only the posting list of the last term can be modified: " + termId);
+        }
+        int docIndex = postingsNumber - termPostingOffsets[termId];
+        if ((docId < 0) || (frequency < 0) || ((docIndex > 0) && (docId <= lastDocId))) {
+            throw new IllegalArgumentException("Documents must be added in order: " + docId);
+        }
+        if (postingsNumber == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many postings: at most " + Integer.MAX_VALUE + " postings can be stored");
+        }
+        if ((docIndex > 0) && (docIndex % SKIP_INTERVAL == 0)) {
+            if (skipsNumber == skipDocIds.length) {
+                skipDocIds = Arrays.copyOf(skipDocIds, skipsNumber * 2);
+                skipByteOffsets = Arrays.copyOf(skipByteOffsets, skipsNumber * 2);
+            }
+            skipDocIds[skipsNumber] = lastDocId;
+            skipByteOffsets[skipsNumber] = bytesNumber;
+            skipsNumber++;
+            termSkipOffsets[termsNumber] = skipsNumber;
+        }
+        writeVByte(docId - lastDocId);
+        writeVByte(frequency);
+        lastDocId = docId;
+        postingsNumber++;
+        termPostingOffsets[termsNumber] = postingsNumber;
+        termByteOffsets[termsNumber] = bytesNumber;
+    }
+
+    private void writeVByte(int value) {
+        while ((value & ~0x7f) != 0) {
+            writeByte((byte)((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((byte)value);
+    }
+
+    /*
+        The last segment grows by doubling until it reaches the size of a
+        segment; then a new segment is started.
+    */
+
+    private void writeByte(byte b) {
+        if (lastSegmentPosition == lastSegment.length) {
+            if (lastSegment.length <= segmentMask) {
+                lastSegment = Arrays.copyOf(lastSegment, Math.min(lastSegment.length * 2, segmentMask + 1));
+            }
+            else {
+                int segment = (int)(bytesNumber >>> segmentShift);
+                if (segment == segments.length) {
+                    segments = Arrays.copyOf(segments, segments.length * 2);
+                }
+                lastSegment = new byte[Math.min(64, segmentMask + 1)];
+                lastSegmentPosition = 0;
+            }
+            segments[(int)(bytesNumber >>> segmentShift)] = lastSegment;
+        }
+        lastSegment[lastSegmentPosition++] = b;
+        bytesNumber++;
+    }
+
+    /**
+     * It returns the frequency of a term in a document. The postings are
+     * decoded from the nearest skip pointer.
+     * 
+     * @param   termId      The identifier of the term (i.e. the idenfitier of
+     *                      the posting list).
+     * @param   docIndex    The position of the document in the posting list.
+     * @return              The frequency of a term in a document.
+     */
+    public int getTermFrequencyInDocument(int termId, int docIndex) {
+        return seek(termId, docIndex).getFrequency();
+    }
+
+    /**
+     * It returns the identifier of a document in the posting list of a term.
+     * The postings are decoded from the nearest skip pointer.
+     * 
+     * @param   termId      The identifier of the term (i.e. the idenfitier of
+     *                      the posting list).
+     * @param   docIndex    The position of the document in the posting list.
+     * @return              The identifier of the document.
+     */
+    public int getDocumentId(int termId, int docIndex) {
+        return seek(termId, docIndex).getDocumentId();
+    }
+
+    private CompressedPostingCursor seek(int termId, int docIndex) {
+        if ((docIndex < 0) || (docIndex >= getTermDocumentsNumber(termId))) {
+            throw new IndexOutOfBoundsException("Posting " + docIndex + " of term " + termId);
+        }
+        CompressedPostingCursor cursor = new CompressedPostingCursor(termId);
+        cursor.skipTo(docIndex / SKIP_INTERVAL);
+        while (cursor.docIndex < docIndex) {
+            cursor.next();
+        }
+        return cursor;
+    }
+
+    /**
+     * It returns the length of the posting list of a term.
+     * 
+     * @param   termId  The identifier of the term (i.e. the identifier of
+     *                  the posting list).
+     * @return          The length of the posting list of a term.
+     */
+    public int getTermDocumentsNumber(int termId) {
+        return termPostingOffsets[termId + 1] - termPostingOffsets[termId];
+    }
+
+    /**
+     * It return how many terms are in the inverted index (i.e. how many
+     * posting lists are in the inverted index).
+     * 
+     * @return The number of posting lists in the inverted index.
+     */
+    public int getTermsNumber() {
+        return termsNumber;
+    }
+
+    /**
+     * It returns how many postings are in the inverted index.
+     * 
+     * @return The number of postings in all the posting lists.
+     */
+    public int getPostingsNumber() {
+        return postingsNumber;
+    }
+
+    /**
+     * It returns how many bytes are used by the compressed postings (skip
+     * pointers excluded).
+     * 
+     * @return The size of the compressed postings, in bytes.
+     */
+    public long getPostingsSizeInBytes() {
+        return bytesNumber;
+    }
+
+    /**
+     * It returns a cursor over the posting list of a term, which decodes the
+     * postings one at a time and uses the skip pointers to advance.
+     * 
+     * @param   termId  The identifier of the term (i.e. the identifier of
+     *                  the posting list).
+     * @return          A cursor over the posting list of the term.
+     */
+    public PostingCursor getPostingCursor(int termId) {
+        return new CompressedPostingCursor(termId);
+    }
+
+    /**
+     * It passes the common documents of two posting lists to a visitor, in
+     * order of document. The postings are read by two cursors, which use the
+     * skip pointers to skip documents.
+     * 
+     * @param   termIdA The identifier of the first posting list.
+     * @param   termIdB The identifier of the second posting list.
+     * @param   visitor The object that receives the positions of each common
+     *                  document in both the posting lists.
+     */
+    public void visitCommonDocuments(int termIdA, int termIdB, CommonDocumentsVisitor visitor) {
+        intersect(new CompressedPostingCursor(termIdA), new CompressedPostingCursor(termIdB), visitor);
+    }
+
+    /**
+     * It returns the sum, over the common documents of two posting lists, of
+     * the minimum of the two frequencies, i.e. the co-occurrences of the two
+     * terms. The postings are read by two cursors, which use the skip
+     * pointers to skip documents.
+     * 
+     * @param   termIdA The identifier of the first posting list.
+     * @param   termIdB The identifier of the second posting list.
+     * @return          The sum of the minimum frequencies in the common
+     *                  documents.
+     */
+    public int getMinFrequenciesSum(int termIdA, int termIdB) {
+        return intersect(new CompressedPostingCursor(termIdA), new CompressedPostingCursor(termIdB), null);
+    }
+
+    private class CompressedPostingCursor implements PostingCursor {
+
+        private int length;
+        private int firstSkip;
+        private int endSkip;
+        private int nextSkip;
+        private byte[] segment;
+        private int segmentNumber;
+        private int segmentPosition;
+        private int docIndex = -1;
+        private int docId;
+        private int frequency;
+
+        public CompressedPostingCursor(int termId) {
+            this.length = getTermDocumentsNumber(termId);
+            this.firstSkip = termSkipOffsets[termId];
+            this.endSkip = termSkipOffsets[termId + 1];
+            this.nextSkip = firstSkip;
+            moveTo(termByteOffsets[termId]);
+        }
+
+        public boolean next() {
+            if (docIndex >= length - 1) {
+                docIndex = length;
+                return false;
+            }
+            docId += readVByte();
+            frequency = readVByte();
+            docIndex++;
+            return true;
+        }
+
+        /*
+            All the postings before a skip pointer have a document not greater
+            than the one recorded by the pointer, so the cursor can jump to the
+            pointer if that document is less than docId. The pointers already
+            passed by the cursor are ignored.
+        */
+
+        public boolean advance(int docId) {
+            if ((docIndex >= 0) && (docIndex < length) && (this.docId >= docId)) {
+                return true;
+            }
+            while ((nextSkip < endSkip) && ((nextSkip - firstSkip + 1) * SKIP_INTERVAL <= docIndex + 1)) {
+                nextSkip++;
+            }
+            int skip = nextSkip;
+            while ((skip < endSkip) && (skipDocIds[skip] < docId)) {
+                skip++;
+            }
+            if (skip > nextSkip) {
+                skipTo(skip - firstSkip);
+            }
+            while (next()) {
+                if (this.docId >= docId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /*
+            It moves the cursor right before the posting that follows the
+            given skip pointer (the skip pointers of a posting list are
+            counted from 1; 0 is the beginning of the list).
+        */
+
+        private void skipTo(int skipNumber) {
+            if (skipNumber == 0) {
+                return;
+            }
+            int skip = firstSkip + skipNumber - 1;
+            moveTo(skipByteOffsets[skip]);
+            docId = skipDocIds[skip];
+            docIndex = skipNumber * SKIP_INTERVAL - 1;
+            nextSkip = skip + 1;
+        }
+
+        /*
+            The segment is looked up by the first read, since the position
+            can be the end of the postings (e.g. an empty posting list at the
+            end of the index), where no segment exists yet.
+        */
+
+        private void moveTo(long position) {
+            segment = null;
+            segmentNumber = (int)(position >>> segmentShift);
+            segmentPosition = (int)(position & segmentMask);
+        }
+
+        private int readVByte() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (segmentPosition > segmentMask) {
+                    segment = null;
+                    segmentNumber++;
+                    segmentPosition = 0;
+                }
+                if (segment == null) {
+                    segment = segments[segmentNumber];
+                }
+                b = segment[segmentPosition++];
+                value |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        public int getDocumentIndex() {
+            return docIndex;
+        }
+
+        public int getDocumentId() {
+            return docId;
+        }
+
+        public int getFrequency() {
+            return frequency;
+        }
+
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.stemby.ir.util;
+
+import java.util.Arrays;
+
+import com.stemby.ir.util.Inverted;
+
+/**
+ * Implementation of the {@link com.stemby.ir.util.Inverted Inverted}
+ * interface that keeps all the posting lists in two flat arrays of integers:
+ * one for the identifiers of the documents and one for the frequencies. The
+ * posting list of a term is a contiguous range of these arrays, whose first
+ * position is stored in a table of offsets. Hence a posting takes 8 bytes,
+ * and reading a posting list is a sequential scan of two arrays.
+ * <p>
+ * The inverted index can be built in two ways:
+ * <ul>
+ *     <li>passing the three arrays to the constructor, when the number of
+ *         postings of each term is known in advance (e.g. by
+ *         {@link com.stemby.ir.io.InvertedReader InvertedReader});</li>
+ *     <li>adding the terms in order of identifier and the postings of each
+ *         term right after the term itself, like in
+ *         {@link com.stemby.ir.util.InvertedArray InvertedArray}. In this case
+ *         the arrays grow when they are full.</li>
+ * </ul>
+ * 
+ * @author stemby
+ */
+public class InvertedFlatArray extends AbstractInverted {
+
+    private int termsNumber;
+    private int postingsNumber;
+    private int[] termOffsets;
+    private int[] documentIds;
+    private int[] frequencies;
+
+    /**
+     * Class constructor. It creates an empty inverted index.
+     */
+    public InvertedFlatArray() {
+        this.termOffsets = new int[17];
+        this.documentIds = new int[16];
+        this.frequencies = new int[16];
+    }
+
+    /**
+     * Class constructor. The arrays are not copied.
+     * 
+     * @param   termOffsets For each term, the position of the first posting
+     *                      of its posting list in the other two arrays (the
+     *                      last element is the number of postings).
+     * @param   documentIds The identifiers of the documents of each posting
+     *                      list, sorted in each posting list.
+     * @param   frequencies The frequencies of the terms in the documents.
+     */
+    public InvertedFlatArray(int[] termOffsets, int[] documentIds, int[] frequencies) {
+        this.termsNumber = termOffsets.length - 1;
+        this.postingsNumber = termOffsets[termsNumber];
+        this.termOffsets = termOffsets;
+        this.documentIds = documentIds;
+        this.frequencies = frequencies;
+    }
+
+    /**
+     * It adds a new posting list to the inverted index for the term with the
+     * given identifier. Terms must be added in order of identifier.
+     * 
+     * @param   termId  Identifier of the term (i.e. of the new posting list).
+     */
+    public void addTerm(int termId) {
+        if (termId != termsNumber) {
+            throw new IllegalArgumentException("Terms must be added in order: expected " + termsNumber + ", found " + termId);
+        }
+        if (termsNumber + 1 == termOffsets.length) {
+            termOffsets = Arrays.copyOf(termOffsets, termOffsets.length * 2);
+        }
+        termsNumber++;
+        termOffsets[termsNumber] = postingsNumber;
+    }
+
+    /**
+     * It sets the frequency of a term in a document. Only the posting list
+     * of the last added term can be modified, and documents must be added in
+     * order of identifier.
+     * 
+     * @param   termId      The identifier of the term (i.e. the idenfitier of
+     *                      the posting list).
+     * @param   frequency   The number or times the given term is used in the
+     *                      given document.
+     * @param   docId       The identifier of the document.
+     */
+    public void setTermFrequencyInDocument(int termId, int frequency, int docId) {
+        if (termId != termsNumber - 1) {
+            throw new IllegalArgumentException("Only the posting list of the last term can be modified: " + termId);
+        }
+        if (postingsNumber == documentIds.length) {
+            documentIds = Arrays.copyOf(documentIds, postingsNumber * 2);
+            frequencies = Arrays.copyOf(frequencies, postingsNumber * 2);
+        }
+        documentIds[postingsNumber] = docId;
+        frequencies[postingsNumber] = frequency;
+        postingsNumber++;
+        termOffsets[termsNumber] = postingsNumber;
+    }
+
+    /**
+     * It returns the frequency of a term in a document.
+     * 
+     * @param   termId      The identifier of the term (i.e. the idenfitier of
+     *                      the posting list).
+     * @param   docIndex    The position of the document in the posting list.
+     * @return              The frequency of a term in a document.
+     */
+    public int getTermFrequencyInDocument(int termId, int docIndex) {
+        return frequencies[termOffsets[termId] + docIndex];
+    }
+
+    /**
+     * It returns the identifier of a document in the posting list of a term.
+     * 
+     * @param   termId      The identifier of the term (i.e. the idenfitier of
+     *                      the posting list).
+     * @param   docIndex    The position of the document in the posting list.
+     * @return              The identifier of the document.
+     */
+    public int getDocumentId(int termId, int docIndex) {
+        return documentIds[termOffsets[termId] + docIndex];
+    }
+
+    /**
+     * It returns the length of the posting list of a term.
+     * 
+     * @param   termId  The identifier of the term (i.e. the identifier of
+     *                  the posting list).
+     * @return          The length of the posting list of a term.
+     */
+    public int getTermDocumentsNumber(int termId) {
+        return termOffsets[termId + 1] - termOffsets[termId];
+    }
+
+    /**
+     * It return how many terms are in the inverted index (i.e. how many
+     * posting lists are in the inverted index).
+     * 
+     * @return The number of posting lists in the inverted index.
+     */
+    public int getTermsNumber() {
+        return termsNumber;
+    }
+
+    /**
+     * It returns how many postings are in the inverted index.
+     * 
+     * @return The number of postings in all the posting lists.
+     */
+    public int getPostingsNumber() {
+        return postingsNumber;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,189 @@
+package com.stemby.ir.util;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Implementation of the {@link com.stemby.ir.util.Inverted Inverted}
+ * interface that reads the posting lists directly from a binary file mapped
+ * in memory. Opening the index doesn't parse anything and the postings don't
+ * take any space in the heap: the operating system loads the pages of the
+ * file when they are read, and it keeps them in its cache between runs.
+ * <p>
+ * The file is made by three parts, written as big-endian 32-bit integers:
+ * <ul>
+ *     <li>a header with the fields MAGIC, VERSION, termsNumber and
+ *         postingsNumber;</li>
+ *     <li>the term offset table, i.e. termsNumber + 1 integers: the position
+ *         of the first posting of each posting list, followed by
+ *         postingsNumber;</li>
+ *     <li>postingsNumber postings, each one made by the identifier of a
+ *         document and by the frequency of the term in the document, sorted
+ *         by term and then by document.</li>
+ * </ul>
+ * Since a mapped buffer can't be larger than 2 GB, the postings are mapped in
+ * segments of {@link #SEGMENT_POSTINGS} postings.
+ * <p>
+ * Files are written by
+ * {@link com.stemby.ir.io.InvertedBinaryWriter InvertedBinaryWriter}. The
+ * index is read-only: the methods that modify it throw an
+ * UnsupportedOperationException.
+ * 
+ * @author stemby
+ */
+public class InvertedMapped extends AbstractInverted {
+
+    /**
+     * The first integer of every binary inverted index file.
+     */
+    public static final int MAGIC = 0x534e5349;
+
+    /**
+     * The version of the format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The number of postings in each mapped segment of the file.
+     */
+    public static final int SEGMENT_POSTINGS = 1 << 27;
+
+    /**
+     * The number of integers of the header.
+     */
+    public static final int HEADER_INTS = 4;
+
+    private static final int SEGMENT_SHIFT = 27;
+    private static final int SEGMENT_MASK = SEGMENT_POSTINGS - 1;
+
+    private Path path;
+    private int termsNumber;
+    private int postingsNumber;
+    private IntBuffer termOffsets;
+    private IntBuffer[] segments;
+
+    private InvertedMapped(Path path, FileChannel channel) throws IOException {
+        this.path = path;
+        IntBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), HEADER_INTS * 4)).asIntBuffer();
+        if ((header.limit() < HEADER_INTS) || (header.get(0) != MAGIC) || (header.get(1) != VERSION)) {
+            throw new IOException("Not a binary inverted index: " + path);
+        }
+        this.termsNumber = header.get(2);
+        this.postingsNumber = header.get(3);
+        long postingsStart = (HEADER_INTS + termsNumber + 1) * 4L;
+        if (channel.size() != postingsStart + postingsNumber * 8L) {
+            throw new IOException("Truncated binary inverted index: " + path);
+        }
+        this.termOffsets = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_INTS * 4, (termsNumber + 1) * 4L).asIntBuffer();
+        this.segments = new IntBuffer[(postingsNumber + SEGMENT_POSTINGS - 1) / SEGMENT_POSTINGS];
+        for (int i = 0; i < segments.length; i++) {
+            long first = (long)i * SEGMENT_POSTINGS;
+            long length = Math.min(SEGMENT_POSTINGS, postingsNumber - first);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, postingsStart + first * 8, length * 8).asIntBuffer();
+        }
+    }
+
+    /**
+     * It maps in memory the inverted index stored in the given file.
+     * 
+     * @param   path        The path of the file.
+     * @return              The inverted index stored in the file.
+     * @throws  IOException If the file can't be read or it is not a valid
+     *                      binary inverted index.
+     */
+    public static InvertedMapped map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new InvertedMapped(path, channel);
+        }
+    }
+
+    /**
+     * It returns the path of the file that contains the inverted index.
+     * 
+     * @return  The path of the file.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * This operation is not supported: the index is read-only.
+     * 
+     * @param   termId  Identifier of the term.
+     */
+    public void addTerm(int termId) {
+        throw new UnsupportedOperationException("The binary inverted index is read-only");
+    }
+
+    /**
+     * This operation is not supported: the index is read-only.
+     * 
+     * @param   termId      The identifier of the term.
+     * @param   frequency   The number or times the given term is used in the
+     *                      given document.
+     * @param   docId       The identifier of the document.
+     */
+    public void setTermFrequencyInDocument(int termId, int frequency, int docId) {
+        throw new UnsupportedOperationException("The binary inverted index is read-only");
+    }
+
+    /**
+     * It returns the frequency of a term in a document.
+     * 
+     * @param   termId      The identifier of the term (i.e. the idenfitier of
+     *                      the posting list).
+     * @param   docIndex    The position of the document in the posting list.
+     * @return              The frequency of a term in a document.
+     */
+    public int getTermFrequencyInDocument(int termId, int docIndex) {
+        int posting = termOffsets.get(termId) + docIndex;
+        return segments[posting >>> SEGMENT_SHIFT].get(2 * (posting & SEGMENT_MASK) + 1);
+    }
+
+    /**
+     * It returns the identifier of a document in the posting list of a term.
+     * 
+     * @param   termId      The identifier of the term (i.e. the idenfitier of
+     *                      the posting list).
+     * @param   docIndex    The position of the document in the posting list.
+     * @return              The identifier of the document.
+     */
+    public int getDocumentId(int termId, int docIndex) {
+        int posting = termOffsets.get(termId) + docIndex;
+        return segments[posting >>> SEGMENT_SHIFT].get(2 * (posting & SEGMENT_MASK));
+    }
+
+    /**
+     * It returns the length of the posting list of a term.
+     * 
+     * @param   termId  The identifier of the term (i.e. the identifier of
+     *                  the posting list).
+     * @return          The length of the posting list of a term.
+     */
+    public int getTermDocumentsNumber(int termId) {
+        return termOffsets.get(termId + 1) - termOffsets.get(termId);
+    }
+
+    /**
+     * It return how many terms are in the inverted index (i.e. how many
+     * posting lists are in the inverted index).
+     * 
+     * @return The number of posting lists in the inverted index.
+     */
+    public int getTermsNumber() {
+        return termsNumber;
+    }
+
+    /**
+     * It returns how many postings are in the inverted index.
+     * 
+     * @return The number of postings in all the posting lists.
+     */
+    public int getPostingsNumber() {
+        return postingsNumber;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.stemby.ir.util;
+
+import java.lang.Iterable;
+
+/**
+ * Root interface that represents a lexicon.
+ * 
+ * @author stemby
+ */
+public interface Lexicon extends Iterable<String> {
+
+    /**
+     * It adds a new lexeme to the lexicon
+     * 
+     * @param   termId  Identifier of the new lexeme.
+     * @param   term    Term to be added to the lexicon.
+     */
+    void addLexeme(int termId, String term);
+
+    /**
+     * It returns the lexeme with the given identifier.
+     * 
+     * @param   termId  Identifier of the lexeme.
+     * @return          The lexeme with the given identifier.
+     */
+    String getLexeme(int termId);
+
+    /**
+     * It returns the length of the lexeme with the given identifier.
+     * 
+     * @param   termId  Identifier of the lexeme.
+     * @return          The number of characters of the lexeme.
+     */
+    int getLexemeLength(int termId);
+
+    /**
+     * It returns a character of the lexeme with the given identifier.
+     * 
+     * @param   termId  Identifier of the lexeme.
+     * @param   index   The position of the character in the lexeme.
+     * @return          The character of the lexeme at the given position.
+     */
+    char getChar(int termId, int index);
+
+    /**
+     * It returns the length of the longest common prefix of two lexemes.
+     * 
+     * @param   termIdA Identifier of the first lexeme.
+     * @param   termIdB Identifier of the second lexeme.
+     * @return          The length of the longest common prefix of the two
+     *                  lexemes.
+     */
+    int getLongestCommonPrefixLength(int termIdA, int termIdB);
+
+    /**
+     * It checks whether the prefixes of a given length of two lexemes are
+     * equal. The prefix of a lexeme shorter than the given length is the
+     * whole lexeme.
+     * 
+     * @param   termIdA         Identifier of the first lexeme.
+     * @param   termIdB         Identifier of the second lexeme.
+     * @param   prefixLength    The length of the prefixes.
+     * @return                  True if the two prefixes are equal, false
+     *                          otherwise.
+     */
+    boolean prefixesAreEqual(int termIdA, int termIdB, int prefixLength);
+
+    /**
+     * It checks whether two suffixes of two lexemes are equal.
+     * 
+     * @param   termIdA Identifier of the first lexeme.
+     * @param   startA  The position where the suffix of the first lexeme
+     *                  begins.
+     * @param   termIdB Identifier of the second lexeme.
+     * @param   startB  The position where the suffix of the second lexeme
+     *                  begins.
+     * @return          True if the two suffixes are equal, false otherwise.
+     */
+    boolean suffixesAreEqual(int termIdA, int startA, int termIdB, int startB);
+
+    /**
+     * It returns the hash code of a suffix of a lexeme. It is equal to the
+     * hash code of the suffix as a String.
+     * 
+     * @param   termId  Identifier of the lexeme.
+     * @param   start   The position where the suffix begins.
+     * @return          The hash code of the suffix.
+     */
+    int getSuffixHashCode(int termId, int start);
+
+    /**
+     * It returns a view of a suffix of a lexeme. The characters are not
+     * copied: they are read from the lexicon.
+     * 
+     * @param   termId  Identifier of the lexeme.
+     * @param   start   The position where the suffix begins.
+     * @return          The suffix of the lexeme.
+     */
+    CharSequence getSuffix(int termId, int start);
+
+    /**
+     * It returns the size of the lexicon (i.e. how many terms are in the
+     * lexicon).
+     * 
+     * @return The number of terms in the lexicon.
+     */
+    int size();
+
+}
\ No newline at end of file
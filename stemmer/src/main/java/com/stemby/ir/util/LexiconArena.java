@@ -0,0 +1,220 @@
+package com.stemby.ir.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of the {@link com.stemby.ir.util.Lexicon Lexicon} interface
+ * that keeps the characters of all the lexemes in a single array (the arena).
+ * The lexeme with a given identifier is a contiguous range of the arena, whose
+ * first position is stored in a table of offsets. Hence a lexeme takes 4 bytes
+ * plus 2 bytes for each character, instead of the header, the fields and the
+ * backing array of a String.
+ * <p>
+ * The lexemes can also be front-coded: when a lexeme has a prefix in common
+ * with the previous one (which happens often if the lexemes are sorted), only
+ * the length of the common prefix and the rest of the lexeme are stored. To
+ * bound the time needed to read a character, every {@link #FRONT_CODING_BUCKET}
+ * lexemes a lexeme is stored completely.
+ * <p>
+ * The operations on prefixes and suffixes read the characters directly from
+ * the arena. Instead, {@link #getLexeme} and the iterator create a new String
+ * at every call. The lexemes must be added in order of identifier.
+ * 
+ * @author stemby
+ */
+public class LexiconArena extends AbstractLexicon {
+
+    /**
+     * The number of lexemes in each group of front-coded lexemes: the first
+     * lexeme of a group is stored completely.
+     */
+    public static final int FRONT_CODING_BUCKET = 16;
+
+    private int size;
+    private int[] offsets;
+    private char[] chars;
+    private char[] sharedPrefixLengths;
+
+    /**
+     * Class constructor. It creates an empty lexicon, without front coding.
+     */
+    public LexiconArena() {
+        this(false);
+    }
+
+    /**
+     * Class constructor. It creates an empty lexicon.
+     * 
+     * @param   frontCoding True if the lexemes must be front-coded.
+     */
+    public LexiconArena(boolean frontCoding) {
+        this.offsets = new int[17];
+        this.chars = new char[128];
+        if (frontCoding) {
+            this.sharedPrefixLengths = new char[16];
+        }
+    }
+
+    /**
+     * It adds a new lexeme to the lexicon. Lexemes must be added in order of
+     * identifier.
+     * 
+     * @param   termId  Identifier of the new lexeme.
+     * @param   term    Term to be added to the lexicon.
+     */
+    public void addLexeme(int termId, String term) {
+        if (termId != size) {
+            throw new IllegalArgumentException("Lexemes must be added in order: expected " + size + ", found " + termId);
+        }
+        int sharedPrefixLength = 0;
+        if (sharedPrefixLengths != null) {
+            if ((size % FRONT_CODING_BUCKET != 0) && (size > 0)) {
+                int maxLength = Math.min(Math.min(term.length(), getLexemeLength(size - 1)), Character.MAX_VALUE);
+                while ((sharedPrefixLength < maxLength) && (term.charAt(sharedPrefixLength) == getChar(size - 1, sharedPrefixLength))) {
+                    sharedPrefixLength++;
+                }
+            }
+            if (size == sharedPrefixLengths.length) {
+                sharedPrefixLengths = Arrays.copyOf(sharedPrefixLengths, size * 2);
+            }
+            sharedPrefixLengths[size] = (char)sharedPrefixLength;
+        }
+        if (size + 1 == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        int start = offsets[size];
+        int end = start + term.length() - sharedPrefixLength;
+        if (end > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(end, chars.length * 2));
+        }
+        term.getChars(sharedPrefixLength, term.length(), chars, start);
+        size++;
+        offsets[size] = end;
+    }
+
+    /**
+     * It returns the lexeme with the given identifier, as a new String.
+     * 
+     * @param   termId  Identifier of the lexeme.
+     * @return          The lexeme with the given identifier.
+     */
+    public String getLexeme(int termId) {
+        checkTermId(termId);
+        if (sharedPrefixLengths == null) {
+            return new String(chars, offsets[termId], offsets[termId + 1] - offsets[termId]);
+        }
+        return getSuffix(termId, 0).toString();
+    }
+
+    /**
+     * It returns the length of the lexeme with the given identifier.
+     * 
+     * @param   termId  Identifier of the lexeme.
+     * @return          The number of characters of the lexeme.
+     */
+    public int getLexemeLength(int termId) {
+        checkTermId(termId);
+        int length = offsets[termId + 1] - offsets[termId];
+        return (sharedPrefixLengths == null) ? length : length + sharedPrefixLengths[termId];
+    }
+
+    /**
+     * It returns a character of the lexeme with the given identifier. If the
+     * lexemes are front-coded and the character belongs to the prefix shared
+     * with the previous lexeme, it is read from the previous lexeme.
+     * 
+     * @param   termId  Identifier of the lexeme.
+     * @param   index   The position of the character in the lexeme.
+     * @return          The character of the lexeme at the given position.
+     */
+    public char getChar(int termId, int index) {
+        if ((index < 0) || (index >= getLexemeLength(termId))) {
+            throw new IndexOutOfBoundsException("Character " + index + " of lexeme " + termId);
+        }
+        if (sharedPrefixLengths == null) {
+            return chars[offsets[termId] + index];
+        }
+        while (index < sharedPrefixLengths[termId]) {
+            termId--;
+        }
+        return chars[offsets[termId] + index - sharedPrefixLengths[termId]];
+    }
+
+    /**
+     * It returns the length of the longest common prefix of two lexemes. If
+     * the lexemes are not front-coded, the characters are compared directly
+     * in the arena.
+     * 
+     * @param   termIdA Identifier of the first lexeme.
+     * @param   termIdB Identifier of the second lexeme.
+     * @return          The length of the longest common prefix of the two
+     *                  lexemes.
+     */
+    public int getLongestCommonPrefixLength(int termIdA, int termIdB) {
+        if (sharedPrefixLengths != null) {
+            return super.getLongestCommonPrefixLength(termIdA, termIdB);
+        }
+        int minLength = Math.min(getLexemeLength(termIdA), getLexemeLength(termIdB));
+        int offsetA = offsets[termIdA];
+        int offsetB = offsets[termIdB];
+        for (int i = 0; i < minLength; i++) {
+            if (chars[offsetA + i] != chars[offsetB + i]) {
+                return i;
+            }
+        }
+        return minLength;
+    }
+
+    /**
+     * It returns the size of the lexicon (i.e. how many terms are in the
+     * lexicon).
+     * 
+     * @return The number of terms in the lexicon.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * It returns how many characters are stored in the arena. If the lexemes
+     * are front-coded, it is less than the total length of the lexemes.
+     * 
+     * @return  The number of characters in the arena.
+     */
+    public int getArenaLength() {
+        return offsets[size];
+    }
+
+    /**
+     * Returns an iterator over the terms of the lexicon. Every term is
+     * created when the iterator reaches it.
+     * 
+     * @return An iterator over the terms of the lexicon.
+     */
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int termId;
+            public boolean hasNext() {
+                return termId < size;
+            }
+            public String next() {
+                if (termId >= size) {
+                    throw new NoSuchElementException();
+                }
+                return getLexeme(termId++);
+            }
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private void checkTermId(int termId) {
+        if ((termId < 0) || (termId >= size)) {
+            throw new IndexOutOfBoundsException("Lexeme " + termId + " of a lexicon of size " + size);
+        }
+    }
+
+}
\ No newline at end of file
@@ -12,7 +12,7 @@ import com.stemby.ir.util.Lexicon;
  * 
  * @author stemby
  */
-public class LexiconArray implements Lexicon {
+public class LexiconArray extends AbstractLexicon {
 
     private final List<String> terms = new ArrayList<>();
 
@@ -36,6 +36,27 @@ public class LexiconArray implements Lexicon {
         return terms.get(termId);
     }
 
+    /**
+     * It returns the length of the lexeme with the given identifier.
+     * 
+     * @param   termId  Identifier of the lexeme.
+     * @return          The number of characters of the lexeme.
+     */
+    public int getLexemeLength(int termId) {
+        return terms.get(termId).length();
+    }
+
+    /**
+     * It returns a character of the lexeme with the given identifier.
+     * 
+     * @param   termId  Identifier of the lexeme.
+     * @param   index   The position of the character in the lexeme.
+     * @return          The character of the lexeme at the given position.
+     */
+    public char getChar(int termId, int index) {
+        return terms.get(termId).charAt(index);
+    }
+
     /**
      * It returns the size of the lexicon (i.e. how many terms are in the
      * lexicon).
@@ -0,0 +1,51 @@
+package com.stemby.ir.util;
+
+/**
+ * Interface of a cursor over the postings of a posting list, in order of
+ * document. The cursor is initially positioned before the first posting.
+ * 
+ * @author stemby
+ */
+public interface PostingCursor {
+
+    /**
+     * It moves the cursor to the next posting.
+     * 
+     * @return  True if there is a next posting, false otherwise.
+     */
+    boolean next();
+
+    /**
+     * It moves the cursor forward to the first posting whose document is not
+     * less than the given one. If the current posting already satisfies this
+     * condition, the cursor doesn't move. Implementations can skip postings
+     * without reading them.
+     * 
+     * @param   docId   The identifier of the document.
+     * @return          True if there is such a posting, false otherwise.
+     */
+    boolean advance(int docId);
+
+    /**
+     * It returns the position of the current posting in the posting list.
+     * 
+     * @return  The position of the document in the posting list.
+     */
+    int getDocumentIndex();
+
+    /**
+     * It returns the identifier of the document of the current posting.
+     * 
+     * @return  The identifier of the document.
+     */
+    int getDocumentId();
+
+    /**
+     * It returns the frequency of the term in the document of the current
+     * posting.
+     * 
+     * @return  The frequency of the term in the document.
+     */
+    int getFrequency();
+
+}
\ No newline at end of file
@@ -0,0 +1,278 @@
+package com.stemby.ir.util;
+
+import java.util.Iterator;
+
+/**
+ * Read-only view of a {@link com.stemby.ir.util.Lexicon Lexicon} that
+ * answers in constant time how long the common prefix of two lexemes is.
+ * <p>
+ * The identifiers of the lexemes are sorted in lexicographic order, and the
+ * length of the longest common prefix of each pair of adjacent lexemes is
+ * stored in the LCP array. The longest common prefix of any two lexemes is
+ * the minimum of the LCP array between their positions, which is found by a
+ * sparse table (a range minimum query structure) in constant time. The values
+ * of the LCP array are stored as characters; if a value doesn't fit, the
+ * query falls back to the underlying lexicon.
+ * <p>
+ * The view takes 8 bytes for each lexeme, plus 2 bytes for each lexeme and
+ * each level of the sparse table (i.e. log2 of the size of the lexicon).
+ * The other operations are delegated to the underlying lexicon, which must
+ * not be modified after the view has been created. The methods that modify
+ * the lexicon throw an UnsupportedOperationException.
+ * 
+ * @author stemby
+ */
+public class SortedLexiconIndex extends AbstractLexicon {
+
+    private Lexicon lexicon;
+    private int size;
+    private int[] sortedTermIds;
+    private int[] ranks;
+    private char[][] minLongestCommonPrefixLengths;
+
+    /**
+     * Class constructor. It sorts the lexemes of the given lexicon and builds
+     * the LCP array and the sparse table.
+     * 
+     * @param   lexicon The lexicon to be indexed.
+     */
+    public SortedLexiconIndex(Lexicon lexicon) {
+        this.lexicon = lexicon;
+        this.size = lexicon.size();
+        this.sortedTermIds = new int[size];
+        for (int termId = 0; termId < size; termId++) {
+            sortedTermIds[termId] = termId;
+        }
+        sort();
+        this.ranks = new int[size];
+        for (int rank = 0; rank < size; rank++) {
+            ranks[sortedTermIds[rank]] = rank;
+        }
+        buildSparseTable();
+    }
+
+    /**
+     * It returns the lexicon indexed by this object.
+     * 
+     * @return  The underlying lexicon.
+     */
+    public Lexicon getLexicon() {
+        return lexicon;
+    }
+
+    /**
+     * This operation is not supported: the index is read-only.
+     * 
+     * @param   termId  Identifier of the new lexeme.
+     * @param   term    Term to be added to the lexicon.
+     */
+    public void addLexeme(int termId, String term) {
+        throw new UnsupportedOperationException("The sorted lexicon index is read-only");
+    }
+
+    /**
+     * It returns the lexeme with the given identifier.
+     * 
+     * @param   termId  Identifier of the lexeme.
+     * @return          The lexeme with the given identifier.
+     */
+    public String getLexeme(int termId) {
+        return lexicon.getLexeme(termId);
+    }
+
+    /**
+     * It returns the length of the lexeme with the given identifier.
+     * 
+     * @param   termId  Identifier of the lexeme.
+     * @return          The number of characters of the lexeme.
+     */
+    public int getLexemeLength(int termId) {
+        return lexicon.getLexemeLength(termId);
+    }
+
+    /**
+     * It returns a character of the lexeme with the given identifier.
+     * 
+     * @param   termId  Identifier of the lexeme.
+     * @param   index   The position of the character in the lexeme.
+     * @return          The character of the lexeme at the given position.
+     */
+    public char getChar(int termId, int index) {
+        return lexicon.getChar(termId, index);
+    }
+
+    /**
+     * It returns the length of the longest common prefix of two lexemes, as
+     * the minimum of the LCP array between their positions.
+     * 
+     * @param   termIdA Identifier of the first lexeme.
+     * @param   termIdB Identifier of the second lexeme.
+     * @return          The length of the longest common prefix of the two
+     *                  lexemes.
+     */
+    public int getLongestCommonPrefixLength(int termIdA, int termIdB) {
+        if (termIdA == termIdB) {
+            return lexicon.getLexemeLength(termIdA);
+        }
+        int rankA = ranks[termIdA];
+        int rankB = ranks[termIdB];
+        int min = (rankA < rankB) ? getMin(rankA + 1, rankB) : getMin(rankB + 1, rankA);
+        if (min == Character.MAX_VALUE) {
+            return lexicon.getLongestCommonPrefixLength(termIdA, termIdB);
+        }
+        return min;
+    }
+
+    /**
+     * It checks whether the prefixes of a given length of two lexemes are
+     * equal. The prefix of a lexeme shorter than the given length is the
+     * whole lexeme.
+     * 
+     * @param   termIdA         Identifier of the first lexeme.
+     * @param   termIdB         Identifier of the second lexeme.
+     * @param   prefixLength    The length of the prefixes.
+     * @return                  True if the two prefixes are equal, false
+     *                          otherwise.
+     */
+    public boolean prefixesAreEqual(int termIdA, int termIdB, int prefixLength) {
+        int lengthA = Math.min(lexicon.getLexemeLength(termIdA), prefixLength);
+        int lengthB = Math.min(lexicon.getLexemeLength(termIdB), prefixLength);
+        if (lengthA != lengthB) {
+            return false;
+        }
+        return (lengthA == 0) || (getLongestCommonPrefixLength(termIdA, termIdB) >= lengthA);
+    }
+
+    /**
+     * It returns the position of a lexeme in lexicographic order.
+     * 
+     * @param   termId  Identifier of the lexeme.
+     * @return          The position of the lexeme, from 0 to size() - 1.
+     */
+    public int getRank(int termId) {
+        return ranks[termId];
+    }
+
+    /**
+     * It returns the identifier of the lexeme at a given position in
+     * lexicographic order.
+     * 
+     * @param   rank    The position of the lexeme.
+     * @return          The identifier of the lexeme.
+     */
+    public int getTermId(int rank) {
+        return sortedTermIds[rank];
+    }
+
+    /**
+     * It returns the length of the longest common prefix of all the lexemes
+     * between two positions in lexicographic order.
+     * 
+     * @param   firstRank   The position of the first lexeme.
+     * @param   lastRank    The position of the last lexeme (included).
+     * @return              The length of the longest common prefix of the
+     *                      lexemes.
+     */
+    public int getLongestCommonPrefixLengthOfRange(int firstRank, int lastRank) {
+        return getLongestCommonPrefixLength(sortedTermIds[firstRank], sortedTermIds[lastRank]);
+    }
+
+    /**
+     * It returns the size of the lexicon (i.e. how many terms are in the
+     * lexicon).
+     * 
+     * @return The number of terms in the lexicon.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an iterator over the terms of the underlying lexicon, in order
+     * of identifier.
+     * 
+     * @return An iterator over the terms of the lexicon.
+     */
+    public Iterator<String> iterator() {
+        return lexicon.iterator();
+    }
+
+    /*
+        Minimum of the LCP array between two positions (both included): the
+        range is covered by two overlapping blocks whose length is a power of
+        two. An empty range has no common prefix to bound, so it returns the
+        largest value.
+    */
+
+    private int getMin(int first, int last) {
+        if (first > last) {
+            return Character.MAX_VALUE;
+        }
+        int level = 31 - Integer.numberOfLeadingZeros(last - first + 1);
+        char[] mins = minLongestCommonPrefixLengths[level];
+        return Math.min(mins[first], mins[last - (1 << level) + 1]);
+    }
+
+    private void buildSparseTable() {
+        int levels = (size < 2) ? 1 : 32 - Integer.numberOfLeadingZeros(size - 1);
+        minLongestCommonPrefixLengths = new char[levels][];
+        char[] longestCommonPrefixLengths = new char[size];
+        for (int rank = 1; rank < size; rank++) {
+            int length = lexicon.getLongestCommonPrefixLength(sortedTermIds[rank - 1], sortedTermIds[rank]);
+            longestCommonPrefixLengths[rank] = (char)Math.min(length, Character.MAX_VALUE);
+        }
+        minLongestCommonPrefixLengths[0] = longestCommonPrefixLengths;
+        for (int level = 1; level < levels; level++) {
+            char[] previous = minLongestCommonPrefixLengths[level - 1];
+            int half = 1 << (level - 1);
+            char[] mins = new char[size - (1 << level) + 1];
+            for (int i = 0; i < mins.length; i++) {
+                mins[i] = (char)Math.min(previous[i], previous[i + half]);
+            }
+            minLongestCommonPrefixLengths[level] = mins;
+        }
+    }
+
+    /*
+        Bottom-up merge sort of the identifiers: the lexemes are compared in
+        the underlying lexicon, without creating strings.
+    */
+
+    private void sort() {
+        int[] source = sortedTermIds;
+        int[] target = new int[size];
+        for (int width = 1; width < size; width *= 2) {
+            for (int start = 0; start < size; start += 2 * width) {
+                int middle = Math.min(start + width, size);
+                int end = Math.min(start + 2 * width, size);
+                int i = start;
+                int j = middle;
+                int k = start;
+                while ((i < middle) && (j < end)) {
+                    target[k++] = (compare(source[j], source[i]) < 0) ? source[j++] : source[i++];
+                }
+                while (i < middle) {
+                    target[k++] = source[i++];
+                }
+                while (j < end) {
+                    target[k++] = source[j++];
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        sortedTermIds = source;
+    }
+
+    private int compare(int termIdA, int termIdB) {
+        int longestCommonPrefixLength = lexicon.getLongestCommonPrefixLength(termIdA, termIdB);
+        int lengthA = lexicon.getLexemeLength(termIdA);
+        int lengthB = lexicon.getLexemeLength(termIdB);
+        if (longestCommonPrefixLength == Math.min(lengthA, lengthB)) {
+            return lengthA - lengthB;
+        }
+        return lexicon.getChar(termIdA, longestCommonPrefixLength) - lexicon.getChar(termIdB, longestCommonPrefixLength);
+    }
+
+}
\ No newline at end of file
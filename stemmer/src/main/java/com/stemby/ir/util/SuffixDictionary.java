@@ -0,0 +1,203 @@
+package com.stemby.ir.util;
+
+import java.util.Arrays;
+
+/**
+ * Class that counts how many times each suffix of the lexemes of a
+ * {@link com.stemby.ir.util.Lexicon Lexicon} is found. A suffix is identified
+ * by a lexeme and by the position where the suffix starts, so the dictionary
+ * doesn't store any string: it is a hash table that keeps, for each distinct
+ * suffix, one of the lexemes where it was found, its starting position, its
+ * hash code and its count, all in arrays of integers. Suffixes are hashed and
+ * compared directly in the lexicon.
+ * <p>
+ * Every distinct suffix receives an identifier, from 0 to size() - 1, in the
+ * order in which suffixes are added. Empty suffixes are never added.
+ * 
+ * @author stemby
+ */
+public class SuffixDictionary {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private Lexicon lexicon;
+    private int size;
+    private int[] table;
+    private int mask;
+    private int[] termIds;
+    private int[] starts;
+    private int[] hashCodes;
+    private int[] counts;
+
+    /**
+     * Class constructor. It creates an empty dictionary.
+     * 
+     * @param   lexicon The lexicon which contains the lexemes whose suffixes
+     *                  are counted.
+     */
+    public SuffixDictionary(Lexicon lexicon) {
+        this.lexicon = lexicon;
+        this.table = new int[INITIAL_CAPACITY * 2];
+        this.mask = table.length - 1;
+        this.termIds = new int[INITIAL_CAPACITY];
+        this.starts = new int[INITIAL_CAPACITY];
+        this.hashCodes = new int[INITIAL_CAPACITY];
+        this.counts = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * It returns the lexicon which contains the lexemes whose suffixes are
+     * counted.
+     * 
+     * @return  The lexicon of the dictionary.
+     */
+    public Lexicon getLexicon() {
+        return lexicon;
+    }
+
+    /**
+     * It adds a suffix to the dictionary. If the suffix is already in the
+     * dictionary, its count is incremented; otherwise it is added with count
+     * 1.
+     * 
+     * @param   termId  The identifier of the lexeme.
+     * @param   start   The position of the first character of the suffix in
+     *                  the lexeme.
+     * @return          The identifier of the suffix, or -1 if the suffix is
+     *                  empty (and so it is not added).
+     */
+    public int add(int termId, int start) {
+        if (start >= lexicon.getLexemeLength(termId)) {
+            return -1;
+        }
+        int hashCode = lexicon.getSuffixHashCode(termId, start);
+        int slot = findSlot(termId, start, hashCode);
+        if (table[slot] != 0) {
+            int suffixId = table[slot] - 1;
+            counts[suffixId]++;
+            return suffixId;
+        }
+        if (size == termIds.length) {
+            int capacity = size * 2;
+            termIds = Arrays.copyOf(termIds, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            hashCodes = Arrays.copyOf(hashCodes, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        int suffixId = size++;
+        termIds[suffixId] = termId;
+        starts[suffixId] = start;
+        hashCodes[suffixId] = hashCode;
+        counts[suffixId] = 1;
+        table[slot] = suffixId + 1;
+        if (size * 2 > table.length) {
+            rehash();
+        }
+        return suffixId;
+    }
+
+    /**
+     * It returns the identifier of a suffix.
+     * 
+     * @param   termId  The identifier of the lexeme.
+     * @param   start   The position of the first character of the suffix in
+     *                  the lexeme.
+     * @return          The identifier of the suffix, or -1 if the suffix is
+     *                  not in the dictionary.
+     */
+    public int getSuffixId(int termId, int start) {
+        if (start >= lexicon.getLexemeLength(termId)) {
+            return -1;
+        }
+        return table[findSlot(termId, start, lexicon.getSuffixHashCode(termId, start))] - 1;
+    }
+
+    /**
+     * It returns how many times a suffix has been added to the dictionary.
+     * 
+     * @param   termId  The identifier of the lexeme.
+     * @param   start   The position of the first character of the suffix in
+     *                  the lexeme.
+     * @return          The count of the suffix, or 0 if the suffix is not in
+     *                  the dictionary.
+     */
+    public int getCount(int termId, int start) {
+        int suffixId = getSuffixId(termId, start);
+        return (suffixId == -1) ? 0 : counts[suffixId];
+    }
+
+    /**
+     * It returns how many times the suffix with the given identifier has been
+     * added to the dictionary.
+     * 
+     * @param   suffixId    The identifier of the suffix.
+     * @return              The count of the suffix.
+     */
+    public int getCountById(int suffixId) {
+        checkSuffixId(suffixId);
+        return counts[suffixId];
+    }
+
+    /**
+     * It returns the suffix with the given identifier, as a new String.
+     * 
+     * @param   suffixId    The identifier of the suffix.
+     * @return              The suffix.
+     */
+    public String getSuffix(int suffixId) {
+        checkSuffixId(suffixId);
+        return lexicon.getSuffix(termIds[suffixId], starts[suffixId]).toString();
+    }
+
+    /**
+     * It returns how many distinct suffixes are in the dictionary.
+     * 
+     * @return  The number of distinct suffixes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /*
+        Linear probing: the slot of a suffix is either the one that contains
+        it or the first empty slot after its hash position. Hash codes are
+        compared before the characters, so most of the probes don't read the
+        lexicon.
+    */
+
+    private int findSlot(int termId, int start, int hashCode) {
+        int slot = mix(hashCode) & mask;
+        while (table[slot] != 0) {
+            int suffixId = table[slot] - 1;
+            if ((hashCodes[suffixId] == hashCode) && lexicon.suffixesAreEqual(termIds[suffixId], starts[suffixId], termId, start)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        mask = table.length - 1;
+        for (int suffixId = 0; suffixId < size; suffixId++) {
+            int slot = mix(hashCodes[suffixId]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = suffixId + 1;
+        }
+    }
+
+    private static int mix(int hashCode) {
+        int h = hashCode * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    private void checkSuffixId(int suffixId) {
+        if ((suffixId < 0) || (suffixId >= size)) {
+            throw new IndexOutOfBoundsException("Suffix " + suffixId + " of a dictionary of size " + size);
+        }
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.stemby.commons.algorithms;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.stemby.commons.util.ConnectedComponents;
+import com.stemby.commons.util.Matrix;
+import com.stemby.commons.util.SymmetricCsrMatrixBuilder;
+import com.stemby.commons.util.SymmetricSparseMatrix;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for {@link com.stemby.commons.algorithms.Graph Graph}: the
+ * connected components found with a union-find over the edges of a matrix
+ * must be the ones found by the depth-first search on the whole adjacency
+ * matrix, both for UJMP matrices and for CSR matrices. The random graphs are
+ * sparse, so that they have many components and isolated nodes.
+ */
+public class GraphTest extends TestCase {
+
+    public void testRandomGraphs() {
+        Random random = new Random(19);
+        for (int graph = 0; graph < 20; graph++) {
+            int size = 1 + random.nextInt(120);
+            int edgesNumber = random.nextInt(size);
+            SymmetricSparseMatrix ujmpMatrix = new SymmetricSparseMatrix(size);
+            SymmetricCsrMatrixBuilder csrMatrixBuilder = new SymmetricCsrMatrixBuilder(size);
+            for (int edge = 0; edge < edgesNumber; edge++) {
+                int x = random.nextInt(size);
+                int y = random.nextInt(size);
+                if (x != y) {
+                    float value = 1 + random.nextInt(10);
+                    ujmpMatrix.setAsFloat(x, y, value);
+                    csrMatrixBuilder.add(x, y, value);
+                }
+            }
+            assertSameComponents("graph " + graph + ", UJMP", ujmpMatrix);
+            assertSameComponents("graph " + graph + ", CSR", csrMatrixBuilder.build());
+        }
+    }
+
+    public void testGraphsWithoutEdges() {
+        for (int size = 0; size <= 3; size++) {
+            assertSameComponents(size + " nodes, UJMP", new SymmetricSparseMatrix(size));
+            assertSameComponents(size + " nodes, CSR", new SymmetricCsrMatrixBuilder(size).build());
+            ConnectedComponents components = Graph.getConnectedComponents(size, Graph.getEdgeCursor(new SymmetricSparseMatrix(size)));
+            assertEquals(size, components.getComponentsNumber());
+        }
+    }
+
+    public void testSingleComponent() {
+        int size = 50;
+        SymmetricCsrMatrixBuilder matrixBuilder = new SymmetricCsrMatrixBuilder(size);
+        // A path through the nodes in a scrambled order
+        for (int node = 1; node < size; node++) {
+            matrixBuilder.add((node * 7) % size, ((node - 1) * 7) % size, 1);
+        }
+        Matrix matrix = matrixBuilder.build();
+        assertSameComponents("path", matrix);
+        assertEquals(1, Graph.getConnectedComponents(size, Graph.getEdgeCursor(matrix)).getComponentsNumber());
+    }
+
+    /*
+        Both methods number the components in order of their smallest node.
+    */
+
+    private static void assertSameComponents(String message, Matrix matrix) {
+        int size = matrix.getRowCount();
+        List<Set<Integer>> expected = Graph.getConnectedComponents(matrix);
+        ConnectedComponents components = Graph.getConnectedComponents(size, Graph.getEdgeCursor(matrix));
+        assertEquals(message, expected.size(), components.getComponentsNumber());
+        int position = 0;
+        for (int component = 0; component < expected.size(); component++) {
+            Set<Integer> expectedNodes = expected.get(component);
+            assertEquals(message, position, components.getComponentStart(component));
+            assertEquals(message, expectedNodes.size(), components.getComponentSize(component));
+            int previousNode = -1;
+            for (; position < components.getComponentEnd(component); position++) {
+                int node = components.getNode(position);
+                assertTrue(message + ", node " + node, expectedNodes.contains(node));
+                assertTrue(message, node > previousNode);
+                assertEquals(message, component, components.getComponentOf(node));
+                previousNode = node;
+            }
+        }
+        assertEquals(message, size, position);
+    }
+
+}
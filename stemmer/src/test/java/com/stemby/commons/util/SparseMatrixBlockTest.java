@@ -0,0 +1,177 @@
+package com.stemby.commons.util;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for {@link com.stemby.commons.util.SparseMatrixBlock SparseMatrixBlock}
+ * and {@link com.stemby.commons.util.SparseMatrixBlockWriter SparseMatrixBlockWriter}.
+ */
+public class SparseMatrixBlockTest extends TestCase {
+
+    private Path path;
+
+    @Override
+    protected void setUp() throws IOException {
+        path = Files.createTempFile("sns-block-", "");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    public void testIntValuesRoundTrip() throws IOException {
+        try (SparseMatrixBlockWriter writer = new SparseMatrixBlockWriter(path, 10, 14, 20, SparseMatrixBlock.INT_VALUES)) {
+            writer.addInt(10, 3, 7);
+            writer.addInt(10, 15, Integer.MAX_VALUE);
+            writer.addInt(10, 16, 0);
+            writer.addInt(13, 1, -2);
+        }
+        SparseMatrixBlock block = SparseMatrixBlock.map(path);
+        assertEquals(SparseMatrixBlock.INT_VALUES, block.getValueType());
+        assertEquals(10, block.getFirst());
+        assertEquals(14, block.getLast());
+        assertEquals(20, block.getMatrixSize());
+        assertEquals(3, block.getNonZeroCount());
+        assertEquals(4L * (8 + 2 * 3 + 6), block.getSizeInBytes());
+        assertEquals(0, block.getStart(10));
+        assertEquals(2, block.getEnd(10));
+        assertEquals(2, block.getStart(11));
+        assertEquals(2, block.getEnd(12));
+        assertEquals(2, block.getStart(13));
+        assertEquals(3, block.getEnd(13));
+        assertEquals(3, block.getStart(14));
+        assertEquals(3, block.getEnd(14));
+        assertEquals(15, block.getMinor(1));
+        assertEquals(7, block.getAsInt(10, 3));
+        assertEquals(Integer.MAX_VALUE, block.getAsInt(10, 15));
+        assertEquals(0, block.getAsInt(10, 16));
+        assertEquals(-2, block.getAsInt(13, 1));
+        assertEquals(-2f, block.getAsFloat(13, 1), 0);
+        assertEquals(0, block.getAsInt(14, 1));
+        assertTrue(block.contains(14));
+        assertFalse(block.contains(15));
+    }
+
+    public void testFloatValuesRoundTrip() throws IOException {
+        try (SparseMatrixBlockWriter writer = new SparseMatrixBlockWriter(path, 0, 2, 3, SparseMatrixBlock.FLOAT_VALUES)) {
+            writer.addFloat(0, 1, 1.5f);
+            writer.addInt(0, 2, 3);
+            writer.addFloat(2, 0, -0.25f);
+        }
+        SparseMatrixBlock block = SparseMatrixBlock.map(path);
+        assertEquals(SparseMatrixBlock.FLOAT_VALUES, block.getValueType());
+        assertEquals(3, block.getNonZeroCount());
+        assertEquals(1.5f, block.getAsFloat(0, 1), 0);
+        assertEquals(1.5f, block.getValue(0), 0);
+        assertEquals(3f, block.getAsFloat(0, 2), 0);
+        assertEquals(1, block.getAsInt(0, 1));
+        assertEquals(-0.25f, block.getAsFloat(2, 0), 0);
+        assertEquals(0f, block.getAsFloat(1, 0), 0);
+    }
+
+    public void testEmptyBlock() throws IOException {
+        new SparseMatrixBlockWriter(path, 5, 9, 10, SparseMatrixBlock.INT_VALUES).close();
+        SparseMatrixBlock block = SparseMatrixBlock.map(path);
+        assertEquals(0, block.getNonZeroCount());
+        for (int major = 5; major <= 9; major++) {
+            assertEquals(0, block.getStart(major));
+            assertEquals(0, block.getEnd(major));
+            assertEquals(0, block.getAsInt(major, 0));
+        }
+    }
+
+    public void testBlockWithoutMajorIndexes() throws IOException {
+        new SparseMatrixBlockWriter(path, 0, -1, 0, SparseMatrixBlock.INT_VALUES).close();
+        SparseMatrixBlock block = SparseMatrixBlock.map(path);
+        assertEquals(0, block.getMatrixSize());
+        assertEquals(0, block.getNonZeroCount());
+        assertFalse(block.contains(0));
+    }
+
+    public void testWrongMagic() throws IOException {
+        writeHeader(0x12345678, SparseMatrixBlock.VERSION);
+        assertNotABlock();
+    }
+
+    public void testWrongVersion() throws IOException {
+        writeHeader(SparseMatrixBlock.MAGIC, SparseMatrixBlock.VERSION + 1);
+        assertNotABlock();
+    }
+
+    public void testTruncatedBlock() throws IOException {
+        try (SparseMatrixBlockWriter writer = new SparseMatrixBlockWriter(path, 0, 3, 4, SparseMatrixBlock.INT_VALUES)) {
+            writer.addInt(0, 1, 1);
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        byte[] truncated = new byte[bytes.length - 4];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        Files.write(path, truncated);
+        assertNotABlock();
+    }
+
+    public void testUnsortedElementsAreRejected() throws IOException {
+        try (SparseMatrixBlockWriter writer = new SparseMatrixBlockWriter(path, 0, 3, 4, SparseMatrixBlock.INT_VALUES)) {
+            writer.addInt(1, 2, 1);
+            try {
+                writer.addInt(1, 2, 1);
+                fail();
+            }
+            catch (IllegalArgumentException x) {
+                // Expected
+            }
+        }
+        // The block written only in part has been deleted
+        assertFalse(Files.exists(path));
+    }
+
+    public void testAbortedBlockIsDeleted() throws IOException {
+        SparseMatrixBlockWriter writer = new SparseMatrixBlockWriter(path, 0, 3, 4, SparseMatrixBlock.INT_VALUES);
+        writer.addInt(1, 2, 1);
+        writer.abort();
+        assertFalse(Files.exists(path));
+        writer.close();
+        assertFalse(Files.exists(path));
+    }
+
+    public void testBlockLargerThanMaxSizeIsRejected() throws IOException {
+        try {
+            new SparseMatrixBlockWriter(path, 0, 600000000, 600000001, SparseMatrixBlock.INT_VALUES).close();
+            fail();
+        }
+        catch (IllegalArgumentException x) {
+            assertTrue(x.getMessage().contains("larger than"));
+        }
+    }
+
+    private void writeHeader(int magic, int version) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(path))) {
+            output.writeInt(magic);
+            output.writeInt(version);
+            output.writeInt(SparseMatrixBlock.INT_VALUES);
+            output.writeInt(0);
+            output.writeInt(0);
+            output.writeInt(1);
+            output.writeInt(0);
+            output.writeInt(0);
+            output.writeInt(0);
+            output.writeInt(0);
+        }
+    }
+
+    private void assertNotABlock() {
+        try {
+            SparseMatrixBlock.map(path);
+            fail();
+        }
+        catch (IOException x) {
+            // Expected
+        }
+    }
+
+}
\ No newline at end of file
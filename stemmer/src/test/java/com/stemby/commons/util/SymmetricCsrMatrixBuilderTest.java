@@ -0,0 +1,85 @@
+package com.stemby.commons.util;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for
+ * {@link com.stemby.commons.util.SymmetricCsrMatrixBuilder SymmetricCsrMatrixBuilder}
+ * and for the matrices it builds.
+ */
+public class SymmetricCsrMatrixBuilderTest extends TestCase {
+
+    public void testIntValuesAreExact() {
+        SymmetricCsrMatrixBuilder builder = new SymmetricCsrMatrixBuilder(3, SymmetricCsrMatrix.INT_VALUES);
+        builder.addInt(0, 2, (1 << 24) + 1);
+        builder.addInt(1, 1, Integer.MAX_VALUE);
+        SymmetricCsrMatrix matrix = builder.build();
+        assertEquals(SymmetricCsrMatrix.INT_VALUES, matrix.getValueType());
+        assertEquals((1 << 24) + 1, matrix.getAsInt(2, 0));
+        assertEquals(Integer.MAX_VALUE, matrix.getAsInt(1, 1));
+        assertEquals(0, matrix.getAsInt(0, 1));
+        MatrixRowCursor cursor = matrix.getRowCursor(2);
+        assertTrue(cursor.next());
+        assertEquals(0, cursor.getColumn());
+        assertFalse(cursor.next());
+    }
+
+    public void testValuesAtTheSameCoordinatesAreSummed() {
+        SymmetricCsrMatrixBuilder ints = new SymmetricCsrMatrixBuilder(4, SymmetricCsrMatrix.INT_VALUES);
+        ints.addInt(3, 1, 1 << 24);
+        ints.addInt(1, 3, 1);
+        ints.add(1, 3, 2.5f);
+        assertEquals((1 << 24) + 3, ints.build().getAsInt(1, 3));
+        SymmetricCsrMatrixBuilder floats = new SymmetricCsrMatrixBuilder(4);
+        floats.add(3, 1, 0.5f);
+        floats.addInt(1, 3, 2);
+        SymmetricCsrMatrix matrix = floats.build();
+        assertEquals(SymmetricCsrMatrix.FLOAT_VALUES, matrix.getValueType());
+        assertEquals(2.5f, matrix.getAsFloat(1, 3), 0);
+        assertEquals(2, matrix.getAsInt(3, 1));
+    }
+
+    public void testIntOverflowIsRejected() {
+        SymmetricCsrMatrixBuilder builder = new SymmetricCsrMatrixBuilder(2, SymmetricCsrMatrix.INT_VALUES);
+        builder.addInt(0, 1, Integer.MAX_VALUE);
+        builder.addInt(1, 0, 1);
+        try {
+            builder.build();
+            fail();
+        }
+        catch (IllegalStateException x) {
+            // Expected
+        }
+    }
+
+    public void testBuilderCantBeUsedAfterBuild() {
+        SymmetricCsrMatrixBuilder builder = new SymmetricCsrMatrixBuilder(2);
+        builder.add(0, 1, 1);
+        builder.build();
+        try {
+            builder.add(0, 1, 1);
+            fail();
+        }
+        catch (IllegalStateException x) {
+            // Expected
+        }
+        try {
+            builder.build();
+            fail();
+        }
+        catch (IllegalStateException x) {
+            // Expected
+        }
+    }
+
+    public void testUnknownValueTypeIsRejected() {
+        try {
+            new SymmetricCsrMatrixBuilder(2, 7);
+            fail();
+        }
+        catch (IllegalArgumentException x) {
+            // Expected
+        }
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,224 @@
+package com.stemby.commons.util;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for
+ * {@link com.stemby.commons.util.SymmetricSparseMatrixOnDiskWriter SymmetricSparseMatrixOnDiskWriter}
+ * and for the matrices it writes.
+ */
+public class SymmetricSparseMatrixOnDiskWriterTest extends TestCase {
+
+    private Path folder;
+
+    @Override
+    protected void setUp() throws IOException {
+        folder = Files.createTempDirectory("sns-matrix-");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        delete(folder);
+    }
+
+    public void testRewriteWithSmallerMatrixAndBlocks() throws IOException {
+        try (SymmetricSparseMatrixOnDiskWriter writer = new SymmetricSparseMatrixOnDiskWriter(folder.toString(), "CO", 10, 3, SparseMatrixBlock.INT_VALUES)) {
+            writer.addInt(0, 9, 5);
+            writer.addInt(4, 7, 6);
+        }
+        try (SymmetricSparseMatrixOnDiskWriter writer = new SymmetricSparseMatrixOnDiskWriter(folder.toString(), "CO", 4, 2, SparseMatrixBlock.INT_VALUES)) {
+            writer.addInt(0, 3, 7);
+            writer.addInt(1, 2, 8);
+        }
+        assertEquals(2, countFiles(folder.resolve("indexed_by_x")));
+        assertEquals(2, countFiles(folder.resolve("indexed_by_y")));
+        SymmetricSparseMatrixOnDisk matrix = new SymmetricSparseMatrixOnDisk(folder.toString(), "CO", new SparseMatrixBlockCache(1 << 20));
+        assertEquals(4, matrix.getRowCount());
+        assertEquals(7, matrix.getAsInt(3, 0));
+        assertEquals(8, matrix.getAsInt(1, 2));
+        assertEquals(0, matrix.getAsInt(0, 1));
+    }
+
+    public void testRewriteWithSharedCache() throws IOException {
+        try (SymmetricSparseMatrixOnDiskWriter writer = new SymmetricSparseMatrixOnDiskWriter(folder.toString(), "CO", 4, 2, SparseMatrixBlock.INT_VALUES)) {
+            writer.addInt(0, 1, 5);
+        }
+        try (SymmetricSparseMatrixOnDiskWriter writer = new SymmetricSparseMatrixOnDiskWriter(folder.toString(), "RCO", 4, 2, SparseMatrixBlock.FLOAT_VALUES)) {
+            writer.addFloat(0, 1, 1.5f);
+        }
+        SymmetricSparseMatrixOnDisk matrix = new SymmetricSparseMatrixOnDisk(folder.toString(), "CO");
+        SymmetricSparseMatrixOnDisk otherMatrix = new SymmetricSparseMatrixOnDisk(folder.toString(), "RCO");
+        assertEquals(5, matrix.getAsInt(0, 1));
+        assertEquals(0, matrix.getAsInt(2, 3));
+        assertEquals(1.5f, otherMatrix.getAsFloat(0, 1), 0);
+        int blocksNumber = SparseMatrixBlockCache.getShared().getBlocksNumber();
+        try (SymmetricSparseMatrixOnDiskWriter writer = new SymmetricSparseMatrixOnDiskWriter(folder.toString(), "CO", 4, 2, SparseMatrixBlock.INT_VALUES)) {
+            writer.addInt(0, 1, 7);
+            writer.addInt(2, 3, 9);
+        }
+        // The blocks of RCO are still cached, the ones of CO are not
+        assertTrue(SparseMatrixBlockCache.getShared().getBlocksNumber() > 0);
+        assertTrue(SparseMatrixBlockCache.getShared().getBlocksNumber() < blocksNumber);
+        matrix = new SymmetricSparseMatrixOnDisk(folder.toString(), "CO");
+        assertEquals(7, matrix.getAsInt(0, 1));
+        assertEquals(7, matrix.getAsInt(1, 0));
+        assertEquals(9, matrix.getAsInt(2, 3));
+        assertEquals(9, matrix.getAsInt(3, 2));
+        assertEquals(1.5f, otherMatrix.getAsFloat(1, 0), 0);
+        SparseMatrixBlockCache.getShared().invalidate(folder.resolve("indexed_by_x"), "*");
+        SparseMatrixBlockCache.getShared().invalidate(folder.resolve("indexed_by_y"), "*");
+    }
+
+    public void testFailedMatrixIsDeleted() throws IOException {
+        try (SymmetricSparseMatrixOnDiskWriter writer = new SymmetricSparseMatrixOnDiskWriter(folder.toString(), "CO", 10, 3, SparseMatrixBlock.INT_VALUES, 2)) {
+            writer.addInt(0, 9, 5);
+            writer.addInt(4, 7, 6);
+            writer.addInt(5, 6, 1);
+            writer.addInt(3, 4, 2);
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            // Expected
+        }
+        assertEquals(0, countFiles(folder.resolve("indexed_by_x")));
+        assertEquals(0, countFiles(folder.resolve("indexed_by_y")));
+        assertEquals(2, countFiles(folder));
+    }
+
+    public void testAbortedMatrixIsDeleted() throws IOException {
+        try (SymmetricSparseMatrixOnDiskWriter writer = new SymmetricSparseMatrixOnDiskWriter(folder.toString(), "CO", 10, 3, SparseMatrixBlock.INT_VALUES, 2)) {
+            writer.addInt(0, 9, 5);
+            writer.addInt(4, 7, 6);
+            writer.addInt(5, 6, 1);
+            writer.abort();
+        }
+        assertEquals(0, countFiles(folder.resolve("indexed_by_x")));
+        assertEquals(0, countFiles(folder.resolve("indexed_by_y")));
+        assertEquals(2, countFiles(folder));
+    }
+
+    public void testOtherPrefixesAreKept() throws IOException {
+        try (SymmetricSparseMatrixOnDiskWriter writer = new SymmetricSparseMatrixOnDiskWriter(folder.toString(), "RCO", 5, 5, SparseMatrixBlock.FLOAT_VALUES)) {
+            writer.addFloat(1, 4, 2.5f);
+        }
+        try (SymmetricSparseMatrixOnDiskWriter writer = new SymmetricSparseMatrixOnDiskWriter(folder.toString(), "CO", 5, 5, SparseMatrixBlock.INT_VALUES)) {
+            writer.addInt(1, 4, 3);
+        }
+        SymmetricSparseMatrixOnDisk matrix = new SymmetricSparseMatrixOnDisk(folder.toString(), "RCO", new SparseMatrixBlockCache(1 << 20));
+        assertEquals(2.5f, matrix.getAsFloat(4, 1), 0);
+    }
+
+    public void testEmptyMatrix() throws IOException {
+        new SymmetricSparseMatrixOnDiskWriter(folder.toString(), "CO", 0, 10, SparseMatrixBlock.INT_VALUES).close();
+        SymmetricSparseMatrixOnDisk matrix = new SymmetricSparseMatrixOnDisk(folder.toString(), "CO", new SparseMatrixBlockCache(1 << 20));
+        assertEquals(0, matrix.getRowCount());
+        assertTrue(matrix.isEmpty());
+    }
+
+    public void testSingleBlockLargerThanMatrix() throws IOException {
+        try (SymmetricSparseMatrixOnDiskWriter writer = new SymmetricSparseMatrixOnDiskWriter(folder.toString(), "CO", 3, 100, SparseMatrixBlock.INT_VALUES)) {
+            writer.addInt(0, 2, 4);
+        }
+        SymmetricSparseMatrixOnDisk matrix = new SymmetricSparseMatrixOnDisk(folder.toString(), "CO", new SparseMatrixBlockCache(1 << 20));
+        assertEquals(3, matrix.getRowCount());
+        assertEquals(4, matrix.getAsInt(2, 0));
+    }
+
+    public void testMergeOfManyRuns() throws IOException {
+        assertMergedRuns(SymmetricSparseMatrixOnDiskWriter.MERGE_FAN_IN);
+    }
+
+    public void testMergeOfMoreRunsThanTheFanIn() throws IOException {
+        // About 100 runs of 3 elements, merged 4 at a time in several passes
+        assertMergedRuns(4);
+    }
+
+    private void assertMergedRuns(int mergeFanIn) throws IOException {
+        int size = 50;
+        int fileSize = 7;
+        int[][] expected = new int[size][size];
+        Random random = new Random(42);
+        try (SymmetricSparseMatrixOnDiskWriter writer = new SymmetricSparseMatrixOnDiskWriter(folder.toString(), "CO", size, fileSize, SparseMatrixBlock.INT_VALUES, 3)) {
+            writer.setMergeFanIn(mergeFanIn);
+            for (int x = 0; x < size; x++) {
+                for (int y = x + 1; y < size; y++) {
+                    if (random.nextInt(4) == 0) {
+                        int value = 1 + random.nextInt(1000);
+                        writer.addInt(x, y, value);
+                        expected[x][y] = value;
+                        expected[y][x] = value;
+                    }
+                }
+            }
+        }
+        // Only indexed_by_x and indexed_by_y are left: the runs have been deleted
+        assertEquals(2, countFiles(folder));
+        for (int first = 0; first < size; first += fileSize) {
+            int last = Math.min(first + fileSize, size) - 1;
+            SparseMatrixBlock columns = SparseMatrixBlock.map(folder.resolve("indexed_by_x").resolve("CO-" + first + "-" + last));
+            SparseMatrixBlock rows = SparseMatrixBlock.map(folder.resolve("indexed_by_y").resolve("CO-" + first + "-" + last));
+            int columnsNonZeroCount = 0;
+            int rowsNonZeroCount = 0;
+            for (int major = first; major <= last; major++) {
+                for (int minor = 0; minor < size; minor++) {
+                    int upper = (major < minor) ? expected[major][minor] : 0;
+                    int lower = (minor < major) ? expected[minor][major] : 0;
+                    assertEquals(upper, columns.getAsInt(major, minor));
+                    assertEquals(lower, rows.getAsInt(major, minor));
+                    columnsNonZeroCount += (upper != 0) ? 1 : 0;
+                    rowsNonZeroCount += (lower != 0) ? 1 : 0;
+                }
+                for (int position = rows.getStart(major) + 1; position < rows.getEnd(major); position++) {
+                    assertTrue(rows.getMinor(position - 1) < rows.getMinor(position));
+                }
+            }
+            assertEquals(columnsNonZeroCount, columns.getNonZeroCount());
+            assertEquals(rowsNonZeroCount, rows.getNonZeroCount());
+        }
+        SymmetricSparseMatrixOnDisk matrix = new SymmetricSparseMatrixOnDisk(folder.toString(), "CO", new SparseMatrixBlockCache(1 << 20));
+        for (int row = 0; row < size; row++) {
+            MatrixRowCursor cursor = matrix.getRowCursor(row);
+            int previousColumn = -1;
+            int nonZeroCount = 0;
+            while (cursor.next()) {
+                assertTrue(cursor.getColumn() > previousColumn);
+                assertEquals(expected[row][cursor.getColumn()], (int)cursor.getValue());
+                previousColumn = cursor.getColumn();
+                nonZeroCount++;
+            }
+            int expectedNonZeroCount = 0;
+            for (int column = 0; column < size; column++) {
+                expectedNonZeroCount += (expected[row][column] != 0) ? 1 : 0;
+            }
+            assertEquals(expectedNonZeroCount, nonZeroCount);
+        }
+    }
+
+    private static int countFiles(Path folder) throws IOException {
+        int files = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder)) {
+            for (Path file : stream) {
+                files++;
+            }
+        }
+        return files;
+    }
+
+    static void delete(Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+                for (Path child : stream) {
+                    delete(child);
+                }
+            }
+        }
+        Files.deleteIfExists(path);
+    }
+
+}
\ No newline at end of file
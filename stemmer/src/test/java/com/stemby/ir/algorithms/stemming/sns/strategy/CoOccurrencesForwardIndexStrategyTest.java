@@ -0,0 +1,79 @@
+package com.stemby.ir.algorithms.stemming.sns.strategy;
+
+import java.util.Random;
+
+import com.stemby.commons.util.Matrix;
+import com.stemby.ir.util.Inverted;
+import com.stemby.ir.util.InvertedFlatArray;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesForwardIndexStrategy CoOccurrencesForwardIndexStrategy}:
+ * every element of its CO Matrix must be the one computed by
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesRamStrategy CoOccurrencesRamStrategy},
+ * also for terms without documents and for terms used in every document.
+ */
+public class CoOccurrencesForwardIndexStrategyTest extends TestCase {
+
+    public void testRandomCorpora() {
+        Random random = new Random(21);
+        for (int corpus = 0; corpus < 10; corpus++) {
+            Inverted inverted = CoOccurrencesPrefixBucketStrategyTest.getRandomInverted(random, 20 + random.nextInt(100), 40, 1 + random.nextInt(12));
+            assertSameCoOccurrences("corpus " + corpus, inverted);
+        }
+    }
+
+    public void testEmptyPostingLists() {
+        Random random = new Random(22);
+        InvertedFlatArray inverted = new InvertedFlatArray();
+        for (int termId = 0; termId < 60; termId++) {
+            inverted.addTerm(termId);
+            // A term out of three has no documents, including the first and the last one
+            if (termId % 3 != 0) {
+                for (int docId = random.nextInt(5); docId < 30; docId += 1 + random.nextInt(5)) {
+                    inverted.setTermFrequencyInDocument(termId, 1 + random.nextInt(5), docId);
+                }
+            }
+        }
+        assertSameCoOccurrences("empty posting lists", inverted);
+    }
+
+    public void testTermsInEveryDocument() {
+        Random random = new Random(23);
+        InvertedFlatArray inverted = new InvertedFlatArray();
+        for (int termId = 0; termId < 40; termId++) {
+            inverted.addTerm(termId);
+            // Half of the terms are used in every document
+            for (int docId = 0; docId < 25; docId += (termId % 2 == 0) ? 1 : 1 + random.nextInt(6)) {
+                inverted.setTermFrequencyInDocument(termId, 1 + random.nextInt(5), docId);
+            }
+        }
+        assertSameCoOccurrences("terms in every document", inverted);
+    }
+
+    public void testTinyIndexes() {
+        for (int termsNumber = 0; termsNumber <= 2; termsNumber++) {
+            InvertedFlatArray inverted = new InvertedFlatArray();
+            for (int termId = 0; termId < termsNumber; termId++) {
+                inverted.addTerm(termId);
+                inverted.setTermFrequencyInDocument(termId, termId + 1, 0);
+            }
+            assertSameCoOccurrences(termsNumber + " terms", inverted);
+        }
+    }
+
+    private static void assertSameCoOccurrences(String message, Inverted inverted) {
+        Matrix expected = new CoOccurrencesRamStrategy().getTermsCoOccurrences(inverted);
+        Matrix coOccurrences = new CoOccurrencesForwardIndexStrategy().getTermsCoOccurrences(inverted);
+        int size = inverted.getTermsNumber();
+        assertEquals(message, size, coOccurrences.getRowCount());
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                assertEquals(message + ", CO(" + x + ", " + y + ")", expected.getAsInt(x, y), coOccurrences.getAsInt(x, y));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.stemby.ir.algorithms.stemming.sns.strategy;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import com.stemby.commons.util.Matrix;
+import com.stemby.ir.algorithms.stemming.sns.builder.SnsStemmerBuilderImpl;
+import com.stemby.ir.util.Inverted;
+import com.stemby.ir.util.InvertedFlatArray;
+import com.stemby.ir.util.Lexicon;
+import com.stemby.ir.util.LexiconArray;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesPrefixBucketStrategy CoOccurrencesPrefixBucketStrategy}:
+ * the RCO Matrix and the stems computed from its CO Matrix, which is
+ * restricted to the rows of the active terms, must be the same computed from
+ * the complete CO Matrix of
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesRamStrategy CoOccurrencesRamStrategy}.
+ * The random lexicons use a small alphabet, so that many terms share their
+ * prefixes, and they include terms shorter than the prefixes.
+ */
+public class CoOccurrencesPrefixBucketStrategyTest extends TestCase {
+
+    private static final float RCO_WEIGHT = 0.5f;
+    private static final int[][] PARAMETERS = {{1, 1}, {2, 3}, {3, 2}, {3, 3}, {1, 4}, {4, 1}};
+
+    public void testRandomCorpora() {
+        Random random = new Random(5);
+        int rCoOccurrencesNumber = 0;
+        for (int corpus = 0; corpus < 10; corpus++) {
+            Lexicon lexicon = getRandomLexicon(random, 40 + random.nextInt(40));
+            Inverted inverted = getRandomInverted(random, lexicon.size(), 30, 8);
+            for (int[] parameters : PARAMETERS) {
+                rCoOccurrencesNumber += assertSameResults("corpus " + corpus + ", parameters " + parameters[0] + " and " + parameters[1], lexicon, inverted, parameters[0], parameters[1]);
+            }
+        }
+        assertTrue(rCoOccurrencesNumber > 0);
+    }
+
+    public void testTermsWithoutCoOccurrences() {
+        Random random = new Random(8);
+        Lexicon lexicon = getRandomLexicon(random, 30);
+        // Most terms are used in two or three documents out of 600
+        Inverted inverted = getRandomInverted(random, lexicon.size(), 600, 300);
+        assertSameResults("sparse corpus", lexicon, inverted, 2, 3);
+    }
+
+    /*
+        It returns the number of non-zero elements of the RCO Matrix.
+    */
+
+    private static int assertSameResults(String message, Lexicon lexicon, Inverted inverted, int minLongestCommonPrefixLength, int prefixLength) {
+        Matrix expectedCoOccurrences = new CoOccurrencesRamStrategy().getTermsCoOccurrences(inverted);
+        Matrix coOccurrences = new CoOccurrencesPrefixBucketStrategy(lexicon, minLongestCommonPrefixLength, prefixLength).getTermsCoOccurrences(inverted);
+        Matrix expectedRCoOccurrences = new RCoOccurrencesRamStrategy(minLongestCommonPrefixLength, prefixLength, RCO_WEIGHT).getRCoOccurrences(expectedCoOccurrences, lexicon);
+        Matrix rCoOccurrences = new RCoOccurrencesRamStrategy(minLongestCommonPrefixLength, prefixLength, RCO_WEIGHT).getRCoOccurrences(coOccurrences, lexicon);
+        int size = lexicon.size();
+        int rCoOccurrencesNumber = 0;
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                assertEquals(message + ", RCO(" + x + ", " + y + ")", expectedRCoOccurrences.getAsFloat(x, y), rCoOccurrences.getAsFloat(x, y), 1e-4f);
+                rCoOccurrencesNumber += (expectedRCoOccurrences.getAsFloat(x, y) != 0) ? 1 : 0;
+            }
+        }
+        assertEquals(message, getStems(lexicon, inverted, new CoOccurrencesRamStrategy(), minLongestCommonPrefixLength, prefixLength),
+            getStems(lexicon, inverted, new CoOccurrencesPrefixBucketStrategy(lexicon, minLongestCommonPrefixLength, prefixLength), minLongestCommonPrefixLength, prefixLength));
+        return rCoOccurrencesNumber;
+    }
+
+    private static Map<String, String> getStems(Lexicon lexicon, Inverted inverted, CoOccurrencesStrategy coOccurrencesStrategy, int minLongestCommonPrefixLength, int prefixLength) {
+        return new SnsStemmerBuilderImpl()
+            .setLexicon(lexicon)
+            .setInverted(inverted)
+            .setCoOccurrencesStrategy(coOccurrencesStrategy)
+            .setRCoOccurrencesStrategy(new RCoOccurrencesRamStrategy(minLongestCommonPrefixLength, prefixLength, RCO_WEIGHT))
+            .build()
+            .getStems();
+    }
+
+    /*
+        Distinct terms of 1 to 6 characters over the alphabet {a, b, c}.
+    */
+
+    static Lexicon getRandomLexicon(Random random, int size) {
+        Set<String> terms = new LinkedHashSet<>();
+        while (terms.size() < size) {
+            StringBuilder term = new StringBuilder();
+            int length = 1 + random.nextInt(6);
+            for (int i = 0; i < length; i++) {
+                term.append((char)('a' + random.nextInt(3)));
+            }
+            terms.add(term.toString());
+        }
+        LexiconArray lexicon = new LexiconArray();
+        int termId = 0;
+        for (String term : terms) {
+            lexicon.addLexeme(termId++, term);
+        }
+        return lexicon;
+    }
+
+    /*
+        Each term is used in random documents, with random frequencies: the
+        gap between two documents of a term is at most maxGap.
+    */
+
+    static Inverted getRandomInverted(Random random, int termsNumber, int documentsNumber, int maxGap) {
+        InvertedFlatArray inverted = new InvertedFlatArray();
+        for (int termId = 0; termId < termsNumber; termId++) {
+            inverted.addTerm(termId);
+            for (int docId = random.nextInt(maxGap); docId < documentsNumber; docId += 1 + random.nextInt(maxGap)) {
+                inverted.setTermFrequencyInDocument(termId, 1 + random.nextInt(5), docId);
+            }
+        }
+        return inverted;
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.stemby.ir.algorithms.stemming.sns.strategy;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+
+import com.stemby.ir.algorithms.stemming.sns.builder.SnsStemmerBuilderImpl;
+import com.stemby.ir.util.Inverted;
+import com.stemby.ir.util.Lexicon;
+
+import junit.framework.TestCase;
+
+/**
+ * End-to-end tests for
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesDiskStrategy CoOccurrencesDiskStrategy}
+ * and
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesDiskStrategy RCoOccurrencesDiskStrategy}:
+ * a stemmer built with both of them must compute the same stems as a stemmer
+ * built with the strategies that keep everything in RAM. The blocks and the
+ * runs are small, so that both matrices are split in several blocks and
+ * sorted through several runs.
+ */
+public class DiskStrategiesTest extends TestCase {
+
+    private static final float RCO_WEIGHT = 0.5f;
+    private static final int FILE_SIZE = 7;
+    private static final int RUN_SIZE = 16;
+
+    private Path folder;
+
+    @Override
+    protected void setUp() throws IOException {
+        folder = Files.createTempDirectory("sns-disk-");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        delete(folder);
+    }
+
+    public void testSameStemsAsRamStrategies() throws IOException {
+        Random random = new Random(41);
+        int[][] parameters = {{1, 1}, {2, 3}, {3, 2}};
+        for (int corpus = 0; corpus < 4; corpus++) {
+            Lexicon lexicon = CoOccurrencesPrefixBucketStrategyTest.getRandomLexicon(random, 50 + random.nextInt(30));
+            Inverted inverted = CoOccurrencesPrefixBucketStrategyTest.getRandomInverted(random, lexicon.size(), 30, 6);
+            for (int[] p : parameters) {
+                String message = "corpus " + corpus + ", parameters " + p[0] + " and " + p[1];
+                Map<String, String> expected = new SnsStemmerBuilderImpl()
+                    .setLexicon(lexicon)
+                    .setInverted(inverted)
+                    .setCoOccurrencesStrategy(new CoOccurrencesRamStrategy())
+                    .setRCoOccurrencesStrategy(new RCoOccurrencesRamStrategy(p[0], p[1], RCO_WEIGHT))
+                    .build()
+                    .getStems();
+                Map<String, String> stems = new SnsStemmerBuilderImpl()
+                    .setLexicon(lexicon)
+                    .setInverted(inverted)
+                    .setCoOccurrencesStrategy(new CoOccurrencesDiskStrategy(folder.toString(), FILE_SIZE, RUN_SIZE))
+                    .setRCoOccurrencesStrategy(new RCoOccurrencesDiskStrategy(p[0], p[1], RCO_WEIGHT, folder.toString(), FILE_SIZE, RUN_SIZE))
+                    .build()
+                    .getStems();
+                assertEquals(message, expected, stems);
+                int blocksNumber = (lexicon.size() + FILE_SIZE - 1) / FILE_SIZE;
+                assertEquals(message, 2 * blocksNumber, countFiles(folder.resolve("indexed_by_x")));
+                assertEquals(message, 2 * blocksNumber, countFiles(folder.resolve("indexed_by_y")));
+                // Only indexed_by_x and indexed_by_y are left: the runs have been deleted
+                assertEquals(message, 2, countFiles(folder));
+            }
+        }
+    }
+
+    private static int countFiles(Path folder) throws IOException {
+        int files = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder)) {
+            for (Path file : stream) {
+                files++;
+            }
+        }
+        return files;
+    }
+
+    private static void delete(Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+                for (Path child : stream) {
+                    delete(child);
+                }
+            }
+        }
+        Files.deleteIfExists(path);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.stemby.ir.algorithms.stemming.sns.strategy;
+
+import java.util.Random;
+
+import com.stemby.commons.util.Matrix;
+import com.stemby.ir.util.Inverted;
+import com.stemby.ir.util.InvertedFlatArray;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.ParallelCoOccurrencesStrategy ParallelCoOccurrencesStrategy}:
+ * the CO Matrix computed by any number of threads, including more threads
+ * than terms, must be the one computed by
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesRamStrategy CoOccurrencesRamStrategy}.
+ */
+public class ParallelCoOccurrencesStrategyTest extends TestCase {
+
+    private static final int[] THREADS = {1, 2, 3, 8};
+
+    public void testRandomCorpora() {
+        Random random = new Random(13);
+        for (int corpus = 0; corpus < 5; corpus++) {
+            Inverted inverted = CoOccurrencesPrefixBucketStrategyTest.getRandomInverted(random, 50 + random.nextInt(150), 60, 10);
+            assertSameCoOccurrences("corpus " + corpus, inverted, THREADS);
+        }
+    }
+
+    public void testMoreThreadsThanTerms() {
+        Random random = new Random(17);
+        Inverted inverted = CoOccurrencesPrefixBucketStrategyTest.getRandomInverted(random, 5, 20, 3);
+        assertSameCoOccurrences("5 terms", inverted, new int[] {1, 2, 5, 6, 64});
+    }
+
+    public void testTinyIndexes() {
+        for (int termsNumber = 0; termsNumber <= 2; termsNumber++) {
+            InvertedFlatArray inverted = new InvertedFlatArray();
+            for (int termId = 0; termId < termsNumber; termId++) {
+                inverted.addTerm(termId);
+                inverted.setTermFrequencyInDocument(termId, termId + 1, 0);
+            }
+            assertSameCoOccurrences(termsNumber + " terms", inverted, new int[] {1, 4});
+        }
+    }
+
+    public void testInvalidThreadsNumber() {
+        for (int threadsNumber : new int[] {0, -1}) {
+            try {
+                new ParallelCoOccurrencesStrategy(threadsNumber);
+                fail();
+            }
+            catch (IllegalArgumentException e) {
+                // Expected
+            }
+        }
+    }
+
+    private static void assertSameCoOccurrences(String message, Inverted inverted, int[] threads) {
+        Matrix expected = new CoOccurrencesRamStrategy().getTermsCoOccurrences(inverted);
+        int size = inverted.getTermsNumber();
+        for (int threadsNumber : threads) {
+            Matrix coOccurrences = new ParallelCoOccurrencesStrategy(threadsNumber).getTermsCoOccurrences(inverted);
+            assertEquals(message, size, coOccurrences.getRowCount());
+            for (int x = 0; x < size; x++) {
+                for (int y = 0; y < size; y++) {
+                    assertEquals(message + ", threads " + threadsNumber + ", CO(" + x + ", " + y + ")", expected.getAsInt(x, y), coOccurrences.getAsInt(x, y));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.stemby.ir.algorithms.stemming.sns.strategy;
+
+import java.util.Random;
+
+import com.stemby.commons.util.Matrix;
+import com.stemby.ir.util.Inverted;
+import com.stemby.ir.util.Lexicon;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesSparseRowStrategy RCoOccurrencesSparseRowStrategy}:
+ * its RCO Matrix must be the one computed by
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.RCoOccurrencesRamStrategy RCoOccurrencesRamStrategy}
+ * from the same CO Matrix, both when the CO Matrix is a UJMP matrix (computed
+ * by {@link com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesRamStrategy CoOccurrencesRamStrategy})
+ * and when it is a CSR matrix (computed by
+ * {@link com.stemby.ir.algorithms.stemming.sns.strategy.CoOccurrencesForwardIndexStrategy CoOccurrencesForwardIndexStrategy}).
+ */
+public class RCoOccurrencesSparseRowStrategyTest extends TestCase {
+
+    private static final float RCO_WEIGHT = 0.5f;
+    private static final int[][] PARAMETERS = {{1, 1}, {2, 3}, {3, 2}, {3, 3}, {1, 4}, {4, 1}};
+
+    public void testUjmpCoOccurrences() {
+        Random random = new Random(31);
+        int rCoOccurrencesNumber = 0;
+        for (int corpus = 0; corpus < 8; corpus++) {
+            Lexicon lexicon = CoOccurrencesPrefixBucketStrategyTest.getRandomLexicon(random, 40 + random.nextInt(40));
+            Inverted inverted = CoOccurrencesPrefixBucketStrategyTest.getRandomInverted(random, lexicon.size(), 30, 8);
+            Matrix coOccurrences = new CoOccurrencesRamStrategy().getTermsCoOccurrences(inverted);
+            for (int[] parameters : PARAMETERS) {
+                rCoOccurrencesNumber += assertSameRCoOccurrences("corpus " + corpus + ", parameters " + parameters[0] + " and " + parameters[1], coOccurrences, lexicon, parameters[0], parameters[1]);
+            }
+        }
+        assertTrue(rCoOccurrencesNumber > 0);
+    }
+
+    public void testCsrCoOccurrences() {
+        Random random = new Random(32);
+        int rCoOccurrencesNumber = 0;
+        for (int corpus = 0; corpus < 8; corpus++) {
+            Lexicon lexicon = CoOccurrencesPrefixBucketStrategyTest.getRandomLexicon(random, 40 + random.nextInt(40));
+            Inverted inverted = CoOccurrencesPrefixBucketStrategyTest.getRandomInverted(random, lexicon.size(), 30, 8);
+            Matrix coOccurrences = new CoOccurrencesForwardIndexStrategy().getTermsCoOccurrences(inverted);
+            for (int[] parameters : PARAMETERS) {
+                rCoOccurrencesNumber += assertSameRCoOccurrences("corpus " + corpus + ", parameters " + parameters[0] + " and " + parameters[1], coOccurrences, lexicon, parameters[0], parameters[1]);
+            }
+        }
+        assertTrue(rCoOccurrencesNumber > 0);
+    }
+
+    /*
+        It returns the number of non-zero elements of the RCO Matrix.
+    */
+
+    private static int assertSameRCoOccurrences(String message, Matrix coOccurrences, Lexicon lexicon, int minLongestCommonPrefixLength, int prefixLength) {
+        Matrix expected = new RCoOccurrencesRamStrategy(minLongestCommonPrefixLength, prefixLength, RCO_WEIGHT).getRCoOccurrences(coOccurrences, lexicon);
+        Matrix rCoOccurrences = new RCoOccurrencesSparseRowStrategy(minLongestCommonPrefixLength, prefixLength, RCO_WEIGHT).getRCoOccurrences(coOccurrences, lexicon);
+        int size = lexicon.size();
+        int rCoOccurrencesNumber = 0;
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                assertEquals(message + ", RCO(" + x + ", " + y + ")", expected.getAsFloat(x, y), rCoOccurrences.getAsFloat(x, y), 1e-4f);
+                rCoOccurrencesNumber += (expected.getAsFloat(x, y) != 0) ? 1 : 0;
+            }
+        }
+        return rCoOccurrencesNumber;
+    }
+
+}
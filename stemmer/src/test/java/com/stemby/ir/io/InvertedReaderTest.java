@@ -0,0 +1,184 @@
+package com.stemby.ir.io;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import com.stemby.ir.util.Inverted;
+import com.stemby.ir.util.InvertedMapped;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for {@link com.stemby.ir.io.InvertedReader InvertedReader}: the
+ * inverted index read in parallel, with the file split in chunks of any size,
+ * must be identical to the one read sequentially, and so must the one
+ * converted to a binary file and mapped by
+ * {@link com.stemby.ir.util.InvertedMapped InvertedMapped}.
+ */
+public class InvertedReaderTest extends TestCase {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int[] THREADS = {1, 2, 3, 8, 64};
+
+    private Path path;
+
+    @Override
+    protected void setUp() throws IOException {
+        path = Files.createTempFile("sns-inverted-", ".txt");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    public void testWithoutTrailingNewline() throws IOException {
+        assertParallelEqualsSequential("0 (1,2) (3,4)\n1 (2,1)\n2 (5,5) (7,1)", 3);
+    }
+
+    public void testCrLfLineEndings() throws IOException {
+        assertParallelEqualsSequential("0 (1,2) (3,4)\r\n1 (2,1)\r\n2 (5,5) (7,1)\r\n", 3);
+        assertParallelEqualsSequential("0 (1,2) (3,4)\r\n1 (2,1)\r\n2 (5,5) (7,1)", 3);
+    }
+
+    public void testEmptyLines() throws IOException {
+        assertParallelEqualsSequential("0 (1,2)\n\n2 (3,1)\n\n4 (9,9)\n", 5);
+        assertParallelEqualsSequential("\n\n\n", 3);
+    }
+
+    public void testMoreChunksThanLines() throws IOException {
+        assertParallelEqualsSequential("0 (1,2)\n", 1);
+        assertParallelEqualsSequential("0 (100000,2) (100001,3)", 1);
+    }
+
+    public void testEmptyFile() throws IOException {
+        assertParallelEqualsSequential("", 0);
+    }
+
+    public void testRandomFile() throws IOException {
+        assertParallelEqualsSequential(getRandomText(new Random(3), 300), 300);
+    }
+
+    public void testConvertedFileIsMapped() throws IOException {
+        Files.write(path, getRandomText(new Random(4), 200).getBytes(UTF_8));
+        InvertedReader reader = new InvertedReader(path, UTF_8);
+        Path binaryPath = Files.createTempFile("sns-inverted-", ".bin");
+        try {
+            assertTrue(reader.convert(binaryPath));
+            assertEquals("mapped", reader.read(), InvertedMapped.map(binaryPath));
+        }
+        finally {
+            Files.deleteIfExists(binaryPath);
+        }
+    }
+
+    public void testInvalidBinaryFiles() throws IOException {
+        Files.write(path, "0 (1,2) (3,4)\n1 (2,1)\n".getBytes(UTF_8));
+        Path binaryPath = Files.createTempFile("sns-inverted-", ".bin");
+        try {
+            assertTrue(new InvertedReader(path, UTF_8).convert(binaryPath));
+            byte[] bytes = Files.readAllBytes(binaryPath);
+            byte[] truncated = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+            byte[] badMagic = bytes.clone();
+            badMagic[0] ^= 1;
+            for (byte[] invalid : new byte[][] {truncated, badMagic, new byte[0], new byte[3]}) {
+                Files.write(binaryPath, invalid);
+                try {
+                    InvertedMapped.map(binaryPath);
+                    fail();
+                }
+                catch (IOException e) {
+                    // Expected
+                }
+            }
+        }
+        finally {
+            Files.deleteIfExists(binaryPath);
+        }
+    }
+
+    private static String getRandomText(Random random, int termsNumber) {
+        StringBuilder text = new StringBuilder();
+        for (int termId = 0; termId < termsNumber; termId++) {
+            text.append(termId);
+            int docId = 0;
+            int postingsNumber = random.nextInt(12);
+            for (int i = 0; i < postingsNumber; i++) {
+                docId += 1 + random.nextInt(1000);
+                text.append(' ').append('(').append(docId).append(',').append(1 + random.nextInt(50)).append(')');
+            }
+            text.append(random.nextBoolean() ? "\n" : "\r\n");
+        }
+        return text.toString();
+    }
+
+    public void testMalformedFiles() throws IOException {
+        assertRejected("0 (1,2) (3,4)\n1 (5,1) (2,1)\n");
+        assertRejected("0 (1,2) (1,4)\n");
+        assertRejected("0 (-1,2)\n");
+        assertRejected("0 (1,-2)\n");
+        assertRejected("0 (1,2 (3,4)\n");
+        assertRejected("0 (1,x)\n");
+        assertRejected("0 (1,2147483648)\n");
+    }
+
+    public void testFailedConversionIsDeleted() throws IOException {
+        // The term identifier is counted as a posting, which is then missing
+        Files.write(path, "(0 (1,2)\n".getBytes(UTF_8));
+        Path binaryPath = Files.createTempFile("sns-inverted-", ".bin");
+        try {
+            assertFalse(new InvertedReader(path, UTF_8).convert(binaryPath));
+            assertFalse(Files.exists(binaryPath));
+        }
+        finally {
+            Files.deleteIfExists(binaryPath);
+        }
+    }
+
+    private void assertRejected(String text) throws IOException {
+        Files.write(path, text.getBytes(UTF_8));
+        InvertedReader reader = new InvertedReader(path, UTF_8);
+        reader.setMinChunkSize(1);
+        Path binaryPath = Files.createTempFile("sns-inverted-", ".bin");
+        try {
+            assertNull(text, reader.read());
+            assertNull(text, reader.readCompressed());
+            assertFalse(text, reader.convert(binaryPath));
+            assertFalse(text, Files.exists(binaryPath));
+            for (int threadsNumber : THREADS) {
+                assertNull(text, reader.readParallel(threadsNumber));
+            }
+        }
+        finally {
+            Files.deleteIfExists(binaryPath);
+        }
+    }
+
+    private void assertParallelEqualsSequential(String text, int termsNumber) throws IOException {
+        Files.write(path, text.getBytes(UTF_8));
+        InvertedReader reader = new InvertedReader(path, UTF_8);
+        reader.setMinChunkSize(1);
+        Inverted expected = reader.read();
+        assertEquals(termsNumber, expected.getTermsNumber());
+        for (int threadsNumber : THREADS) {
+            assertEquals("threads: " + threadsNumber, expected, reader.readParallel(threadsNumber));
+        }
+    }
+
+    private static void assertEquals(String message, Inverted expected, Inverted actual) {
+        assertNotNull(message, actual);
+        assertEquals(message, expected.getTermsNumber(), actual.getTermsNumber());
+        for (int termId = 0; termId < expected.getTermsNumber(); termId++) {
+            assertEquals(message, expected.getTermDocumentsNumber(termId), actual.getTermDocumentsNumber(termId));
+            for (int i = 0; i < expected.getTermDocumentsNumber(termId); i++) {
+                assertEquals(message, expected.getDocumentId(termId, i), actual.getDocumentId(termId, i));
+                assertEquals(message, expected.getTermFrequencyInDocument(termId, i), actual.getTermFrequencyInDocument(termId, i));
+            }
+        }
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.stemby.ir.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.stemby.ir.util.Lexicon;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for {@link com.stemby.ir.io.LexiconReader LexiconReader}: the
+ * lexicons read by the scanner must contain the terms found by reading the
+ * file line by line and splitting each line at the first comma, as the
+ * reader did before it used a {@link TextScanner}.
+ */
+public class LexiconReaderTest extends TestCase {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+    private Path path;
+
+    @Override
+    protected void setUp() throws IOException {
+        path = Files.createTempFile("sns-lexicon-", ".txt");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    public void testLineEndings() throws IOException {
+        assertSameLexicon("alpha,1\nbeta,2\ngamma,3\n", UTF_8);
+        assertSameLexicon("alpha,1\r\nbeta,2\r\ngamma,3\r\n", UTF_8);
+        assertSameLexicon("alpha,1\nbeta,2\r\ngamma,3", UTF_8);
+        assertSameLexicon("alpha\r\nbeta", UTF_8);
+    }
+
+    public void testLinesWithoutComma() throws IOException {
+        assertSameLexicon("alpha\nbeta,2,3\ngamma\n", UTF_8);
+        assertSameLexicon("alpha\n\n,2\ngamma\n", UTF_8);
+    }
+
+    public void testSupplementaryCharacters() throws IOException {
+        assertSameLexicon("\ud835\udc9c\ud835\udc9e,1\ncaf\u00e9,2\n\u20ac\ud83d\ude00x,3\r\n\u4e2d\u6587", UTF_8);
+    }
+
+    public void testOtherCharsets() throws IOException {
+        assertSameLexicon("caf\u00e9,1\r\nna\u00efve,2\n\u00ff", ISO_8859_1);
+    }
+
+    public void testEmptyFile() throws IOException {
+        assertSameLexicon("", UTF_8);
+    }
+
+    public void testMalformedFile() throws IOException {
+        Files.write(path, new byte[] {'a', ',', '1', '\n', (byte)0xc3, ',', '2', '\n'});
+        assertNull(new LexiconReader(path, UTF_8).read());
+    }
+
+    private void assertSameLexicon(String text, Charset charset) throws IOException {
+        Files.write(path, text.getBytes(charset));
+        List<String> expected = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, charset)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                expected.add(line.split(",")[0]);
+            }
+        }
+        LexiconReader reader = new LexiconReader(path, charset);
+        assertLexicon(text, expected, reader.read());
+        assertLexicon(text, expected, reader.readCompact(false));
+        assertLexicon(text, expected, reader.readCompact(true));
+    }
+
+    private static void assertLexicon(String message, List<String> expected, Lexicon lexicon) {
+        assertNotNull(message, lexicon);
+        assertEquals(message, expected.size(), lexicon.size());
+        for (int termId = 0; termId < expected.size(); termId++) {
+            assertEquals(message, expected.get(termId), lexicon.getLexeme(termId));
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.stemby.ir.io;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.stemby.ir.util.Inverted;
+import com.stemby.ir.util.Lexicon;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for {@link com.stemby.ir.io.SyntheticCorpusWriter SyntheticCorpusWriter}:
+ * the same parameters and seed must give byte-identical files, whose terms
+ * are all different, and both files must be read back by
+ * {@link com.stemby.ir.io.LexiconReader LexiconReader} and
+ * {@link com.stemby.ir.io.InvertedReader InvertedReader} with the expected
+ * numbers of terms and postings.
+ */
+public class SyntheticCorpusWriterTest extends TestCase {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private Path folder;
+
+    @Override
+    protected void setUp() throws IOException {
+        folder = Files.createTempDirectory("sns-corpus-");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder)) {
+            for (Path file : stream) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(folder);
+    }
+
+    public void testSameSeedSameFiles() throws IOException {
+        long postingsNumber = write("a", 2000, 500, 7);
+        assertEquals(postingsNumber, write("b", 2000, 500, 7));
+        assertTrue(Arrays.equals(Files.readAllBytes(folder.resolve("lexicon-a")), Files.readAllBytes(folder.resolve("lexicon-b"))));
+        assertTrue(Arrays.equals(Files.readAllBytes(folder.resolve("inverted-a")), Files.readAllBytes(folder.resolve("inverted-b"))));
+        write("c", 2000, 500, 8);
+        assertFalse(Arrays.equals(Files.readAllBytes(folder.resolve("inverted-a")), Files.readAllBytes(folder.resolve("inverted-c"))));
+    }
+
+    public void testFilesAreReadBack() throws IOException {
+        int[][] sizes = {{1, 1}, {10, 3}, {3000, 200}, {6000, 50}};
+        for (int[] size : sizes) {
+            String name = size[0] + "-" + size[1];
+            long postingsNumber = write(name, size[0], size[1], 11);
+            Lexicon lexicon = new LexiconReader(folder.resolve("lexicon-" + name), UTF_8).read();
+            Inverted inverted = new InvertedReader(folder.resolve("inverted-" + name), UTF_8).read();
+            assertNotNull(name, lexicon);
+            assertNotNull(name, inverted);
+            assertEquals(name, size[0], lexicon.size());
+            assertEquals(name, size[0], inverted.getTermsNumber());
+            Set<String> terms = new HashSet<>();
+            for (String term : lexicon) {
+                assertTrue(name + ", " + term, terms.add(term));
+            }
+            long postingsRead = 0;
+            for (int termId = 0; termId < inverted.getTermsNumber(); termId++) {
+                assertTrue(name, inverted.getTermDocumentsNumber(termId) > 0);
+                postingsRead += inverted.getTermDocumentsNumber(termId);
+                for (int i = 0; i < inverted.getTermDocumentsNumber(termId); i++) {
+                    assertTrue(name, inverted.getDocumentId(termId, i) < size[1]);
+                    assertTrue(name, inverted.getTermFrequencyInDocument(termId, i) > 0);
+                }
+            }
+            assertEquals(name, postingsNumber, postingsRead);
+        }
+    }
+
+    private long write(String name, int termsNumber, int documentsNumber, long seed) throws IOException {
+        return new SyntheticCorpusWriter(termsNumber, documentsNumber, seed).write(folder.resolve("lexicon-" + name), folder.resolve("inverted-" + name));
+    }
+
+}
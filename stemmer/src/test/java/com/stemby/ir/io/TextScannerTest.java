@@ -0,0 +1,200 @@
+package com.stemby.ir.io;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for {@link com.stemby.ir.io.TextScanner TextScanner}: the UTF-8
+ * strings decoded by the scanner must be the ones decoded by the String
+ * constructor, malformed sequences must be rejected, and the integers must be
+ * parsed up to the bounds of an int.
+ */
+public class TextScannerTest extends TestCase {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private Path path;
+
+    @Override
+    protected void setUp() throws IOException {
+        path = Files.createTempFile("sns-scanner-", ".txt");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    public void testValidUtf8() throws IOException {
+        assertString("abc");
+        assertString("");
+        assertString("\u00e0\u00e8\u00ec\u00f2\u00f9");
+        assertString("\u0080\u07ff\u0800\uffff");
+        assertString("caf\u00e9 \u20ac \ud83d\ude00");
+        assertString("\ud800\udc00\udbff\udfff");
+    }
+
+    public void testRandomUtf8() throws IOException {
+        Random random = new Random(19);
+        for (int i = 0; i < 200; i++) {
+            StringBuilder string = new StringBuilder();
+            int length = random.nextInt(40);
+            while (string.length() < length) {
+                int codePoint;
+                switch (random.nextInt(4)) {
+                    case 0: codePoint = 0x20 + random.nextInt(0x5f); break;
+                    case 1: codePoint = 0x80 + random.nextInt(0x780); break;
+                    case 2: codePoint = 0x800 + random.nextInt(0xf800); break;
+                    default: codePoint = 0x10000 + random.nextInt(0x100000); break;
+                }
+                if ((codePoint != ',') && ((codePoint < Character.MIN_SURROGATE) || (codePoint > Character.MAX_SURROGATE))) {
+                    string.appendCodePoint(codePoint);
+                }
+            }
+            assertString(string.toString());
+        }
+    }
+
+    public void testMalformedUtf8() throws IOException {
+        // A continuation byte without a leading byte, and invalid leading bytes
+        assertMalformed(0x80);
+        assertMalformed(0xbf);
+        assertMalformed(0xf8, 0x80, 0x80, 0x80, 0x80);
+        assertMalformed(0xff);
+        // Overlong forms
+        assertMalformed(0xc0, 0x80);
+        assertMalformed(0xc1, 0xbf);
+        assertMalformed(0xe0, 0x80, 0x80);
+        assertMalformed(0xe0, 0x9f, 0xbf);
+        assertMalformed(0xf0, 0x80, 0x80, 0x80);
+        assertMalformed(0xf0, 0x8f, 0xbf, 0xbf);
+        // Surrogates
+        assertMalformed(0xed, 0xa0, 0x80);
+        assertMalformed(0xed, 0xbf, 0xbf);
+        // Code points beyond U+10FFFF
+        assertMalformed(0xf4, 0x90, 0x80, 0x80);
+        assertMalformed(0xf7, 0xbf, 0xbf, 0xbf);
+        // Invalid continuation bytes
+        assertMalformed(0xc3, 0x41);
+        assertMalformed(0xe2, 0x82, 0x41);
+        assertMalformed(0xf0, 0x9f, 0x98, 0xc3);
+        // Truncated sequences, at the end of the string and before the delimiter
+        assertMalformed(0x61, 0xc3);
+        assertMalformed(0xe2, 0x82);
+        assertMalformed(0xf0, 0x9f, 0x98);
+        assertMalformed(0xe2, 0x82, ',', 0xac);
+    }
+
+    public void testBoundsOfUtf8() throws IOException {
+        assertBytes("\u0000", 0x00);
+        assertBytes("\u007f", 0x7f);
+        assertBytes("\u0080", 0xc2, 0x80);
+        assertBytes("\u07ff", 0xdf, 0xbf);
+        assertBytes("\u0800", 0xe0, 0xa0, 0x80);
+        assertBytes("\ud7ff", 0xed, 0x9f, 0xbf);
+        assertBytes("\ue000", 0xee, 0x80, 0x80);
+        assertBytes("\uffff", 0xef, 0xbf, 0xbf);
+        assertBytes("\ud800\udc00", 0xf0, 0x90, 0x80, 0x80);
+        assertBytes("\udbff\udfff", 0xf4, 0x8f, 0xbf, 0xbf);
+    }
+
+    public void testReadInt() throws IOException {
+        assertInt(0, "0");
+        assertInt(7, "007");
+        assertInt(-12, "-12");
+        assertInt(Integer.MAX_VALUE, "2147483647");
+        assertInt(Integer.MIN_VALUE, "-2147483648");
+        assertInt(42, "42)");
+        assertInt(42, "42");
+        assertInvalidInt("2147483648");
+        assertInvalidInt("-2147483649");
+        assertInvalidInt("99999999999999999999");
+        assertInvalidInt("-");
+        assertInvalidInt("+1");
+        assertInvalidInt("");
+        assertInvalidInt("x1");
+    }
+
+    public void testReadIntAcrossBuffers() throws IOException {
+        // The number starts right before the end of the first buffer
+        StringBuilder text = new StringBuilder();
+        while (text.length() < (1 << 16) - 3) {
+            text.append(' ');
+        }
+        text.append("-2147483648,2147483647");
+        Files.write(path, text.toString().getBytes(UTF_8));
+        try (TextScanner scanner = new TextScanner(path, UTF_8)) {
+            scanner.skipSpaces();
+            assertEquals(Integer.MIN_VALUE, scanner.readInt());
+            scanner.expect(',');
+            assertEquals(Integer.MAX_VALUE, scanner.readInt());
+            assertEquals(-1, scanner.peek());
+        }
+    }
+
+    private void assertString(String string) throws IOException {
+        Files.write(path, (string + ",rest\n").getBytes(UTF_8));
+        try (TextScanner scanner = new TextScanner(path, UTF_8)) {
+            assertEquals(string, scanner.readString(','));
+            assertEquals(',', scanner.next());
+        }
+    }
+
+    private void assertBytes(String expected, int... bytes) throws IOException {
+        write(bytes);
+        try (TextScanner scanner = new TextScanner(path, UTF_8)) {
+            assertEquals(expected, scanner.readString(','));
+        }
+    }
+
+    private void assertMalformed(int... bytes) throws IOException {
+        write(bytes);
+        try (TextScanner scanner = new TextScanner(path, UTF_8)) {
+            scanner.readString(',');
+            fail("Accepted " + toString(bytes));
+        }
+        catch (IOException e) {
+            // Expected
+        }
+    }
+
+    private void assertInt(int expected, String text) throws IOException {
+        Files.write(path, text.getBytes(UTF_8));
+        try (TextScanner scanner = new TextScanner(path, UTF_8)) {
+            assertEquals(expected, scanner.readInt());
+        }
+    }
+
+    private void assertInvalidInt(String text) throws IOException {
+        Files.write(path, text.getBytes(UTF_8));
+        try (TextScanner scanner = new TextScanner(path, UTF_8)) {
+            scanner.readInt();
+            fail("Accepted " + text);
+        }
+        catch (IOException e) {
+            assertTrue(e.getMessage().contains(" at byte "));
+        }
+    }
+
+    private void write(int... bytes) throws IOException {
+        byte[] content = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            content[i] = (byte)bytes[i];
+        }
+        Files.write(path, content);
+    }
+
+    private static String toString(int... bytes) {
+        StringBuilder string = new StringBuilder();
+        for (int b : bytes) {
+            string.append(String.format("%02x ", b));
+        }
+        return string.toString().trim();
+    }
+
+}
@@ -0,0 +1,224 @@
+package com.stemby.ir.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for {@link com.stemby.ir.util.InvertedCompressed InvertedCompressed},
+ * whose posting lists and cursors are compared with the ones of
+ * {@link com.stemby.ir.util.InvertedFlatArray InvertedFlatArray}. The lengths
+ * of the posting lists are around the multiples of
+ * {@link InvertedCompressed#SKIP_INTERVAL}, and the cursors are advanced to
+ * the documents before, on and after each skip pointer.
+ */
+public class InvertedCompressedTest extends TestCase {
+
+    private static final int SKIP = InvertedCompressed.SKIP_INTERVAL;
+    private static final int[] LENGTHS = {0, 1, 2, SKIP - 1, SKIP, SKIP + 1, 2 * SKIP - 1, 2 * SKIP, 2 * SKIP + 1, 3 * SKIP, 500};
+
+    private InvertedFlatArray flat;
+    private InvertedCompressed compressed;
+
+    @Override
+    protected void setUp() {
+        Random random = new Random(7);
+        flat = new InvertedFlatArray();
+        for (int termId = 0; termId < LENGTHS.length; termId++) {
+            flat.addTerm(termId);
+            int docId = random.nextInt(3);
+            for (int i = 0; i < LENGTHS[termId]; i++) {
+                flat.setTermFrequencyInDocument(termId, 1 + random.nextInt(300), docId);
+                docId += 1 + random.nextInt(3);
+            }
+        }
+        compressed = new InvertedCompressed(flat);
+    }
+
+    public void testPostingsByPosition() {
+        assertEquals(flat.getTermsNumber(), compressed.getTermsNumber());
+        assertEquals(flat.getPostingsNumber(), compressed.getPostingsNumber());
+        for (int termId = 0; termId < LENGTHS.length; termId++) {
+            assertEquals(LENGTHS[termId], compressed.getTermDocumentsNumber(termId));
+            for (int i = 0; i < LENGTHS[termId]; i++) {
+                assertEquals(flat.getDocumentId(termId, i), compressed.getDocumentId(termId, i));
+                assertEquals(flat.getTermFrequencyInDocument(termId, i), compressed.getTermFrequencyInDocument(termId, i));
+            }
+        }
+    }
+
+    public void testNext() {
+        for (int termId = 0; termId < LENGTHS.length; termId++) {
+            PostingCursor cursor = compressed.getPostingCursor(termId);
+            for (int i = 0; i < LENGTHS[termId]; i++) {
+                assertTrue(cursor.next());
+                assertPosting(termId, i, cursor);
+            }
+            assertFalse(cursor.next());
+            assertFalse(cursor.next());
+        }
+    }
+
+    public void testAdvanceFromTheBeginning() {
+        for (int termId = 0; termId < LENGTHS.length; termId++) {
+            for (int target : getTargets(termId)) {
+                PostingCursor cursor = compressed.getPostingCursor(termId);
+                assertAdvance(termId, -1, target, cursor);
+            }
+        }
+    }
+
+    public void testAdvanceFromEachPosition() {
+        for (int termId = 0; termId < LENGTHS.length; termId++) {
+            for (int start = 0; start < LENGTHS[termId]; start++) {
+                for (int target : getTargets(termId)) {
+                    PostingCursor cursor = compressed.getPostingCursor(termId);
+                    for (int i = 0; i <= start; i++) {
+                        cursor.next();
+                    }
+                    assertAdvance(termId, start, target, cursor);
+                }
+            }
+        }
+    }
+
+    public void testSuccessiveAdvances() {
+        for (int termId = 0; termId < LENGTHS.length; termId++) {
+            PostingCursor cursor = compressed.getPostingCursor(termId);
+            int docIndex = -1;
+            for (int target : getTargets(termId)) {
+                docIndex = assertAdvance(termId, docIndex, target, cursor);
+                if (docIndex == LENGTHS[termId]) {
+                    break;
+                }
+            }
+        }
+    }
+
+    public void testMixedNextAndAdvance() {
+        Random random = new Random(11);
+        for (int termId = 0; termId < LENGTHS.length; termId++) {
+            int length = LENGTHS[termId];
+            PostingCursor cursor = compressed.getPostingCursor(termId);
+            int docIndex = -1;
+            while (docIndex < length) {
+                if (random.nextBoolean()) {
+                    boolean hasNext = cursor.next();
+                    docIndex++;
+                    assertEquals(docIndex < length, hasNext);
+                    if (hasNext) {
+                        assertPosting(termId, docIndex, cursor);
+                    }
+                }
+                else {
+                    int current = (docIndex >= 0) ? flat.getDocumentId(termId, docIndex) : 0;
+                    docIndex = assertAdvance(termId, docIndex, current + random.nextInt(3 * SKIP) - SKIP / 2, cursor);
+                }
+            }
+        }
+    }
+
+    public void testMinFrequenciesSum() {
+        for (int termIdA = 0; termIdA < LENGTHS.length; termIdA++) {
+            for (int termIdB = 0; termIdB < LENGTHS.length; termIdB++) {
+                assertEquals(getMinFrequenciesSum(termIdA, termIdB), compressed.getMinFrequenciesSum(termIdA, termIdB));
+                assertEquals(flat.getMinFrequenciesSum(termIdA, termIdB), compressed.getMinFrequenciesSum(termIdA, termIdB));
+            }
+        }
+    }
+
+    public void testSmallSegments() {
+        // Segments of 4 bytes: most postings span two segments
+        InvertedCompressed segmented = new InvertedCompressed(4);
+        for (int termId = 0; termId < LENGTHS.length; termId++) {
+            segmented.addTerm(termId);
+            for (int i = 0; i < LENGTHS[termId]; i++) {
+                segmented.setTermFrequencyInDocument(termId, flat.getTermFrequencyInDocument(termId, i), flat.getDocumentId(termId, i));
+            }
+        }
+        assertEquals(compressed.getPostingsSizeInBytes(), segmented.getPostingsSizeInBytes());
+        compressed = segmented;
+        testPostingsByPosition();
+        testNext();
+        testAdvanceFromEachPosition();
+        testMinFrequenciesSum();
+    }
+
+    public void testInvalidSegmentSize() {
+        try {
+            new InvertedCompressed(48);
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    /*
+        The documents around each skip pointer: the ones of the postings right
+        before and right after it, and the documents in between, sorted.
+    */
+
+    private List<Integer> getTargets(int termId) {
+        List<Integer> targets = new ArrayList<>();
+        targets.add(-1);
+        targets.add(0);
+        int length = LENGTHS[termId];
+        for (int pointer = SKIP - 1; pointer < length + 1; pointer += SKIP) {
+            for (int i = Math.max(0, pointer - 1); i <= Math.min(length - 1, pointer + 1); i++) {
+                int docId = flat.getDocumentId(termId, i);
+                for (int target = docId - 1; target <= docId + 1; target++) {
+                    if (target > targets.get(targets.size() - 1)) {
+                        targets.add(target);
+                    }
+                }
+            }
+        }
+        if (length > 0) {
+            targets.add(Math.max(targets.get(targets.size() - 1), flat.getDocumentId(termId, length - 1)) + 1);
+        }
+        return targets;
+    }
+
+    /*
+        It advances the cursor, positioned on the posting docIndex (-1 before
+        the first one), and it checks it against a linear scan of the flat
+        posting list. It returns the new position of the cursor.
+    */
+
+    private int assertAdvance(int termId, int docIndex, int target, PostingCursor cursor) {
+        int length = LENGTHS[termId];
+        int expected = Math.max(docIndex, 0);
+        while ((expected < length) && (flat.getDocumentId(termId, expected) < target)) {
+            expected++;
+        }
+        String message = "term " + termId + ", from " + docIndex + " to document " + target;
+        assertEquals(message, expected < length, cursor.advance(target));
+        if (expected < length) {
+            assertEquals(message, expected, cursor.getDocumentIndex());
+            assertPosting(termId, expected, cursor);
+        }
+        return expected;
+    }
+
+    private void assertPosting(int termId, int docIndex, PostingCursor cursor) {
+        assertEquals(docIndex, cursor.getDocumentIndex());
+        assertEquals(flat.getDocumentId(termId, docIndex), cursor.getDocumentId());
+        assertEquals(flat.getTermFrequencyInDocument(termId, docIndex), cursor.getFrequency());
+    }
+
+    private int getMinFrequenciesSum(int termIdA, int termIdB) {
+        int sum = 0;
+        for (int i = 0; i < LENGTHS[termIdA]; i++) {
+            for (int j = 0; j < LENGTHS[termIdB]; j++) {
+                if (flat.getDocumentId(termIdA, i) == flat.getDocumentId(termIdB, j)) {
+                    sum += Math.min(flat.getTermFrequencyInDocument(termIdA, i), flat.getTermFrequencyInDocument(termIdB, j));
+                }
+            }
+        }
+        return sum;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.stemby.ir.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for {@link com.stemby.ir.util.InvertedFlatArray InvertedFlatArray}:
+ * the same random inverted index is built adding its postings one by one,
+ * passing the flat arrays to the constructor and in an
+ * {@link com.stemby.ir.util.InvertedArray InvertedArray}, and the three must
+ * have the same posting lists and the same common documents for every pair
+ * of terms. The index contains empty posting lists and posting lists long
+ * enough to grow the arrays many times.
+ */
+public class InvertedFlatArrayTest extends TestCase {
+
+    private InvertedArray array;
+    private InvertedFlatArray added;
+    private InvertedFlatArray wrapped;
+
+    @Override
+    protected void setUp() {
+        Random random = new Random(11);
+        int termsNumber = 80;
+        array = new InvertedArray();
+        added = new InvertedFlatArray();
+        int[] termOffsets = new int[termsNumber + 1];
+        List<Integer> documentIds = new ArrayList<>();
+        List<Integer> frequencies = new ArrayList<>();
+        for (int termId = 0; termId < termsNumber; termId++) {
+            array.addTerm(termId);
+            added.addTerm(termId);
+            int maxGap = (termId % 10 == 0) ? 2 : 1 + random.nextInt(40);
+            int postingsNumber = (termId % 7 == 0) ? 0 : random.nextInt(100);
+            int docId = random.nextInt(maxGap);
+            for (int i = 0; i < postingsNumber; i++) {
+                int frequency = 1 + random.nextInt(20);
+                array.setTermFrequencyInDocument(termId, frequency, docId);
+                added.setTermFrequencyInDocument(termId, frequency, docId);
+                documentIds.add(docId);
+                frequencies.add(frequency);
+                docId += 1 + random.nextInt(maxGap);
+            }
+            termOffsets[termId + 1] = documentIds.size();
+        }
+        wrapped = new InvertedFlatArray(termOffsets, toArray(documentIds), toArray(frequencies));
+    }
+
+    public void testPostingLists() {
+        for (InvertedFlatArray inverted : new InvertedFlatArray[] {added, wrapped}) {
+            assertEquals(array.getTermsNumber(), inverted.getTermsNumber());
+            int postingsNumber = 0;
+            for (int termId = 0; termId < array.getTermsNumber(); termId++) {
+                int documentsNumber = array.getTermDocumentsNumber(termId);
+                assertEquals(documentsNumber, inverted.getTermDocumentsNumber(termId));
+                PostingCursor cursor = inverted.getPostingCursor(termId);
+                for (int docIndex = 0; docIndex < documentsNumber; docIndex++) {
+                    assertEquals(array.getDocumentId(termId, docIndex), inverted.getDocumentId(termId, docIndex));
+                    assertEquals(array.getTermFrequencyInDocument(termId, docIndex), inverted.getTermFrequencyInDocument(termId, docIndex));
+                    assertTrue(cursor.next());
+                    assertEquals(array.getDocumentId(termId, docIndex), cursor.getDocumentId());
+                    assertEquals(array.getTermFrequencyInDocument(termId, docIndex), cursor.getFrequency());
+                }
+                assertFalse(cursor.next());
+                postingsNumber += documentsNumber;
+            }
+            assertEquals(postingsNumber, inverted.getPostingsNumber());
+        }
+    }
+
+    public void testCommonDocuments() {
+        int commonDocumentsNumber = 0;
+        for (int termIdA = 0; termIdA < array.getTermsNumber(); termIdA++) {
+            for (int termIdB = 0; termIdB < array.getTermsNumber(); termIdB++) {
+                List<int[]> expected = array.getIndexesOfCommonDocuments(termIdA, termIdB);
+                for (InvertedFlatArray inverted : new InvertedFlatArray[] {added, wrapped}) {
+                    List<int[]> indexes = inverted.getIndexesOfCommonDocuments(termIdA, termIdB);
+                    assertEquals(expected.size(), indexes.size());
+                    for (int i = 0; i < expected.size(); i++) {
+                        assertEquals(expected.get(i)[0], indexes.get(i)[0]);
+                        assertEquals(expected.get(i)[1], indexes.get(i)[1]);
+                    }
+                    assertEquals(array.getMinFrequenciesSum(termIdA, termIdB), inverted.getMinFrequenciesSum(termIdA, termIdB));
+                }
+                commonDocumentsNumber += expected.size();
+            }
+        }
+        assertTrue(commonDocumentsNumber > 0);
+    }
+
+    public void testTermsMustBeAddedInOrder() {
+        InvertedFlatArray inverted = new InvertedFlatArray();
+        inverted.addTerm(0);
+        try {
+            inverted.addTerm(2);
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            // Expected
+        }
+        inverted.addTerm(1);
+        try {
+            inverted.setTermFrequencyInDocument(0, 1, 5);
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.stemby.ir.util;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.stemby.commons.algorithms.Strings;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for {@link com.stemby.ir.util.SortedLexiconIndex SortedLexiconIndex},
+ * whose answers are compared with the ones computed on the strings by brute
+ * force. The random lexicons use a small alphabet, so that many lexemes share
+ * long prefixes, and they contain duplicates and empty lexemes.
+ */
+public class SortedLexiconIndexTest extends TestCase {
+
+    private static final int MAX_PREFIX_LENGTH = 7;
+
+    public void testEmptyLexicon() {
+        SortedLexiconIndex index = new SortedLexiconIndex(new LexiconArray());
+        assertEquals(0, index.size());
+        assertFalse(index.iterator().hasNext());
+    }
+
+    public void testSingleLexeme() {
+        assertSameAsBruteForce(new String[] {"abc"});
+        assertSameAsBruteForce(new String[] {""});
+    }
+
+    public void testSmallLexicons() {
+        assertSameAsBruteForce(new String[] {"b", "a"});
+        assertSameAsBruteForce(new String[] {"ab", "ab"});
+        assertSameAsBruteForce(new String[] {"", ""});
+        assertSameAsBruteForce(new String[] {"abc", "ab", "", "abd", "b", "ab"});
+    }
+
+    public void testRandomLexicons() {
+        Random random = new Random(23);
+        for (int i = 0; i < 30; i++) {
+            String[] lexemes = new String[1 + random.nextInt(100)];
+            for (int termId = 0; termId < lexemes.length; termId++) {
+                StringBuilder lexeme = new StringBuilder();
+                int length = random.nextInt(6);
+                for (int j = 0; j < length; j++) {
+                    lexeme.append((char)('a' + random.nextInt(3)));
+                }
+                lexemes[termId] = lexeme.toString();
+            }
+            assertSameAsBruteForce(lexemes);
+        }
+    }
+
+    public void testPrefixesLongerThanTheLcpArray() {
+        // The common prefixes don't fit in the characters of the LCP array
+        char[] chars = new char[Character.MAX_VALUE + 10];
+        Arrays.fill(chars, 'a');
+        String prefix = new String(chars);
+        SortedLexiconIndex index = assertSameAsBruteForce(new String[] {prefix + "c", "b", prefix + "b", prefix, prefix + "b", "a"});
+        assertEquals(prefix.length() + 1, index.getLongestCommonPrefixLength(2, 4));
+        assertEquals(prefix.length(), index.getLongestCommonPrefixLength(0, 3));
+        assertTrue(index.prefixesAreEqual(0, 2, prefix.length()));
+        assertFalse(index.prefixesAreEqual(0, 2, prefix.length() + 1));
+    }
+
+    private static SortedLexiconIndex assertSameAsBruteForce(String[] lexemes) {
+        LexiconArray lexicon = new LexiconArray();
+        for (int termId = 0; termId < lexemes.length; termId++) {
+            lexicon.addLexeme(termId, lexemes[termId]);
+        }
+        SortedLexiconIndex index = new SortedLexiconIndex(lexicon);
+        int size = lexemes.length;
+        assertEquals(size, index.size());
+        for (int rank = 0; rank < size; rank++) {
+            assertEquals(rank, index.getRank(index.getTermId(rank)));
+            if (rank > 0) {
+                assertTrue(lexemes[index.getTermId(rank - 1)].compareTo(lexemes[index.getTermId(rank)]) <= 0);
+            }
+        }
+        for (int termIdA = 0; termIdA < size; termIdA++) {
+            for (int termIdB = 0; termIdB < size; termIdB++) {
+                String message = "'" + abbreviate(lexemes[termIdA]) + "' and '" + abbreviate(lexemes[termIdB]) + "'";
+                int longestCommonPrefixLength = Strings.getLongestCommonPrefixLength(lexemes[termIdA], lexemes[termIdB]);
+                assertEquals(message, longestCommonPrefixLength, index.getLongestCommonPrefixLength(termIdA, termIdB));
+                for (int prefixLength = 0; prefixLength <= MAX_PREFIX_LENGTH; prefixLength++) {
+                    assertEquals(message + ", prefix " + prefixLength, getPrefix(lexemes[termIdA], prefixLength).equals(getPrefix(lexemes[termIdB], prefixLength)), index.prefixesAreEqual(termIdA, termIdB, prefixLength));
+                }
+            }
+        }
+        for (int firstRank = 0; firstRank < size; firstRank++) {
+            int expected = lexemes[index.getTermId(firstRank)].length();
+            for (int lastRank = firstRank; lastRank < size; lastRank++) {
+                expected = Math.min(expected, Strings.getLongestCommonPrefixLength(lexemes[index.getTermId(firstRank)], lexemes[index.getTermId(lastRank)]));
+                assertEquals(expected, index.getLongestCommonPrefixLengthOfRange(firstRank, lastRank));
+            }
+        }
+        return index;
+    }
+
+    private static String getPrefix(String lexeme, int prefixLength) {
+        return lexeme.substring(0, Math.min(lexeme.length(), prefixLength));
+    }
+
+    private static String abbreviate(String lexeme) {
+        return (lexeme.length() <= 20) ? lexeme : lexeme.substring(0, 5) + "..." + lexeme.substring(lexeme.length() - 5);
+    }
+
+}